@@ -61,6 +61,73 @@ public @interface TestEngine {
     @Retention(RetentionPolicy.RUNTIME)
     @interface Test {}
 
+    /** Benchmark annotation */
+    @Testable
+    @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Benchmark {
+
+        /**
+         * Warmup iterations value
+         *
+         * @return the warmup iterations value
+         */
+        int warmupIterations() default 5;
+
+        /**
+         * Measurement iterations value
+         *
+         * @return the measurement iterations value
+         */
+        int measurementIterations() default 10;
+
+        /**
+         * Threads value
+         *
+         * @return the threads value
+         */
+        int threads() default 1;
+    }
+
+    /**
+     * Timeout annotation
+     *
+     * <p>On a test class, limits the execution of the test class. On the argument supplier method,
+     * limits the execution of each argument. On a test method, limits the execution of the test
+     * method (including @TestEngine.BeforeEach methods)
+     */
+    @Target({ElementType.ANNOTATION_TYPE, ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Timeout {
+
+        /**
+         * Timeout value in milliseconds
+         *
+         * @return the timeout value in milliseconds
+         */
+        long milliseconds();
+    }
+
+    /**
+     * Retry annotation
+     *
+     * <p>On the argument supplier method, retries each failed argument (including
+     * {@literal @}TestEngine.BeforeAll / {@literal @}TestEngine.AfterAll methods and all test
+     * methods). On a test method, retries the failed test method (including
+     * {@literal @}TestEngine.BeforeEach / {@literal @}TestEngine.AfterEach methods)
+     */
+    @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Retry {
+
+        /**
+         * Retry value (maximum number of retries after the first attempt)
+         *
+         * @return the retry value
+         */
+        int value();
+    }
+
     /** AfterEach annotation */
     @Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
     @Retention(RetentionPolicy.RUNTIME)
@@ -279,14 +346,14 @@ public @interface TestEngine {
              *
              * @return the minimum value
              */
-            String minimum();
+            java.lang.String minimum();
 
             /**
              * Maximum value
              *
              * @return the maximum value
              */
-            String maximum();
+            java.lang.String maximum();
         }
 
         /** BigDecimal annotation */
@@ -299,19 +366,182 @@ public @interface TestEngine {
              *
              * @return the minimum value
              */
-            String minimum();
+            java.lang.String minimum();
 
             /**
              * Maximum value
              *
              * @return the maximum value
              */
-            String maximum();
+            java.lang.String maximum();
         }
 
         /** UUID annotation */
         @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
         @Retention(RetentionPolicy.RUNTIME)
         @interface UUID {}
+
+        /** String annotation (bounded length, characters from an alphabet) */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface String {
+
+            /**
+             * Minimum length
+             *
+             * @return the minimum length
+             */
+            int minimumLength() default 0;
+
+            /**
+             * Maximum length
+             *
+             * @return the maximum length
+             */
+            int maximumLength() default 16;
+
+            /**
+             * Alphabet
+             *
+             * @return the alphabet
+             */
+            java.lang.String alphabet() default
+                    "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        }
+
+        /**
+         * Bytes annotation (supports byte[] and ByteBuffer fields)
+         *
+         * <p>An array or buffer of the same length (and type) is refilled in place, so it's reused
+         * across arguments
+         */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Bytes {
+
+            /**
+             * Length
+             *
+             * @return the length
+             */
+            int length();
+
+            /**
+             * Whether to allocate a direct (off-heap) ByteBuffer
+             *
+             * @return true to allocate a direct ByteBuffer, else false
+             */
+            boolean direct() default false;
+        }
+
+        /**
+         * Integers annotation (supports int[] and List&lt;Integer&gt; fields)
+         *
+         * <p>An array of the same length is refilled in place, so it's reused across arguments
+         */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Integers {
+
+            /**
+             * Length
+             *
+             * @return the length
+             */
+            int length();
+
+            /**
+             * Minimum value
+             *
+             * @return the minimum value
+             */
+            int minimum() default java.lang.Integer.MIN_VALUE;
+
+            /**
+             * Maximum value
+             *
+             * @return the maximum value
+             */
+            int maximum() default java.lang.Integer.MAX_VALUE;
+        }
+
+        /**
+         * Longs annotation (supports long[] and List&lt;Long&gt; fields)
+         *
+         * <p>An array of the same length is refilled in place, so it's reused across arguments
+         */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Longs {
+
+            /**
+             * Length
+             *
+             * @return the length
+             */
+            int length();
+
+            /**
+             * Minimum value
+             *
+             * @return the minimum value
+             */
+            long minimum() default java.lang.Long.MIN_VALUE;
+
+            /**
+             * Maximum value
+             *
+             * @return the maximum value
+             */
+            long maximum() default java.lang.Long.MAX_VALUE;
+        }
+
+        /**
+         * Doubles annotation (supports double[] and List&lt;Double&gt; fields)
+         *
+         * <p>An array of the same length is refilled in place, so it's reused across arguments
+         */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface Doubles {
+
+            /**
+             * Length
+             *
+             * @return the length
+             */
+            int length();
+
+            /**
+             * Minimum value
+             *
+             * @return the minimum value
+             */
+            double minimum() default -java.lang.Double.MAX_VALUE;
+
+            /**
+             * Maximum value
+             *
+             * @return the maximum value
+             */
+            double maximum() default java.lang.Double.MAX_VALUE;
+        }
+
+        /**
+         * UUIDs annotation (supports UUID[] and List&lt;UUID&gt; fields)
+         *
+         * <p>An array of the same length is refilled in place, so it's reused across arguments
+         */
+        @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD})
+        @Retention(RetentionPolicy.RUNTIME)
+        @interface UUIDs {
+
+            /**
+             * Length
+             *
+             * @return the length
+             */
+            int length();
+        }
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to implement ConfigurationBenchmark */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    private Configuration configuration;
+
+    /** Method to set up the Configuration */
+    @Setup
+    public void setup() {
+        configuration = Configuration.getInstance();
+        configuration.set(Constants.THREAD_COUNT, "4");
+        configuration.set(Constants.TEST_CLASS_EXCLUDE_REGEX, "^.*Disabled.*$");
+    }
+
+    /**
+     * Method to benchmark getting an existing value
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Optional<String> get() {
+        return configuration.get(Constants.THREAD_COUNT);
+    }
+
+    /**
+     * Method to benchmark getting a missing value
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Optional<String> getMissing() {
+        return configuration.get(Constants.TEST_CLASS_INCLUDE_REGEX);
+    }
+
+    /**
+     * Method to benchmark getting a cached integer value
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Optional<Integer> getInteger() {
+        return configuration.getInteger(Constants.THREAD_COUNT);
+    }
+
+    /**
+     * Method to benchmark getting a cached Pattern value
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Optional<Pattern> getPattern() {
+        return configuration.getPattern(Constants.TEST_CLASS_EXCLUDE_REGEX);
+    }
+
+    /**
+     * Method to benchmark getting an existing value from multiple threads
+     *
+     * @return the value
+     */
+    @Benchmark
+    @Threads(4)
+    public Optional<String> getContended() {
+        return configuration.get(Constants.THREAD_COUNT);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.internal.discovery.EngineDiscoveryRequestResolver;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class to implement DiscoveryBenchmark
+ *
+ * <p>Benchmarks {@link EngineDiscoveryRequestResolver#resolveSelectors} over synthetic suites. The
+ * largest default suite is 1,000 classes * 100 arguments * 10 methods (100,000 arguments /
+ * 1,000,000 test methods)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DiscoveryBenchmark {
+
+    /** Number of test classes */
+    @Param({"10", "100", "1000"})
+    public int classes;
+
+    /** Number of arguments per test class */
+    @Param({"100"})
+    public int arguments;
+
+    /** Number of test methods per test class */
+    @Param({"10"})
+    public int methods;
+
+    /** Discovery selector type */
+    @Param({"class", "classpathRoot"})
+    public String selector;
+
+    private SyntheticSuite syntheticSuite;
+
+    private LauncherDiscoveryRequest launcherDiscoveryRequest;
+
+    /**
+     * Method to generate the synthetic suite
+     *
+     * @throws IOException IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        syntheticSuite = SyntheticSuite.generate(classes, arguments, methods);
+
+        List<DiscoverySelector> discoverySelectors = new ArrayList<>();
+        if ("classpathRoot".equals(selector)) {
+            discoverySelectors.addAll(
+                    DiscoverySelectors.selectClasspathRoots(
+                            Collections.singleton(syntheticSuite.getClassesDirectory())));
+        } else {
+            for (Class<?> testClass : syntheticSuite.getTestClasses()) {
+                discoverySelectors.add(DiscoverySelectors.selectClass(testClass));
+            }
+        }
+
+        launcherDiscoveryRequest =
+                LauncherDiscoveryRequestBuilder.request().selectors(discoverySelectors).build();
+    }
+
+    /**
+     * Method to benchmark discovery
+     *
+     * @return the EngineDescriptor
+     */
+    @Benchmark
+    public EngineDescriptor resolveSelectors() {
+        Thread.currentThread().setContextClassLoader(syntheticSuite.getClassLoader());
+
+        EngineDescriptor engineDescriptor =
+                new EngineDescriptor(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID),
+                        AntuBLUETestEngine.ENGINE_ID);
+
+        new EngineDiscoveryRequestResolver()
+                .resolveSelectors(launcherDiscoveryRequest, engineDescriptor);
+
+        if (engineDescriptor.getChildren().size() != classes) {
+            throw new IllegalStateException(
+                    "expected ["
+                            + classes
+                            + "] test classes, discovered ["
+                            + engineDescriptor.getChildren().size()
+                            + "]");
+        }
+
+        return engineDescriptor;
+    }
+
+    /**
+     * Method to delete the synthetic suite
+     *
+     * @throws IOException IOException
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        syntheticSuite.close();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.discovery.EngineDiscoveryRequestResolver;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextExecutor;
+import org.antublue.test.engine.internal.execution.ExecutionContextExecutorFactory;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class to implement ExecutionBenchmark
+ *
+ * <p>Benchmarks execution of no-op synthetic test classes, a single {@link ClassTestDescriptor} on
+ * the benchmark thread, and all test classes using the configured {@link ExecutionContextExecutor}
+ * (platform or virtual threads)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    /** Thread type */
+    @Param({"platform", "virtual"})
+    public String threadType;
+
+    /** Number of test classes */
+    @Param({"100"})
+    public int classes;
+
+    /** Number of arguments per test class */
+    @Param({"10"})
+    public int arguments;
+
+    /** Number of test methods per test class */
+    @Param({"10"})
+    public int methods;
+
+    private SyntheticSuite syntheticSuite;
+
+    private ExecutionRequest executionRequest;
+
+    private ClassTestDescriptor classTestDescriptor;
+
+    /**
+     * Method to generate and discover the synthetic suite
+     *
+     * @throws IOException IOException
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // ExecutionContextExecutorFactory reads the thread type once, JMH forks per parameter set
+        Configuration.getInstance().set(Constants.THREAD_TYPE, threadType);
+
+        syntheticSuite = SyntheticSuite.generate(classes, arguments, methods);
+
+        List<DiscoverySelector> discoverySelectors = new ArrayList<>();
+        for (Class<?> testClass : syntheticSuite.getTestClasses()) {
+            discoverySelectors.add(DiscoverySelectors.selectClass(testClass));
+        }
+
+        EngineDescriptor engineDescriptor =
+                new EngineDescriptor(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID),
+                        AntuBLUETestEngine.ENGINE_ID);
+
+        new EngineDiscoveryRequestResolver()
+                .resolveSelectors(
+                        LauncherDiscoveryRequestBuilder.request()
+                                .selectors(discoverySelectors)
+                                .build(),
+                        engineDescriptor);
+
+        executionRequest =
+                ExecutionRequest.create(
+                        engineDescriptor,
+                        EngineExecutionListener.NOOP,
+                        Configuration.getInstance());
+
+        classTestDescriptor =
+                (ClassTestDescriptor) engineDescriptor.getChildren().iterator().next();
+    }
+
+    /**
+     * Method to benchmark execution of a single test class on the benchmark thread
+     *
+     * @return the ClassTestDescriptor
+     */
+    @Benchmark
+    public ClassTestDescriptor executeClass() {
+        classTestDescriptor.execute(new ExecutionContext(executionRequest));
+        return classTestDescriptor;
+    }
+
+    /**
+     * Method to benchmark execution of all test classes using an ExecutionContextExecutor
+     *
+     * @return the ExecutionContextExecutor
+     */
+    @Benchmark
+    public ExecutionContextExecutor executeSuite() {
+        ExecutionContextExecutor executionContextExecutor =
+                ExecutionContextExecutorFactory.createExecutionContextExecutor();
+        executionContextExecutor.execute(new ExecutionContext(executionRequest));
+        executionContextExecutor.await();
+        return executionContextExecutor;
+    }
+
+    /**
+     * Method to delete the synthetic suite
+     *
+     * @throws IOException IOException
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        syntheticSuite.close();
+    }
+}
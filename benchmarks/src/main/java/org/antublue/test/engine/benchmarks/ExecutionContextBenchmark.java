@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to implement ExecutionContextBenchmark */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionContextBenchmark {
+
+    private ExecutionContext executionContext;
+    private ExecutionContext childExecutionContext;
+
+    /** Method to create the execution contexts */
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionRequest executionRequest =
+                ExecutionRequest.create(
+                        new EngineDescriptor(
+                                UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID),
+                                AntuBLUETestEngine.ENGINE_ID),
+                        EngineExecutionListener.NOOP,
+                        Configuration.getInstance());
+
+        executionContext = new ExecutionContext(executionRequest);
+        executionContext.put(ExecutionContextConstant.TEST_INSTANCE, this);
+
+        // class -> argument -> method
+        childExecutionContext = new ExecutionContext(new ExecutionContext(executionContext));
+    }
+
+    /**
+     * Method to benchmark getting a value
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object get() {
+        return executionContext.get(ExecutionContextConstant.TEST_INSTANCE);
+    }
+
+    /**
+     * Method to benchmark getting a value inherited from a parent execution context
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object getInherited() {
+        return childExecutionContext.get(ExecutionContextConstant.TEST_INSTANCE);
+    }
+
+    /**
+     * Method to benchmark creating a child execution context and putting a value
+     *
+     * @return the child execution context
+     */
+    @Benchmark
+    public ExecutionContext newAndPut() {
+        ExecutionContext executionContext = new ExecutionContext(this.executionContext);
+        executionContext.put(ExecutionContextConstant.TEST_INSTANCE, this);
+        return executionContext;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.extras.Locks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to implement LocksBenchmark */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocksBenchmark {
+
+    private static final String KEY = "benchmark.lock";
+
+    /** Method to benchmark an uncontended acquire / release */
+    @Benchmark
+    public void lockUnlock() {
+        Locks.LockReference lockReference = Locks.getReference(KEY);
+        lockReference.lock();
+        lockReference.unlock();
+    }
+
+    /** Method to benchmark a contended acquire / release */
+    @Benchmark
+    @Threads(4)
+    public void lockUnlockContended() {
+        Locks.LockReference lockReference = Locks.getReference(KEY);
+        lockReference.lock();
+        lockReference.unlock();
+    }
+
+    /**
+     * Method to benchmark executing an Executable in a lock
+     *
+     * @throws Throwable Throwable
+     */
+    @Benchmark
+    public void execute() throws Throwable {
+        Locks.execute(KEY, () -> {});
+    }
+}
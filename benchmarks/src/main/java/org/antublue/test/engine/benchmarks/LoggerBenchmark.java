@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class to implement LoggerBenchmark (TRACE disabled, the default)
+ *
+ * <p>Run with {@code -prof gc} to verify the disabled fixed-arity, guarded, and Supplier paths
+ * allocate zero bytes per operation ({@code gc.alloc.rate.norm})
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggerBenchmark.class);
+
+    private final Object argument1 = "argument1";
+
+    private final Object argument2 = 2;
+
+    /** Method to benchmark a disabled trace message */
+    @Benchmark
+    public void trace() {
+        LOGGER.trace("message");
+    }
+
+    /** Method to benchmark a disabled trace message with fixed-arity arguments */
+    @Benchmark
+    public void traceArguments() {
+        LOGGER.trace("message [%s] [%s]", argument1, argument2);
+    }
+
+    /** Method to benchmark a disabled trace message with varargs */
+    @Benchmark
+    public void traceVarargs() {
+        LOGGER.trace("message [%s] [%s] [%s] [%s]", argument1, argument2, argument1, argument2);
+    }
+
+    /** Method to benchmark a disabled trace message with a Supplier */
+    @Benchmark
+    public void traceSupplier() {
+        LOGGER.trace(() -> "message [" + argument1 + "] [" + argument2 + "]");
+    }
+
+    /** Method to benchmark a guarded disabled trace message with varargs */
+    @Benchmark
+    public void traceGuarded() {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("message [%s] [%s] [%s] [%s]", argument1, argument2, argument1, argument2);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.internal.descriptor.Metadata;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to implement MetadataBenchmark */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private final Metadata metadata = new Metadata();
+
+    /**
+     * Method to benchmark putting a value
+     *
+     * @return the Metadata
+     */
+    @Benchmark
+    public Metadata put() {
+        metadata.put(
+                MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+                MetadataTestDescriptorConstants.PASS);
+        return metadata;
+    }
+
+    /**
+     * Method to benchmark the Metadata values put for each test method execution
+     *
+     * @return the Metadata
+     */
+    @Benchmark
+    public Metadata newAndPutAll() {
+        Metadata metadata = new Metadata();
+        metadata.put(MetadataTestDescriptorConstants.TEST_CLASS, MetadataBenchmark.class);
+        metadata.put(MetadataTestDescriptorConstants.TEST_CLASS_DISPLAY_NAME, "display name");
+        metadata.put(MetadataTestDescriptorConstants.TEST_ARGUMENT, "argument");
+        metadata.put(MetadataTestDescriptorConstants.TEST_METHOD, "method");
+        metadata.put(MetadataTestDescriptorConstants.TEST_METHOD_DISPLAY_NAME, "method");
+        metadata.put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME, 0L);
+        metadata.put(
+                MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+                MetadataTestDescriptorConstants.PASS);
+        return metadata;
+    }
+}
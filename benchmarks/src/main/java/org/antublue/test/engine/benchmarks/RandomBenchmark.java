@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.internal.support.RandomSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Class to implement RandomBenchmark */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+
+    private static final String DOUBLE_MINIMUM = String.valueOf(-Double.MAX_VALUE);
+
+    private static final String DOUBLE_MAXIMUM = String.valueOf(Double.MAX_VALUE);
+
+    private final SplittableRandom random = new SplittableRandom(42L);
+
+    /**
+     * Method to benchmark a random float over the default @Random.Float range
+     *
+     * @return a random float
+     */
+    @Benchmark
+    public float randomFloat() {
+        return RandomSupport.randomFloat(random, -Float.MAX_VALUE, Float.MAX_VALUE);
+    }
+
+    /**
+     * Method to benchmark a random double over the default @Random.Double range
+     *
+     * @return a random double
+     */
+    @Benchmark
+    public double randomDouble() {
+        return RandomSupport.randomDouble(random, -Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Method to benchmark a random BigDecimal over the same range, for comparison
+     *
+     * @return a random BigDecimal
+     */
+    @Benchmark
+    public BigDecimal randomBigDecimal() {
+        return RandomSupport.randomBigDecimal(random, DOUBLE_MINIMUM, DOUBLE_MAXIMUM);
+    }
+}
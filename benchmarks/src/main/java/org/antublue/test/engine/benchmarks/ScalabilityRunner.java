@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Class to implement ScalabilityRunner
+ *
+ * <p>Generates synthetic suites and runs them end-to-end through the JUnit Platform launcher,
+ * recording discovery time, execution time, peak heap, peak threads and CPU utilization as CSV
+ *
+ * <p>Usage: {@code java -cp benchmarks.jar org.antublue.test.engine.benchmarks.ScalabilityRunner
+ * --classes=10,100,1000 --arguments=10 --methods=10 [--hooks=true]
+ * [--profile=none|sleep|cpu|allocation] [--amount=N] [--failureRate=0.0]
+ * [--selector=class|classpathRoot] [--warmup=N] [--output=FILE]}
+ *
+ * <p>Comma separated values for classes, arguments and methods produce one row per combination
+ */
+public class ScalabilityRunner {
+
+    private static final String HEADER =
+            "classes,arguments,methods,hooks,profile,amount,failureRate,selector,tests,succeeded,"
+                    + "failed,discoveryMs,executionMs,peakHeapMb,peakThreads,cpuUtilization";
+
+    private final Map<String, String> options;
+
+    /**
+     * Constructor
+     *
+     * @param options options
+     */
+    private ScalabilityRunner(Map<String, String> options) {
+        this.options = options;
+    }
+
+    /**
+     * Main method
+     *
+     * @param args args
+     * @throws IOException IOException
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid argument [%s], expected --name=value", arg));
+            }
+            int index = arg.indexOf('=');
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+
+        new ScalabilityRunner(options).run();
+    }
+
+    /**
+     * Method to run all suite size combinations
+     *
+     * @throws IOException IOException
+     */
+    private void run() throws IOException {
+        List<Integer> classesList = getIntegers("classes", "10,100,1000");
+        List<Integer> argumentsList = getIntegers("arguments", "10");
+        List<Integer> methodsList = getIntegers("methods", "10");
+
+        String output = options.get("output");
+        PrintStream printStream =
+                output != null
+                        ? new PrintStream(
+                                Files.newOutputStream(Paths.get(output)),
+                                true,
+                                StandardCharsets.UTF_8.name())
+                        : System.out;
+
+        try {
+            printStream.println(HEADER);
+            for (int classes : classesList) {
+                for (int arguments : argumentsList) {
+                    for (int methods : methodsList) {
+                        printStream.println(run(classes, arguments, methods));
+                    }
+                }
+            }
+        } finally {
+            if (printStream != System.out) {
+                printStream.close();
+            }
+        }
+    }
+
+    /**
+     * Method to run a single suite size
+     *
+     * @param classes classes
+     * @param arguments arguments
+     * @param methods methods
+     * @return a CSV row
+     * @throws IOException IOException
+     */
+    private String run(int classes, int arguments, int methods) throws IOException {
+        boolean hooks = Boolean.parseBoolean(options.getOrDefault("hooks", "false"));
+        SyntheticWorkload.Profile profile =
+                SyntheticWorkload.Profile.parse(options.getOrDefault("profile", "none"));
+        long amount = Long.parseLong(options.getOrDefault("amount", "0"));
+        double failureRate = Double.parseDouble(options.getOrDefault("failureRate", "0"));
+        String selector = options.getOrDefault("selector", "class");
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "0"));
+
+        try (SyntheticSuite syntheticSuite =
+                SyntheticSuite.builder()
+                        .classes(classes)
+                        .arguments(arguments)
+                        .methods(methods)
+                        .hooks(hooks)
+                        .profile(profile, amount)
+                        .failureRate(failureRate)
+                        .generate()) {
+            LauncherDiscoveryRequest launcherDiscoveryRequest =
+                    LauncherDiscoveryRequestBuilder.request()
+                            .selectors(selectors(syntheticSuite, selector))
+                            .filters(EngineFilter.includeEngines(AntuBLUETestEngine.ENGINE_ID))
+                            .build();
+
+            Thread thread = Thread.currentThread();
+            ClassLoader classLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(syntheticSuite.getClassLoader());
+
+            try {
+                Launcher launcher = LauncherFactory.create();
+
+                for (int i = 0; i < warmup; i++) {
+                    launcher.execute(launcher.discover(launcherDiscoveryRequest));
+                }
+
+                Measurement measurement = new Measurement();
+
+                long t0 = System.nanoTime();
+                TestPlan testPlan = launcher.discover(launcherDiscoveryRequest);
+                long t1 = System.nanoTime();
+
+                SummaryGeneratingListener summaryGeneratingListener =
+                        new SummaryGeneratingListener();
+                launcher.execute(testPlan, summaryGeneratingListener);
+                long t2 = System.nanoTime();
+
+                measurement.stop();
+
+                TestExecutionSummary testExecutionSummary = summaryGeneratingListener.getSummary();
+
+                return String.format(
+                        Locale.ENGLISH,
+                        "%d,%d,%d,%b,%s,%d,%s,%s,%d,%d,%d,%.3f,%.3f,%.1f,%d,%.3f",
+                        classes,
+                        arguments,
+                        methods,
+                        hooks,
+                        profile.name().toLowerCase(Locale.ENGLISH),
+                        amount,
+                        failureRate,
+                        selector,
+                        testExecutionSummary.getTestsFoundCount(),
+                        testExecutionSummary.getTestsSucceededCount(),
+                        testExecutionSummary.getTestsFailedCount(),
+                        (t1 - t0) / 1e6D,
+                        (t2 - t1) / 1e6D,
+                        measurement.getPeakHeap() / (1024D * 1024D),
+                        measurement.getPeakThreads(),
+                        measurement.getCpuUtilization());
+            } finally {
+                thread.setContextClassLoader(classLoader);
+            }
+        }
+    }
+
+    /**
+     * Method to get the discovery selectors for a SyntheticSuite
+     *
+     * @param syntheticSuite syntheticSuite
+     * @param selector selector
+     * @return a List of discovery selectors
+     */
+    private static List<DiscoverySelector> selectors(
+            SyntheticSuite syntheticSuite, String selector) {
+        List<DiscoverySelector> discoverySelectors = new ArrayList<>();
+
+        if ("classpathRoot".equals(selector)) {
+            discoverySelectors.addAll(
+                    DiscoverySelectors.selectClasspathRoots(
+                            Collections.singleton(syntheticSuite.getClassesDirectory())));
+        } else if ("class".equals(selector)) {
+            for (Class<?> testClass : syntheticSuite.getTestClasses()) {
+                discoverySelectors.add(DiscoverySelectors.selectClass(testClass));
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Invalid selector [%s], expected class or classpathRoot", selector));
+        }
+
+        return discoverySelectors;
+    }
+
+    /**
+     * Method to get a comma separated list of integers option
+     *
+     * @param name name
+     * @param defaultValue defaultValue
+     * @return a List of integers
+     */
+    private List<Integer> getIntegers(String name, String defaultValue) {
+        List<Integer> values = new ArrayList<>();
+        for (String value : options.getOrDefault(name, defaultValue).split(",")) {
+            values.add(Integer.parseInt(value.trim()));
+        }
+        return values;
+    }
+
+    /** Class to implement Measurement of peak heap, peak threads and CPU utilization */
+    private static class Measurement {
+
+        private final List<MemoryPoolMXBean> heapMemoryPoolMXBeans;
+        private final ThreadMXBean threadMXBean;
+        private final OperatingSystemMXBean operatingSystemMXBean;
+        private final long startNanoTime;
+        private final long startCpuTime;
+        private long peakHeap;
+        private int peakThreads;
+        private double cpuUtilization;
+
+        /** Constructor */
+        private Measurement() {
+            heapMemoryPoolMXBeans = new ArrayList<>();
+            for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (memoryPoolMXBean.getType() == MemoryType.HEAP) {
+                    heapMemoryPoolMXBeans.add(memoryPoolMXBean);
+                }
+            }
+
+            threadMXBean = ManagementFactory.getThreadMXBean();
+            operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+
+            System.gc();
+
+            for (MemoryPoolMXBean memoryPoolMXBean : heapMemoryPoolMXBeans) {
+                memoryPoolMXBean.resetPeakUsage();
+            }
+            threadMXBean.resetPeakThreadCount();
+
+            startCpuTime = getProcessCpuTime();
+            startNanoTime = System.nanoTime();
+        }
+
+        /** Method to stop the measurement */
+        private void stop() {
+            long elapsedNanoTime = System.nanoTime() - startNanoTime;
+            long cpuTime = getProcessCpuTime() - startCpuTime;
+
+            for (MemoryPoolMXBean memoryPoolMXBean : heapMemoryPoolMXBeans) {
+                peakHeap += memoryPoolMXBean.getPeakUsage().getUsed();
+            }
+
+            peakThreads = threadMXBean.getPeakThreadCount();
+
+            if (startCpuTime >= 0 && elapsedNanoTime > 0) {
+                cpuUtilization =
+                        (double) cpuTime
+                                / elapsedNanoTime
+                                / Runtime.getRuntime().availableProcessors();
+            } else {
+                cpuUtilization = -1D;
+            }
+        }
+
+        /**
+         * Method to get the peak heap in bytes (sum of heap memory pool peaks)
+         *
+         * @return the peak heap in bytes
+         */
+        private long getPeakHeap() {
+            return peakHeap;
+        }
+
+        /**
+         * Method to get the peak number of live threads
+         *
+         * @return the peak number of live threads
+         */
+        private int getPeakThreads() {
+            return peakThreads;
+        }
+
+        /**
+         * Method to get the CPU utilization (0.0 - 1.0) across all processors, -1 if unavailable
+         *
+         * @return the CPU utilization
+         */
+        private double getCpuUtilization() {
+            return cpuUtilization;
+        }
+
+        /**
+         * Method to get the process CPU time in nanoseconds, -1 if unavailable
+         *
+         * @return the process CPU time in nanoseconds
+         */
+        private long getProcessCpuTime() {
+            if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+                return ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean)
+                        .getProcessCpuTime();
+            }
+            return -1;
+        }
+    }
+}
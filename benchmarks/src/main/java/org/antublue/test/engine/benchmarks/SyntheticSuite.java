@@ -0,0 +1,416 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Class to implement SyntheticSuite
+ *
+ * <p>Generates, compiles, and loads N test classes, each with M arguments and K test methods, with
+ * optional lifecycle hooks, a sleep / CPU / allocation workload profile, and a failure rate
+ */
+public class SyntheticSuite implements AutoCloseable {
+
+    /** Package of generated test classes */
+    public static final String PACKAGE_NAME = "synthetic";
+
+    private static final String[] HOOKS = {
+        "Prepare", "BeforeAll", "BeforeEach", "AfterEach", "AfterAll", "Conclude"
+    };
+
+    private final Path directory;
+    private final URLClassLoader classLoader;
+    private final List<Class<?>> testClasses;
+
+    /**
+     * Constructor
+     *
+     * @param directory directory
+     * @param classLoader classLoader
+     * @param testClasses testClasses
+     */
+    private SyntheticSuite(Path directory, URLClassLoader classLoader, List<Class<?>> testClasses) {
+        this.directory = directory;
+        this.classLoader = classLoader;
+        this.testClasses = Collections.unmodifiableList(testClasses);
+    }
+
+    /**
+     * Method to get the classes directory (classpath root)
+     *
+     * @return the classes directory
+     */
+    public Path getClassesDirectory() {
+        return directory.resolve("classes");
+    }
+
+    /**
+     * Method to get the ClassLoader of the generated test classes
+     *
+     * @return the ClassLoader
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Method to get the generated test classes
+     *
+     * @return the generated test classes
+     */
+    public List<Class<?>> getTestClasses() {
+        return testClasses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+
+        Files.walkFileTree(
+                directory,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+                            throws IOException {
+                        Files.delete(file);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException e)
+                            throws IOException {
+                        Files.delete(dir);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+
+    /**
+     * Method to generate a SyntheticSuite of no-op test methods without lifecycle hooks
+     *
+     * @param classes number of test classes
+     * @param arguments number of arguments per test class
+     * @param methods number of test methods per test class
+     * @return a SyntheticSuite
+     * @throws IOException IOException
+     */
+    public static SyntheticSuite generate(int classes, int arguments, int methods)
+            throws IOException {
+        return builder().classes(classes).arguments(arguments).methods(methods).generate();
+    }
+
+    /**
+     * Method to create a Builder
+     *
+     * @return a Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Class to implement Builder */
+    public static class Builder {
+
+        private int classes = 1;
+        private int arguments = 1;
+        private int methods = 1;
+        private boolean hooks;
+        private SyntheticWorkload.Profile profile = SyntheticWorkload.Profile.NONE;
+        private long amount;
+        private double failureRate;
+
+        /** Constructor */
+        private Builder() {
+            // DO NOTHING
+        }
+
+        /**
+         * Method to set the number of test classes
+         *
+         * @param classes classes
+         * @return this
+         */
+        public Builder classes(int classes) {
+            this.classes = classes;
+            return this;
+        }
+
+        /**
+         * Method to set the number of arguments per test class
+         *
+         * @param arguments arguments
+         * @return this
+         */
+        public Builder arguments(int arguments) {
+            this.arguments = arguments;
+            return this;
+        }
+
+        /**
+         * Method to set the number of test methods per test class
+         *
+         * @param methods methods
+         * @return this
+         */
+        public Builder methods(int methods) {
+            this.methods = methods;
+            return this;
+        }
+
+        /**
+         * Method to set whether to generate lifecycle hooks (Prepare, BeforeAll, BeforeEach,
+         * AfterEach, AfterAll, Conclude)
+         *
+         * @param hooks hooks
+         * @return this
+         */
+        public Builder hooks(boolean hooks) {
+            this.hooks = hooks;
+            return this;
+        }
+
+        /**
+         * Method to set the test method workload profile
+         *
+         * @param profile profile
+         * @param amount amount of work (microseconds, iterations, or bytes)
+         * @return this
+         */
+        public Builder profile(SyntheticWorkload.Profile profile, long amount) {
+            if (profile == null) {
+                throw new IllegalArgumentException("profile is null");
+            }
+            if (amount < 0) {
+                throw new IllegalArgumentException("amount must be >= 0");
+            }
+            this.profile = profile;
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * Method to set the test method failure rate
+         *
+         * @param failureRate failure rate (0.0 - 1.0)
+         * @return this
+         */
+        public Builder failureRate(double failureRate) {
+            if (failureRate < 0D || failureRate > 1D) {
+                throw new IllegalArgumentException("failureRate must be between 0.0 and 1.0");
+            }
+            this.failureRate = failureRate;
+            return this;
+        }
+
+        /**
+         * Method to generate the SyntheticSuite
+         *
+         * @return a SyntheticSuite
+         * @throws IOException IOException
+         */
+        public SyntheticSuite generate() throws IOException {
+            if (classes < 1 || arguments < 1 || methods < 1) {
+                throw new IllegalArgumentException("classes, arguments and methods must be >= 1");
+            }
+
+            Path directory = Files.createTempDirectory("antublue-synthetic-suite-");
+            Path sourcesDirectory = directory.resolve("sources").resolve(PACKAGE_NAME);
+            Path classesDirectory = directory.resolve("classes");
+
+            Files.createDirectories(sourcesDirectory);
+            Files.createDirectories(classesDirectory);
+
+            List<File> sourceFiles = new ArrayList<>(classes);
+            List<String> classNames = new ArrayList<>(classes);
+
+            for (int i = 0; i < classes; i++) {
+                String simpleClassName = String.format(Locale.ENGLISH, "SyntheticTest%06d", i);
+                Path sourceFile = sourcesDirectory.resolve(simpleClassName + ".java");
+
+                try (Writer writer = Files.newBufferedWriter(sourceFile, StandardCharsets.UTF_8)) {
+                    writer.write(source(simpleClassName, i));
+                }
+
+                sourceFiles.add(sourceFile.toFile());
+                classNames.add(PACKAGE_NAME + "." + simpleClassName);
+            }
+
+            compile(sourceFiles, classesDirectory);
+
+            URLClassLoader classLoader =
+                    new URLClassLoader(
+                            new URL[] {classesDirectory.toUri().toURL()},
+                            SyntheticSuite.class.getClassLoader());
+
+            List<Class<?>> testClasses = new ArrayList<>(classes);
+            try {
+                for (String className : classNames) {
+                    testClasses.add(classLoader.loadClass(className));
+                }
+            } catch (ClassNotFoundException e) {
+                classLoader.close();
+                throw new IOException("Exception loading generated class", e);
+            }
+
+            return new SyntheticSuite(directory, classLoader, testClasses);
+        }
+
+        /**
+         * Method to generate the source of a test class
+         *
+         * @param simpleClassName simpleClassName
+         * @param classIndex classIndex
+         * @return the source of the test class
+         */
+        private String source(String simpleClassName, int classIndex) {
+            StringBuilder stringBuilder = new StringBuilder(2048 + methods * 256);
+
+            stringBuilder
+                    .append("package ")
+                    .append(PACKAGE_NAME)
+                    .append(";\n\n")
+                    .append("import java.util.ArrayList;\n")
+                    .append("import java.util.List;\n")
+                    .append("import java.util.stream.Stream;\n")
+                    .append("import org.antublue.test.engine.api.Argument;\n")
+                    .append("import org.antublue.test.engine.api.TestEngine;\n")
+                    .append("import ")
+                    .append(SyntheticWorkload.class.getName())
+                    .append(";\n\n")
+                    .append("public class ")
+                    .append(simpleClassName)
+                    .append(" {\n\n")
+                    .append("    @TestEngine.Argument public Argument<Integer> argument;\n\n")
+                    .append("    @TestEngine.ArgumentSupplier\n")
+                    .append("    public static Stream<Argument<Integer>> arguments() {\n")
+                    .append("        List<Argument<Integer>> arguments = new ArrayList<>(")
+                    .append(arguments)
+                    .append(");\n")
+                    .append("        for (int i = 0; i < ")
+                    .append(arguments)
+                    .append("; i++) {\n")
+                    .append("            arguments.add(Argument.ofInt(i));\n")
+                    .append("        }\n")
+                    .append("        return arguments.stream();\n")
+                    .append("    }\n");
+
+            if (hooks) {
+                for (String hook : HOOKS) {
+                    stringBuilder
+                            .append("\n    @TestEngine.")
+                            .append(hook)
+                            .append("\n    public void ")
+                            .append(Character.toLowerCase(hook.charAt(0)))
+                            .append(hook.substring(1))
+                            .append("() {\n")
+                            .append("        SyntheticWorkload.hook();\n")
+                            .append("    }\n");
+                }
+            }
+
+            for (int i = 0; i < methods; i++) {
+                stringBuilder
+                        .append("\n    @TestEngine.Test\n")
+                        .append("    public void test")
+                        .append(i)
+                        .append("() {\n");
+
+                if (profile == SyntheticWorkload.Profile.NONE && failureRate <= 0D) {
+                    stringBuilder.append("        // DO NOTHING\n");
+                } else {
+                    stringBuilder
+                            .append("        SyntheticWorkload.test(\"")
+                            .append(profile.name())
+                            .append("\", ")
+                            .append(amount)
+                            .append("L, ")
+                            .append(failureRate)
+                            .append("D, ")
+                            .append(classIndex)
+                            .append(", argument.getPayload(), ")
+                            .append(i)
+                            .append(");\n");
+                }
+
+                stringBuilder.append("    }\n");
+            }
+
+            return stringBuilder.append("}\n").toString();
+        }
+    }
+
+    /**
+     * Method to compile source files
+     *
+     * @param sourceFiles sourceFiles
+     * @param classesDirectory classesDirectory
+     * @throws IOException IOException
+     */
+    private static void compile(List<File> sourceFiles, Path classesDirectory) throws IOException {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        if (javaCompiler == null) {
+            throw new IOException("A JDK is required to compile synthetic test classes");
+        }
+
+        List<String> options = new ArrayList<>();
+        options.add("-classpath");
+        options.add(System.getProperty("java.class.path"));
+        options.add("-d");
+        options.add(classesDirectory.toString());
+        options.add("-proc:none");
+
+        try (StandardJavaFileManager standardJavaFileManager =
+                javaCompiler.getStandardFileManager(null, Locale.ENGLISH, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> javaFileObjects =
+                    standardJavaFileManager.getJavaFileObjectsFromFiles(sourceFiles);
+
+            Boolean result =
+                    javaCompiler
+                            .getTask(
+                                    null,
+                                    standardJavaFileManager,
+                                    null,
+                                    options,
+                                    null,
+                                    javaFileObjects)
+                            .call();
+
+            if (!Boolean.TRUE.equals(result)) {
+                throw new IOException("Exception compiling synthetic test classes");
+            }
+        }
+    }
+}
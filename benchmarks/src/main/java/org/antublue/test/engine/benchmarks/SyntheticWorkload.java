@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.benchmarks;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/** Class to implement SyntheticWorkload, called by generated synthetic test classes */
+public class SyntheticWorkload {
+
+    /** Workload profile */
+    public enum Profile {
+        /** No work */
+        NONE,
+        /** Sleep for amount microseconds */
+        SLEEP,
+        /** Spin the CPU for amount iterations */
+        CPU,
+        /** Allocate amount bytes */
+        ALLOCATION;
+
+        /**
+         * Method to parse a Profile
+         *
+         * @param value value
+         * @return a Profile
+         */
+        public static Profile parse(String value) {
+            return Profile.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    private static final LongAdder HOOK_INVOCATIONS = new LongAdder();
+
+    private static final LongAdder TEST_INVOCATIONS = new LongAdder();
+
+    /** Sink for workload results, so the JIT can't eliminate the work */
+    @SuppressWarnings("unused")
+    private static volatile Object blackhole;
+
+    /** Constructor */
+    private SyntheticWorkload() {
+        // DO NOTHING
+    }
+
+    /** Method called by generated lifecycle hooks */
+    public static void hook() {
+        HOOK_INVOCATIONS.increment();
+    }
+
+    /**
+     * Method called by generated test methods
+     *
+     * @param profile profile name
+     * @param amount amount of work
+     * @param failureRate failure rate (0.0 - 1.0)
+     * @param classIndex classIndex
+     * @param argumentIndex argumentIndex
+     * @param methodIndex methodIndex
+     */
+    public static void test(
+            String profile,
+            long amount,
+            double failureRate,
+            int classIndex,
+            int argumentIndex,
+            int methodIndex) {
+        TEST_INVOCATIONS.increment();
+
+        if ("SLEEP".equals(profile)) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(amount));
+        } else if ("CPU".equals(profile)) {
+            long value = amount;
+            for (long i = 0; i < amount; i++) {
+                value = value * 6364136223846793005L + 1442695040888963407L;
+            }
+            blackhole = value;
+        } else if ("ALLOCATION".equals(profile)) {
+            blackhole = new byte[(int) Math.min(amount, Integer.MAX_VALUE - 8)];
+        }
+
+        if (isFailure(failureRate, classIndex, argumentIndex, methodIndex)) {
+            throw new AssertionError(
+                    String.format(
+                            Locale.ENGLISH,
+                            "synthetic failure class [%d] argument [%d] method [%d]",
+                            classIndex,
+                            argumentIndex,
+                            methodIndex));
+        }
+    }
+
+    /**
+     * Method to return if a test method invocation fails (deterministic for a given invocation)
+     *
+     * @param failureRate failureRate
+     * @param classIndex classIndex
+     * @param argumentIndex argumentIndex
+     * @param methodIndex methodIndex
+     * @return true if the test method invocation fails, else false
+     */
+    public static boolean isFailure(
+            double failureRate, int classIndex, int argumentIndex, int methodIndex) {
+        if (failureRate <= 0D) {
+            return false;
+        }
+
+        long seed = ((long) classIndex * 1_000_003L + argumentIndex) * 1_000_033L + methodIndex;
+
+        return new SplittableRandom(seed).nextDouble() < failureRate;
+    }
+
+    /**
+     * Method to get the number of lifecycle hook invocations
+     *
+     * @return the number of lifecycle hook invocations
+     */
+    public static long getHookInvocations() {
+        return HOOK_INVOCATIONS.sum();
+    }
+
+    /**
+     * Method to get the number of test method invocations
+     *
+     * @return the number of test method invocations
+     */
+    public static long getTestInvocations() {
+        return TEST_INVOCATIONS.sum();
+    }
+
+    /** Method to reset invocation counts */
+    public static void reset() {
+        HOOK_INVOCATIONS.reset();
+        TEST_INVOCATIONS.reset();
+    }
+}
@@ -17,12 +17,18 @@
 package org.antublue.test.engine;
 
 import java.util.Optional;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.capture.OutputCapture;
+import org.antublue.test.engine.internal.checkpoint.Checkpoint;
 import org.antublue.test.engine.internal.configuration.Configuration;
 import org.antublue.test.engine.internal.discovery.EngineDiscoveryRequestResolver;
 import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
 import org.antublue.test.engine.internal.execution.ExecutionContextExecutor;
 import org.antublue.test.engine.internal.execution.ExecutionContextExecutorFactory;
+import org.antublue.test.engine.internal.execution.FailFast;
 import org.antublue.test.engine.internal.extension.TestEngineExtensionManager;
+import org.antublue.test.engine.internal.flaky.FlakyStatistics;
 import org.antublue.test.engine.internal.logger.Logger;
 import org.antublue.test.engine.internal.logger.LoggerFactory;
 import org.antublue.test.engine.internal.util.ThrowableCollector;
@@ -114,7 +120,9 @@ public class AntuBLUETestEngine implements org.junit.platform.engine.TestEngine
 
         Configuration.getInstance();
 
-        LOGGER.trace("discover(" + uniqueId + ")");
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("discover(%s)", uniqueId);
+        }
 
         EngineDescriptor engineDescriptor = new EngineDescriptor(uniqueId, getId());
 
@@ -135,11 +143,33 @@ public class AntuBLUETestEngine implements org.junit.platform.engine.TestEngine
             return;
         }
 
-        LOGGER.trace(
-                "execute() rootTestDescriptor children [%d]",
-                executionRequest.getRootTestDescriptor().getChildren().size());
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "execute() rootTestDescriptor children [%d]",
+                    executionRequest.getRootTestDescriptor().getChildren().size());
+        }
 
-        ExecutionContext executionContext = new ExecutionContext(executionRequest);
+        FailFast failFast = FailFast.create(Configuration.getInstance());
+        Checkpoint checkpoint = Checkpoint.create(Configuration.getInstance());
+        OutputCapture outputCapture = OutputCapture.create(Configuration.getInstance());
+
+        ExecutionContext executionContext =
+                new ExecutionContext(
+                        ExecutionRequest.create(
+                                executionRequest.getRootTestDescriptor(),
+                                outputCapture.wrap(
+                                        FlakyStatistics.getInstance()
+                                                .wrap(
+                                                        failFast.wrap(
+                                                                checkpoint.wrap(
+                                                                        executionRequest
+                                                                                .getEngineExecutionListener(),
+                                                                        failFast)))),
+                                executionRequest.getConfigurationParameters()));
+
+        executionContext.put(ExecutionContextConstant.FAIL_FAST, failFast);
+        executionContext.put(ExecutionContextConstant.CHECKPOINT, checkpoint);
+        executionContext.put(ExecutionContextConstant.OUTPUT_CAPTURE, outputCapture);
 
         executionContext
                 .getExecutionRequest()
@@ -152,13 +182,19 @@ public class AntuBLUETestEngine implements org.junit.platform.engine.TestEngine
                 () -> TestEngineExtensionManager.getInstance().initializeCallback());
 
         if (throwableCollector.isEmpty()) {
-            throwableCollector.execute(
-                    () -> {
-                        ExecutionContextExecutor executionContextExecutor =
-                                ExecutionContextExecutorFactory.createExecutionContextExecutor();
-                        executionContextExecutor.execute(executionContext);
-                        executionContextExecutor.await();
-                    });
+            outputCapture.install();
+            try {
+                throwableCollector.execute(
+                        () -> {
+                            ExecutionContextExecutor executionContextExecutor =
+                                    ExecutionContextExecutorFactory
+                                            .createExecutionContextExecutor();
+                            executionContextExecutor.execute(executionContext);
+                            executionContextExecutor.await();
+                        });
+            } finally {
+                outputCapture.uninstall();
+            }
         }
 
         throwableCollector.execute(
@@ -169,6 +205,19 @@ public class AntuBLUETestEngine implements org.junit.platform.engine.TestEngine
                                         TestEngineExtensionManager.getInstance()
                                                 .destroyCallback()));
 
+        throwableCollector.execute(() -> Baseline.getInstance().store());
+
+        throwableCollector.execute(() -> FlakyStatistics.getInstance().store());
+
+        // Keep the checkpoint journal if fail fast stopped the test run, so it can be resumed
+        if (throwableCollector.isEmpty() && !failFast.isTriggered()) {
+            throwableCollector.execute(checkpoint::complete);
+        } else {
+            throwableCollector.execute(checkpoint::close);
+        }
+
+        LoggerFactory.flush();
+
         if (throwableCollector.isEmpty()) {
             executionRequest
                     .getEngineExecutionListener()
@@ -0,0 +1,535 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.baseline;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement Baseline
+ *
+ * <p>The baseline file is a text file with one line per test descriptor, the unique id and the most
+ * recent elapsed times (nanoseconds) separated by a tab character
+ *
+ * <pre>
+ * [engine:antublue-test-engine]/[class:example.Test]/...&#9;1203441,1187290,1210057
+ * </pre>
+ */
+public class Baseline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Baseline.class);
+
+    private static final String COMMENT = "#";
+
+    private static final char SEPARATOR = '\t';
+
+    private static final char SAMPLE_SEPARATOR = ',';
+
+    private static final double DEFAULT_RATIO = 1.5D;
+
+    private static final long DEFAULT_THRESHOLD_MILLISECONDS = 50;
+
+    private static final int DEFAULT_SAMPLES = 5;
+
+    private final Path path;
+    private final boolean update;
+    private final boolean failMode;
+    private final double ratio;
+    private final long threshold;
+    private final int samples;
+    private final boolean useMinimum;
+    private final Map<String, long[]> baselineSamples;
+    private final Map<String, Long> elapsedTimes;
+
+    /**
+     * Constructor
+     *
+     * @param path path
+     * @param update update
+     * @param failMode failMode
+     * @param ratio ratio
+     * @param threshold threshold in nanoseconds
+     * @param samples samples
+     * @param useMinimum useMinimum
+     */
+    private Baseline(
+            Path path,
+            boolean update,
+            boolean failMode,
+            double ratio,
+            long threshold,
+            int samples,
+            boolean useMinimum) {
+        this.path = path;
+        this.update = update;
+        this.failMode = failMode;
+        this.ratio = ratio;
+        this.threshold = threshold;
+        this.samples = samples;
+        this.useMinimum = useMinimum;
+
+        baselineSamples = path != null ? read(path) : new TreeMap<>();
+        elapsedTimes = new ConcurrentHashMap<>();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "path [%s] update [%b] failMode [%b] ratio [%f] threshold [%d] samples [%d]"
+                            + " useMinimum [%b] baseline entries [%d]",
+                    path,
+                    update,
+                    failMode,
+                    ratio,
+                    threshold,
+                    samples,
+                    useMinimum,
+                    baselineSamples.size());
+        }
+    }
+
+    /**
+     * Method to create a Baseline
+     *
+     * @param path path, null to disable baseline checking
+     * @param update update
+     * @param failMode failMode
+     * @param ratio ratio
+     * @param threshold threshold
+     * @param samples samples
+     * @param useMinimum useMinimum
+     * @return a Baseline
+     */
+    public static Baseline create(
+            Path path,
+            boolean update,
+            boolean failMode,
+            double ratio,
+            Duration threshold,
+            int samples,
+            boolean useMinimum) {
+        Preconditions.notNull(threshold, "threshold is null");
+        Preconditions.condition(ratio >= 1, "ratio is less than 1");
+        Preconditions.condition(!threshold.isNegative(), "threshold is negative");
+        Preconditions.condition(samples >= 1, "samples is less than 1");
+
+        return new Baseline(
+                path, update, failMode, ratio, threshold.toNanos(), samples, useMinimum);
+    }
+
+    /**
+     * Method to create a Baseline from the Configuration
+     *
+     * @param configuration configuration
+     * @return a Baseline
+     */
+    private static Baseline create(Configuration configuration) {
+        Path path = configuration.get(Constants.BASELINE_FILE).map(Paths::get).orElse(null);
+
+        boolean update =
+                configuration
+                        .get(Constants.BASELINE_UPDATE)
+                        .map(Constants.TRUE::equalsIgnoreCase)
+                        .orElse(false);
+
+        boolean failMode =
+                configuration
+                        .get(Constants.BASELINE_MODE)
+                        .map(
+                                value -> {
+                                    String mode = value.trim().toLowerCase(Locale.ENGLISH);
+                                    if (Constants.BASELINE_MODE_FAIL.equals(mode)) {
+                                        return true;
+                                    } else if (Constants.BASELINE_MODE_WARN.equals(mode)) {
+                                        return false;
+                                    }
+                                    throw new TestEngineException(
+                                            format("Invalid baseline mode [%s]", value));
+                                })
+                        .orElse(false);
+
+        double ratio =
+                configuration
+                        .get(Constants.BASELINE_RATIO)
+                        .map(
+                                value -> {
+                                    try {
+                                        double doubleValue = Double.parseDouble(value);
+                                        if (doubleValue < 1) {
+                                            throw new TestEngineException(
+                                                    format("Invalid baseline ratio [%s]", value));
+                                        }
+                                        return doubleValue;
+                                    } catch (NumberFormatException e) {
+                                        throw new TestEngineException(
+                                                format("Invalid baseline ratio [%s]", value), e);
+                                    }
+                                })
+                        .orElse(DEFAULT_RATIO);
+
+        long thresholdMilliseconds =
+                configuration
+                        .get(Constants.BASELINE_THRESHOLD)
+                        .map(
+                                value -> {
+                                    try {
+                                        long longValue = Long.parseLong(value);
+                                        if (longValue < 0) {
+                                            throw new TestEngineException(
+                                                    format(
+                                                            "Invalid baseline threshold [%s]",
+                                                            value));
+                                        }
+                                        return longValue;
+                                    } catch (NumberFormatException e) {
+                                        throw new TestEngineException(
+                                                format("Invalid baseline threshold [%s]", value),
+                                                e);
+                                    }
+                                })
+                        .orElse(DEFAULT_THRESHOLD_MILLISECONDS);
+
+        int samples =
+                configuration
+                        .get(Constants.BASELINE_SAMPLES)
+                        .map(
+                                value -> {
+                                    try {
+                                        int intValue = Integer.parseInt(value);
+                                        if (intValue < 1) {
+                                            throw new TestEngineException(
+                                                    format("Invalid baseline samples [%s]", value));
+                                        }
+                                        return intValue;
+                                    } catch (NumberFormatException e) {
+                                        throw new TestEngineException(
+                                                format("Invalid baseline samples [%s]", value), e);
+                                    }
+                                })
+                        .orElse(DEFAULT_SAMPLES);
+
+        boolean useMinimum =
+                configuration
+                        .get(Constants.BASELINE_STATISTIC)
+                        .map(
+                                value -> {
+                                    String statistic = value.trim().toLowerCase(Locale.ENGLISH);
+                                    if (Constants.BASELINE_STATISTIC_MINIMUM.equals(statistic)) {
+                                        return true;
+                                    } else if (Constants.BASELINE_STATISTIC_MEDIAN.equals(
+                                            statistic)) {
+                                        return false;
+                                    }
+                                    throw new TestEngineException(
+                                            format("Invalid baseline statistic [%s]", value));
+                                })
+                        .orElse(false);
+
+        return new Baseline(
+                path,
+                update,
+                failMode,
+                ratio,
+                Duration.ofMillis(thresholdMilliseconds).toNanos(),
+                samples,
+                useMinimum);
+    }
+
+    /**
+     * Method to get the singleton instance
+     *
+     * @return the singleton instance
+     */
+    public static Baseline getInstance() {
+        return SingletonHolder.SINGLETON;
+    }
+
+    /**
+     * Method to return if baseline checking is enabled
+     *
+     * @return true if baseline checking is enabled, else false
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Method to return if a regression should fail the test
+     *
+     * @return true if a regression should fail the test, else false
+     */
+    public boolean isFailMode() {
+        return failMode;
+    }
+
+    /**
+     * Method to record a test descriptor elapsed time and check it against the baseline
+     *
+     * @param uniqueId uniqueId
+     * @param elapsedTime elapsedTime
+     * @return an Optional containing a Regression if the elapsed time regressed, else an empty
+     *     Optional
+     */
+    public Optional<Regression> check(String uniqueId, Duration elapsedTime) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+        Preconditions.notNull(elapsedTime, "elapsedTime is null");
+
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        long elapsedNanoseconds = elapsedTime.toNanos();
+        elapsedTimes.put(uniqueId, elapsedNanoseconds);
+
+        Optional<Long> optional = getBaselineTime(uniqueId);
+        if (!optional.isPresent()) {
+            return Optional.empty();
+        }
+
+        long baselineTime = optional.get();
+
+        if (elapsedNanoseconds > baselineTime * ratio
+                && elapsedNanoseconds - baselineTime > threshold) {
+            return Optional.of(new Regression(uniqueId, baselineTime, elapsedNanoseconds));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Method to get the baseline time of a test descriptor (median or minimum of the baseline
+     * samples)
+     *
+     * @param uniqueId uniqueId
+     * @return an Optional containing the baseline time in nanoseconds, or an empty Optional if the
+     *     test descriptor has no baseline samples
+     */
+    public Optional<Long> getBaselineTime(String uniqueId) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        long[] values = baselineSamples.get(uniqueId);
+        if (values == null || values.length == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(useMinimum ? minimum(values) : median(values));
+    }
+
+    /**
+     * Method to get the recorded elapsed times
+     *
+     * @return a Map of test descriptor unique id to elapsed time in nanoseconds
+     */
+    public Map<String, Long> getElapsedTimes() {
+        return Collections.unmodifiableMap(elapsedTimes);
+    }
+
+    /**
+     * Method to record a test descriptor elapsed time without checking it against the baseline
+     * (e.g. an elapsed time checked by a forked worker)
+     *
+     * @param uniqueId uniqueId
+     * @param elapsedTime elapsed time in nanoseconds
+     */
+    public void record(String uniqueId, long elapsedTime) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        if (isEnabled()) {
+            elapsedTimes.put(uniqueId, elapsedTime);
+        }
+    }
+
+    /**
+     * Method to store the baseline file, appending the recorded elapsed times, if updating is
+     * enabled
+     *
+     * @throws IOException IOException
+     */
+    public void store() throws IOException {
+        if (!isEnabled() || !update || elapsedTimes.isEmpty()) {
+            return;
+        }
+
+        Map<String, long[]> map = new TreeMap<>(baselineSamples);
+
+        for (Map.Entry<String, Long> entry : elapsedTimes.entrySet()) {
+            long[] values = map.get(entry.getKey());
+            if (values == null) {
+                values = new long[0];
+            }
+
+            int length = Math.min(values.length + 1, samples);
+            long[] newValues = new long[length];
+            System.arraycopy(values, values.length - (length - 1), newValues, 0, length - 1);
+            newValues[length - 1] = entry.getValue();
+
+            map.put(entry.getKey(), newValues);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("store() path [%s] entries [%d]", path, map.size());
+        }
+
+        write(path, map);
+    }
+
+    /**
+     * Method to read a baseline file
+     *
+     * @param path path
+     * @return a Map of unique id to elapsed times, empty if the file doesn't exist
+     */
+    public static Map<String, long[]> read(Path path) {
+        Preconditions.notNull(path, "path is null");
+
+        Map<String, long[]> map = new TreeMap<>();
+
+        if (!Files.isRegularFile(path)) {
+            return map;
+        }
+
+        try (BufferedReader bufferedReader =
+                Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith(COMMENT)) {
+                    continue;
+                }
+
+                int index = line.lastIndexOf(SEPARATOR);
+                if (index < 1) {
+                    continue;
+                }
+
+                String[] tokens = line.substring(index + 1).split(",");
+                long[] values = new long[tokens.length];
+                for (int i = 0; i < tokens.length; i++) {
+                    values[i] = Long.parseLong(tokens[i].trim());
+                }
+
+                map.put(line.substring(0, index), values);
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new TestEngineException(format("Exception reading baseline [%s]", path), e);
+        }
+
+        return map;
+    }
+
+    /**
+     * Method to write a baseline file
+     *
+     * @param path path
+     * @param map map
+     * @throws IOException IOException
+     */
+    public static void write(Path path, Map<String, long[]> map) throws IOException {
+        Preconditions.notNull(path, "path is null");
+        Preconditions.notNull(map, "map is null");
+
+        Path absolutePath = path.toAbsolutePath();
+        if (absolutePath.getParent() != null) {
+            Files.createDirectories(absolutePath.getParent());
+        }
+
+        Path temporaryPath =
+                Files.createTempFile(
+                        absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+
+        try (BufferedWriter bufferedWriter =
+                Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            bufferedWriter.write(COMMENT + " AntuBLUE Test Engine baseline");
+            bufferedWriter.newLine();
+
+            StringBuilder stringBuilder = new StringBuilder();
+            for (Map.Entry<String, long[]> entry : map.entrySet()) {
+                stringBuilder.setLength(0);
+                stringBuilder.append(entry.getKey()).append(SEPARATOR);
+
+                long[] values = entry.getValue();
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        stringBuilder.append(SAMPLE_SEPARATOR);
+                    }
+                    stringBuilder.append(values[i]);
+                }
+
+                bufferedWriter.write(stringBuilder.toString());
+                bufferedWriter.newLine();
+            }
+        }
+
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Method to get the minimum value
+     *
+     * @param values values
+     * @return the minimum value
+     */
+    private static long minimum(long[] values) {
+        long minimum = Long.MAX_VALUE;
+        for (long value : values) {
+            minimum = Math.min(minimum, value);
+        }
+        return minimum;
+    }
+
+    /**
+     * Method to get the median value
+     *
+     * @param values values
+     * @return the median value
+     */
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        if (sorted.length % 2 == 0) {
+            return (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+        return sorted[middle];
+    }
+
+    /** Class to hold the singleton instance */
+    private static class SingletonHolder {
+
+        /** The singleton instance */
+        private static final Baseline SINGLETON = create(Configuration.getInstance());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.baseline;
+
+import java.util.Locale;
+import org.antublue.test.engine.internal.support.HumanReadableTimeSupport;
+
+/** Class to implement Regression */
+public class Regression {
+
+    private final String uniqueId;
+    private final long baselineTime;
+    private final long elapsedTime;
+
+    /**
+     * Constructor
+     *
+     * @param uniqueId uniqueId
+     * @param baselineTime baseline time in nanoseconds
+     * @param elapsedTime elapsed time in nanoseconds
+     */
+    public Regression(String uniqueId, long baselineTime, long elapsedTime) {
+        this.uniqueId = uniqueId;
+        this.baselineTime = baselineTime;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Method to get the test descriptor unique id
+     *
+     * @return the test descriptor unique id
+     */
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * Method to get the baseline time in nanoseconds
+     *
+     * @return the baseline time in nanoseconds
+     */
+    public long getBaselineTime() {
+        return baselineTime;
+    }
+
+    /**
+     * Method to get the elapsed time in nanoseconds
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Method to get the ratio of the elapsed time to the baseline time
+     *
+     * @return the ratio of the elapsed time to the baseline time
+     */
+    public double getRatio() {
+        return (double) elapsedTime / Math.max(1, baselineTime);
+    }
+
+    @Override
+    public String toString() {
+        return "elapsed ["
+                + HumanReadableTimeSupport.toTimingUnit(elapsedTime, "adaptive")
+                + "] baseline ["
+                + HumanReadableTimeSupport.toTimingUnit(baselineTime, "adaptive")
+                + "] ("
+                + String.format(Locale.ENGLISH, "%.2f", getRatio())
+                + "x)";
+    }
+}
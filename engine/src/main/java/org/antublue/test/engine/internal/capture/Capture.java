@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Class to implement Capture
+ *
+ * <p>Captured output of a running test descriptor. Output is buffered in pooled chunks, and spilled
+ * to a temporary file when the buffered output reaches the memory threshold
+ */
+class Capture extends OutputStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Capture.class);
+
+    private final UniqueId uniqueId;
+    private final ChunkPool chunkPool;
+    private final int memory;
+    private final List<byte[]> chunks;
+    private final PrintStream printStream;
+    private int position;
+    private int size;
+    private long spilled;
+    private Path spillPath;
+    private OutputStream spillOutputStream;
+    private boolean spillFailed;
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param uniqueId uniqueId of the test descriptor
+     * @param chunkPool chunkPool
+     * @param memory maximum bytes buffered in memory before spilling to a temporary file
+     */
+    Capture(UniqueId uniqueId, ChunkPool chunkPool, int memory) {
+        this.uniqueId = uniqueId;
+        this.chunkPool = chunkPool;
+        this.memory = memory;
+        this.chunks = new ArrayList<>();
+        this.position = ChunkPool.CHUNK_SIZE;
+
+        try {
+            this.printStream = new PrintStream(this, false, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method to get the unique id of the test descriptor
+     *
+     * @return the unique id of the test descriptor
+     */
+    UniqueId getUniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * Method to get a PrintStream that writes to the Capture
+     *
+     * @return a PrintStream
+     */
+    PrintStream getPrintStream() {
+        return printStream;
+    }
+
+    /**
+     * Method to return if the Capture is closed
+     *
+     * @return true if the Capture is closed, else false
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        if (closed) {
+            return;
+        }
+
+        if (position == ChunkPool.CHUNK_SIZE) {
+            nextChunk();
+        }
+
+        chunks.get(chunks.size() - 1)[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        if (closed) {
+            return;
+        }
+
+        while (length > 0) {
+            if (position == ChunkPool.CHUNK_SIZE) {
+                nextChunk();
+            }
+
+            int count = Math.min(length, ChunkPool.CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset, chunks.get(chunks.size() - 1), position, count);
+            position += count;
+            size += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Method to close the Capture, releasing its chunks and deleting its temporary file
+     *
+     * @param maximum maximum bytes of output to return
+     * @param output whether to return the captured output
+     * @return the captured output, or null if not requested or there was no output
+     */
+    synchronized String close(int maximum, boolean output) {
+        if (closed) {
+            return null;
+        }
+
+        closed = true;
+
+        try {
+            long total = spilled + size;
+            return output && total > 0 ? read(total, maximum) : null;
+        } finally {
+            for (byte[] chunk : chunks) {
+                chunkPool.release(chunk);
+            }
+            chunks.clear();
+            size = 0;
+            deleteSpillFile();
+        }
+    }
+
+    /** Method to start a new chunk, spilling buffered chunks if the memory threshold is reached */
+    private void nextChunk() {
+        if (size >= memory && !spillFailed) {
+            spill();
+        }
+
+        chunks.add(chunkPool.acquire());
+        position = 0;
+    }
+
+    /** Method to write the buffered chunks to the temporary file */
+    private void spill() {
+        try {
+            if (spillOutputStream == null) {
+                spillPath = Files.createTempFile("antublue-test-engine-capture-", ".out");
+                spillOutputStream = new BufferedOutputStream(Files.newOutputStream(spillPath));
+            }
+
+            for (byte[] chunk : chunks) {
+                spillOutputStream.write(chunk);
+            }
+
+            spilled += size;
+
+            for (byte[] chunk : chunks) {
+                chunkPool.release(chunk);
+            }
+            chunks.clear();
+            size = 0;
+        } catch (IOException e) {
+            // Keep buffering in memory, so no output is lost
+            spillFailed = true;
+            LOGGER.warn("Exception spilling captured output to a temporary file", e);
+        }
+    }
+
+    /**
+     * Method to read the captured output
+     *
+     * @param total total bytes of captured output
+     * @param maximum maximum bytes of output to return
+     * @return the captured output
+     */
+    private String read(long total, int maximum) {
+        byte[] bytes = new byte[(int) Math.min(total, maximum)];
+        int offset = 0;
+
+        if (spillOutputStream != null) {
+            try {
+                spillOutputStream.flush();
+                try (InputStream inputStream = Files.newInputStream(spillPath)) {
+                    int count;
+                    while (offset < bytes.length
+                            && (count = inputStream.read(bytes, offset, bytes.length - offset))
+                                    > 0) {
+                        offset += count;
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Exception reading captured output from a temporary file", e);
+            }
+        }
+
+        for (int i = 0; i < chunks.size() && offset < bytes.length; i++) {
+            int length = i == chunks.size() - 1 ? position : ChunkPool.CHUNK_SIZE;
+            int count = Math.min(length, bytes.length - offset);
+            System.arraycopy(chunks.get(i), 0, bytes, offset, count);
+            offset += count;
+        }
+
+        String string = new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        if (total > bytes.length) {
+            string +=
+                    System.lineSeparator() + "[... " + (total - bytes.length) + " bytes truncated]";
+        }
+
+        return string;
+    }
+
+    /** Method to close and delete the temporary file */
+    private void deleteSpillFile() {
+        if (spillOutputStream != null) {
+            try {
+                spillOutputStream.close();
+                Files.deleteIfExists(spillPath);
+            } catch (IOException e) {
+                LOGGER.warn("Exception deleting captured output temporary file", e);
+            }
+            spillOutputStream = null;
+        }
+    }
+}
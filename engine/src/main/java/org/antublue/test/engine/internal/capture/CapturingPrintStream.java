@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.capture;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Class to implement CapturingPrintStream
+ *
+ * <p>A PrintStream that routes output to the Capture of the test descriptor running on the current
+ * thread, or to the original PrintStream. Each Capture has its own PrintStream, so threads don't
+ * contend on a shared PrintStream lock
+ */
+class CapturingPrintStream extends PrintStream {
+
+    private final PrintStream printStream;
+    private final OutputCapture outputCapture;
+
+    /**
+     * Constructor
+     *
+     * @param printStream original PrintStream
+     * @param outputCapture outputCapture
+     */
+    CapturingPrintStream(PrintStream printStream, OutputCapture outputCapture) {
+        super(printStream, true);
+        this.printStream = printStream;
+        this.outputCapture = outputCapture;
+    }
+
+    /**
+     * Method to get the original PrintStream
+     *
+     * @return the original PrintStream
+     */
+    PrintStream getPrintStream() {
+        return printStream;
+    }
+
+    /**
+     * Method to get the PrintStream for the current thread
+     *
+     * @return the PrintStream for the current thread
+     */
+    private PrintStream target() {
+        Capture capture = outputCapture.getCapture();
+        return capture != null ? capture.getPrintStream() : printStream;
+    }
+
+    @Override
+    public void flush() {
+        target().flush();
+    }
+
+    @Override
+    public void close() {
+        // DO NOTHING
+    }
+
+    @Override
+    public boolean checkError() {
+        return printStream.checkError();
+    }
+
+    @Override
+    public void write(int b) {
+        target().write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        target().write(bytes, offset, length);
+    }
+
+    @Override
+    public void print(boolean b) {
+        target().print(b);
+    }
+
+    @Override
+    public void print(char c) {
+        target().print(c);
+    }
+
+    @Override
+    public void print(int i) {
+        target().print(i);
+    }
+
+    @Override
+    public void print(long l) {
+        target().print(l);
+    }
+
+    @Override
+    public void print(float f) {
+        target().print(f);
+    }
+
+    @Override
+    public void print(double d) {
+        target().print(d);
+    }
+
+    @Override
+    public void print(char[] chars) {
+        target().print(chars);
+    }
+
+    @Override
+    public void print(String string) {
+        target().print(string);
+    }
+
+    @Override
+    public void print(Object object) {
+        target().print(object);
+    }
+
+    @Override
+    public void println() {
+        target().println();
+    }
+
+    @Override
+    public void println(boolean b) {
+        target().println(b);
+    }
+
+    @Override
+    public void println(char c) {
+        target().println(c);
+    }
+
+    @Override
+    public void println(int i) {
+        target().println(i);
+    }
+
+    @Override
+    public void println(long l) {
+        target().println(l);
+    }
+
+    @Override
+    public void println(float f) {
+        target().println(f);
+    }
+
+    @Override
+    public void println(double d) {
+        target().println(d);
+    }
+
+    @Override
+    public void println(char[] chars) {
+        target().println(chars);
+    }
+
+    @Override
+    public void println(String string) {
+        target().println(string);
+    }
+
+    @Override
+    public void println(Object object) {
+        target().println(object);
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        target().printf(format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale locale, String format, Object... args) {
+        target().printf(locale, format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+        target().format(format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream format(Locale locale, String format, Object... args) {
+        target().format(locale, format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence charSequence) {
+        target().append(charSequence);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence charSequence, int start, int end) {
+        target().append(charSequence, start, end);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(char c) {
+        target().append(c);
+        return this;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.capture;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Class to implement ChunkPool */
+class ChunkPool {
+
+    /** Chunk size in bytes */
+    static final int CHUNK_SIZE = 8192;
+
+    private final int maximumPooled;
+    private final Queue<byte[]> chunks;
+    private final AtomicInteger pooled;
+
+    /**
+     * Constructor
+     *
+     * @param maximumPooled maximum number of pooled chunks
+     */
+    ChunkPool(int maximumPooled) {
+        this.maximumPooled = maximumPooled;
+        this.chunks = new ConcurrentLinkedQueue<>();
+        this.pooled = new AtomicInteger();
+    }
+
+    /**
+     * Method to get a chunk
+     *
+     * @return a chunk
+     */
+    byte[] acquire() {
+        byte[] chunk = chunks.poll();
+        if (chunk == null) {
+            return new byte[CHUNK_SIZE];
+        }
+        pooled.decrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * Method to return a chunk to the pool, if the pool isn't full
+     *
+     * @param chunk chunk
+     */
+    void release(byte[] chunk) {
+        if (pooled.incrementAndGet() <= maximumPooled) {
+            chunks.offer(chunk);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.capture;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Class to implement OutputCapture
+ *
+ * <p>When installed, {@code System.out} and {@code System.err} route output written by a thread to
+ * the Capture of the innermost test descriptor running on the thread (threads started by a test
+ * inherit it.) When a test descriptor finishes, its captured output is attached to its metadata if
+ * it failed (or if output of passed tests is kept), and discarded otherwise
+ */
+public class OutputCapture {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputCapture.class);
+
+    private static final int DEFAULT_MEMORY = 65536;
+
+    private static final int DEFAULT_MAXIMUM = 1048576;
+
+    private static final int MAXIMUM_POOLED_CHUNKS = 1024;
+
+    private static final OutputCapture DISABLED = new OutputCapture(false, false, 0, 0);
+
+    private final boolean enabled;
+    private final boolean passed;
+    private final int memory;
+    private final int maximum;
+    private final ChunkPool chunkPool;
+    private final ThreadLocal<State> state;
+    private CapturingPrintStream out;
+    private CapturingPrintStream err;
+
+    /**
+     * Constructor
+     *
+     * @param enabled enabled
+     * @param passed passed
+     * @param memory memory
+     * @param maximum maximum
+     */
+    private OutputCapture(boolean enabled, boolean passed, int memory, int maximum) {
+        this.enabled = enabled;
+        this.passed = passed;
+        this.memory = memory;
+        this.maximum = maximum;
+        this.chunkPool = new ChunkPool(MAXIMUM_POOLED_CHUNKS);
+        this.state =
+                new InheritableThreadLocal<State>() {
+                    @Override
+                    protected State initialValue() {
+                        return new State();
+                    }
+
+                    @Override
+                    protected State childValue(State parentState) {
+                        State childState = new State();
+                        Capture capture = parentState.captures.peek();
+                        if (capture != null) {
+                            childState.captures.push(capture);
+                        }
+                        return childState;
+                    }
+                };
+    }
+
+    /**
+     * Method to create an OutputCapture from the Configuration
+     *
+     * @param configuration configuration
+     * @return an OutputCapture
+     */
+    public static OutputCapture create(Configuration configuration) {
+        Preconditions.notNull(configuration, "configuration is null");
+
+        return create(
+                configuration.getBoolean(Constants.CAPTURE).orElse(false),
+                configuration.getBoolean(Constants.CAPTURE_PASSED).orElse(false),
+                configuration.getInteger(Constants.CAPTURE_MEMORY).orElse(DEFAULT_MEMORY),
+                configuration.getInteger(Constants.CAPTURE_MAXIMUM).orElse(DEFAULT_MAXIMUM));
+    }
+
+    /**
+     * Method to create an OutputCapture
+     *
+     * @param enabled whether output is captured
+     * @param passed whether output of passed test descriptors is kept
+     * @param memory maximum bytes of output buffered in memory per test descriptor, before spilling
+     *     to a temporary file
+     * @param maximum maximum bytes of output attached to a test descriptor
+     * @return an OutputCapture
+     */
+    public static OutputCapture create(boolean enabled, boolean passed, int memory, int maximum) {
+        if (!enabled) {
+            return DISABLED;
+        }
+
+        return new OutputCapture(
+                true, passed, Math.max(ChunkPool.CHUNK_SIZE, memory), Math.max(0, maximum));
+    }
+
+    /**
+     * Method to return if output capture is enabled
+     *
+     * @return true if output capture is enabled, else false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Method to replace System.out and System.err with capturing PrintStreams */
+    public synchronized void install() {
+        if (!enabled || out != null) {
+            return;
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("install()");
+        }
+
+        System.out.flush();
+        System.err.flush();
+
+        out = new CapturingPrintStream(System.out, this);
+        err = new CapturingPrintStream(System.err, this);
+
+        System.setOut(out);
+        System.setErr(err);
+    }
+
+    /** Method to restore the original System.out and System.err */
+    public synchronized void uninstall() {
+        if (out == null) {
+            return;
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("uninstall()");
+        }
+
+        if (System.out == out) {
+            System.setOut(out.getPrintStream());
+        }
+        if (System.err == err) {
+            System.setErr(err.getPrintStream());
+        }
+
+        out = null;
+        err = null;
+    }
+
+    /**
+     * Method to wrap an EngineExecutionListener to start capturing output when a test descriptor
+     * starts, and attach the captured output when it finishes
+     *
+     * <p>Output written while the wrapped EngineExecutionListener handles an event isn't captured
+     *
+     * @param engineExecutionListener engineExecutionListener
+     * @return an EngineExecutionListener
+     */
+    public EngineExecutionListener wrap(EngineExecutionListener engineExecutionListener) {
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+
+        if (!enabled) {
+            return engineExecutionListener;
+        }
+
+        return new EngineExecutionListener() {
+
+            @Override
+            public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+                State currentState = suspend();
+                try {
+                    engineExecutionListener.dynamicTestRegistered(testDescriptor);
+                } finally {
+                    currentState.suspended--;
+                }
+            }
+
+            @Override
+            public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+                State currentState = suspend();
+                try {
+                    engineExecutionListener.executionSkipped(testDescriptor, reason);
+                } finally {
+                    currentState.suspended--;
+                }
+            }
+
+            @Override
+            public void executionStarted(TestDescriptor testDescriptor) {
+                State currentState = suspend();
+                try {
+                    engineExecutionListener.executionStarted(testDescriptor);
+                } finally {
+                    currentState.suspended--;
+                }
+
+                if (testDescriptor.getParent().isPresent()) {
+                    currentState.captures.push(
+                            new Capture(testDescriptor.getUniqueId(), chunkPool, memory));
+                }
+            }
+
+            @Override
+            public void executionFinished(
+                    TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+                State currentState = state.get();
+
+                String output =
+                        finish(
+                                currentState,
+                                testDescriptor,
+                                passed
+                                        || testExecutionResult.getStatus()
+                                                != TestExecutionResult.Status.SUCCESSFUL);
+
+                if (output != null && testDescriptor instanceof MetadataTestDescriptor) {
+                    ((MetadataTestDescriptor) testDescriptor)
+                            .getMetadata()
+                            .put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT, output);
+                }
+
+                currentState.suspended++;
+                try {
+                    engineExecutionListener.executionFinished(testDescriptor, testExecutionResult);
+                } finally {
+                    currentState.suspended--;
+                }
+            }
+
+            @Override
+            public void reportingEntryPublished(
+                    TestDescriptor testDescriptor, ReportEntry reportEntry) {
+                State currentState = suspend();
+                try {
+                    engineExecutionListener.reportingEntryPublished(testDescriptor, reportEntry);
+                } finally {
+                    currentState.suspended--;
+                }
+            }
+        };
+    }
+
+    /**
+     * Method to get the Capture of the innermost test descriptor running on the current thread
+     *
+     * @return the Capture, or null if output isn't captured
+     */
+    Capture getCapture() {
+        State currentState = state.get();
+        if (currentState.suspended > 0) {
+            return null;
+        }
+
+        Capture capture = currentState.captures.peek();
+        while (capture != null && capture.isClosed()) {
+            currentState.captures.pop();
+            capture = currentState.captures.peek();
+        }
+
+        return capture;
+    }
+
+    /**
+     * Method to suspend capturing output on the current thread
+     *
+     * @return the State of the current thread
+     */
+    private State suspend() {
+        State currentState = state.get();
+        currentState.suspended++;
+        return currentState;
+    }
+
+    /**
+     * Method to stop capturing output of a test descriptor
+     *
+     * @param currentState currentState
+     * @param testDescriptor testDescriptor
+     * @param output whether to return the captured output
+     * @return the captured output, or null
+     */
+    private String finish(State currentState, TestDescriptor testDescriptor, boolean output) {
+        Iterator<Capture> iterator = currentState.captures.iterator();
+        while (iterator.hasNext()) {
+            Capture capture = iterator.next();
+            if (capture.getUniqueId().equals(testDescriptor.getUniqueId())) {
+                iterator.remove();
+                return capture.close(maximum, output);
+            }
+        }
+        return null;
+    }
+
+    /** Class to implement the capture State of a thread */
+    private static class State {
+
+        private final Deque<Capture> captures = new ArrayDeque<>();
+        private int suspended;
+    }
+}
@@ -0,0 +1,758 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.checkpoint;
+
+import static java.lang.String.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.antublue.test.engine.exception.TestCheckpointException;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.Metadata;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.execution.FailFast;
+import org.antublue.test.engine.internal.fork.ForkProtocol;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
+import org.antublue.test.engine.internal.util.HashedWheelTimer;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Class to implement Checkpoint
+ *
+ * <p>The checkpoint journal is an append-only binary file. A record is written when a test class
+ * finishes, with the status, elapsed time, and failure message of the test class and each of its
+ * arguments / test methods. Each record is prefixed with its length and CRC-32. Records are
+ * buffered, and the journal is flushed and synced to disk at most once per sync interval. A record
+ * that isn't synced when it's appended is synced by a timer once the sync interval has elapsed
+ *
+ * <p>When resuming, test classes with a record are skipped, and their recorded results are
+ * reported. The journal is read up to the first record that is partially written or can't be
+ * decoded (e.g. after a crash), and the rest is discarded. The journal is deleted when a test run
+ * completes
+ *
+ * <p>Results generated by the engine rather than by executing a test class (test classes skipped or
+ * interrupted after fail fast is triggered, or failed because a forked worker exited) are not
+ * journaled, so the test classes are executed when resuming
+ */
+public class Checkpoint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Checkpoint.class);
+
+    private static final int MAGIC = 0x41544A32;
+
+    private static final byte PASS = 'P';
+
+    private static final byte FAIL = 'F';
+
+    private static final byte SKIP = 'S';
+
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES * 2;
+
+    private static final int MAXIMUM_MESSAGE_LENGTH = 1024;
+
+    private static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Checkpoint DISABLED = new Checkpoint();
+
+    private final Path path;
+    private final long syncInterval;
+    private final Map<String, Map<String, Entry>> records;
+    private final Map<UniqueId, Entry> results;
+    private final Set<UniqueId> discarded;
+    private EngineExecutionListener engineExecutionListener;
+    private FailFast failFast;
+    private DataOutputStream dataOutputStream;
+    private FileChannel fileChannel;
+    private long syncTime;
+
+    private HashedWheelTimer.Timeout syncTimeout;
+
+    /** Constructor for a disabled Checkpoint */
+    private Checkpoint() {
+        this.path = null;
+        this.syncInterval = 0;
+        this.records = Collections.emptyMap();
+        this.results = Collections.emptyMap();
+        this.discarded = Collections.emptySet();
+    }
+
+    /**
+     * Constructor
+     *
+     * @param path path
+     * @param resume resume
+     * @param syncInterval syncInterval
+     * @throws IOException IOException
+     */
+    private Checkpoint(Path path, boolean resume, Duration syncInterval) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.syncInterval = syncInterval.toNanos();
+        this.records = new HashMap<>();
+        this.results = new ConcurrentHashMap<>();
+        this.discarded = ConcurrentHashMap.newKeySet();
+
+        if (this.path.getParent() != null) {
+            Files.createDirectories(this.path.getParent());
+        }
+
+        long length = resume ? read(this.path, records) : 0;
+
+        if (length > 0) {
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+                channel.truncate(length);
+            }
+        }
+
+        FileOutputStream fileOutputStream = new FileOutputStream(this.path.toFile(), length > 0);
+        fileChannel = fileOutputStream.getChannel();
+        dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+
+        if (length == 0) {
+            dataOutputStream.writeInt(MAGIC);
+        }
+
+        syncTime = System.nanoTime();
+
+        if (!records.isEmpty()) {
+            LOGGER.info(
+                    "Resuming from checkpoint [%s] with [%d] test class(es) recorded",
+                    this.path, records.size());
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "path [%s] resume [%b] syncInterval [%d] records [%d]",
+                    this.path, resume, this.syncInterval, records.size());
+        }
+    }
+
+    /**
+     * Method to create a Checkpoint from the Configuration
+     *
+     * @param configuration configuration
+     * @return a Checkpoint
+     */
+    public static Checkpoint create(Configuration configuration) {
+        Preconditions.notNull(configuration, "configuration is null");
+
+        Path path = configuration.get(Constants.CHECKPOINT_FILE).map(Paths::get).orElse(null);
+        if (path == null) {
+            return DISABLED;
+        }
+
+        boolean resume = configuration.getBoolean(Constants.CHECKPOINT_RESUME).orElse(false);
+        Duration syncInterval =
+                configuration
+                        .getDuration(Constants.CHECKPOINT_SYNC_INTERVAL)
+                        .orElse(DEFAULT_SYNC_INTERVAL);
+
+        try {
+            return create(path, resume, syncInterval);
+        } catch (IOException e) {
+            throw new TestEngineException(format("Exception opening checkpoint [%s]", path), e);
+        }
+    }
+
+    /**
+     * Method to create a Checkpoint
+     *
+     * @param path path of the checkpoint journal
+     * @param resume whether to resume from an existing checkpoint journal
+     * @param syncInterval maximum time between syncs of the checkpoint journal to disk
+     * @return a Checkpoint
+     * @throws IOException IOException
+     */
+    public static Checkpoint create(Path path, boolean resume, Duration syncInterval)
+            throws IOException {
+        Preconditions.notNull(path, "path is null");
+        Preconditions.notNull(syncInterval, "syncInterval is null");
+
+        if (syncInterval.isNegative()) {
+            throw new TestEngineException(
+                    format("Invalid checkpoint sync interval [%s]", syncInterval));
+        }
+
+        return new Checkpoint(path, resume, syncInterval);
+    }
+
+    /**
+     * Method to return if checkpointing is enabled
+     *
+     * @return true if checkpointing is enabled, else false
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Method to get the number of test classes in the checkpoint journal
+     *
+     * @return the number of test classes in the checkpoint journal
+     */
+    public int getCount() {
+        return records.size();
+    }
+
+    /**
+     * Method to wrap an EngineExecutionListener to write a checkpoint journal record when a test
+     * class finishes
+     *
+     * <p>Test classes that finish after fail fast is triggered are not journaled
+     *
+     * @param engineExecutionListener engineExecutionListener
+     * @param failFast failFast
+     * @return an EngineExecutionListener
+     */
+    public EngineExecutionListener wrap(
+            EngineExecutionListener engineExecutionListener, FailFast failFast) {
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+        Preconditions.notNull(failFast, "failFast is null");
+
+        if (!isEnabled()) {
+            return engineExecutionListener;
+        }
+
+        this.engineExecutionListener = engineExecutionListener;
+        this.failFast = failFast;
+
+        return new EngineExecutionListener() {
+
+            @Override
+            public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+                engineExecutionListener.dynamicTestRegistered(testDescriptor);
+            }
+
+            @Override
+            public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+                engineExecutionListener.executionSkipped(testDescriptor, reason);
+                skipped(testDescriptor);
+            }
+
+            @Override
+            public void executionStarted(TestDescriptor testDescriptor) {
+                engineExecutionListener.executionStarted(testDescriptor);
+            }
+
+            @Override
+            public void executionFinished(
+                    TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+                engineExecutionListener.executionFinished(testDescriptor, testExecutionResult);
+                finished(testDescriptor, testExecutionResult);
+            }
+
+            @Override
+            public void reportingEntryPublished(
+                    TestDescriptor testDescriptor, ReportEntry reportEntry) {
+                engineExecutionListener.reportingEntryPublished(testDescriptor, reportEntry);
+            }
+        };
+    }
+
+    /**
+     * Method to report the recorded results of a test class, if the checkpoint journal contains a
+     * record for the test class and all of its arguments / test methods
+     *
+     * <p>Recorded results are reported to the wrapped EngineExecutionListener
+     *
+     * @param testDescriptor testDescriptor
+     * @return true if the recorded results were reported, false if the test class should be
+     *     executed
+     */
+    public boolean replay(TestDescriptor testDescriptor) {
+        Preconditions.notNull(testDescriptor, "testDescriptor is null");
+
+        Map<String, Entry> entries = records.get(testDescriptor.getUniqueId().toString());
+        if (entries == null || engineExecutionListener == null) {
+            return false;
+        }
+
+        int depth = testDescriptor.getUniqueId().getSegments().size();
+        for (TestDescriptor descendant : testDescriptor.getDescendants()) {
+            if (!entries.containsKey(key(descendant.getUniqueId(), depth))) {
+                return false;
+            }
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("replay() uniqueId [%s]", testDescriptor.getUniqueId());
+        }
+
+        replay(testDescriptor, testDescriptor, entries, depth, engineExecutionListener);
+
+        return true;
+    }
+
+    /**
+     * Method to not journal the results of a test class, because they were generated by the engine
+     * (e.g. the forked worker executing the test class exited). Must be called before the test
+     * class finishes
+     *
+     * @param testDescriptor testDescriptor
+     */
+    public void discard(TestDescriptor testDescriptor) {
+        Preconditions.notNull(testDescriptor, "testDescriptor is null");
+
+        if (isEnabled()) {
+            discarded.add(testDescriptor.getUniqueId());
+        }
+    }
+
+    /**
+     * Method to sync and close the checkpoint journal, and delete it (the test run completed)
+     *
+     * @throws IOException IOException
+     */
+    public void complete() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Method to sync and close the checkpoint journal
+     *
+     * @throws IOException IOException
+     */
+    public synchronized void close() throws IOException {
+        if (dataOutputStream != null) {
+            try {
+                sync();
+            } finally {
+                dataOutputStream.close();
+                dataOutputStream = null;
+                fileChannel = null;
+            }
+        }
+    }
+
+    /**
+     * Method to record a skipped test descriptor
+     *
+     * @param testDescriptor testDescriptor
+     */
+    private void skipped(TestDescriptor testDescriptor) {
+        results.put(testDescriptor.getUniqueId(), new Entry(SKIP, 0L, ""));
+
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            write(testDescriptor);
+        }
+    }
+
+    /**
+     * Method to record a finished test descriptor
+     *
+     * @param testDescriptor testDescriptor
+     * @param testExecutionResult testExecutionResult
+     */
+    private void finished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        if (testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+            results.put(testDescriptor.getUniqueId(), new Entry(PASS, 0L, ""));
+        } else {
+            String message = testExecutionResult.getThrowable().map(Throwable::toString).orElse("");
+            results.put(
+                    testDescriptor.getUniqueId(),
+                    new Entry(
+                            FAIL,
+                            0L,
+                            message.substring(
+                                    0, Math.min(message.length(), MAXIMUM_MESSAGE_LENGTH))));
+        }
+
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            write(testDescriptor);
+        }
+    }
+
+    /**
+     * Method to write a checkpoint journal record for a test class
+     *
+     * @param testDescriptor testDescriptor
+     */
+    private void write(TestDescriptor testDescriptor) {
+        if (discarded.remove(testDescriptor.getUniqueId())
+                || (failFast != null && failFast.isTriggered())) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("discard() uniqueId [%s]", testDescriptor.getUniqueId());
+            }
+
+            results.remove(testDescriptor.getUniqueId());
+            for (TestDescriptor descendant : testDescriptor.getDescendants()) {
+                results.remove(descendant.getUniqueId());
+            }
+            return;
+        }
+
+        if (records.containsKey(testDescriptor.getUniqueId().toString())) {
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream recordOutputStream = new DataOutputStream(byteArrayOutputStream);
+
+            int depth = testDescriptor.getUniqueId().getSegments().size();
+            recordOutputStream.writeUTF(testDescriptor.getUniqueId().toString());
+
+            List<TestDescriptor> testDescriptors = new ArrayList<>(testDescriptor.getDescendants());
+            testDescriptors.add(0, testDescriptor);
+
+            recordOutputStream.writeInt(testDescriptors.size());
+            for (TestDescriptor recordTestDescriptor : testDescriptors) {
+                List<UniqueId.Segment> segments = recordTestDescriptor.getUniqueId().getSegments();
+                recordOutputStream.writeByte(segments.size() - depth);
+                for (int i = depth; i < segments.size(); i++) {
+                    recordOutputStream.writeUTF(segments.get(i).getValue());
+                }
+                writeEntry(recordOutputStream, recordTestDescriptor);
+            }
+
+            recordOutputStream.flush();
+            append(byteArrayOutputStream.toByteArray());
+        } catch (IOException e) {
+            LOGGER.warn(format("Exception writing checkpoint [%s]", path), e);
+        }
+    }
+
+    /**
+     * Method to write the status, elapsed time, and failure message of a test descriptor
+     *
+     * <p>A test descriptor without a result (e.g. a child of a skipped test descriptor) is recorded
+     * as skipped
+     *
+     * @param dataOutputStream dataOutputStream
+     * @param testDescriptor testDescriptor
+     * @throws IOException IOException
+     */
+    private void writeEntry(DataOutputStream dataOutputStream, TestDescriptor testDescriptor)
+            throws IOException {
+        Entry entry = results.remove(testDescriptor.getUniqueId());
+
+        Duration elapsedTime = null;
+        if (testDescriptor instanceof MetadataTestDescriptor) {
+            elapsedTime =
+                    ((MetadataTestDescriptor) testDescriptor)
+                            .getMetadata()
+                            .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME);
+        }
+
+        dataOutputStream.writeByte(entry != null ? entry.status : SKIP);
+        dataOutputStream.writeLong(elapsedTime != null ? elapsedTime.toNanos() : 0L);
+        dataOutputStream.writeUTF(entry != null ? entry.message : "");
+    }
+
+    /**
+     * Method to append a record to the checkpoint journal, syncing the checkpoint journal if the
+     * sync interval has elapsed
+     *
+     * @param bytes bytes
+     * @throws IOException IOException
+     */
+    private synchronized void append(byte[] bytes) throws IOException {
+        if (dataOutputStream == null) {
+            return;
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.writeInt((int) crc32.getValue());
+        dataOutputStream.write(bytes);
+
+        long elapsed = System.nanoTime() - syncTime;
+        if (elapsed >= syncInterval) {
+            sync();
+        } else if (syncTimeout == null) {
+            syncTimeout =
+                    TimeoutSupport.schedule(
+                            this::timedSync, syncInterval - elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Method to sync records appended since the last sync once the sync interval has elapsed, even
+     * if no further record is appended
+     */
+    private synchronized void timedSync() {
+        syncTimeout = null;
+
+        if (dataOutputStream == null) {
+            return;
+        }
+
+        try {
+            sync();
+        } catch (IOException e) {
+            LOGGER.warn(format("Exception syncing checkpoint [%s]", path), e);
+        }
+    }
+
+    /**
+     * Method to flush and sync the checkpoint journal to disk
+     *
+     * @throws IOException IOException
+     */
+    private void sync() throws IOException {
+        if (syncTimeout != null) {
+            syncTimeout.cancel();
+            syncTimeout = null;
+        }
+
+        dataOutputStream.flush();
+        fileChannel.force(false);
+        syncTime = System.nanoTime();
+    }
+
+    /**
+     * Method to report the recorded results of a test descriptor and its children
+     *
+     * @param classTestDescriptor classTestDescriptor
+     * @param testDescriptor testDescriptor
+     * @param entries entries
+     * @param depth depth of the test class unique id
+     * @param engineExecutionListener engineExecutionListener
+     */
+    private static void replay(
+            TestDescriptor classTestDescriptor,
+            TestDescriptor testDescriptor,
+            Map<String, Entry> entries,
+            int depth,
+            EngineExecutionListener engineExecutionListener) {
+        Entry entry = entries.get(key(testDescriptor.getUniqueId(), depth));
+
+        if (testDescriptor instanceof MetadataTestDescriptor) {
+            Metadata metadata = ((MetadataTestDescriptor) testDescriptor).getMetadata();
+            ForkProtocol.putTestDescriptorMetadata(testDescriptor, metadata);
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_CLASS_DISPLAY_NAME,
+                    classTestDescriptor.getDisplayName());
+            if (testDescriptor instanceof TestMethodTestDescriptor) {
+                metadata.put(
+                        MetadataTestDescriptorConstants.TEST_METHOD_DISPLAY_NAME,
+                        testDescriptor.getDisplayName());
+            }
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+                    entry.status == PASS
+                            ? MetadataTestDescriptorConstants.PASS
+                            : entry.status == FAIL
+                                    ? MetadataTestDescriptorConstants.FAIL
+                                    : MetadataTestDescriptorConstants.SKIP);
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
+                    Duration.ofNanos(entry.elapsedTime));
+        }
+
+        if (entry.status == SKIP) {
+            engineExecutionListener.executionSkipped(testDescriptor, "Skipped (checkpoint)");
+            return;
+        }
+
+        engineExecutionListener.executionStarted(testDescriptor);
+
+        for (TestDescriptor child : testDescriptor.getChildren()) {
+            replay(classTestDescriptor, child, entries, depth, engineExecutionListener);
+        }
+
+        engineExecutionListener.executionFinished(
+                testDescriptor,
+                entry.status == PASS
+                        ? TestExecutionResult.successful()
+                        : TestExecutionResult.failed(
+                                new TestCheckpointException(
+                                        format(
+                                                "Failed in a previous run (checkpoint) [%s]",
+                                                entry.message))));
+    }
+
+    /**
+     * Method to read a checkpoint journal
+     *
+     * @param path path
+     * @param records records
+     * @return the length of the valid records (records after the first partially written or
+     *     undecodable record are discarded), or 0 if the checkpoint journal doesn't exist or is
+     *     empty
+     * @throws IOException IOException
+     */
+    private static long read(Path path, Map<String, Map<String, Entry>> records)
+            throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < Integer.BYTES) {
+            return 0;
+        }
+
+        long remaining = Files.size(path) - Integer.BYTES;
+        long length = Integer.BYTES;
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path))) {
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+            if (dataInputStream.readInt() != MAGIC) {
+                throw new TestEngineException(format("Invalid checkpoint [%s]", path));
+            }
+
+            while (remaining >= RECORD_HEADER_LENGTH) {
+                int recordLength = dataInputStream.readInt();
+                int checksum = dataInputStream.readInt();
+
+                if (recordLength <= 0 || recordLength > remaining - RECORD_HEADER_LENGTH) {
+                    break;
+                }
+
+                byte[] bytes = new byte[recordLength];
+                dataInputStream.readFully(bytes);
+
+                CRC32 crc32 = new CRC32();
+                crc32.update(bytes, 0, bytes.length);
+                if ((int) crc32.getValue() != checksum || !readRecord(bytes, records)) {
+                    break;
+                }
+
+                length += RECORD_HEADER_LENGTH + recordLength;
+                remaining -= RECORD_HEADER_LENGTH + recordLength;
+            }
+        }
+
+        if (LOGGER.isTraceEnabled() && length < Files.size(path)) {
+            LOGGER.trace(
+                    "read() path [%s] discarding [%d] byte(s)", path, Files.size(path) - length);
+        }
+
+        return length;
+    }
+
+    /**
+     * Method to read a checkpoint journal record
+     *
+     * @param bytes bytes
+     * @param records records
+     * @return true if the record was decoded, else false
+     */
+    private static boolean readRecord(byte[] bytes, Map<String, Map<String, Entry>> records) {
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        try {
+            String uniqueId = dataInputStream.readUTF();
+            int count = dataInputStream.readInt();
+
+            if (count <= 0 || count > bytes.length) {
+                return false;
+            }
+
+            Map<String, Entry> entries = new HashMap<>(count * 2);
+            StringBuilder stringBuilder = new StringBuilder();
+
+            for (int i = 0; i < count; i++) {
+                stringBuilder.setLength(0);
+                int segments = dataInputStream.readUnsignedByte();
+                for (int j = 0; j < segments; j++) {
+                    stringBuilder.append('/').append(dataInputStream.readUTF());
+                }
+                entries.put(
+                        stringBuilder.toString(),
+                        new Entry(
+                                dataInputStream.readByte(),
+                                dataInputStream.readLong(),
+                                dataInputStream.readUTF()));
+            }
+
+            if (dataInputStream.available() > 0) {
+                return false;
+            }
+
+            records.put(uniqueId, entries);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Method to get the key of a test descriptor in a record (the unique id segment values below
+     * the test class)
+     *
+     * @param uniqueId uniqueId
+     * @param depth depth of the test class unique id
+     * @return the key
+     */
+    private static String key(UniqueId uniqueId, int depth) {
+        List<UniqueId.Segment> segments = uniqueId.getSegments();
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = depth; i < segments.size(); i++) {
+            stringBuilder.append('/').append(segments.get(i).getValue());
+        }
+        return stringBuilder.toString();
+    }
+
+    /** Class to implement a checkpoint journal Entry */
+    private static class Entry {
+
+        private final byte status;
+        private final long elapsedTime;
+        private final String message;
+
+        /**
+         * Constructor
+         *
+         * @param status status
+         * @param elapsedTime elapsedTime
+         * @param message message
+         */
+        private Entry(byte status, long elapsedTime, String message) {
+            this.status = status;
+            this.elapsedTime = elapsedTime;
+            this.message = message;
+        }
+    }
+}
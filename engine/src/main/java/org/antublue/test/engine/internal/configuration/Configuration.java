@@ -16,6 +16,8 @@
 
 package org.antublue.test.engine.internal.configuration;
 
+import static java.lang.String.format;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
@@ -24,19 +26,33 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import org.antublue.test.engine.exception.TestEngineConfigurationException;
 import org.junit.platform.commons.util.Preconditions;
 
-/** Class to implement Configuration */
+/**
+ * Class to implement Configuration
+ *
+ * <p>Values are held in an immutable snapshot (keys normalized to environment variable format) that
+ * is replaced (copy-on-write) when a value is set, so reads are lock-free. Each value is indexed by
+ * both its environment variable key and its system property key, so lookups with either form don't
+ * convert the key. Typed values of existing keys are parsed once per snapshot and cached
+ *
+ * <p>Precedence (lowest to highest) is the properties file, Java system properties, then
+ * environment variables
+ */
 @SuppressWarnings("deprecation")
 public class Configuration implements org.junit.platform.engine.ConfigurationParameters {
 
@@ -49,13 +65,32 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
     private static final SimpleDateFormat SIMPLE_DATE_FORMAT =
             new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.getDefault());
 
+    private static final Function<String, Boolean> BOOLEAN_PARSER = Constants.TRUE::equals;
+
     private boolean IS_TRACE_ENABLED;
 
-    private final Map<String, String> map;
+    private volatile Snapshot snapshot;
 
     /** Constructor */
     public Configuration() {
-        map = Collections.synchronizedMap(new TreeMap<>());
+        this(System.getProperties(), System.getenv());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param properties Java system properties
+     * @param environment environment variables
+     */
+    public Configuration(Properties properties, Map<String, String> environment) {
+        Preconditions.notNull(properties, "properties is null");
+        Preconditions.notNull(environment, "environment is null");
+
+        Map<String, String> map = new TreeMap<>();
+
+        if (Constants.TRUE.equals(environment.get(ANTUBLUE_TEST_ENGINE_CONFIGURATION_TRACE))) {
+            IS_TRACE_ENABLED = true;
+        }
 
         // Load file properties
         try {
@@ -70,42 +105,33 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
                                     + "]");
                 }
 
-                Properties properties = new Properties();
+                Properties fileProperties = new Properties();
 
                 try (Reader reader =
                         Files.newBufferedReader(optional.get().toPath(), StandardCharsets.UTF_8)) {
-                    properties.load(reader);
+                    fileProperties.load(reader);
                 }
 
-                properties.forEach(
-                        (key, value) -> set(toEnvironmentVariable((String) key), (String) value));
-
-                properties.put(
-                        ANTUBLUE_TEST_ENGINE_PROPERTIES_FILENAME, optional.get().getAbsolutePath());
+                fileProperties.forEach(
+                        (key, value) ->
+                                map.put(toEnvironmentVariable((String) key), (String) value));
             }
         } catch (IOException e) {
             throw new TestEngineConfigurationException("Exception loading properties", e);
         }
 
         // Load System properties
-        System.getProperties()
-                .entrySet()
-                .forEach(
-                        entry ->
-                                map.put(
-                                        toEnvironmentVariable((String) entry.getKey()),
-                                        entry.getValue().toString()));
-
-        if (Constants.TRUE.equals(System.getenv().get(ANTUBLUE_TEST_ENGINE_CONFIGURATION_TRACE))) {
-            IS_TRACE_ENABLED = true;
-        }
+        properties.forEach(
+                (key, value) -> map.put(toEnvironmentVariable((String) key), value.toString()));
 
         // Load environment variables
-        System.getenv().forEach(this::set);
+        environment.forEach((key, value) -> map.put(toEnvironmentVariable(key), value));
 
         if (IS_TRACE_ENABLED) {
             map.forEach((key, value) -> trace(key + " = [" + value + "]"));
         }
+
+        snapshot = new Snapshot(map);
     }
 
     /**
@@ -117,34 +143,89 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
     public void set(String key, String value) {
         Preconditions.notNull(key, "key is null");
         Preconditions.notNull(value, "value is null");
-        map.put(toEnvironmentVariable(key), value);
+
+        synchronized (this) {
+            Map<String, String> map = new TreeMap<>(snapshot.values);
+            map.put(toEnvironmentVariable(key), value);
+            snapshot = new Snapshot(map);
+        }
     }
 
     @Override
     public Optional<String> get(String key) {
         Preconditions.notNull(key, "key is null");
-        return Optional.ofNullable(map.get(toEnvironmentVariable(key)));
+        Snapshot localSnapshot = snapshot;
+        String normalizedKey = localSnapshot.find(key);
+        return normalizedKey != null
+                ? Optional.of(localSnapshot.values.get(normalizedKey))
+                : Optional.empty();
     }
 
     @Override
     public Optional<Boolean> getBoolean(String key) {
         Preconditions.notNull(key, "key is null");
-        Optional<String> optional = get(key);
-        return optional.map("true"::equals);
+        Snapshot localSnapshot = snapshot;
+        return getTyped(localSnapshot, key, localSnapshot.booleans, "boolean", BOOLEAN_PARSER);
     }
 
     @Override
     public <T> Optional<T> get(String key, Function<String, T> transformer) {
         Preconditions.notNull(key, "key is null");
         Preconditions.notNull(transformer, "transformer is null");
-        String value = map.get(toEnvironmentVariable(key));
-        if (value != null) {
-            return Optional.ofNullable(transformer.apply(value));
+        Snapshot localSnapshot = snapshot;
+        String normalizedKey = localSnapshot.find(key);
+        if (normalizedKey != null) {
+            return Optional.ofNullable(transformer.apply(localSnapshot.values.get(normalizedKey)));
         } else {
             return Optional.empty();
         }
     }
 
+    /**
+     * Method to get an integer configuration value (parsed once, cached)
+     *
+     * @param key key
+     * @return an Optional containing the integer value
+     */
+    public Optional<Integer> getInteger(String key) {
+        Preconditions.notNull(key, "key is null");
+        Snapshot localSnapshot = snapshot;
+        return getTyped(
+                localSnapshot,
+                key,
+                localSnapshot.integers,
+                "integer",
+                value -> Integer.parseInt(value.trim()));
+    }
+
+    /**
+     * Method to get a Duration configuration value (parsed once, cached)
+     *
+     * <p>The value is either a number of milliseconds or an ISO-8601 duration (e.g. PT30S)
+     *
+     * @param key key
+     * @return an Optional containing the Duration value
+     */
+    public Optional<Duration> getDuration(String key) {
+        Preconditions.notNull(key, "key is null");
+        Snapshot localSnapshot = snapshot;
+        return getTyped(
+                localSnapshot, key, localSnapshot.durations, "duration", Configuration::toDuration);
+    }
+
+    /**
+     * Method to get a regular expression Pattern configuration value (compiled once, cached)
+     *
+     * @param key key
+     * @return an Optional containing the Pattern value
+     */
+    public Optional<Pattern> getPattern(String key) {
+        Preconditions.notNull(key, "key is null");
+        Snapshot localSnapshot = snapshot;
+        return getTyped(
+                localSnapshot, key, localSnapshot.patterns, "regular expression", Pattern::compile);
+    }
+
     @Override
     public int size() {
         return keySet().size();
@@ -152,7 +233,7 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
 
     @Override
     public Set<String> keySet() {
-        return map.keySet();
+        return snapshot.values.keySet();
     }
 
     /**
@@ -161,7 +242,7 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
      * @return the entry set
      */
     public Set<Map.Entry<String, String>> entrySet() {
-        return map.entrySet();
+        return snapshot.values.entrySet();
     }
 
     /**
@@ -173,6 +254,62 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
         return SingletonHolder.SINGLETON;
     }
 
+    /**
+     * Method to get a typed value, parsing and caching the value of an existing key on first use
+     *
+     * @param localSnapshot localSnapshot
+     * @param key key
+     * @param cache cache
+     * @param type type (used in exception messages)
+     * @param parser parser
+     * @return an Optional containing the typed value
+     * @param <T> the type
+     */
+    private static <T> Optional<T> getTyped(
+            Snapshot localSnapshot,
+            String key,
+            Map<String, Optional<T>> cache,
+            String type,
+            Function<String, T> parser) {
+        String normalizedKey = localSnapshot.find(key);
+        if (normalizedKey == null) {
+            return Optional.empty();
+        }
+
+        Optional<T> optional = cache.get(normalizedKey);
+        if (optional != null) {
+            return optional;
+        }
+
+        String value = localSnapshot.values.get(normalizedKey);
+
+        try {
+            optional = Optional.of(parser.apply(value));
+        } catch (RuntimeException e) {
+            throw new TestEngineConfigurationException(
+                    format("Invalid %s [%s] for [%s]", type, value, key), e);
+        }
+
+        cache.put(normalizedKey, optional);
+        return optional;
+    }
+
+    /**
+     * Method to convert a String to a Duration
+     *
+     * @param value value
+     * @return a Duration
+     */
+    private static Duration toDuration(String value) {
+        String trimmedValue = value.trim();
+        for (int i = 0; i < trimmedValue.length(); i++) {
+            if (!Character.isDigit(trimmedValue.charAt(i))) {
+                return Duration.parse(trimmedValue);
+            }
+        }
+        return Duration.ofMillis(Long.parseLong(trimmedValue));
+    }
+
     /**
      * Method to convert a Java system property to environment variable
      *
@@ -183,6 +320,42 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
         return key.toUpperCase(Locale.ENGLISH).replace('.', '_');
     }
 
+    /**
+     * Method to convert an environment variable key to a Java system property key
+     *
+     * @param key key
+     * @return the key as a Java system property key
+     */
+    private static String toSystemProperty(String key) {
+        return key.toLowerCase(Locale.ENGLISH).replace('_', '.');
+    }
+
+    /**
+     * Method to return if a key is in system property form (no upper case letters or underscores)
+     * or environment variable form (no lower case letters or periods), so a key that isn't indexed
+     * doesn't exist
+     *
+     * @param key key
+     * @return true if the key is in system property or environment variable form, else false
+     */
+    private static boolean isIndexedForm(String key) {
+        boolean systemProperty = true;
+        boolean environmentVariable = true;
+
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c > 127) {
+                return false;
+            } else if ((c >= 'a' && c <= 'z') || c == '.') {
+                environmentVariable = false;
+            } else if ((c >= 'A' && c <= 'Z') || c == '_') {
+                systemProperty = false;
+            }
+        }
+
+        return systemProperty || environmentVariable;
+    }
+
     /**
      * Method to find a properties file, searching the working directory, then parent directories
      * toward the root
@@ -238,6 +411,51 @@ public class Configuration implements org.junit.platform.engine.ConfigurationPar
         }
     }
 
+    /** Class to implement an immutable configuration snapshot */
+    private static final class Snapshot {
+
+        private final Map<String, String> values;
+        private final Map<String, String> keys;
+        private final Map<String, Optional<Boolean>> booleans;
+        private final Map<String, Optional<Integer>> integers;
+        private final Map<String, Optional<Duration>> durations;
+        private final Map<String, Optional<Pattern>> patterns;
+
+        /**
+         * Constructor
+         *
+         * @param values values
+         */
+        private Snapshot(Map<String, String> values) {
+            this.values = Collections.unmodifiableMap(new HashMap<>(values));
+            this.keys = new HashMap<>(values.size() * 4);
+            for (String key : values.keySet()) {
+                keys.put(key, key);
+                keys.put(toSystemProperty(key), key);
+            }
+            this.booleans = new ConcurrentHashMap<>();
+            this.integers = new ConcurrentHashMap<>();
+            this.durations = new ConcurrentHashMap<>();
+            this.patterns = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Method to find the environment variable key of a key
+         *
+         * @param key key
+         * @return the environment variable key, or null if the key doesn't exist
+         */
+        private String find(String key) {
+            String normalizedKey = keys.get(key);
+            if (normalizedKey != null || isIndexedForm(key)) {
+                return normalizedKey;
+            }
+
+            normalizedKey = toEnvironmentVariable(key);
+            return values.containsKey(normalizedKey) ? normalizedKey : null;
+        }
+    }
+
     /** Class to hold the singleton instance */
     private static class SingletonHolder {
 
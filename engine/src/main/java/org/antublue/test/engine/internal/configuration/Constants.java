@@ -39,6 +39,30 @@ public final class Constants {
     /** Configuration constant */
     public static final String LOGGER_LEVEL = PREFIX + ".logger.level";
 
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC = PREFIX + ".logger.async";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_FILE = LOGGER_ASYNC + ".file";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_BUFFER_SIZE = LOGGER_ASYNC + ".buffer.size";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_OVERFLOW = LOGGER_ASYNC + ".overflow";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_OVERFLOW_BLOCK = "block";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_OVERFLOW_DROP = "drop";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_OVERFLOW_SAMPLE = "sample";
+
+    /** Configuration constant */
+    public static final String LOGGER_ASYNC_SAMPLE_RATE = LOGGER_ASYNC + ".sample.rate";
+
     /** Configuration constant */
     public static final String CONSOLE_LOG = PREFIX + ".console.log";
 
@@ -100,6 +124,108 @@ public final class Constants {
     public static final String TEST_METHOD_TAG_EXCLUDE_REGEX =
             PREFIX + ".test.method.tag.exclude.regex";
 
+    /** Configuration constant */
+    public static final String RANDOM_SEED = PREFIX + ".random.seed";
+
+    /** Configuration constant */
+    public static final String TIMEOUT = PREFIX + ".timeout";
+
+    /** Configuration constant */
+    public static final String RETRY = PREFIX + ".retry";
+
+    /** Configuration constant */
+    public static final String FLAKY = PREFIX + ".flaky";
+
+    /** Configuration constant */
+    public static final String FLAKY_FILE = FLAKY + ".file";
+
+    /** Configuration constant */
+    public static final String FLAKY_THRESHOLD = FLAKY + ".threshold";
+
+    /** Configuration constant */
+    public static final String FLAKY_MINIMUM_RUNS = FLAKY + ".minimum.runs";
+
+    /** Configuration constant */
+    public static final String FLAKY_HISTORY = FLAKY + ".history";
+
+    /** Configuration constant */
+    public static final String CAPTURE = PREFIX + ".capture";
+
+    /** Configuration constant */
+    public static final String CAPTURE_PASSED = CAPTURE + ".passed";
+
+    /** Configuration constant */
+    public static final String CAPTURE_MEMORY = CAPTURE + ".memory";
+
+    /** Configuration constant */
+    public static final String CAPTURE_MAXIMUM = CAPTURE + ".maximum";
+
+    /** Configuration constant */
+    public static final String CHECKPOINT = PREFIX + ".checkpoint";
+
+    /** Configuration constant */
+    public static final String CHECKPOINT_FILE = CHECKPOINT + ".file";
+
+    /** Configuration constant */
+    public static final String CHECKPOINT_RESUME = CHECKPOINT + ".resume";
+
+    /** Configuration constant */
+    public static final String CHECKPOINT_SYNC_INTERVAL = CHECKPOINT + ".sync.interval";
+
+    /** Configuration constant */
+    public static final String FAIL_FAST = PREFIX + ".fail.fast";
+
+    /** Configuration constant */
+    public static final String FAIL_FAST_THRESHOLD = FAIL_FAST + ".threshold";
+
+    /** Configuration constant */
+    public static final String FAIL_FAST_INTERRUPT = FAIL_FAST + ".interrupt";
+
+    /** Configuration constant */
+    public static final String SHARD_INDEX = PREFIX + ".shard.index";
+
+    /** Configuration constant */
+    public static final String SHARD_COUNT = PREFIX + ".shard.count";
+
+    /** Configuration constant */
+    public static final String DAEMON_IDLE_TIMEOUT = PREFIX + ".daemon.idle.timeout";
+
+    /** Configuration constant */
+    public static final String BASELINE = PREFIX + ".baseline";
+
+    /** Configuration constant */
+    public static final String BASELINE_FILE = BASELINE + ".file";
+
+    /** Configuration constant */
+    public static final String BASELINE_UPDATE = BASELINE + ".update";
+
+    /** Configuration constant */
+    public static final String BASELINE_MODE = BASELINE + ".mode";
+
+    /** Configuration constant */
+    public static final String BASELINE_MODE_WARN = "warn";
+
+    /** Configuration constant */
+    public static final String BASELINE_MODE_FAIL = "fail";
+
+    /** Configuration constant */
+    public static final String BASELINE_RATIO = BASELINE + ".ratio";
+
+    /** Configuration constant */
+    public static final String BASELINE_THRESHOLD = BASELINE + ".threshold";
+
+    /** Configuration constant */
+    public static final String BASELINE_SAMPLES = BASELINE + ".samples";
+
+    /** Configuration constant */
+    public static final String BASELINE_STATISTIC = BASELINE + ".statistic";
+
+    /** Configuration constant */
+    public static final String BASELINE_STATISTIC_MEDIAN = "median";
+
+    /** Configuration constant */
+    public static final String BASELINE_STATISTIC_MINIMUM = "min";
+
     /** Configuration constant */
     public static final String MAVEN_PLUGIN = PREFIX + ".maven.plugin";
 
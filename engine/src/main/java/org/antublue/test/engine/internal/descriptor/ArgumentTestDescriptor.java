@@ -19,13 +19,18 @@ package org.antublue.test.engine.internal.descriptor;
 import static java.lang.String.format;
 
 import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.internal.capture.OutputCapture;
 import org.antublue.test.engine.internal.discovery.Predicates;
 import org.antublue.test.engine.internal.execution.ExecutionContext;
 import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.antublue.test.engine.internal.execution.FailFast;
+import org.antublue.test.engine.internal.execution.RecordingEngineExecutionListener;
 import org.antublue.test.engine.internal.logger.Logger;
 import org.antublue.test.engine.internal.logger.LoggerFactory;
 import org.antublue.test.engine.internal.support.ArgumentAnnotationSupport;
@@ -34,8 +39,12 @@ import org.antublue.test.engine.internal.support.MethodSupport;
 import org.antublue.test.engine.internal.support.ObjectSupport;
 import org.antublue.test.engine.internal.support.OrdererSupport;
 import org.antublue.test.engine.internal.support.RandomAnnotationSupport;
+import org.antublue.test.engine.internal.support.RandomSupport;
+import org.antublue.test.engine.internal.support.RetrySupport;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
 import org.junit.platform.commons.support.HierarchyTraversalMode;
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestSource;
 import org.junit.platform.engine.UniqueId;
@@ -50,6 +59,8 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
     private final Argument<?> testArgument;
     private final List<Method> beforeAllMethods;
     private final List<Method> afterAllMethods;
+    private final long timeout;
+    private final int retries;
 
     /**
      * Constructor
@@ -73,6 +84,26 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
         this.testArgument = testArgument;
         this.beforeAllMethods = beforeAllMethods;
         this.afterAllMethods = afterAllMethods;
+        this.timeout = TimeoutSupport.getArgumentTimeout(testClass);
+        this.retries = RetrySupport.getArgumentRetries(testClass);
+    }
+
+    /**
+     * Method to get the test class
+     *
+     * @return the test class
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Method to get the test argument
+     *
+     * @return the test argument
+     */
+    public Argument<?> getTestArgument() {
+        return testArgument;
     }
 
     @Override
@@ -104,33 +135,16 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
 
         getMetadata().put(MetadataTestDescriptorConstants.TEST_ARGUMENT, testArgument);
 
-        executionContext.getExecutionRequest().getEngineExecutionListener().executionStarted(this);
-
-        throwableCollector.execute(() -> setArgumentFields(executionContext));
-        if (throwableCollector.isEmpty()) {
-            throwableCollector.execute(() -> setRandomFields(executionContext));
-            if (throwableCollector.isEmpty()) {
-                throwableCollector.execute(() -> beforeAllMethods(executionContext));
-                if (throwableCollector.isEmpty()) {
-                    doExecute(executionContext);
-                } else {
-                    doSkip(executionContext);
-                }
-                throwableCollector.execute(() -> afterAllMethods(executionContext));
-            }
-            throwableCollector.execute(() -> clearRandomFields(executionContext));
-        }
-        throwableCollector.execute(() -> clearArgumentFields(executionContext));
-
-        stopWatch.stop();
+        EngineExecutionListener engineExecutionListener =
+                executionContext.getExecutionRequest().getEngineExecutionListener();
 
-        getMetadata()
-                .put(
-                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
-                        stopWatch.elapsedTime());
+        engineExecutionListener.executionStarted(this);
 
-        List<Throwable> throwables = collectThrowables();
-        throwableCollector.getThrowables().addAll(throwables);
+        if (retries > 0) {
+            retry(executionContext);
+        } else {
+            attempt(executionContext);
+        }
 
         getMetadata()
                 .put(
@@ -139,10 +153,7 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
                                 ? MetadataTestDescriptorConstants.PASS
                                 : MetadataTestDescriptorConstants.FAIL);
 
-        executionContext
-                .getExecutionRequest()
-                .getEngineExecutionListener()
-                .executionFinished(this, throwableCollector.toTestExecutionResult());
+        engineExecutionListener.executionFinished(this, throwableCollector.toTestExecutionResult());
     }
 
     @Override
@@ -199,6 +210,112 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
                 + " }";
     }
 
+    /**
+     * Method to execute the argument, retrying a failed argument
+     *
+     * <p>Execution events of child test descriptors are recorded, and only the events of the last
+     * attempt are reported. Output of child test descriptors is captured while they execute, since
+     * it can't be captured when the recorded events are reported
+     *
+     * @param executionContext executionContext
+     */
+    private void retry(ExecutionContext executionContext) {
+        RecordingEngineExecutionListener recordingEngineExecutionListener =
+                new RecordingEngineExecutionListener();
+        OutputCapture outputCapture = executionContext.get(ExecutionContextConstant.OUTPUT_CAPTURE);
+        EngineExecutionListener engineExecutionListener =
+                outputCapture != null
+                        ? outputCapture.wrap(recordingEngineExecutionListener)
+                        : recordingEngineExecutionListener;
+        Set<TestDescriptor> failedTestDescriptors = new HashSet<>();
+        int attempts = 0;
+
+        do {
+            if (attempts > 0) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info(
+                            "Retrying test class [%s] argument [%s] (retry [%d] of [%d])",
+                            testClass.getName(), testArgument.getName(), attempts, retries);
+                }
+                recordingEngineExecutionListener.clear();
+                getDescendants().stream()
+                        .filter(FailFast::isFailedTestMethod)
+                        .forEach(failedTestDescriptors::add);
+                reset();
+            }
+
+            attempts++;
+
+            attempt(new ExecutionContext(executionContext, engineExecutionListener));
+        } while (throwableCollector.isNotEmpty()
+                && attempts <= retries
+                && !FailFast.isCancelled(executionContext));
+
+        getMetadata().put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS, attempts);
+
+        // Test methods that failed in a previous attempt are reported as passing after a retry
+        for (TestDescriptor testDescriptor : failedTestDescriptors) {
+            Metadata metadata = ((MetadataTestDescriptor) testDescriptor).getMetadata();
+            if (MetadataTestDescriptorConstants.PASS.equals(
+                    metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS))) {
+                Integer testDescriptorAttempts =
+                        metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS);
+                metadata.put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS,
+                        Math.max(
+                                testDescriptorAttempts != null ? testDescriptorAttempts : 1,
+                                attempts));
+            }
+        }
+
+        recordingEngineExecutionListener.replay(
+                executionContext.getExecutionRequest().getEngineExecutionListener());
+    }
+
+    /**
+     * Method to execute an attempt of the argument
+     *
+     * @param executionContext executionContext
+     */
+    private void attempt(ExecutionContext executionContext) {
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(timeout);
+
+        throwableCollector.execute(() -> setArgumentFields(executionContext));
+        if (throwableCollector.isEmpty()) {
+            throwableCollector.execute(() -> setRandomFields(executionContext));
+            if (throwableCollector.isEmpty()) {
+                throwableCollector.execute(() -> beforeAllMethods(executionContext));
+                if (throwableCollector.isEmpty()) {
+                    doExecute(executionContext, deadline);
+                } else {
+                    doSkip(executionContext);
+                }
+                // Stop the Deadline so @TestEngine.AfterAll methods aren't interrupted
+                deadline.stop();
+                throwableCollector.execute(() -> afterAllMethods(executionContext));
+            }
+            throwableCollector.execute(() -> clearRandomFields(executionContext));
+        }
+        TimeoutSupport.check(
+                deadline,
+                throwableCollector.getThrowables(),
+                () ->
+                        format(
+                                "Test class [%s] argument [%s]",
+                                testClass.getName(), testArgument.getName()));
+        throwableCollector.execute(() -> clearArgumentFields(executionContext));
+
+        stopWatch.stop();
+
+        getMetadata()
+                .put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
+                        stopWatch.elapsedTime());
+
+        List<Throwable> throwables = collectThrowables();
+        throwableCollector.getThrowables().addAll(throwables);
+    }
+
     private void setArgumentFields(ExecutionContext executionContext) throws Throwable {
         Object testInstance = executionContext.get(ExecutionContextConstant.TEST_INSTANCE);
 
@@ -221,7 +338,8 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
         }
 
         if (testInstance != null) {
-            RandomAnnotationSupport.setRandomFields(testInstance);
+            RandomAnnotationSupport.setRandomFields(
+                    testInstance, RandomSupport.getRandom(getUniqueId()));
         }
     }
 
@@ -245,7 +363,7 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
         }
     }
 
-    private void doExecute(ExecutionContext executionContext) {
+    private void doExecute(ExecutionContext executionContext, TimeoutSupport.Deadline deadline) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("execute() testClass [%s]", testClass.getName());
         }
@@ -257,7 +375,13 @@ public class ArgumentTestDescriptor extends ExecutableTestDescriptor {
                                     if (testDescriptor instanceof TestMethodTestDescriptor) {
                                         ExecutableTestDescriptor executableTestDescriptor =
                                                 (ExecutableTestDescriptor) testDescriptor;
-                                        executableTestDescriptor.execute(executionContext);
+                                        if (deadline.isExpired()
+                                                || FailFast.isCancelled(executionContext)) {
+                                            executableTestDescriptor.skip(executionContext);
+                                        } else {
+                                            executableTestDescriptor.execute(
+                                                    new ExecutionContext(executionContext));
+                                        }
                                     }
                                 });
     }
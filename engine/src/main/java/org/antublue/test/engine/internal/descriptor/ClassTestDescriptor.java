@@ -16,6 +16,8 @@
 
 package org.antublue.test.engine.internal.descriptor;
 
+import static java.lang.String.format;
+
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,7 @@ import org.antublue.test.engine.api.TestEngine;
 import org.antublue.test.engine.internal.discovery.Predicates;
 import org.antublue.test.engine.internal.execution.ExecutionContext;
 import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.antublue.test.engine.internal.execution.FailFast;
 import org.antublue.test.engine.internal.logger.Logger;
 import org.antublue.test.engine.internal.logger.LoggerFactory;
 import org.antublue.test.engine.internal.support.DisplayNameSupport;
@@ -32,6 +35,8 @@ import org.antublue.test.engine.internal.support.MethodSupport;
 import org.antublue.test.engine.internal.support.ObjectSupport;
 import org.antublue.test.engine.internal.support.OrdererSupport;
 import org.antublue.test.engine.internal.support.RandomAnnotationSupport;
+import org.antublue.test.engine.internal.support.RandomSupport;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
 import org.junit.platform.commons.support.HierarchyTraversalMode;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.engine.TestDescriptor;
@@ -48,6 +53,7 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
     private final Class<?> testClass;
     private final List<Method> prepareMethods;
     private final List<Method> concludeMethods;
+    private final long timeout;
 
     /**
      * Constructor
@@ -68,6 +74,16 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
         this.testClass = testClass;
         this.prepareMethods = prepareMethods;
         this.concludeMethods = concludeMethods;
+        this.timeout = TimeoutSupport.getTimeout(testClass);
+    }
+
+    /**
+     * Method to get the test class
+     *
+     * @return the test class
+     */
+    public Class<?> getTestClass() {
+        return testClass;
     }
 
     @Override
@@ -94,20 +110,28 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
 
         executionContext.getExecutionRequest().getEngineExecutionListener().executionStarted(this);
 
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(timeout);
+
         throwableCollector.execute(this::setRandomFields);
         if (throwableCollector.isEmpty()) {
             throwableCollector.execute(() -> createTestInstance(executionContext));
             if (throwableCollector.isEmpty()) {
                 throwableCollector.execute(() -> prepare(executionContext));
                 if (throwableCollector.isEmpty()) {
-                    doExecute(executionContext);
+                    doExecute(executionContext, deadline);
                 } else {
                     doSkip(executionContext);
                 }
+                // Stop the Deadline so @TestEngine.Conclude methods aren't interrupted
+                deadline.stop();
                 throwableCollector.execute(() -> conclude(executionContext));
             }
             throwableCollector.execute(() -> destroyTestInstance(executionContext));
         }
+        TimeoutSupport.check(
+                deadline,
+                throwableCollector.getThrowables(),
+                () -> format("Test class [%s]", testClass.getName()));
         throwableCollector.execute(this::clearRandomFields);
 
         stopWatch.stop();
@@ -238,7 +262,7 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
             LOGGER.trace("setRandomFields() testClass [%s]", testClass.getName());
         }
 
-        RandomAnnotationSupport.setRandomFields(testClass);
+        RandomAnnotationSupport.setRandomFields(testClass, RandomSupport.getRandom(getUniqueId()));
     }
 
     private void prepare(ExecutionContext executionContext) throws Throwable {
@@ -278,7 +302,7 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
         executionContext.put(ExecutionContextConstant.TEST_INSTANCE, testInstance);
     }
 
-    private void doExecute(ExecutionContext executionContext) {
+    private void doExecute(ExecutionContext executionContext, TimeoutSupport.Deadline deadline) {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace("doExecute() testClass [%s]", testClass.getName());
         }
@@ -290,7 +314,13 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
                                     if (testDescriptor instanceof ArgumentTestDescriptor) {
                                         ExecutableTestDescriptor executableTestDescriptor =
                                                 (ExecutableTestDescriptor) testDescriptor;
-                                        executableTestDescriptor.execute(executionContext);
+                                        if (deadline.isExpired()
+                                                || FailFast.isCancelled(executionContext)) {
+                                            executableTestDescriptor.skip(executionContext);
+                                        } else {
+                                            executableTestDescriptor.execute(
+                                                    new ExecutionContext(executionContext));
+                                        }
                                     }
                                 });
     }
@@ -353,7 +383,11 @@ public class ClassTestDescriptor extends ExecutableTestDescriptor {
 
     private void destroyTestInstance(ExecutionContext executionContext) {
         Object testInstance = executionContext.remove(ExecutionContextConstant.TEST_INSTANCE);
-        LOGGER.trace("destroyTestInstance() testClass [%s]", testClass.getName(), testInstance);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "destroyTestInstance() testClass [%s] testInstance [%s]",
+                    testClass.getName(), testInstance);
+        }
     }
 
     /**
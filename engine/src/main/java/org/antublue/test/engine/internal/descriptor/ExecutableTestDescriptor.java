@@ -72,6 +72,29 @@ public abstract class ExecutableTestDescriptor extends AbstractTestDescriptor
      */
     public abstract void skip(ExecutionContext executionContext);
 
+    /**
+     * Method to reset the test descriptor and child test descriptors before retrying execution
+     *
+     * <p>Throwables, execution results (benchmark results and baseline regressions), and the
+     * elapsed time of the previous attempt are discarded
+     */
+    public void reset() {
+        throwableCollector.getThrowables().clear();
+        stopWatch.reset();
+        metadata.remove(MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT);
+        metadata.remove(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION);
+        metadata.remove(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+
+        getChildren()
+                .forEach(
+                        (Consumer<TestDescriptor>)
+                                testDescriptor -> {
+                                    if (testDescriptor instanceof ExecutableTestDescriptor) {
+                                        ((ExecutableTestDescriptor) testDescriptor).reset();
+                                    }
+                                });
+    }
+
     /**
      * Method to collect all Throwables from parent and children
      *
@@ -53,6 +53,17 @@ public class Metadata {
         return (T) map.get(key);
     }
 
+    /**
+     * Method to remove a Metadata value
+     *
+     * @param key key
+     * @return the removed Metadata value, or null if a value didn't exist for the key
+     * @param <T> T
+     */
+    public <T> T remove(Object key) {
+        return (T) map.remove(key);
+    }
+
     /**
      * Method to return of a Metadata value exists for a key
      *
@@ -53,4 +53,17 @@ public class MetadataTestDescriptorConstants {
 
     /** Constant */
     public static final String TEST_DESCRIPTOR_ELAPSED_TIME = "testDescriptorElapsedTime";
+
+    /** Constant */
+    public static final String TEST_METHOD_BENCHMARK_RESULT = "testMethodBenchmarkResult";
+
+    /** Constant */
+    public static final String TEST_DESCRIPTOR_BASELINE_REGRESSION =
+            "testDescriptorBaselineRegression";
+
+    /** Constant */
+    public static final String TEST_DESCRIPTOR_ATTEMPTS = "testDescriptorAttempts";
+
+    /** Constant */
+    public static final String TEST_DESCRIPTOR_OUTPUT = "testDescriptorOutput";
 }
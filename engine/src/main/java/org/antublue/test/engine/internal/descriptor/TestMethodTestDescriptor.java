@@ -19,18 +19,27 @@ package org.antublue.test.engine.internal.descriptor;
 import static java.lang.String.format;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.exception.TestRegressionException;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.baseline.Regression;
 import org.antublue.test.engine.internal.discovery.Predicates;
 import org.antublue.test.engine.internal.execution.ExecutionContext;
 import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.antublue.test.engine.internal.execution.FailFast;
 import org.antublue.test.engine.internal.logger.Logger;
 import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.antublue.test.engine.internal.support.BenchmarkSupport;
 import org.antublue.test.engine.internal.support.DisplayNameSupport;
 import org.antublue.test.engine.internal.support.MethodSupport;
 import org.antublue.test.engine.internal.support.ObjectSupport;
 import org.antublue.test.engine.internal.support.OrdererSupport;
+import org.antublue.test.engine.internal.support.RetrySupport;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
+import org.antublue.test.engine.internal.util.BenchmarkResult;
 import org.junit.platform.commons.support.HierarchyTraversalMode;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.engine.TestSource;
@@ -47,6 +56,8 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
     private final List<Method> beforeEachMethods;
     private final Method testMethod;
     private final List<Method> afterEachMethods;
+    private final long timeout;
+    private final int retries;
 
     /**
      * Constructor
@@ -73,6 +84,35 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
         this.testMethod = testMethod;
         this.afterEachMethods = afterEachMethods;
         this.testArgument = testArgument;
+        this.timeout = TimeoutSupport.getTimeout(testMethod);
+        this.retries = RetrySupport.getRetries(testMethod);
+    }
+
+    /**
+     * Method to get the test class
+     *
+     * @return the test class
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * Method to get the test argument
+     *
+     * @return the test argument
+     */
+    public Argument<?> getTestArgument() {
+        return testArgument;
+    }
+
+    /**
+     * Method to get the test method
+     *
+     * @return the test method
+     */
+    public Method getTestMethod() {
+        return testMethod;
     }
 
     @Override
@@ -109,14 +149,49 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
 
         executionContext.getExecutionRequest().getEngineExecutionListener().executionStarted(this);
 
-        throwableCollector.execute(() -> beforeEach(executionContext));
-        if (throwableCollector.isEmpty()) {
-            throwableCollector.execute(() -> test(executionContext));
-        }
-        throwableCollector.execute(() -> afterEach(executionContext));
+        int attempts = 0;
+
+        do {
+            if (attempts > 0) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info(
+                            "Retrying test class [%s] argument [%s] test method [%s] (retry [%d]"
+                                    + " of [%d])",
+                            testClass.getName(),
+                            testArgument.getName(),
+                            testMethod.getName(),
+                            attempts,
+                            retries);
+                }
+                reset();
+            }
+
+            attempts++;
+
+            TimeoutSupport.Deadline deadline = TimeoutSupport.start(timeout);
+
+            throwableCollector.execute(() -> beforeEach(executionContext));
+            if (throwableCollector.isEmpty()) {
+                throwableCollector.execute(() -> test(executionContext));
+            }
+            TimeoutSupport.check(
+                    deadline,
+                    throwableCollector.getThrowables(),
+                    () ->
+                            format(
+                                    "Test class [%s] argument [%s] test method [%s]",
+                                    testClass.getName(),
+                                    testArgument.getName(),
+                                    testMethod.getName()));
+            throwableCollector.execute(() -> afterEach(executionContext));
+        } while (throwableCollector.isNotEmpty()
+                && attempts <= retries
+                && !FailFast.isCancelled(executionContext));
 
         stopWatch.stop();
 
+        getMetadata().put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS, attempts);
+
         getMetadata()
                 .put(
                         MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
@@ -125,6 +200,10 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
         List<Throwable> throwables = collectThrowables();
         throwableCollector.getThrowables().addAll(throwables);
 
+        if (throwableCollector.isEmpty()) {
+            checkBaseline(executionContext);
+        }
+
         getMetadata()
                 .put(
                         MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
@@ -155,7 +234,8 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
         getMetadata().put(MetadataTestDescriptorConstants.TEST_METHOD, testMethod);
         getMetadata()
                 .put(MetadataTestDescriptorConstants.TEST_METHOD_DISPLAY_NAME, getDisplayName());
-        getMetadata().put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME, 0);
+        getMetadata()
+                .put(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME, Duration.ZERO);
         getMetadata()
                 .put(
                         MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
@@ -189,6 +269,50 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
                 + " }";
     }
 
+    /**
+     * Method to check the elapsed time against the Baseline
+     *
+     * <p>The ExecutionContext Baseline is used if present, else the Baseline singleton
+     *
+     * @param executionContext executionContext
+     */
+    private void checkBaseline(ExecutionContext executionContext) {
+        Baseline baseline = executionContext.get(ExecutionContextConstant.BASELINE);
+        if (baseline == null) {
+            baseline = Baseline.getInstance();
+        }
+
+        if (!baseline.isEnabled()) {
+            return;
+        }
+
+        Optional<Regression> optionalRegression =
+                baseline.check(getUniqueId().toString(), stopWatch.elapsedTime());
+
+        if (optionalRegression.isPresent()) {
+            Regression regression = optionalRegression.get();
+
+            getMetadata()
+                    .put(
+                            MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION,
+                            regression);
+
+            String message =
+                    format(
+                            "Test class [%s] argument [%s] test method [%s] regressed %s",
+                            testClass.getName(),
+                            testArgument.getName(),
+                            testMethod.getName(),
+                            regression);
+
+            if (baseline.isFailMode()) {
+                throwableCollector.getThrowables().add(new TestRegressionException(message));
+            } else if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn(message);
+            }
+        }
+    }
+
     private void beforeEach(ExecutionContext executionContext) throws Throwable {
         Object testInstance = executionContext.get(ExecutionContextConstant.TEST_INSTANCE);
 
@@ -218,7 +342,25 @@ public class TestMethodTestDescriptor extends ExecutableTestDescriptor {
                     testInstance.getClass().getName(), testInstance, testMethod);
         }
 
-        testMethod.invoke(testInstance);
+        if (BenchmarkSupport.isBenchmark(testMethod)) {
+            BenchmarkResult benchmarkResult = BenchmarkSupport.benchmark(testInstance, testMethod);
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(
+                        "test() testClass [%s] testInstance [%s] method [%s] benchmarkResult [%s]",
+                        testInstance.getClass().getName(),
+                        testInstance,
+                        testMethod,
+                        benchmarkResult);
+            }
+
+            getMetadata()
+                    .put(
+                            MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT,
+                            benchmarkResult);
+        } else {
+            testMethod.invoke(testInstance);
+        }
     }
 
     private void afterEach(ExecutionContext executionContext) throws Throwable {
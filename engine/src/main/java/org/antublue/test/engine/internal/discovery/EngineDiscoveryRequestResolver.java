@@ -16,6 +16,7 @@
 
 package org.antublue.test.engine.internal.discovery;
 
+import static java.lang.String.format;
 import static org.junit.platform.engine.Filter.composeFilters;
 
 import java.lang.reflect.Method;
@@ -39,12 +40,14 @@ import org.antublue.test.engine.internal.configuration.Constants;
 import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
 import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
 import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.flaky.FlakyStatistics;
 import org.antublue.test.engine.internal.logger.Logger;
 import org.antublue.test.engine.internal.logger.LoggerFactory;
 import org.antublue.test.engine.internal.support.ClassPathSupport;
 import org.antublue.test.engine.internal.support.DisplayNameSupport;
 import org.antublue.test.engine.internal.support.MethodSupport;
 import org.antublue.test.engine.internal.support.OrdererSupport;
+import org.antublue.test.engine.internal.support.ShardSupport;
 import org.antublue.test.engine.internal.support.TagSupport;
 import org.antublue.test.engine.internal.util.StopWatch;
 import org.junit.platform.commons.support.HierarchyTraversalMode;
@@ -69,6 +72,8 @@ public class EngineDiscoveryRequestResolver {
 
     private static final Configuration CONFIGURATION = Configuration.getInstance();
 
+    private static final Pattern SPLIT_CLASS_SUFFIX = Pattern.compile("\\[\\d+]$");
+
     /** Constructor */
     public EngineDiscoveryRequestResolver() {
         // DO NOTHING
@@ -103,10 +108,25 @@ public class EngineDiscoveryRequestResolver {
                 buildClassTestDescriptor(engineDescriptor, testClass);
             }
 
+            boolean isUniqueIdRequest = isUniqueIdRequest(engineDiscoveryRequest);
+
+            if (isUniqueIdRequest) {
+                retainUniqueIds(engineDiscoveryRequest, engineDescriptor);
+            }
+
             LOGGER.trace("pruning...");
             prune(engineDescriptor);
 
+            // A unique id request (e.g. from a forked worker) selects from an existing shard
+            if (!isUniqueIdRequest) {
+                shard(engineDescriptor);
+            }
+
             shuffle(engineDescriptor);
+
+            if (!isUniqueIdRequest) {
+                quarantine(engineDescriptor);
+            }
         } catch (TestEngineException e) {
             throw e;
         } catch (Throwable t) {
@@ -126,7 +146,9 @@ public class EngineDiscoveryRequestResolver {
      */
     private static void buildClassTestDescriptor(
             TestDescriptor parentTestDescriptor, Class<?> testClass) throws Throwable {
-        LOGGER.trace("buildClassTestDescriptor() testClass [%s]", testClass.getName());
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("buildClassTestDescriptor() testClass [%s]", testClass.getName());
+        }
 
         ClassTestDescriptor classTestDescriptor =
                 ClassTestDescriptor.create(parentTestDescriptor.getUniqueId(), testClass);
@@ -163,10 +185,12 @@ public class EngineDiscoveryRequestResolver {
             Class<?> testClass,
             Argument<?> testArgument,
             int testArgumentIndex) {
-        LOGGER.trace(
-                "buildArgumentTestDescriptor() testClass [%s] testArgument [%s] testArgumentIndex"
-                        + " [%d]",
-                testClass.getName(), testArgument.getName(), testArgumentIndex);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "buildArgumentTestDescriptor() testClass [%s] testArgument [%s]"
+                            + " testArgumentIndex [%d]",
+                    testClass.getName(), testArgument.getName(), testArgumentIndex);
+        }
 
         ArgumentTestDescriptor argumentTestDescriptor =
                 ArgumentTestDescriptor.create(
@@ -361,7 +385,9 @@ public class EngineDiscoveryRequestResolver {
                 String segmentType = segment.getType();
 
                 if (segmentType.equals(ClassTestDescriptor.class.getName())) {
-                    String javaClassName = segment.getValue();
+                    // Strip the "[n]" suffix of a split @TestEngine.ParallelArgumentTest class
+                    String javaClassName =
+                            SPLIT_CLASS_SUFFIX.matcher(segment.getValue()).replaceFirst("");
 
                     Class<?> testClass =
                             Thread.currentThread().getContextClassLoader().loadClass(javaClassName);
@@ -455,13 +481,14 @@ public class EngineDiscoveryRequestResolver {
             LOGGER.trace("filterTestClassesByName()");
         }
 
-        Optional<String> optional = CONFIGURATION.get(Constants.TEST_CLASS_INCLUDE_REGEX);
+        Optional<Pattern> optional = CONFIGURATION.getPattern(Constants.TEST_CLASS_INCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_CLASS_INCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]", Constants.TEST_CLASS_INCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Class<?>> iterator = testClasses.iterator();
@@ -477,13 +504,14 @@ public class EngineDiscoveryRequestResolver {
             }
         }
 
-        optional = CONFIGURATION.get(Constants.TEST_CLASS_EXCLUDE_REGEX);
+        optional = CONFIGURATION.getPattern(Constants.TEST_CLASS_EXCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_CLASS_EXCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]", Constants.TEST_CLASS_EXCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Class<?>> iterator = testClasses.iterator();
@@ -510,13 +538,16 @@ public class EngineDiscoveryRequestResolver {
             LOGGER.trace("filterTestClassesByTags()");
         }
 
-        Optional<String> optional = CONFIGURATION.get(Constants.TEST_CLASS_TAG_INCLUDE_REGEX);
+        Optional<Pattern> optional =
+                CONFIGURATION.getPattern(Constants.TEST_CLASS_TAG_INCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_CLASS_TAG_INCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]",
+                        Constants.TEST_CLASS_TAG_INCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Class<?>> iterator = testClasses.iterator();
@@ -540,13 +571,15 @@ public class EngineDiscoveryRequestResolver {
             }
         }
 
-        optional = CONFIGURATION.get(Constants.TEST_CLASS_TAG_EXCLUDE_REGEX);
+        optional = CONFIGURATION.getPattern(Constants.TEST_CLASS_TAG_EXCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_CLASS_TAG_EXCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]",
+                        Constants.TEST_CLASS_TAG_EXCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Class<?>> iterator = testClasses.iterator();
@@ -576,13 +609,14 @@ public class EngineDiscoveryRequestResolver {
             LOGGER.trace("filterTestMethodsByMethodName()");
         }
 
-        Optional<String> optional = CONFIGURATION.get(Constants.TEST_METHOD_INCLUDE_REGEX);
+        Optional<Pattern> optional = CONFIGURATION.getPattern(Constants.TEST_METHOD_INCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_METHOD_INCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]", Constants.TEST_METHOD_INCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Method> iterator = testMethods.iterator();
@@ -600,13 +634,14 @@ public class EngineDiscoveryRequestResolver {
             }
         }
 
-        optional = CONFIGURATION.get(Constants.TEST_METHOD_EXCLUDE_REGEX);
+        optional = CONFIGURATION.getPattern(Constants.TEST_METHOD_EXCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(" %s [%s]", Constants.TEST_METHOD_EXCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        " %s [%s]", Constants.TEST_METHOD_EXCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Method> iterator = testMethods.iterator();
@@ -635,13 +670,16 @@ public class EngineDiscoveryRequestResolver {
             LOGGER.trace("filterTestMethodsByTag()");
         }
 
-        Optional<String> optional = CONFIGURATION.get(Constants.TEST_METHOD_TAG_INCLUDE_REGEX);
+        Optional<Pattern> optional =
+                CONFIGURATION.getPattern(Constants.TEST_METHOD_TAG_INCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("%s [%s]", Constants.TEST_METHOD_TAG_INCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        "%s [%s]",
+                        Constants.TEST_METHOD_TAG_INCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Method> iterator = testMethods.iterator();
@@ -669,13 +707,15 @@ public class EngineDiscoveryRequestResolver {
             }
         }
 
-        optional = CONFIGURATION.get(Constants.TEST_METHOD_TAG_EXCLUDE_REGEX);
+        optional = CONFIGURATION.getPattern(Constants.TEST_METHOD_TAG_EXCLUDE_REGEX);
         if (optional.isPresent()) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("%s [%s]", Constants.TEST_METHOD_TAG_EXCLUDE_REGEX, optional.get());
+                LOGGER.trace(
+                        "%s [%s]",
+                        Constants.TEST_METHOD_TAG_EXCLUDE_REGEX, optional.get().pattern());
             }
 
-            Pattern pattern = Pattern.compile(optional.get());
+            Pattern pattern = optional.get();
             Matcher matcher = pattern.matcher("");
 
             Iterator<Method> iterator = testMethods.iterator();
@@ -721,6 +761,158 @@ public class EngineDiscoveryRequestResolver {
         }
     }
 
+    /**
+     * Method to return if an engine discovery request only contains UniqueIdSelectors
+     *
+     * @param engineDiscoveryRequest engineDiscoveryRequest
+     * @return true if the engine discovery request only contains UniqueIdSelectors, else false
+     */
+    private static boolean isUniqueIdRequest(EngineDiscoveryRequest engineDiscoveryRequest) {
+        int count = engineDiscoveryRequest.getSelectorsByType(UniqueIdSelector.class).size();
+        return count > 0
+                && count
+                        == engineDiscoveryRequest
+                                .getSelectorsByType(DiscoverySelector.class)
+                                .size();
+    }
+
+    /**
+     * Method to retain only the test descriptors selected by UniqueIdSelectors
+     *
+     * @param engineDiscoveryRequest engineDiscoveryRequest
+     * @param engineDescriptor engineDescriptor
+     */
+    private static void retainUniqueIds(
+            EngineDiscoveryRequest engineDiscoveryRequest, EngineDescriptor engineDescriptor) {
+        Set<UniqueId> uniqueIds = new HashSet<>();
+        engineDiscoveryRequest
+                .getSelectorsByType(UniqueIdSelector.class)
+                .forEach(uniqueIdSelector -> uniqueIds.add(uniqueIdSelector.getUniqueId()));
+
+        new ArrayList<>(engineDescriptor.getChildren())
+                .forEach(testDescriptor -> retainUniqueIds(uniqueIds, testDescriptor));
+    }
+
+    /**
+     * Method to retain a test descriptor if it, or one of its ancestors or descendants, is selected
+     *
+     * <p>Children of a split @TestEngine.ParallelArgumentTest class keep the unique id prefix of
+     * the original class, so descendants are checked individually
+     *
+     * @param uniqueIds uniqueIds
+     * @param testDescriptor testDescriptor
+     * @return true if the test descriptor was retained, else false
+     */
+    private static boolean retainUniqueIds(Set<UniqueId> uniqueIds, TestDescriptor testDescriptor) {
+        for (UniqueId uniqueId : uniqueIds) {
+            if (testDescriptor.getUniqueId().hasPrefix(uniqueId)) {
+                return true;
+            }
+        }
+
+        boolean retained = false;
+        for (TestDescriptor child : new ArrayList<>(testDescriptor.getChildren())) {
+            retained |= retainUniqueIds(uniqueIds, child);
+        }
+
+        if (!retained) {
+            testDescriptor.removeFromHierarchy();
+        }
+
+        return retained;
+    }
+
+    /**
+     * Method to retain only the test descriptors of the configured shard
+     *
+     * @param engineDescriptor engineDescriptor
+     */
+    private static void shard(EngineDescriptor engineDescriptor) {
+        Optional<Integer> shardCount = CONFIGURATION.getInteger(Constants.SHARD_COUNT);
+        if (!shardCount.isPresent()) {
+            return;
+        }
+
+        int count = shardCount.get();
+        if (count < 1) {
+            throw new TestEngineException(format("Invalid shard count [%d]", count));
+        }
+
+        int index =
+                CONFIGURATION
+                        .getInteger(Constants.SHARD_INDEX)
+                        .orElseThrow(
+                                () ->
+                                        new TestEngineException(
+                                                format(
+                                                        "[%s] is required when [%s] is set",
+                                                        Constants.SHARD_INDEX,
+                                                        Constants.SHARD_COUNT)));
+
+        if (index < 0 || index >= count) {
+            throw new TestEngineException(
+                    format("Invalid shard index [%d] for shard count [%d]", index, count));
+        }
+
+        List<TestDescriptor> testDescriptors = new ArrayList<>(engineDescriptor.getChildren());
+        Set<TestDescriptor> selected =
+                new HashSet<>(
+                        ShardSupport.select(
+                                testDescriptors,
+                                index,
+                                count,
+                                ShardSupport.getDurations(testDescriptors)));
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "shard() index [%d] count [%d] selected [%d] of [%d]",
+                    index, count, selected.size(), testDescriptors.size());
+        }
+
+        for (TestDescriptor testDescriptor : testDescriptors) {
+            if (!selected.contains(testDescriptor)) {
+                engineDescriptor.removeChild(testDescriptor);
+            }
+        }
+    }
+
+    /**
+     * Method to move test classes with quarantined (flaky) test methods after all other test
+     * classes
+     *
+     * @param engineDescriptor engineDescriptor
+     */
+    private static void quarantine(EngineDescriptor engineDescriptor) {
+        FlakyStatistics flakyStatistics = FlakyStatistics.getInstance();
+        if (!flakyStatistics.isEnabled()) {
+            return;
+        }
+
+        List<TestDescriptor> quarantinedTestDescriptors = new ArrayList<>();
+
+        for (TestDescriptor testDescriptor : engineDescriptor.getChildren()) {
+            if (testDescriptor.getDescendants().stream()
+                    .anyMatch(
+                            descendant ->
+                                    descendant instanceof TestMethodTestDescriptor
+                                            && flakyStatistics.isQuarantined(
+                                                    descendant.getUniqueId().toString()))) {
+                quarantinedTestDescriptors.add(testDescriptor);
+            }
+        }
+
+        if (!quarantinedTestDescriptors.isEmpty()) {
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(
+                        "Quarantined [%d] test class(es) with flaky test methods",
+                        quarantinedTestDescriptors.size());
+            }
+
+            quarantinedTestDescriptors.forEach(engineDescriptor::removeChild);
+            quarantinedTestDescriptors.forEach(engineDescriptor::addChild);
+        }
+    }
+
     /**
      * Method to shuffle or sort an engine descriptor's children
      *
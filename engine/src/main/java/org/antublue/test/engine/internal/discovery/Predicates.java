@@ -97,7 +97,8 @@ public class Predicates {
                         && !Modifier.isStatic(modifiers)
                         && method.getParameterCount() == 0
                         && !method.isAnnotationPresent(TestEngine.Disabled.class)
-                        && method.isAnnotationPresent(TestEngine.Test.class);
+                        && (method.isAnnotationPresent(TestEngine.Test.class)
+                                || method.isAnnotationPresent(TestEngine.Benchmark.class));
             };
 
     /** Predicate to filter test classes */
@@ -16,18 +16,33 @@
 
 package org.antublue.test.engine.internal.execution;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.antublue.test.engine.internal.configuration.Configuration;
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 
-/** Class to implement ExecutionContext */
+/**
+ * Class to implement ExecutionContext
+ *
+ * <p>Values are stored in an array, indexed by typed {@link Key}s. A child context (class to
+ * argument to method) doesn't copy its parent's values. Lookups fall back to the parent if the
+ * child doesn't have a value
+ *
+ * <p>An ExecutionContext is thread-safe. Writes copy the array (writes are rare) and publish it via
+ * a volatile field, so reads are lock-free. A value put before a child context is handed to another
+ * thread is visible to that thread. Writes to a child context are only visible to the child and its
+ * descendants
+ */
 @SuppressWarnings("unchecked")
 public class ExecutionContext {
 
-    private final Map<Object, Object> map;
+    private static final Object[] EMPTY_SLOTS = new Object[0];
+
+    private final ExecutionContext parent;
     private final ExecutionRequest executionRequest;
+    private volatile Object[] slots;
 
     /**
      * Constructor
@@ -37,24 +52,47 @@ public class ExecutionContext {
     public ExecutionContext(ExecutionRequest executionRequest) {
         Preconditions.notNull(executionRequest, "executionRequest is null");
 
-        this.map = new HashMap<>();
+        this.parent = null;
         this.executionRequest =
                 ExecutionRequest.create(
                         executionRequest.getRootTestDescriptor(),
                         executionRequest.getEngineExecutionListener(),
                         Configuration.getInstance());
+        this.slots = EMPTY_SLOTS;
     }
 
     /**
-     * Copy constructor
+     * Constructor to create a child execution context
      *
-     * @param executionContext executionContext
+     * @param executionContext parent executionContext
      */
     public ExecutionContext(ExecutionContext executionContext) {
         Preconditions.notNull(executionContext, "executionContext is null");
 
-        this.map = new HashMap<>();
+        this.parent = executionContext;
         this.executionRequest = executionContext.executionRequest;
+        this.slots = EMPTY_SLOTS;
+    }
+
+    /**
+     * Constructor to create a child execution context that reports events to a different
+     * EngineExecutionListener
+     *
+     * @param executionContext parent executionContext
+     * @param engineExecutionListener engineExecutionListener
+     */
+    public ExecutionContext(
+            ExecutionContext executionContext, EngineExecutionListener engineExecutionListener) {
+        Preconditions.notNull(executionContext, "executionContext is null");
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+
+        this.parent = executionContext;
+        this.executionRequest =
+                ExecutionRequest.create(
+                        executionContext.executionRequest.getRootTestDescriptor(),
+                        engineExecutionListener,
+                        executionContext.executionRequest.getConfigurationParameters());
+        this.slots = EMPTY_SLOTS;
     }
 
     /**
@@ -67,79 +105,167 @@ public class ExecutionContext {
     }
 
     /**
-     * Method to store an Object in the execution context
+     * Method to get the parent execution context
      *
-     * @param key key
-     * @param value value
-     * @return the existing value, or null if there is no existing value
+     * @return the parent execution context, or null if this is the root execution context
      */
-    public <T> T put(Object key, Object value) {
-        Preconditions.notNull(key, "key is null");
-        Preconditions.notNull(value, "value is null");
-
-        return (T) map.put(key, value);
+    public ExecutionContext getParent() {
+        return parent;
     }
 
     /**
-     * Method to get an Object from the execution context
+     * Method to store a value in the execution context
      *
      * @param key key
-     * @return an Object
-     * @param <T> the return type
+     * @param value value
+     * @return the existing value in this execution context, or null if there is no existing value
+     * @param <T> the value type
      */
-    public <T> T get(Object key) {
+    public <T> T put(Key<T> key, T value) {
         Preconditions.notNull(key, "key is null");
-        return (T) map.get(key);
+        Preconditions.notNull(value, "value is null");
+
+        Object castValue = key.type.cast(value);
+        int index = key.index;
+
+        synchronized (this) {
+            Object[] slots = this.slots;
+            T existingValue = index < slots.length ? (T) slots[index] : null;
+            Object[] newSlots = Arrays.copyOf(slots, Math.max(slots.length, index + 1));
+            newSlots[index] = castValue;
+            this.slots = newSlots;
+            return existingValue;
+        }
     }
 
     /**
-     * Method to get an Object from the execution context
+     * Method to get a value from the execution context (or a parent execution context)
      *
      * @param key key
-     * @param clazz clazz
-     * @return the value
-     * @param <T> the return type
+     * @return the value, or null if a value for the key doesn't exist
+     * @param <T> the value type
      */
-    public <T> T get(Object key, Class<T> clazz) {
+    public <T> T get(Key<T> key) {
         Preconditions.notNull(key, "key is null");
-        Preconditions.notNull(clazz, "clazz is null");
-        return clazz.cast(map.get(key));
+
+        int index = key.index;
+        ExecutionContext executionContext = this;
+        while (executionContext != null) {
+            Object[] slots = executionContext.slots;
+            if (index < slots.length) {
+                Object value = slots[index];
+                if (value != null) {
+                    return (T) value;
+                }
+            }
+            executionContext = executionContext.parent;
+        }
+
+        return null;
     }
 
     /**
-     * Method to return if the execution context contains a value for a key
+     * Method to return if the execution context (or a parent execution context) contains a value
+     * for a key
      *
      * @param key key
      * @return true if a value exists, else false
      */
-    public boolean containsKey(Object key) {
-        Preconditions.notNull(key, "key is null");
-        return map.containsKey(key);
+    public boolean containsKey(Key<?> key) {
+        return get(key) != null;
     }
 
     /**
-     * Method to remove a value for a key
+     * Method to remove a value for a key from this execution context
+     *
+     * <p>Values of a parent execution context aren't removed
      *
      * @param key key
-     * @return the value, or null if a value for the key doesn't exist
-     * @param <T> the return type
+     * @return the value, or null if a value for the key doesn't exist in this execution context
+     * @param <T> the value type
      */
-    public <T> T remove(Object key) {
+    public <T> T remove(Key<T> key) {
         Preconditions.notNull(key, "key is null");
-        return (T) map.remove(key);
+
+        int index = key.index;
+
+        synchronized (this) {
+            Object[] slots = this.slots;
+            if (index >= slots.length || slots[index] == null) {
+                return null;
+            }
+
+            T value = (T) slots[index];
+            Object[] newSlots = slots.clone();
+            newSlots[index] = null;
+            this.slots = newSlots;
+            return value;
+        }
     }
 
     /**
-     * Method to remove a value for a key
+     * Class to implement a typed ExecutionContext key
      *
-     * @param key key
-     * @param clazz clazz
-     * @return an Object, or null if a value for the key doesn't exist
-     * @param <T> the return type
+     * <p>Each Key has a precomputed slot index, so Keys should be created once (as constants)
+     *
+     * @param <T> the value type
      */
-    public <T> T remove(Object key, Class<T> clazz) {
-        Preconditions.notNull(key, "key is null");
-        Preconditions.notNull(clazz, "clazz is null");
-        return clazz.cast(map.remove(key));
+    public static final class Key<T> {
+
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        private final int index;
+        private final String name;
+        private final Class<T> type;
+
+        /**
+         * Constructor
+         *
+         * @param name name
+         * @param type type
+         */
+        private Key(String name, Class<T> type) {
+            this.index = COUNT.getAndIncrement();
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * Method to create a Key
+         *
+         * @param name name
+         * @param type type
+         * @return a Key
+         * @param <T> the value type
+         */
+        public static <T> Key<T> of(String name, Class<T> type) {
+            Preconditions.notBlank(name, "name is null or blank");
+            Preconditions.notNull(type, "type is null");
+
+            return new Key<>(name, type);
+        }
+
+        /**
+         * Method to get the Key name
+         *
+         * @return the Key name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Method to get the Key value type
+         *
+         * @return the Key value type
+         */
+        public Class<T> getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
     }
 }
@@ -16,11 +16,32 @@
 
 package org.antublue.test.engine.internal.execution;
 
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.capture.OutputCapture;
+import org.antublue.test.engine.internal.checkpoint.Checkpoint;
+
 /** Class to implement ExecutionContextConstant */
 public class ExecutionContextConstant {
 
     /** Constant */
-    public static final String TEST_INSTANCE = "test.instance";
+    public static final ExecutionContext.Key<Object> TEST_INSTANCE =
+            ExecutionContext.Key.of("test.instance", Object.class);
+
+    /** Constant */
+    public static final ExecutionContext.Key<FailFast> FAIL_FAST =
+            ExecutionContext.Key.of("fail.fast", FailFast.class);
+
+    /** Constant */
+    public static final ExecutionContext.Key<Checkpoint> CHECKPOINT =
+            ExecutionContext.Key.of("checkpoint", Checkpoint.class);
+
+    /** Constant */
+    public static final ExecutionContext.Key<Baseline> BASELINE =
+            ExecutionContext.Key.of("baseline", Baseline.class);
+
+    /** Constant */
+    public static final ExecutionContext.Key<OutputCapture> OUTPUT_CAPTURE =
+            ExecutionContext.Key.of("output.capture", OutputCapture.class);
 
     /** Constructor */
     private ExecutionContextConstant() {
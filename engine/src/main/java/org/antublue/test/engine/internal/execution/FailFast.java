@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.execution;
+
+import static java.lang.String.format;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Class to implement FailFast
+ *
+ * <p>Counts failures reported to the EngineExecutionListener. Once the threshold is reached,
+ * executors skip test classes that haven't started, and (optionally) running test classes are
+ * interrupted and their remaining arguments / test methods are skipped
+ */
+public class FailFast {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FailFast.class);
+
+    private final boolean enabled;
+    private final int threshold;
+    private final boolean interrupt;
+    private final AtomicInteger failureCount;
+    private final Set<Thread> threads;
+    private volatile boolean triggered;
+
+    /**
+     * Constructor
+     *
+     * @param enabled enabled
+     * @param threshold threshold
+     * @param interrupt interrupt
+     */
+    private FailFast(boolean enabled, int threshold, boolean interrupt) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.interrupt = interrupt;
+        this.failureCount = new AtomicInteger();
+        this.threads = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Method to create a FailFast from the Configuration
+     *
+     * @param configuration configuration
+     * @return a FailFast
+     */
+    public static FailFast create(Configuration configuration) {
+        Preconditions.notNull(configuration, "configuration is null");
+
+        boolean enabled = configuration.getBoolean(Constants.FAIL_FAST).orElse(false);
+        int threshold = configuration.getInteger(Constants.FAIL_FAST_THRESHOLD).orElse(1);
+        boolean interrupt = configuration.getBoolean(Constants.FAIL_FAST_INTERRUPT).orElse(false);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "enabled [%b] threshold [%d] interrupt [%b]", enabled, threshold, interrupt);
+        }
+
+        return create(enabled, threshold, interrupt);
+    }
+
+    /**
+     * Method to create a FailFast
+     *
+     * @param enabled enabled
+     * @param threshold number of failures that triggers fail fast
+     * @param interrupt whether to interrupt running test classes
+     * @return a FailFast
+     */
+    public static FailFast create(boolean enabled, int threshold, boolean interrupt) {
+        if (threshold < 1) {
+            throw new TestEngineException(format("Invalid fail fast threshold [%d]", threshold));
+        }
+
+        return new FailFast(enabled, threshold, interrupt);
+    }
+
+    /**
+     * Method to return if fail fast is enabled
+     *
+     * @return true if fail fast is enabled, else false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method to return if the failure threshold has been reached
+     *
+     * @return true if the failure threshold has been reached, else false
+     */
+    public boolean isTriggered() {
+        return triggered;
+    }
+
+    /**
+     * Method to get the failure count
+     *
+     * @return the failure count
+     */
+    public int getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Method to return if running work should be cancelled (the failure threshold has been reached
+     * and interrupt is enabled)
+     *
+     * @param executionContext executionContext
+     * @return true if running work should be cancelled, else false
+     */
+    public static boolean isCancelled(ExecutionContext executionContext) {
+        FailFast failFast = executionContext.get(ExecutionContextConstant.FAIL_FAST);
+        return failFast != null && failFast.interrupt && failFast.triggered;
+    }
+
+    /**
+     * Method to wrap an EngineExecutionListener to count failures
+     *
+     * @param engineExecutionListener engineExecutionListener
+     * @return an EngineExecutionListener
+     */
+    public EngineExecutionListener wrap(EngineExecutionListener engineExecutionListener) {
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+
+        if (!enabled) {
+            return engineExecutionListener;
+        }
+
+        return new EngineExecutionListener() {
+
+            @Override
+            public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+                engineExecutionListener.dynamicTestRegistered(testDescriptor);
+            }
+
+            @Override
+            public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+                engineExecutionListener.executionSkipped(testDescriptor, reason);
+            }
+
+            @Override
+            public void executionStarted(TestDescriptor testDescriptor) {
+                engineExecutionListener.executionStarted(testDescriptor);
+            }
+
+            @Override
+            public void executionFinished(
+                    TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+                engineExecutionListener.executionFinished(testDescriptor, testExecutionResult);
+                if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+                    failed(testDescriptor);
+                }
+            }
+
+            @Override
+            public void reportingEntryPublished(
+                    TestDescriptor testDescriptor, ReportEntry reportEntry) {
+                engineExecutionListener.reportingEntryPublished(testDescriptor, reportEntry);
+            }
+        };
+    }
+
+    /**
+     * Method to register the current Thread as running a test class
+     *
+     * @return true if the test class should be executed, false if it should be skipped
+     */
+    public boolean register() {
+        if (!enabled) {
+            return true;
+        }
+
+        if (triggered) {
+            return false;
+        }
+
+        if (interrupt) {
+            threads.add(Thread.currentThread());
+        }
+
+        return true;
+    }
+
+    /** Method to unregister the current Thread, clearing an interrupt caused by fail fast */
+    public void unregister() {
+        if (enabled && interrupt) {
+            synchronized (threads) {
+                threads.remove(Thread.currentThread());
+                if (triggered) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to record a failed TestDescriptor
+     *
+     * <p>A failed test method counts as a failure. A failed test class or argument only counts as a
+     * failure if none of its test methods failed (e.g. a lifecycle method failed)
+     *
+     * @param testDescriptor testDescriptor
+     */
+    private void failed(TestDescriptor testDescriptor) {
+        if (!(testDescriptor instanceof TestMethodTestDescriptor)
+                && testDescriptor.getDescendants().stream()
+                        .anyMatch(FailFast::isFailedTestMethod)) {
+            return;
+        }
+
+        if (failureCount.incrementAndGet() >= threshold && !triggered) {
+            synchronized (threads) {
+                if (!triggered) {
+                    triggered = true;
+
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Fail fast threshold [%d] reached", threshold);
+                    }
+
+                    if (interrupt) {
+                        Thread currentThread = Thread.currentThread();
+                        for (Thread thread : threads) {
+                            if (thread != currentThread) {
+                                thread.interrupt();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to return if a TestDescriptor is a failed test method
+     *
+     * @param testDescriptor testDescriptor
+     * @return true if the TestDescriptor is a failed test method, else false
+     */
+    public static boolean isFailedTestMethod(TestDescriptor testDescriptor) {
+        return testDescriptor instanceof TestMethodTestDescriptor
+                && MetadataTestDescriptorConstants.FAIL.equals(
+                        ((MetadataTestDescriptor) testDescriptor)
+                                .getMetadata()
+                                .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS));
+    }
+}
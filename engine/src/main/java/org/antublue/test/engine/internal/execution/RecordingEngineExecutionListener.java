@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Class to implement RecordingEngineExecutionListener
+ *
+ * <p>Records execution events so they can be replayed to another EngineExecutionListener (or
+ * discarded), for example while an attempt of a retried argument is running
+ */
+public class RecordingEngineExecutionListener implements EngineExecutionListener {
+
+    private final List<Consumer<EngineExecutionListener>> events;
+
+    /** Constructor */
+    public RecordingEngineExecutionListener() {
+        events = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Override
+    public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+        events.add(
+                engineExecutionListener ->
+                        engineExecutionListener.dynamicTestRegistered(testDescriptor));
+    }
+
+    @Override
+    public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+        events.add(
+                engineExecutionListener ->
+                        engineExecutionListener.executionSkipped(testDescriptor, reason));
+    }
+
+    @Override
+    public void executionStarted(TestDescriptor testDescriptor) {
+        events.add(
+                engineExecutionListener ->
+                        engineExecutionListener.executionStarted(testDescriptor));
+    }
+
+    @Override
+    public void executionFinished(
+            TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        events.add(
+                engineExecutionListener ->
+                        engineExecutionListener.executionFinished(
+                                testDescriptor, testExecutionResult));
+    }
+
+    @Override
+    public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry reportEntry) {
+        events.add(
+                engineExecutionListener ->
+                        engineExecutionListener.reportingEntryPublished(
+                                testDescriptor, reportEntry));
+    }
+
+    /**
+     * Method to replay (and clear) the recorded events
+     *
+     * @param engineExecutionListener engineExecutionListener
+     */
+    public void replay(EngineExecutionListener engineExecutionListener) {
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+
+        List<Consumer<EngineExecutionListener>> events;
+        synchronized (this.events) {
+            events = new ArrayList<>(this.events);
+            this.events.clear();
+        }
+
+        events.forEach(event -> event.accept(engineExecutionListener));
+    }
+
+    /** Method to discard the recorded events */
+    public void clear() {
+        events.clear();
+    }
+}
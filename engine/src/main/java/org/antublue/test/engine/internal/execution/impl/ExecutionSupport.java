@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.execution.impl;
+
+import org.antublue.test.engine.internal.checkpoint.Checkpoint;
+import org.antublue.test.engine.internal.descriptor.ExecutableTestDescriptor;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.antublue.test.engine.internal.execution.FailFast;
+
+/** Class to implement ExecutionSupport, shared by the ExecutionContextExecutor implementations */
+class ExecutionSupport {
+
+    /** Constructor */
+    private ExecutionSupport() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to execute an ExecutableTestDescriptor, replaying it if it was journaled by a previous
+     * (interrupted) run, or skipping it if fail fast has been triggered
+     *
+     * @param executableTestDescriptor executableTestDescriptor
+     * @param executionContext executionContext
+     */
+    static void execute(
+            ExecutableTestDescriptor executableTestDescriptor, ExecutionContext executionContext) {
+        Checkpoint checkpoint = executionContext.get(ExecutionContextConstant.CHECKPOINT);
+
+        if (checkpoint != null && checkpoint.replay(executableTestDescriptor)) {
+            return;
+        }
+
+        FailFast failFast = executionContext.get(ExecutionContextConstant.FAIL_FAST);
+
+        if (failFast == null) {
+            executableTestDescriptor.execute(executionContext);
+        } else if (failFast.register()) {
+            try {
+                executableTestDescriptor.execute(executionContext);
+            } finally {
+                failFast.unregister();
+            }
+        } else {
+            executableTestDescriptor.skip(executionContext);
+        }
+    }
+}
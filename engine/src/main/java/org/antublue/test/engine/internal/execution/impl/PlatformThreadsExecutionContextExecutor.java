@@ -132,7 +132,8 @@ public class PlatformThreadsExecutionContextExecutor implements ExecutionContext
                         executorService.submit(
                                 () -> {
                                     try {
-                                        executableTestDescriptor.execute(
+                                        ExecutionSupport.execute(
+                                                executableTestDescriptor,
                                                 new ExecutionContext(executionContext));
                                     } catch (Throwable t) {
                                         t.printStackTrace(System.err);
@@ -125,7 +125,8 @@ public class VirtualThreadsExecutionContextExecutor implements ExecutionContextE
                                     ThreadTool.unstartedVirtualThread(
                                             () -> {
                                                 try {
-                                                    executableTestDescriptor.execute(
+                                                    ExecutionSupport.execute(
+                                                            executableTestDescriptor,
                                                             new ExecutionContext(executionContext));
                                                 } catch (Throwable t) {
                                                     t.printStackTrace(System.err);
@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.flaky;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Class to implement FlakyStatistics
+ *
+ * <p>The flaky statistics file is a text file with one line per test method, the unique id and the
+ * outcomes of the most recent runs separated by a tab character. An outcome is {@code P} (passed),
+ * {@code R} (passed after a retry), or {@code F} (failed)
+ *
+ * <pre>
+ * [engine:antublue-test-engine]/[class:example.Test]/...&#9;PPRPPFPRPP
+ * </pre>
+ *
+ * <p>The flake rate of a test method is the fraction of flaky runs, runs that passed after a retry
+ * or whose outcome flipped between passed and failed compared to the previous run. A test method
+ * with a flake rate at or above the threshold (and at least the minimum number of runs) is
+ * quarantined, and its test class is executed after all other test classes
+ */
+public class FlakyStatistics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlakyStatistics.class);
+
+    private static final String COMMENT = "#";
+
+    private static final char SEPARATOR = '\t';
+
+    /** Outcome of a test method that passed */
+    public static final char PASSED = 'P';
+
+    /** Outcome of a test method that passed after a retry */
+    public static final char RETRIED = 'R';
+
+    /** Outcome of a test method that failed */
+    public static final char FAILED = 'F';
+
+    private static final double DEFAULT_THRESHOLD = 0.1D;
+
+    private static final int DEFAULT_MINIMUM_RUNS = 5;
+
+    private static final int DEFAULT_HISTORY = 50;
+
+    private final Path path;
+    private final double threshold;
+    private final int minimumRuns;
+    private final int history;
+    private final Map<String, String> outcomes;
+    private final Map<String, String> recordedOutcomes;
+
+    /**
+     * Constructor
+     *
+     * @param path path
+     * @param threshold threshold
+     * @param minimumRuns minimumRuns
+     * @param history history
+     */
+    private FlakyStatistics(Path path, double threshold, int minimumRuns, int history) {
+        this.path = path;
+        this.threshold = threshold;
+        this.minimumRuns = minimumRuns;
+        this.history = history;
+
+        outcomes = path != null ? read(path) : new TreeMap<>();
+        recordedOutcomes = new ConcurrentHashMap<>();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "path [%s] threshold [%f] minimumRuns [%d] history [%d] entries [%d]",
+                    path, threshold, minimumRuns, history, outcomes.size());
+        }
+    }
+
+    /**
+     * Method to create a FlakyStatistics
+     *
+     * @param path path, null to disable flaky statistics
+     * @param threshold threshold
+     * @param minimumRuns minimumRuns
+     * @param history history
+     * @return a FlakyStatistics
+     */
+    public static FlakyStatistics create(
+            Path path, double threshold, int minimumRuns, int history) {
+        Preconditions.condition(threshold > 0 && threshold <= 1, "threshold is out of range");
+        Preconditions.condition(minimumRuns >= 1, "minimumRuns is less than 1");
+        Preconditions.condition(history >= minimumRuns, "history is less than minimumRuns");
+
+        return new FlakyStatistics(path, threshold, minimumRuns, history);
+    }
+
+    /**
+     * Method to create a FlakyStatistics from the Configuration
+     *
+     * @param configuration configuration
+     * @return a FlakyStatistics
+     */
+    private static FlakyStatistics create(Configuration configuration) {
+        Path path = configuration.get(Constants.FLAKY_FILE).map(Paths::get).orElse(null);
+
+        double threshold =
+                configuration
+                        .get(Constants.FLAKY_THRESHOLD)
+                        .map(
+                                value -> {
+                                    try {
+                                        double doubleValue = Double.parseDouble(value);
+                                        if (doubleValue <= 0 || doubleValue > 1) {
+                                            throw new TestEngineException(
+                                                    format("Invalid flaky threshold [%s]", value));
+                                        }
+                                        return doubleValue;
+                                    } catch (NumberFormatException e) {
+                                        throw new TestEngineException(
+                                                format("Invalid flaky threshold [%s]", value), e);
+                                    }
+                                })
+                        .orElse(DEFAULT_THRESHOLD);
+
+        int minimumRuns =
+                configuration.getInteger(Constants.FLAKY_MINIMUM_RUNS).orElse(DEFAULT_MINIMUM_RUNS);
+        if (minimumRuns < 1) {
+            throw new TestEngineException(format("Invalid flaky minimum runs [%d]", minimumRuns));
+        }
+
+        int history = configuration.getInteger(Constants.FLAKY_HISTORY).orElse(DEFAULT_HISTORY);
+        if (history < minimumRuns) {
+            throw new TestEngineException(
+                    format(
+                            "Invalid flaky history [%d] (must be at least the minimum runs [%d])",
+                            history, minimumRuns));
+        }
+
+        return new FlakyStatistics(path, threshold, minimumRuns, history);
+    }
+
+    /**
+     * Method to get the singleton instance
+     *
+     * @return the singleton instance
+     */
+    public static FlakyStatistics getInstance() {
+        return SingletonHolder.SINGLETON;
+    }
+
+    /**
+     * Method to return if flaky statistics are enabled
+     *
+     * @return true if flaky statistics are enabled, else false
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Method to get the flake rate of a test method (from previous runs)
+     *
+     * <p>A run is flaky if it passed after a retry, or if it passed and the previous run failed (or
+     * failed and the previous run passed), so flaky test methods are detected without retries
+     *
+     * @param uniqueId uniqueId
+     * @return the flake rate, 0 if the test method has no previous runs
+     */
+    public double getFlakeRate(String uniqueId) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        String value = outcomes.get(uniqueId);
+        if (value == null || value.isEmpty()) {
+            return 0D;
+        }
+
+        int flaky = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char outcome = value.charAt(i);
+            if (outcome == RETRIED
+                    || (i > 0 && (outcome == FAILED) != (value.charAt(i - 1) == FAILED))) {
+                flaky++;
+            }
+        }
+
+        return (double) flaky / value.length();
+    }
+
+    /**
+     * Method to return if a test method is quarantined
+     *
+     * @param uniqueId uniqueId
+     * @return true if the test method is quarantined, else false
+     */
+    public boolean isQuarantined(String uniqueId) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        if (!isEnabled()) {
+            return false;
+        }
+
+        String value = outcomes.get(uniqueId);
+        return value != null
+                && value.length() >= minimumRuns
+                && getFlakeRate(uniqueId) >= threshold;
+    }
+
+    /**
+     * Method to record the outcome of a test method
+     *
+     * @param uniqueId uniqueId
+     * @param outcome outcome
+     */
+    public void record(String uniqueId, char outcome) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        if (isEnabled()) {
+            recordedOutcomes.merge(uniqueId, String.valueOf(outcome), String::concat);
+        }
+    }
+
+    /**
+     * Method to wrap an EngineExecutionListener to record test method outcomes
+     *
+     * @param engineExecutionListener engineExecutionListener
+     * @return an EngineExecutionListener
+     */
+    public EngineExecutionListener wrap(EngineExecutionListener engineExecutionListener) {
+        Preconditions.notNull(engineExecutionListener, "engineExecutionListener is null");
+
+        if (!isEnabled()) {
+            return engineExecutionListener;
+        }
+
+        return new EngineExecutionListener() {
+
+            @Override
+            public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+                engineExecutionListener.dynamicTestRegistered(testDescriptor);
+            }
+
+            @Override
+            public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+                engineExecutionListener.executionSkipped(testDescriptor, reason);
+            }
+
+            @Override
+            public void executionStarted(TestDescriptor testDescriptor) {
+                engineExecutionListener.executionStarted(testDescriptor);
+            }
+
+            @Override
+            public void executionFinished(
+                    TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+                if (testDescriptor instanceof TestMethodTestDescriptor) {
+                    finished((TestMethodTestDescriptor) testDescriptor, testExecutionResult);
+                }
+                engineExecutionListener.executionFinished(testDescriptor, testExecutionResult);
+            }
+
+            @Override
+            public void reportingEntryPublished(
+                    TestDescriptor testDescriptor, ReportEntry reportEntry) {
+                engineExecutionListener.reportingEntryPublished(testDescriptor, reportEntry);
+            }
+        };
+    }
+
+    /**
+     * Method to store the flaky statistics file, appending the recorded outcomes
+     *
+     * @throws IOException IOException
+     */
+    public void store() throws IOException {
+        if (!isEnabled() || recordedOutcomes.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> map = new TreeMap<>(outcomes);
+
+        for (Map.Entry<String, String> entry : recordedOutcomes.entrySet()) {
+            String value = map.getOrDefault(entry.getKey(), "") + entry.getValue();
+            map.put(entry.getKey(), value.substring(Math.max(0, value.length() - history)));
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("store() path [%s] entries [%d]", path, map.size());
+        }
+
+        write(path, map);
+    }
+
+    /**
+     * Method to record the outcome of a finished test method
+     *
+     * @param testMethodTestDescriptor testMethodTestDescriptor
+     * @param testExecutionResult testExecutionResult
+     */
+    private void finished(
+            TestMethodTestDescriptor testMethodTestDescriptor,
+            TestExecutionResult testExecutionResult) {
+        String uniqueId = testMethodTestDescriptor.getUniqueId().toString();
+
+        if (testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+            Integer attempts =
+                    testMethodTestDescriptor
+                            .getMetadata()
+                            .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS);
+            record(uniqueId, attempts != null && attempts > 1 ? RETRIED : PASSED);
+        } else if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+            record(uniqueId, FAILED);
+        }
+    }
+
+    /**
+     * Method to read a flaky statistics file
+     *
+     * @param path path
+     * @return a Map of unique id to outcomes, empty if the file doesn't exist
+     */
+    public static Map<String, String> read(Path path) {
+        Preconditions.notNull(path, "path is null");
+
+        Map<String, String> map = new TreeMap<>();
+
+        if (!Files.isRegularFile(path)) {
+            return map;
+        }
+
+        try (BufferedReader bufferedReader =
+                Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                int index = line.lastIndexOf(SEPARATOR);
+                if (!line.startsWith(COMMENT) && index > 0) {
+                    map.put(line.substring(0, index), line.substring(index + 1).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new TestEngineException(
+                    format("Exception reading flaky statistics [%s]", path), e);
+        }
+
+        return map;
+    }
+
+    /**
+     * Method to write a flaky statistics file
+     *
+     * @param path path
+     * @param map map
+     * @throws IOException IOException
+     */
+    public static void write(Path path, Map<String, String> map) throws IOException {
+        Preconditions.notNull(path, "path is null");
+        Preconditions.notNull(map, "map is null");
+
+        Path absolutePath = path.toAbsolutePath();
+        if (absolutePath.getParent() != null) {
+            Files.createDirectories(absolutePath.getParent());
+        }
+
+        Path temporaryPath =
+                Files.createTempFile(
+                        absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+
+        try (BufferedWriter bufferedWriter =
+                Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            bufferedWriter.write(COMMENT + " AntuBLUE Test Engine flaky statistics");
+            bufferedWriter.newLine();
+
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                bufferedWriter.write(entry.getKey() + SEPARATOR + entry.getValue());
+                bufferedWriter.newLine();
+            }
+        }
+
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Class to hold the singleton instance */
+    private static class SingletonHolder {
+
+        /** The singleton instance */
+        private static final FlakyStatistics SINGLETON = create(Configuration.getInstance());
+    }
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.fork;
+
+import static java.lang.String.format;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.baseline.Regression;
+import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.Metadata;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.util.BenchmarkResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Class to implement ForkProtocol
+ *
+ * <p>Messages exchanged between the Maven plugin and forked workers over a local socket. A worker
+ * sends {@link #READY} when idle, the plugin replies with {@link #CLASS} and a test class unique id
+ * or {@link #EXIT}. Execution events are streamed back with the test descriptor metadata, so the
+ * plugin listeners work with the test descriptors it discovered
+ *
+ * <p>A forked worker authenticates by sending the token of the {@link #TOKEN} environment variable
+ * when it connects
+ */
+@SuppressWarnings("PMD.EmptyCatchBlock")
+public final class ForkProtocol {
+
+    /** Environment variable containing the token a forked worker sends when it connects */
+    public static final String TOKEN = "ANTUBLUE_TEST_ENGINE_FORK_TOKEN";
+
+    /** Worker message, the worker is idle */
+    public static final byte READY = 1;
+
+    /** Worker message, execution of a test descriptor started */
+    public static final byte STARTED = 2;
+
+    /** Worker message, a test descriptor was skipped */
+    public static final byte SKIPPED = 3;
+
+    /** Worker message, execution of a test descriptor finished */
+    public static final byte FINISHED = 4;
+
+    /** Worker message, a baseline elapsed time */
+    public static final byte ELAPSED_TIME = 5;
+
+    /** Plugin message, execute a test class */
+    public static final byte CLASS = 16;
+
+    /** Plugin message, no more test classes */
+    public static final byte EXIT = 17;
+
+    private static final byte STRING = 1;
+    private static final byte DURATION = 2;
+    private static final byte BENCHMARK_RESULT = 3;
+    private static final byte REGRESSION = 4;
+    private static final byte INTEGER = 5;
+    private static final byte TEXT = 6;
+
+    private static final int MAXIMUM_THROWABLE_DEPTH = 32;
+
+    private static final String[] STRING_KEYS = {
+        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+        MetadataTestDescriptorConstants.TEST_CLASS_DISPLAY_NAME,
+        MetadataTestDescriptorConstants.TEST_METHOD_DISPLAY_NAME
+    };
+
+    /** Constructor */
+    private ForkProtocol() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to write a test descriptor's Metadata
+     *
+     * <p>Test class, test argument, and test method values aren't written, since they are available
+     * from the receiving test descriptor
+     *
+     * @param dataOutputStream dataOutputStream
+     * @param testDescriptor testDescriptor
+     * @throws IOException IOException
+     */
+    public static void writeMetadata(
+            DataOutputStream dataOutputStream, TestDescriptor testDescriptor) throws IOException {
+        if (!(testDescriptor instanceof MetadataTestDescriptor)) {
+            dataOutputStream.writeShort(0);
+            return;
+        }
+
+        Metadata metadata = ((MetadataTestDescriptor) testDescriptor).getMetadata();
+
+        int count = 0;
+        for (String key : STRING_KEYS) {
+            if (metadata.containsKey(key)) {
+                count++;
+            }
+        }
+        if (metadata.containsKey(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME)) {
+            count++;
+        }
+        if (metadata.containsKey(MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT)) {
+            count++;
+        }
+        if (metadata.containsKey(
+                MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION)) {
+            count++;
+        }
+        if (metadata.containsKey(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS)) {
+            count++;
+        }
+        if (metadata.containsKey(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT)) {
+            count++;
+        }
+
+        dataOutputStream.writeShort(count);
+
+        for (String key : STRING_KEYS) {
+            if (metadata.containsKey(key)) {
+                dataOutputStream.writeByte(STRING);
+                dataOutputStream.writeUTF(key);
+                dataOutputStream.writeUTF(String.valueOf((Object) metadata.get(key)));
+            }
+        }
+
+        Duration elapsedTime =
+                metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME);
+        if (elapsedTime != null) {
+            dataOutputStream.writeByte(DURATION);
+            dataOutputStream.writeUTF(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME);
+            dataOutputStream.writeLong(elapsedTime.toNanos());
+        }
+
+        BenchmarkResult benchmarkResult =
+                metadata.get(MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT);
+        if (benchmarkResult != null) {
+            dataOutputStream.writeByte(BENCHMARK_RESULT);
+            dataOutputStream.writeUTF(MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT);
+            dataOutputStream.writeInt(benchmarkResult.getThreads());
+            dataOutputStream.writeInt(benchmarkResult.getWarmupIterations());
+            dataOutputStream.writeLong(benchmarkResult.getElapsedTime());
+            long[] samples = benchmarkResult.getSamples();
+            dataOutputStream.writeInt(samples.length);
+            for (long sample : samples) {
+                dataOutputStream.writeLong(sample);
+            }
+        }
+
+        Regression regression =
+                metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION);
+        if (regression != null) {
+            dataOutputStream.writeByte(REGRESSION);
+            dataOutputStream.writeUTF(
+                    MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION);
+            dataOutputStream.writeUTF(regression.getUniqueId());
+            dataOutputStream.writeLong(regression.getBaselineTime());
+            dataOutputStream.writeLong(regression.getElapsedTime());
+        }
+
+        Integer attempts = metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS);
+        if (attempts != null) {
+            dataOutputStream.writeByte(INTEGER);
+            dataOutputStream.writeUTF(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS);
+            dataOutputStream.writeInt(attempts);
+        }
+
+        // Captured output can exceed the 64 KB limit of writeUTF
+        String output = metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+        if (output != null) {
+            dataOutputStream.writeByte(TEXT);
+            dataOutputStream.writeUTF(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+            writeText(dataOutputStream, output);
+        }
+    }
+
+    /**
+     * Method to read Metadata into a test descriptor
+     *
+     * @param dataInputStream dataInputStream
+     * @param testDescriptor testDescriptor, may be null to discard the Metadata
+     * @throws IOException IOException
+     */
+    public static void readMetadata(DataInputStream dataInputStream, TestDescriptor testDescriptor)
+            throws IOException {
+        Metadata metadata =
+                testDescriptor instanceof MetadataTestDescriptor
+                        ? ((MetadataTestDescriptor) testDescriptor).getMetadata()
+                        : new Metadata();
+
+        putTestDescriptorMetadata(testDescriptor, metadata);
+
+        int count = dataInputStream.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            byte type = dataInputStream.readByte();
+            String key = dataInputStream.readUTF();
+
+            if (type == STRING) {
+                metadata.put(key, dataInputStream.readUTF());
+            } else if (type == DURATION) {
+                metadata.put(key, Duration.ofNanos(dataInputStream.readLong()));
+            } else if (type == BENCHMARK_RESULT) {
+                int threads = dataInputStream.readInt();
+                int warmupIterations = dataInputStream.readInt();
+                long elapsedTime = dataInputStream.readLong();
+                long[] samples = new long[dataInputStream.readInt()];
+                for (int j = 0; j < samples.length; j++) {
+                    samples[j] = dataInputStream.readLong();
+                }
+                metadata.put(
+                        key, new BenchmarkResult(threads, warmupIterations, samples, elapsedTime));
+            } else if (type == REGRESSION) {
+                metadata.put(
+                        key,
+                        new Regression(
+                                dataInputStream.readUTF(),
+                                dataInputStream.readLong(),
+                                dataInputStream.readLong()));
+            } else if (type == INTEGER) {
+                metadata.put(key, dataInputStream.readInt());
+            } else if (type == TEXT) {
+                metadata.put(key, readText(dataInputStream));
+            } else {
+                throw new IOException(format("Invalid metadata type [%d]", type));
+            }
+        }
+    }
+
+    /**
+     * Method to put the test class, test argument, and test method Metadata of a test descriptor
+     *
+     * @param testDescriptor testDescriptor
+     * @param metadata metadata
+     */
+    public static void putTestDescriptorMetadata(TestDescriptor testDescriptor, Metadata metadata) {
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_CLASS,
+                    ((ClassTestDescriptor) testDescriptor).getTestClass());
+        } else if (testDescriptor instanceof ArgumentTestDescriptor) {
+            ArgumentTestDescriptor argumentTestDescriptor = (ArgumentTestDescriptor) testDescriptor;
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_CLASS,
+                    argumentTestDescriptor.getTestClass());
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_ARGUMENT,
+                    argumentTestDescriptor.getTestArgument());
+        } else if (testDescriptor instanceof TestMethodTestDescriptor) {
+            TestMethodTestDescriptor testMethodTestDescriptor =
+                    (TestMethodTestDescriptor) testDescriptor;
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_CLASS,
+                    testMethodTestDescriptor.getTestClass());
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_ARGUMENT,
+                    testMethodTestDescriptor.getTestArgument());
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_METHOD,
+                    testMethodTestDescriptor.getTestMethod());
+        }
+    }
+
+    /**
+     * Method to write a TestExecutionResult
+     *
+     * @param dataOutputStream dataOutputStream
+     * @param testExecutionResult testExecutionResult
+     * @throws IOException IOException
+     */
+    public static void writeTestExecutionResult(
+            DataOutputStream dataOutputStream, TestExecutionResult testExecutionResult)
+            throws IOException {
+        dataOutputStream.writeByte(testExecutionResult.getStatus().ordinal());
+
+        Throwable throwable = testExecutionResult.getThrowable().orElse(null);
+        dataOutputStream.writeBoolean(throwable != null);
+        if (throwable != null) {
+            writeThrowable(dataOutputStream, throwable, 0);
+        }
+    }
+
+    /**
+     * Method to read a TestExecutionResult
+     *
+     * @param dataInputStream dataInputStream
+     * @param classLoader classLoader used to resolve Throwable classes
+     * @return a TestExecutionResult
+     * @throws IOException IOException
+     */
+    public static TestExecutionResult readTestExecutionResult(
+            DataInputStream dataInputStream, ClassLoader classLoader) throws IOException {
+        int ordinal = dataInputStream.readByte();
+        if (ordinal < 0 || ordinal >= TestExecutionResult.Status.values().length) {
+            throw new IOException(format("Invalid status [%d]", ordinal));
+        }
+
+        TestExecutionResult.Status status = TestExecutionResult.Status.values()[ordinal];
+
+        Throwable throwable = null;
+        if (dataInputStream.readBoolean()) {
+            throwable = readThrowable(dataInputStream, classLoader, 0);
+        }
+
+        if (status == TestExecutionResult.Status.SUCCESSFUL) {
+            return TestExecutionResult.successful();
+        } else if (status == TestExecutionResult.Status.ABORTED) {
+            return TestExecutionResult.aborted(throwable);
+        } else {
+            return TestExecutionResult.failed(throwable);
+        }
+    }
+
+    /**
+     * Method to write a Throwable (class name, message, stack trace, cause, and suppressed
+     * Throwables)
+     *
+     * <p>Throwables aren't written using Java serialization, so the plugin never deserializes
+     * arbitrary objects received from a socket
+     *
+     * @param dataOutputStream dataOutputStream
+     * @param throwable throwable
+     * @param depth depth of the Throwable (cause / suppressed nesting)
+     * @throws IOException IOException
+     */
+    private static void writeThrowable(
+            DataOutputStream dataOutputStream, Throwable throwable, int depth) throws IOException {
+        dataOutputStream.writeUTF(throwable.getClass().getName());
+
+        String message = throwable.getMessage();
+        dataOutputStream.writeBoolean(message != null);
+        if (message != null) {
+            writeText(dataOutputStream, message);
+        }
+
+        StackTraceElement[] stackTraceElements = throwable.getStackTrace();
+        dataOutputStream.writeInt(stackTraceElements.length);
+        for (StackTraceElement stackTraceElement : stackTraceElements) {
+            dataOutputStream.writeUTF(stackTraceElement.getClassName());
+            dataOutputStream.writeUTF(stackTraceElement.getMethodName());
+            dataOutputStream.writeBoolean(stackTraceElement.getFileName() != null);
+            if (stackTraceElement.getFileName() != null) {
+                dataOutputStream.writeUTF(stackTraceElement.getFileName());
+            }
+            dataOutputStream.writeInt(stackTraceElement.getLineNumber());
+        }
+
+        // Nesting is limited, which also breaks cause / suppressed cycles
+        Throwable cause = depth < MAXIMUM_THROWABLE_DEPTH ? throwable.getCause() : null;
+        dataOutputStream.writeBoolean(cause != null);
+        if (cause != null) {
+            writeThrowable(dataOutputStream, cause, depth + 1);
+        }
+
+        Throwable[] suppressed =
+                depth < MAXIMUM_THROWABLE_DEPTH ? throwable.getSuppressed() : new Throwable[0];
+        dataOutputStream.writeInt(suppressed.length);
+        for (Throwable suppressedThrowable : suppressed) {
+            writeThrowable(dataOutputStream, suppressedThrowable, depth + 1);
+        }
+    }
+
+    /**
+     * Method to read a Throwable
+     *
+     * <p>The Throwable is created using a public (String) or (String, Throwable) constructor of its
+     * class. If the class isn't a Throwable, can't be resolved, or doesn't have a constructor, a
+     * TestEngineException (with the class name and message) is created
+     *
+     * @param dataInputStream dataInputStream
+     * @param classLoader classLoader
+     * @param depth depth of the Throwable (cause / suppressed nesting)
+     * @return the Throwable
+     * @throws IOException IOException
+     */
+    private static Throwable readThrowable(
+            DataInputStream dataInputStream, ClassLoader classLoader, int depth)
+            throws IOException {
+        if (depth > MAXIMUM_THROWABLE_DEPTH) {
+            throw new IOException(format("Invalid Throwable depth [%d]", depth));
+        }
+
+        String className = dataInputStream.readUTF();
+        String message = dataInputStream.readBoolean() ? readText(dataInputStream) : null;
+
+        int count = dataInputStream.readInt();
+        if (count < 0) {
+            throw new IOException(format("Invalid stack trace element count [%d]", count));
+        }
+
+        StackTraceElement[] stackTraceElements = new StackTraceElement[count];
+        for (int i = 0; i < count; i++) {
+            String declaringClass = dataInputStream.readUTF();
+            String methodName = dataInputStream.readUTF();
+            String fileName = dataInputStream.readBoolean() ? dataInputStream.readUTF() : null;
+            int lineNumber = dataInputStream.readInt();
+            stackTraceElements[i] =
+                    new StackTraceElement(declaringClass, methodName, fileName, lineNumber);
+        }
+
+        Throwable cause =
+                dataInputStream.readBoolean()
+                        ? readThrowable(dataInputStream, classLoader, depth + 1)
+                        : null;
+
+        Throwable throwable = createThrowable(className, message, cause, classLoader);
+        throwable.setStackTrace(stackTraceElements);
+
+        count = dataInputStream.readInt();
+        if (count < 0) {
+            throw new IOException(format("Invalid suppressed Throwable count [%d]", count));
+        }
+
+        for (int i = 0; i < count; i++) {
+            throwable.addSuppressed(readThrowable(dataInputStream, classLoader, depth + 1));
+        }
+
+        return throwable;
+    }
+
+    /**
+     * Method to create a Throwable
+     *
+     * @param className className
+     * @param message message
+     * @param cause cause
+     * @param classLoader classLoader
+     * @return a Throwable
+     */
+    private static Throwable createThrowable(
+            String className, String message, Throwable cause, ClassLoader classLoader) {
+        Throwable throwable = null;
+
+        try {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            if (Throwable.class.isAssignableFrom(clazz)) {
+                throwable = newInstance(clazz, message, cause);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // DO NOTHING
+        }
+
+        if (throwable == null) {
+            throwable =
+                    new TestEngineException(
+                            message != null ? className + ": " + message : className, cause);
+        }
+
+        return throwable;
+    }
+
+    /**
+     * Method to create a Throwable using a public (String) or (String, Throwable) constructor
+     *
+     * @param clazz clazz
+     * @param message message
+     * @param cause cause
+     * @return a Throwable, or null if the Throwable class doesn't have a usable constructor
+     */
+    private static Throwable newInstance(Class<?> clazz, String message, Throwable cause) {
+        try {
+            Throwable throwable =
+                    (Throwable) clazz.getConstructor(String.class).newInstance(message);
+            if (cause != null && throwable.getCause() == null) {
+                throwable.initCause(cause);
+            }
+            return throwable;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // DO NOTHING
+        }
+
+        try {
+            return (Throwable)
+                    clazz.getConstructor(String.class, Throwable.class).newInstance(message, cause);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method to write text (not limited to 65535 bytes like modified UTF-8)
+     *
+     * @param dataOutputStream dataOutputStream
+     * @param text text
+     * @throws IOException IOException
+     */
+    private static void writeText(DataOutputStream dataOutputStream, String text)
+            throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    /**
+     * Method to read text
+     *
+     * @param dataInputStream dataInputStream
+     * @return the text
+     * @throws IOException IOException
+     */
+    private static String readText(DataInputStream dataInputStream) throws IOException {
+        int length = dataInputStream.readInt();
+        if (length < 0) {
+            throw new IOException(format("Invalid text length [%d]", length));
+        }
+
+        byte[] bytes = new byte[length];
+        dataInputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
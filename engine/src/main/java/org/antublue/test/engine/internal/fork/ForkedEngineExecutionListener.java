@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.fork;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/** Class to implement an EngineExecutionListener that streams events to the Maven plugin */
+public class ForkedEngineExecutionListener implements EngineExecutionListener {
+
+    private final DataOutputStream dataOutputStream;
+
+    /**
+     * Constructor
+     *
+     * @param dataOutputStream dataOutputStream
+     */
+    public ForkedEngineExecutionListener(DataOutputStream dataOutputStream) {
+        this.dataOutputStream = dataOutputStream;
+    }
+
+    @Override
+    public synchronized void executionStarted(TestDescriptor testDescriptor) {
+        if (testDescriptor.isRoot()) {
+            return;
+        }
+
+        try {
+            dataOutputStream.writeByte(ForkProtocol.STARTED);
+            dataOutputStream.writeUTF(testDescriptor.getUniqueId().toString());
+            dataOutputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void executionSkipped(TestDescriptor testDescriptor, String reason) {
+        if (testDescriptor.isRoot()) {
+            return;
+        }
+
+        try {
+            dataOutputStream.writeByte(ForkProtocol.SKIPPED);
+            dataOutputStream.writeUTF(testDescriptor.getUniqueId().toString());
+            dataOutputStream.writeUTF(reason != null ? reason : "");
+            ForkProtocol.writeMetadata(dataOutputStream, testDescriptor);
+            dataOutputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void executionFinished(
+            TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        if (testDescriptor.isRoot()) {
+            return;
+        }
+
+        try {
+            dataOutputStream.writeByte(ForkProtocol.FINISHED);
+            dataOutputStream.writeUTF(testDescriptor.getUniqueId().toString());
+            ForkProtocol.writeMetadata(dataOutputStream, testDescriptor);
+            ForkProtocol.writeTestExecutionResult(dataOutputStream, testExecutionResult);
+            dataOutputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method to send a ready message
+     *
+     * @throws IOException IOException
+     */
+    public synchronized void ready() throws IOException {
+        dataOutputStream.writeByte(ForkProtocol.READY);
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Method to send baseline elapsed times
+     *
+     * @param elapsedTimes elapsedTimes
+     * @throws IOException IOException
+     */
+    public synchronized void elapsedTimes(Map<String, Long> elapsedTimes) throws IOException {
+        for (Map.Entry<String, Long> entry : elapsedTimes.entrySet()) {
+            dataOutputStream.writeByte(ForkProtocol.ELAPSED_TIME);
+            dataOutputStream.writeUTF(entry.getKey());
+            dataOutputStream.writeLong(entry.getValue());
+        }
+        dataOutputStream.flush();
+    }
+}
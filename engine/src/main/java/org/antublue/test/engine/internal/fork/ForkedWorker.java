@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.fork;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.capture.OutputCapture;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextExecutor;
+import org.antublue.test.engine.internal.execution.ExecutionContextExecutorFactory;
+import org.antublue.test.engine.internal.extension.TestEngineExtensionManager;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+
+/**
+ * Class to implement a forked worker
+ *
+ * <p>Connects to the Maven plugin (sending the token of the {@link ForkProtocol#TOKEN} environment
+ * variable), then repeatedly requests a test class unique id, discovers, and executes it, until the
+ * plugin has no more test classes. Test engine extensions are initialized once per worker
+ */
+public class ForkedWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForkedWorker.class);
+
+    /** Constructor */
+    private ForkedWorker() {
+        // DO NOTHING
+    }
+
+    /**
+     * Main method
+     *
+     * @param args args (the plugin port)
+     */
+    public static void main(String[] args) {
+        int exitCode = 0;
+
+        try {
+            run(Integer.parseInt(args[0]));
+        } catch (Throwable t) {
+            t.printStackTrace(System.err);
+            exitCode = 1;
+        }
+
+        LoggerFactory.flush();
+        System.out.flush();
+        System.err.flush();
+
+        System.exit(exitCode);
+    }
+
+    /**
+     * Method to run the worker
+     *
+     * @param port port
+     * @throws Throwable Throwable
+     */
+    private static void run(int port) throws Throwable {
+        String token = System.getenv(ForkProtocol.TOKEN);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            // Authenticate, the plugin doesn't accept workers without the token
+            DataOutputStream dataOutputStream = new DataOutputStream(socket.getOutputStream());
+            dataOutputStream.writeUTF(token != null ? token : "");
+            dataOutputStream.flush();
+
+            run(socket);
+        }
+    }
+
+    /**
+     * Method to run the worker using a connected socket
+     *
+     * <p>Also used by the {@link TestEngineDaemon} to execute a session
+     *
+     * @param socket socket
+     * @throws Throwable Throwable
+     */
+    public static void run(Socket socket) throws Throwable {
+        socket.setTcpNoDelay(true);
+
+        DataInputStream dataInputStream =
+                new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream dataOutputStream =
+                new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        ForkedEngineExecutionListener forkedEngineExecutionListener =
+                new ForkedEngineExecutionListener(dataOutputStream);
+
+        OutputCapture outputCapture = OutputCapture.create(Configuration.getInstance());
+        EngineExecutionListener engineExecutionListener =
+                outputCapture.wrap(forkedEngineExecutionListener);
+
+        AntuBLUETestEngine antuBLUETestEngine = new AntuBLUETestEngine();
+
+        TestEngineExtensionManager.getInstance().initializeCallback();
+
+        outputCapture.install();
+
+        try {
+            forkedEngineExecutionListener.ready();
+
+            while (dataInputStream.readByte() == ForkProtocol.CLASS) {
+                execute(antuBLUETestEngine, dataInputStream.readUTF(), engineExecutionListener);
+
+                forkedEngineExecutionListener.ready();
+            }
+        } finally {
+            outputCapture.uninstall();
+
+            for (Throwable throwable : TestEngineExtensionManager.getInstance().destroyCallback()) {
+                throwable.printStackTrace(System.err);
+            }
+
+            forkedEngineExecutionListener.elapsedTimes(Baseline.getInstance().getElapsedTimes());
+
+            LoggerFactory.flush();
+        }
+    }
+
+    /**
+     * Method to stop the test engine threads and remove the test engine shutdown hooks
+     *
+     * <p>Used by the {@link TestEngineDaemon} when a session is finished, so the session
+     * ClassLoader can be garbage collected
+     */
+    public static void shutdown() {
+        TimeoutSupport.shutdown();
+        LoggerFactory.close();
+    }
+
+    /**
+     * Method to discover and execute a test class
+     *
+     * @param antuBLUETestEngine antuBLUETestEngine
+     * @param uniqueId uniqueId
+     * @param engineExecutionListener engineExecutionListener
+     */
+    private static void execute(
+            AntuBLUETestEngine antuBLUETestEngine,
+            String uniqueId,
+            EngineExecutionListener engineExecutionListener) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("execute() uniqueId [%s]", uniqueId);
+        }
+
+        TestDescriptor testDescriptor =
+                antuBLUETestEngine.discover(
+                        LauncherDiscoveryRequestBuilder.request()
+                                .selectors(DiscoverySelectors.selectUniqueId(uniqueId))
+                                .build(),
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID));
+
+        ExecutionContext executionContext =
+                new ExecutionContext(
+                        ExecutionRequest.create(
+                                testDescriptor,
+                                engineExecutionListener,
+                                Configuration.getInstance()));
+
+        ExecutionContextExecutor executionContextExecutor =
+                ExecutionContextExecutorFactory.createExecutionContextExecutor();
+        executionContextExecutor.execute(executionContext);
+        executionContextExecutor.await();
+    }
+}
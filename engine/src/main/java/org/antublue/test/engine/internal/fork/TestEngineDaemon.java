@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.fork;
+
+import static java.lang.String.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+
+/**
+ * Class to implement a test engine daemon
+ *
+ * <p>A long-lived JVM that executes test sessions for the Maven plugin, so library classes stay
+ * loaded (and JIT compiled) between builds. Library archives are loaded by a cached ClassLoader
+ * (recreated when they change). Each session executes in a fresh child ClassLoader containing the
+ * project classes and the test engine, so changed project classes and the test engine state are
+ * never reused. Sessions are executed one at a time, using the {@link ForkedWorker} protocol. When
+ * a session is finished, the static {@code shutdown()} method of the test engine (and extras) is
+ * called in the session ClassLoader, stopping threads and removing shutdown hooks that would
+ * otherwise keep the session ClassLoader reachable
+ *
+ * <p>The session request must be received within a short handshake timeout, so a client that
+ * connects without sending a request doesn't block the daemon
+ *
+ * <p>The token is never sent. The client and the daemon each prove they know the token by sending
+ * an HMAC of a nonce chosen by the other side, and the client verifies the daemon before sending
+ * the session request
+ *
+ * <p>Session request (after connecting)
+ *
+ * <pre>
+ * client: UTF client nonce
+ * daemon: UTF daemon nonce, UTF HMAC(token, "daemon:" + client nonce)
+ * client: UTF HMAC(token, "client:" + daemon nonce)
+ * int count, UTF library path...
+ * int count, UTF session path...
+ * int count, (UTF key, UTF value) system property...
+ * </pre>
+ */
+@SuppressWarnings("PMD.EmptyCatchBlock")
+public class TestEngineDaemon {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestEngineDaemon.class);
+
+    /** Port file property */
+    public static final String PORT = "port";
+
+    /** Port file property */
+    public static final String TOKEN = "token";
+
+    /** Port file property */
+    public static final String PID = "pid";
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private static final int BACKLOG = 50;
+
+    private static final int HANDSHAKE_TIMEOUT_MILLISECONDS = 5000;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int NONCE_BYTES = 32;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private static final String CLIENT = "client:";
+
+    private static final String DAEMON = "daemon:";
+
+    /** Classes (loaded by the session ClassLoader) with a static shutdown() method */
+    private static final String[] SHUTDOWN_CLASS_NAMES = {
+        ForkedWorker.class.getName(), "org.antublue.test.engine.extras.Fixtures"
+    };
+
+    private final String token;
+    private final Duration idleTimeout;
+    private List<String> libraryKey;
+    private URLClassLoader libraryClassLoader;
+    private volatile WeakReference<ClassLoader> sessionClassLoaderReference;
+
+    /**
+     * Constructor
+     *
+     * @param token token
+     * @param idleTimeout idleTimeout
+     */
+    public TestEngineDaemon(String token, Duration idleTimeout) {
+        this.token = token;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Main method
+     *
+     * @param args args (the port file)
+     */
+    public static void main(String[] args) {
+        int exitCode = 0;
+
+        try {
+            Duration idleTimeout =
+                    Configuration.getInstance()
+                            .getDuration(Constants.DAEMON_IDLE_TIMEOUT)
+                            .orElse(DEFAULT_IDLE_TIMEOUT);
+
+            new TestEngineDaemon(UUID.randomUUID().toString(), idleTimeout).run(Paths.get(args[0]));
+        } catch (Throwable t) {
+            t.printStackTrace(System.err);
+            exitCode = 1;
+        }
+
+        LoggerFactory.flush();
+        System.out.flush();
+        System.err.flush();
+
+        System.exit(exitCode);
+    }
+
+    /**
+     * Method to authenticate with the daemon and write a session request
+     *
+     * @param socket socket
+     * @param token token
+     * @param libraryPaths library archives (cached between sessions)
+     * @param sessionPaths project class directories and test engine archives (reloaded every
+     *     session)
+     * @param systemProperties system properties of the session
+     * @throws IOException IOException (e.g. if the daemon didn't prove it knows the token)
+     */
+    public static void writeSession(
+            Socket socket,
+            String token,
+            List<String> libraryPaths,
+            List<String> sessionPaths,
+            Map<String, String> systemProperties)
+            throws IOException {
+        // Unbuffered, so nothing after the daemon proof is consumed
+        DataInputStream dataInputStream = new DataInputStream(socket.getInputStream());
+        DataOutputStream dataOutputStream =
+                new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        String clientNonce = nonce();
+        dataOutputStream.writeUTF(clientNonce);
+        dataOutputStream.flush();
+
+        String daemonNonce = dataInputStream.readUTF();
+        if (!isProof(dataInputStream.readUTF(), token, DAEMON, clientNonce)) {
+            throw new IOException("Test engine daemon didn't prove it knows the token");
+        }
+
+        dataOutputStream.writeUTF(proof(token, CLIENT, daemonNonce));
+
+        dataOutputStream.writeInt(libraryPaths.size());
+        for (String path : libraryPaths) {
+            dataOutputStream.writeUTF(path);
+        }
+
+        dataOutputStream.writeInt(sessionPaths.size());
+        for (String path : sessionPaths) {
+            dataOutputStream.writeUTF(path);
+        }
+
+        dataOutputStream.writeInt(systemProperties.size());
+        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
+            dataOutputStream.writeUTF(entry.getKey());
+            dataOutputStream.writeUTF(entry.getValue());
+        }
+
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Method to run the daemon until it's idle for the idle timeout
+     *
+     * @param portFile portFile
+     * @throws IOException IOException
+     */
+    public void run(Path portFile) throws IOException {
+        try (ServerSocket serverSocket =
+                new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, idleTimeout.toMillis()));
+
+            writePortFile(portFile, serverSocket.getLocalPort());
+
+            LOGGER.info(
+                    "test engine daemon port [%d] idle timeout [%s]",
+                    serverSocket.getLocalPort(), idleTimeout);
+
+            try {
+                Socket socket;
+                while ((socket = accept(serverSocket)) != null) {
+                    session(socket);
+                }
+            } finally {
+                Files.deleteIfExists(portFile);
+                if (libraryClassLoader != null) {
+                    libraryClassLoader.close();
+                }
+            }
+        }
+
+        LOGGER.info("test engine daemon idle, exiting");
+    }
+
+    /**
+     * Method to get the ClassLoader of the last session
+     *
+     * @return a WeakReference to the ClassLoader of the last session, or null if no session was
+     *     executed
+     */
+    public WeakReference<ClassLoader> getSessionClassLoaderReference() {
+        return sessionClassLoaderReference;
+    }
+
+    /**
+     * Method to accept a connection
+     *
+     * @param serverSocket serverSocket
+     * @return a Socket, or null if the idle timeout expired
+     * @throws IOException IOException
+     */
+    private static Socket accept(ServerSocket serverSocket) throws IOException {
+        try {
+            return serverSocket.accept();
+        } catch (SocketTimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method to write the port file
+     *
+     * <p>The port file is written to a temporary file (owner only permissions on POSIX file
+     * systems) which is moved into place, so a client never reads a partial port file
+     *
+     * @param portFile portFile
+     * @param port port
+     * @throws IOException IOException
+     */
+    private void writePortFile(Path portFile, int port) throws IOException {
+        Path absolutePath = portFile.toAbsolutePath();
+        Files.createDirectories(absolutePath.getParent());
+
+        Properties properties = new Properties();
+        properties.setProperty(PORT, String.valueOf(port));
+        properties.setProperty(TOKEN, token);
+        properties.setProperty(PID, ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
+
+        Path temporaryPath =
+                Files.createTempFile(
+                        absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+
+        try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+            properties.store(outputStream, "AntuBLUE Test Engine daemon");
+        }
+
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Method to execute a session
+     *
+     * @param socket socket
+     */
+    private void session(Socket socket) {
+        Properties systemProperties = (Properties) System.getProperties().clone();
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+
+        try (Socket localSocket = socket) {
+            localSocket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLISECONDS);
+
+            // The client doesn't send anything after the session request until the worker is
+            // ready, so the buffered stream never consumes worker protocol messages
+            DataInputStream dataInputStream =
+                    new DataInputStream(new BufferedInputStream(localSocket.getInputStream()));
+            DataOutputStream dataOutputStream =
+                    new DataOutputStream(new BufferedOutputStream(localSocket.getOutputStream()));
+
+            String clientNonce = dataInputStream.readUTF();
+            String daemonNonce = nonce();
+            dataOutputStream.writeUTF(daemonNonce);
+            dataOutputStream.writeUTF(proof(token, DAEMON, clientNonce));
+            dataOutputStream.flush();
+
+            if (!isProof(dataInputStream.readUTF(), token, CLIENT, daemonNonce)) {
+                LOGGER.warn("session rejected, invalid token");
+                return;
+            }
+
+            List<String> libraryPaths = readPaths(dataInputStream);
+            List<String> sessionPaths = readPaths(dataInputStream);
+
+            Map<String, String> properties = new LinkedHashMap<>();
+            int count = dataInputStream.readInt();
+            for (int i = 0; i < count; i++) {
+                properties.put(dataInputStream.readUTF(), dataInputStream.readUTF());
+            }
+
+            // The worker protocol waits for the client without a timeout
+            localSocket.setSoTimeout(0);
+
+            long t0 = System.nanoTime();
+
+            try (URLClassLoader sessionClassLoader =
+                    new URLClassLoader(toUrls(sessionPaths), getLibraryClassLoader(libraryPaths))) {
+                sessionClassLoaderReference = new WeakReference<>(sessionClassLoader);
+                properties.forEach(System::setProperty);
+                thread.setContextClassLoader(sessionClassLoader);
+
+                try {
+                    Class.forName(ForkedWorker.class.getName(), true, sessionClassLoader)
+                            .getMethod("run", Socket.class)
+                            .invoke(null, localSocket);
+                } finally {
+                    shutdown(sessionClassLoader);
+                }
+            }
+
+            LOGGER.info(
+                    "session finished in [%d] ms",
+                    Duration.ofNanos(System.nanoTime() - t0).toMillis());
+        } catch (InvocationTargetException e) {
+            LOGGER.warn("session failed", e.getCause());
+        } catch (Throwable t) {
+            LOGGER.warn("session failed", t);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+            System.setProperties(systemProperties);
+        }
+    }
+
+    /**
+     * Method to create a random nonce
+     *
+     * @return a random nonce (hex encoded)
+     */
+    private static String nonce() {
+        byte[] bytes = new byte[NONCE_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        return toHex(bytes);
+    }
+
+    /**
+     * Method to create the proof that a side of the handshake knows the token
+     *
+     * @param token token
+     * @param side side of the handshake sending the proof
+     * @param nonce nonce chosen by the other side
+     * @return the proof (hex encoded HMAC)
+     * @throws IOException IOException
+     */
+    private static String proof(String token, String side, String nonce) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(token.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return toHex(mac.doFinal((side + nonce).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IOException(format("Exception creating [%s]", HMAC_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Method to return if a proof received from the other side of the handshake is valid, comparing
+     * in constant time
+     *
+     * @param proof proof
+     * @param token token
+     * @param side side of the handshake that sent the proof
+     * @param nonce nonce sent to the other side
+     * @return true if the proof is valid, else false
+     * @throws IOException IOException
+     */
+    private static boolean isProof(String proof, String token, String side, String nonce)
+            throws IOException {
+        return MessageDigest.isEqual(
+                proof(token, side, nonce).getBytes(StandardCharsets.UTF_8),
+                proof.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method to hex encode bytes
+     *
+     * @param bytes bytes
+     * @return the hex encoded bytes
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder stringBuilder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            stringBuilder.append(format("%02x", b & 0xFF));
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Method to call the static shutdown() methods of a session
+     *
+     * @param sessionClassLoader sessionClassLoader
+     */
+    private static void shutdown(ClassLoader sessionClassLoader) {
+        for (String className : SHUTDOWN_CLASS_NAMES) {
+            try {
+                Object result =
+                        Class.forName(className, true, sessionClassLoader)
+                                .getMethod("shutdown")
+                                .invoke(null);
+
+                if (result instanceof List) {
+                    for (Object object : (List<?>) result) {
+                        LOGGER.warn(
+                                format("session shutdown [%s] exception", className),
+                                (Throwable) object);
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                // DO NOTHING (the session doesn't use the class)
+            } catch (InvocationTargetException e) {
+                LOGGER.warn(format("session shutdown [%s] failed", className), e.getCause());
+            } catch (Throwable t) {
+                LOGGER.warn(format("session shutdown [%s] failed", className), t);
+            }
+        }
+    }
+
+    /**
+     * Method to get the library ClassLoader, reusing the cached ClassLoader if the library archives
+     * haven't changed
+     *
+     * @param libraryPaths libraryPaths
+     * @return the library ClassLoader
+     * @throws IOException IOException
+     */
+    private ClassLoader getLibraryClassLoader(List<String> libraryPaths) throws IOException {
+        List<String> key = new ArrayList<>(libraryPaths.size());
+        for (String libraryPath : libraryPaths) {
+            Path path = Paths.get(libraryPath);
+            key.add(
+                    Files.exists(path)
+                            ? libraryPath
+                                    + ":"
+                                    + Files.size(path)
+                                    + ":"
+                                    + Files.getLastModifiedTime(path).toMillis()
+                            : libraryPath);
+        }
+
+        if (libraryClassLoader == null || !key.equals(libraryKey)) {
+            if (libraryClassLoader != null) {
+                libraryClassLoader.close();
+            }
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("getLibraryClassLoader() creating ClassLoader %s", key);
+            }
+
+            // Parent is the platform ClassLoader, so the daemon's own classes are not visible
+            libraryClassLoader =
+                    new URLClassLoader(
+                            toUrls(libraryPaths), ClassLoader.getSystemClassLoader().getParent());
+            libraryKey = key;
+        }
+
+        return libraryClassLoader;
+    }
+
+    /**
+     * Method to read a list of paths
+     *
+     * @param dataInputStream dataInputStream
+     * @return a List of paths
+     * @throws IOException IOException
+     */
+    private static List<String> readPaths(DataInputStream dataInputStream) throws IOException {
+        int count = dataInputStream.readInt();
+        if (count < 0) {
+            throw new IOException(format("Invalid path count [%d]", count));
+        }
+
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            paths.add(dataInputStream.readUTF());
+        }
+        return paths;
+    }
+
+    /**
+     * Method to convert paths to URLs
+     *
+     * @param paths paths
+     * @return an array of URLs
+     * @throws IOException IOException
+     */
+    private static URL[] toUrls(List<String> paths) throws IOException {
+        URL[] urls = new URL[paths.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = Paths.get(paths.get(i)).toUri().toURL();
+        }
+        return urls;
+    }
+}
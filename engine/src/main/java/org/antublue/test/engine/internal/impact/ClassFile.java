@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.impact;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement ClassFile
+ *
+ * <p>Reads the class name and the referenced class names from the constant pool of a class file,
+ * without loading the class
+ */
+public class ClassFile {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /** Matches class types in field, method, and generic signature descriptors */
+    private static final Pattern DESCRIPTOR_PATTERN = Pattern.compile("L([^;<>()\\[\\s]+)[;<]");
+
+    private final String className;
+    private final Set<String> referencedClassNames;
+
+    /**
+     * Constructor
+     *
+     * @param className className
+     * @param referencedClassNames referencedClassNames
+     */
+    private ClassFile(String className, Set<String> referencedClassNames) {
+        this.className = className;
+        this.referencedClassNames = Collections.unmodifiableSet(referencedClassNames);
+    }
+
+    /**
+     * Method to get the class name
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Method to get the class names referenced by the class
+     *
+     * <p>Includes class constants and class types used in descriptors and signatures (fields,
+     * methods, annotations), excluding the class itself
+     *
+     * @return the referenced class names
+     */
+    public Set<String> getReferencedClassNames() {
+        return referencedClassNames;
+    }
+
+    /**
+     * Method to parse a class file
+     *
+     * @param bytes bytes
+     * @return a ClassFile
+     * @throws IOException IOException
+     */
+    public static ClassFile parse(byte[] bytes) throws IOException {
+        Preconditions.notNull(bytes, "bytes is null");
+
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        if (dataInputStream.readInt() != MAGIC) {
+            throw new IOException("Invalid class file magic number");
+        }
+
+        // Minor and major version
+        dataInputStream.readUnsignedShort();
+        dataInputStream.readUnsignedShort();
+
+        int constantPoolCount = dataInputStream.readUnsignedShort();
+        String[] utf8s = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = dataInputStream.readUnsignedByte();
+            if (tag == CONSTANT_UTF8) {
+                utf8s[i] = dataInputStream.readUTF();
+            } else if (tag == CONSTANT_CLASS) {
+                classNameIndexes[i] = dataInputStream.readUnsignedShort();
+            } else if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+                dataInputStream.skipBytes(8);
+                // Long and double constants take two constant pool entries
+                i++;
+            } else if (tag == CONSTANT_INTEGER
+                    || tag == CONSTANT_FLOAT
+                    || tag == CONSTANT_FIELD_REF
+                    || tag == CONSTANT_METHOD_REF
+                    || tag == CONSTANT_INTERFACE_METHOD_REF
+                    || tag == CONSTANT_NAME_AND_TYPE
+                    || tag == CONSTANT_DYNAMIC
+                    || tag == CONSTANT_INVOKE_DYNAMIC) {
+                dataInputStream.skipBytes(4);
+            } else if (tag == CONSTANT_METHOD_HANDLE) {
+                dataInputStream.skipBytes(3);
+            } else if (tag == CONSTANT_STRING
+                    || tag == CONSTANT_METHOD_TYPE
+                    || tag == CONSTANT_MODULE
+                    || tag == CONSTANT_PACKAGE) {
+                dataInputStream.skipBytes(2);
+            } else {
+                throw new IOException(
+                        format("Invalid constant pool tag [%d] at index [%d]", tag, i));
+            }
+        }
+
+        // Access flags
+        dataInputStream.readUnsignedShort();
+
+        int thisClassIndex = dataInputStream.readUnsignedShort();
+        if (thisClassIndex < 1
+                || thisClassIndex >= constantPoolCount
+                || utf8s[classNameIndexes[thisClassIndex]] == null) {
+            throw new IOException(format("Invalid this_class index [%d]", thisClassIndex));
+        }
+
+        String className = toClassName(utf8s[classNameIndexes[thisClassIndex]]);
+        Set<String> referencedClassNames = new TreeSet<>();
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            String internalName = classNameIndexes[i] > 0 ? utf8s[classNameIndexes[i]] : null;
+            if (internalName != null && internalName.charAt(0) != '[') {
+                referencedClassNames.add(toClassName(internalName));
+            } else if (internalName != null) {
+                // Array class constants use descriptor syntax (e.g. "[Lcom/example/Foo;")
+                addDescriptorClassNames(internalName, referencedClassNames);
+            }
+
+            String utf8 = utf8s[i];
+            if (utf8 != null && utf8.indexOf(';') > 0) {
+                addDescriptorClassNames(utf8, referencedClassNames);
+            }
+        }
+
+        referencedClassNames.remove(className);
+
+        return new ClassFile(className, referencedClassNames);
+    }
+
+    /**
+     * Method to add the class names referenced in a descriptor or signature
+     *
+     * @param descriptor descriptor
+     * @param classNames classNames
+     */
+    private static void addDescriptorClassNames(String descriptor, Set<String> classNames) {
+        Matcher matcher = DESCRIPTOR_PATTERN.matcher(descriptor);
+        while (matcher.find()) {
+            classNames.add(toClassName(matcher.group(1)));
+        }
+    }
+
+    /**
+     * Method to convert an internal class name (e.g. "com/example/Foo") to a class name (e.g.
+     * "com.example.Foo")
+     *
+     * @param internalName internalName
+     * @return the class name
+     */
+    private static String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.impact;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement DependencyGraph
+ *
+ * <p>A class level dependency graph of the class files in a set of directories, built from constant
+ * pool references. Only references between classes in the directories are kept
+ */
+public class DependencyGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DependencyGraph.class);
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Map<String, String> hashes;
+    private final Map<String, Set<String>> dependencies;
+    private final Map<String, Set<String>> dependents;
+
+    /**
+     * Constructor
+     *
+     * @param hashes hashes
+     * @param dependencies dependencies
+     */
+    private DependencyGraph(Map<String, String> hashes, Map<String, Set<String>> dependencies) {
+        this.hashes = hashes;
+        this.dependencies = dependencies;
+        this.dependents = new HashMap<>();
+
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            for (String dependency : entry.getValue()) {
+                dependents.computeIfAbsent(dependency, k -> new TreeSet<>()).add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Method to get the class names
+     *
+     * @return the class names
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(hashes.keySet());
+    }
+
+    /**
+     * Method to get whether the graph contains a class
+     *
+     * @param className className
+     * @return true if the graph contains the class, otherwise false
+     */
+    public boolean contains(String className) {
+        return hashes.containsKey(className);
+    }
+
+    /**
+     * Method to get the content hash of a class file
+     *
+     * @param className className
+     * @return the content hash, or null if the graph doesn't contain the class
+     */
+    public String getHash(String className) {
+        return hashes.get(className);
+    }
+
+    /**
+     * Method to get the direct dependencies of a class
+     *
+     * @param className className
+     * @return the direct dependencies
+     */
+    public Set<String> getDependencies(String className) {
+        return Collections.unmodifiableSet(
+                dependencies.getOrDefault(className, Collections.emptySet()));
+    }
+
+    /**
+     * Method to get the classes that transitively depend on any of a set of classes, including the
+     * classes themselves
+     *
+     * @param classNames classNames
+     * @return the class names
+     */
+    public Set<String> getDependents(Collection<String> classNames) {
+        Preconditions.notNull(classNames, "classNames is null");
+
+        Set<String> result = new TreeSet<>();
+        Deque<String> deque = new ArrayDeque<>();
+
+        for (String className : classNames) {
+            if (contains(className) && result.add(className)) {
+                deque.add(className);
+            }
+        }
+
+        while (!deque.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(deque.poll(), Collections.emptySet())) {
+                if (result.add(dependent)) {
+                    deque.add(dependent);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to build a DependencyGraph from the class files in a set of directories
+     *
+     * <p>If a class exists in more than one directory, the first one wins (classpath order)
+     *
+     * @param directories directories
+     * @return a DependencyGraph
+     * @throws IOException IOException
+     */
+    public static DependencyGraph scan(Collection<Path> directories) throws IOException {
+        Preconditions.notNull(directories, "directories is null");
+
+        Map<String, String> hashes = new TreeMap<>();
+        Map<String, Set<String>> references = new HashMap<>();
+        MessageDigest messageDigest = newMessageDigest();
+
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+
+            List<Path> paths;
+            try (Stream<Path> stream = Files.walk(directory)) {
+                paths =
+                        stream.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                                .filter(Files::isRegularFile)
+                                .sorted()
+                                .collect(Collectors.toList());
+            }
+
+            for (Path path : paths) {
+                byte[] bytes = Files.readAllBytes(path);
+
+                ClassFile classFile;
+                try {
+                    classFile = ClassFile.parse(bytes);
+                } catch (IOException e) {
+                    throw new IOException(format("Exception parsing class file [%s]", path), e);
+                }
+
+                if (hashes.putIfAbsent(classFile.getClassName(), toHex(messageDigest.digest(bytes)))
+                        == null) {
+                    references.put(classFile.getClassName(), classFile.getReferencedClassNames());
+                }
+            }
+        }
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : references.entrySet()) {
+            Set<String> classNames = new TreeSet<>();
+            for (String className : entry.getValue()) {
+                if (hashes.containsKey(className)) {
+                    classNames.add(className);
+                }
+            }
+            dependencies.put(entry.getKey(), classNames);
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("scan() directories [%s] classes [%d]", directories, hashes.size());
+        }
+
+        return new DependencyGraph(hashes, dependencies);
+    }
+
+    /**
+     * Method to create a MessageDigest for class file content hashes
+     *
+     * @return a MessageDigest
+     */
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new TestEngineException("SHA-256 MessageDigest is not available", e);
+        }
+    }
+
+    /**
+     * Method to convert bytes to a hexadecimal String
+     *
+     * @param bytes bytes
+     * @return a hexadecimal String
+     */
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
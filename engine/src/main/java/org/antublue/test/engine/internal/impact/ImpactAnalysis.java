@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.impact;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement ImpactAnalysis
+ *
+ * <p>Compares the class files of the classpath directories against a snapshot from a previous run,
+ * and computes the classes affected by the changes (changed classes and the classes that
+ * transitively depend on them)
+ *
+ * <p>Archives (jars) are compared by size and last modified time. If the snapshot doesn't exist, or
+ * an archive changed, every class is affected
+ *
+ * <p>Snapshot file format (tab separated)
+ *
+ * <pre>
+ * class&#9;example.Test&#9;&lt;sha-256&gt;
+ * archive&#9;/path/to/dependency.jar&#9;&lt;size&gt;:&lt;last modified&gt;
+ * </pre>
+ */
+public class ImpactAnalysis {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImpactAnalysis.class);
+
+    private static final String COMMENT = "#";
+
+    private static final char SEPARATOR = '\t';
+
+    private static final String CLASS = "class";
+
+    private static final String ARCHIVE = "archive";
+
+    private final Path path;
+    private final DependencyGraph dependencyGraph;
+    private final Map<String, String> archives;
+    private final boolean full;
+    private final Set<String> changedClassNames;
+    private final Set<String> affectedClassNames;
+
+    /**
+     * Constructor
+     *
+     * @param path path
+     * @param dependencyGraph dependencyGraph
+     * @param archives archives
+     * @param full full
+     * @param changedClassNames changedClassNames
+     */
+    private ImpactAnalysis(
+            Path path,
+            DependencyGraph dependencyGraph,
+            Map<String, String> archives,
+            boolean full,
+            Set<String> changedClassNames) {
+        this.path = path;
+        this.dependencyGraph = dependencyGraph;
+        this.archives = archives;
+        this.full = full;
+        this.changedClassNames = Collections.unmodifiableSet(changedClassNames);
+        this.affectedClassNames =
+                Collections.unmodifiableSet(dependencyGraph.getDependents(changedClassNames));
+    }
+
+    /**
+     * Method to get whether every class is affected (no snapshot, or an archive changed)
+     *
+     * @return true if every class is affected, otherwise false
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Method to get the changed class names
+     *
+     * @return the changed class names
+     */
+    public Set<String> getChangedClassNames() {
+        return changedClassNames;
+    }
+
+    /**
+     * Method to get the affected class names
+     *
+     * @return the affected class names
+     */
+    public Set<String> getAffectedClassNames() {
+        return affectedClassNames;
+    }
+
+    /**
+     * Method to get whether a class is affected by the changes
+     *
+     * <p>A class that isn't in a classpath directory (e.g. a class from an archive) is always
+     * affected
+     *
+     * @param className className
+     * @return true if the class is affected, otherwise false
+     */
+    public boolean isAffected(String className) {
+        return full
+                || affectedClassNames.contains(className)
+                || !dependencyGraph.contains(className);
+    }
+
+    /**
+     * Method to store the snapshot of the current classpath, so the next analysis is relative to it
+     *
+     * @throws IOException IOException
+     */
+    public void store() throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        if (absolutePath.getParent() != null) {
+            Files.createDirectories(absolutePath.getParent());
+        }
+
+        Path temporaryPath =
+                Files.createTempFile(
+                        absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+
+        try (BufferedWriter bufferedWriter =
+                Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            bufferedWriter.write(COMMENT + " AntuBLUE Test Engine impact snapshot");
+            bufferedWriter.newLine();
+
+            for (String className : dependencyGraph.getClassNames()) {
+                bufferedWriter.write(
+                        CLASS
+                                + SEPARATOR
+                                + className
+                                + SEPARATOR
+                                + dependencyGraph.getHash(className));
+                bufferedWriter.newLine();
+            }
+
+            for (Map.Entry<String, String> entry : archives.entrySet()) {
+                bufferedWriter.write(
+                        ARCHIVE + SEPARATOR + entry.getKey() + SEPARATOR + entry.getValue());
+                bufferedWriter.newLine();
+            }
+        }
+
+        Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "store() path [%s] classes [%d] archives [%d]",
+                    path, dependencyGraph.getClassNames().size(), archives.size());
+        }
+    }
+
+    /**
+     * Method to analyze a classpath against a snapshot
+     *
+     * @param path snapshot path
+     * @param classpath classpath
+     * @return an ImpactAnalysis
+     * @throws IOException IOException
+     */
+    public static ImpactAnalysis analyze(Path path, Collection<Path> classpath) throws IOException {
+        Preconditions.notNull(path, "path is null");
+        Preconditions.notNull(classpath, "classpath is null");
+
+        List<Path> directories = new ArrayList<>();
+        Map<String, String> archives = new TreeMap<>();
+
+        for (Path element : classpath) {
+            if (Files.isDirectory(element)) {
+                directories.add(element);
+            } else if (Files.isRegularFile(element)) {
+                archives.put(
+                        element.toAbsolutePath().toString(),
+                        Files.size(element) + ":" + Files.getLastModifiedTime(element).toMillis());
+            }
+        }
+
+        DependencyGraph dependencyGraph = DependencyGraph.scan(directories);
+
+        Map<String, String> previousClasses = new TreeMap<>();
+        Map<String, String> previousArchives = new TreeMap<>();
+        boolean full = !read(path, previousClasses, previousArchives);
+
+        if (!full && !archives.equals(previousArchives)) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("analyze() archives changed");
+            }
+            full = true;
+        }
+
+        Set<String> changedClassNames = new TreeSet<>();
+        for (String className : dependencyGraph.getClassNames()) {
+            if (!dependencyGraph.getHash(className).equals(previousClasses.get(className))) {
+                changedClassNames.add(className);
+            }
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "analyze() path [%s] full [%b] changed classes [%s]",
+                    path, full, changedClassNames);
+        }
+
+        return new ImpactAnalysis(path, dependencyGraph, archives, full, changedClassNames);
+    }
+
+    /**
+     * Method to read a snapshot file
+     *
+     * @param path path
+     * @param classes classes
+     * @param archives archives
+     * @return true if the snapshot file exists, otherwise false
+     */
+    private static boolean read(
+            Path path, Map<String, String> classes, Map<String, String> archives) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+
+        try (BufferedReader bufferedReader =
+                Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                int first = line.indexOf(SEPARATOR);
+                int last = line.lastIndexOf(SEPARATOR);
+                if (line.startsWith(COMMENT) || first < 1 || last <= first) {
+                    continue;
+                }
+
+                String type = line.substring(0, first);
+                String key = line.substring(first + 1, last);
+                String value = line.substring(last + 1);
+
+                if (CLASS.equals(type)) {
+                    classes.put(key, value);
+                } else if (ARCHIVE.equals(type)) {
+                    archives.put(key, value);
+                }
+            }
+        } catch (IOException e) {
+            throw new TestEngineException(
+                    format("Exception reading impact snapshot [%s]", path), e);
+        }
+
+        return true;
+    }
+}
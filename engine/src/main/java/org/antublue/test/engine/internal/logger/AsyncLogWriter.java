@@ -0,0 +1,577 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+
+/**
+ * Class to implement an asynchronous log writer
+ *
+ * <p>Log events are published to a preallocated ring buffer (multiple producers) and written to a
+ * file channel (or standard out) by a single consumer thread. When the ring buffer is full, the
+ * overflow policy either blocks the producer, drops the event, or blocks for every Nth event
+ * (sample) and drops the rest. Closing the writer drains the ring buffer, stops the consumer
+ * thread, and removes the shutdown hook. If writing fails, the consumer thread reports the failure
+ * (and the number of discarded events) to standard error and the writer stops accepting events
+ */
+@SuppressWarnings("PMD.EmptyCatchBlock")
+public final class AsyncLogWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int DEFAULT_SAMPLE_RATE = 100;
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final long CONSUMER_PARK_NANOSECONDS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long PRODUCER_PARK_NANOSECONDS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private static final long CLOSE_TIMEOUT_MILLISECONDS = 5000;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** Overflow policy */
+    private enum Overflow {
+        /** Block the producer until space is available */
+        BLOCK,
+        /** Drop the event */
+        DROP,
+        /** Block the producer for every Nth event, drop the rest */
+        SAMPLE
+    }
+
+    private final boolean enabled;
+    private final Overflow overflow;
+    private final int sampleRate;
+    private final int capacity;
+    private final int mask;
+    private final Event[] events;
+    private final AtomicLongArray published;
+    private final AtomicLong producerSequence;
+    private final AtomicLong overflowCount;
+    private final AtomicLong droppedCount;
+    private volatile long consumerSequence;
+    private volatile long writtenSequence;
+    private volatile boolean running;
+    private volatile boolean sleeping;
+    private WritableByteChannel writableByteChannel;
+    private PrintStream printStream;
+    private Thread consumerThread;
+    private volatile Thread shutdownHook;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Constructor
+     *
+     * @param enabled enabled
+     * @param overflow overflow
+     * @param sampleRate sampleRate
+     * @param bufferSize bufferSize
+     * @param writableByteChannel writableByteChannel, or null to write to standard out
+     */
+    private AsyncLogWriter(
+            boolean enabled,
+            Overflow overflow,
+            int sampleRate,
+            int bufferSize,
+            WritableByteChannel writableByteChannel) {
+        this.enabled = enabled;
+        this.overflow = overflow;
+        this.sampleRate = sampleRate;
+
+        // Round up to a power of 2 so the ring index is a mask
+        capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        mask = capacity - 1;
+
+        producerSequence = new AtomicLong();
+        overflowCount = new AtomicLong();
+        droppedCount = new AtomicLong();
+
+        if (!enabled) {
+            events = new Event[0];
+            published = new AtomicLongArray(0);
+            return;
+        }
+
+        events = new Event[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+            published.set(i, -1);
+        }
+
+        if (writableByteChannel != null) {
+            this.writableByteChannel = writableByteChannel;
+        } else {
+            printStream = System.out;
+            this.writableByteChannel = Channels.newChannel(printStream);
+        }
+
+        running = true;
+
+        consumerThread = new Thread(this::consume, "antublue-test-engine-logger");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+
+        shutdownHook = new Thread(this::close, "antublue-test-engine-logger-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Method to create an enabled AsyncLogWriter
+     *
+     * @param overflow overflow policy (block, drop, or sample)
+     * @param sampleRate sampleRate
+     * @param bufferSize bufferSize
+     * @param writableByteChannel writableByteChannel, or null to write to standard out
+     * @return an AsyncLogWriter
+     */
+    public static AsyncLogWriter create(
+            String overflow,
+            int sampleRate,
+            int bufferSize,
+            WritableByteChannel writableByteChannel) {
+        return new AsyncLogWriter(
+                true,
+                toOverflow(overflow),
+                sampleRate > 0 ? sampleRate : DEFAULT_SAMPLE_RATE,
+                bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE,
+                writableByteChannel);
+    }
+
+    /**
+     * Method to create an AsyncLogWriter from a Configuration
+     *
+     * @param configuration configuration
+     * @return an AsyncLogWriter
+     */
+    private static AsyncLogWriter create(Configuration configuration) {
+        boolean enabled =
+                configuration
+                        .get(Constants.LOGGER_ASYNC)
+                        .map(Constants.TRUE::equalsIgnoreCase)
+                        .orElse(false);
+
+        Overflow overflow =
+                configuration
+                        .get(Constants.LOGGER_ASYNC_OVERFLOW)
+                        .map(AsyncLogWriter::toOverflow)
+                        .orElse(Overflow.BLOCK);
+
+        int sampleRate =
+                configuration
+                        .get(Constants.LOGGER_ASYNC_SAMPLE_RATE)
+                        .map(value -> toPositiveInt(value, DEFAULT_SAMPLE_RATE))
+                        .orElse(DEFAULT_SAMPLE_RATE);
+
+        int bufferSize =
+                configuration
+                        .get(Constants.LOGGER_ASYNC_BUFFER_SIZE)
+                        .map(value -> toPositiveInt(value, DEFAULT_BUFFER_SIZE))
+                        .orElse(DEFAULT_BUFFER_SIZE);
+
+        WritableByteChannel writableByteChannel = null;
+
+        String file = configuration.get(Constants.LOGGER_ASYNC_FILE).orElse(null);
+        if (enabled && file != null && !file.trim().isEmpty()) {
+            try {
+                writableByteChannel =
+                        FileChannel.open(
+                                Paths.get(file.trim()),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (Throwable t) {
+                // The logger can't log its own failure, so report it directly
+                System.err.println(
+                        String.format(
+                                Locale.ENGLISH,
+                                "antublue-test-engine: unable to open asynchronous log file [%s],"
+                                        + " writing to standard out [%s]",
+                                file.trim(),
+                                t));
+            }
+        }
+
+        return new AsyncLogWriter(enabled, overflow, sampleRate, bufferSize, writableByteChannel);
+    }
+
+    /**
+     * Method to return if asynchronous logging is enabled
+     *
+     * @return true if asynchronous logging is enabled, else false
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method to append a log event
+     *
+     * @param timestamp timestamp in epoch milliseconds
+     * @param threadName threadName
+     * @param level level
+     * @param name logger name
+     * @param message message
+     * @return true if the event was accepted (published or dropped), false if the writer is closed
+     */
+    public boolean append(
+            long timestamp, String threadName, Level level, String name, String message) {
+        boolean blocking = overflow == Overflow.BLOCK;
+        long sequence;
+
+        while (true) {
+            if (!running) {
+                return false;
+            }
+
+            sequence = producerSequence.get();
+
+            if (sequence - consumerSequence >= capacity) {
+                if (!blocking) {
+                    if (overflow == Overflow.DROP
+                            || overflowCount.incrementAndGet() % sampleRate != 0) {
+                        droppedCount.incrementAndGet();
+                        return true;
+                    }
+                    blocking = true;
+                }
+
+                wakeConsumer();
+                LockSupport.parkNanos(PRODUCER_PARK_NANOSECONDS);
+                continue;
+            }
+
+            if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        int index = (int) sequence & mask;
+
+        Event event = events[index];
+        event.timestamp = timestamp;
+        event.threadName = threadName;
+        event.level = level;
+        event.name = name;
+        event.message = message;
+
+        published.set(index, sequence);
+
+        if (sleeping) {
+            wakeConsumer();
+        }
+
+        return true;
+    }
+
+    /** Method to wait for all appended events to be written */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        long sequence = producerSequence.get();
+        long deadline =
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MILLISECONDS);
+
+        while (running && writtenSequence < sequence && System.nanoTime() < deadline) {
+            wakeConsumer();
+            LockSupport.parkNanos(PRODUCER_PARK_NANOSECONDS);
+        }
+    }
+
+    /**
+     * Method to stop the consumer thread, writing all appended events, and remove the shutdown
+     * hook. Events appended after close are rejected
+     */
+    public void close() {
+        if (!enabled || !closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        running = false;
+        wakeConsumer();
+
+        try {
+            consumerThread.join(CLOSE_TIMEOUT_MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Thread thread = shutdownHook;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(thread);
+            } catch (IllegalStateException e) {
+                // DO NOTHING (the JVM is already shutting down)
+            }
+        }
+        shutdownHook = null;
+    }
+
+    /** Method to run the consumer loop */
+    private void consume() {
+        CharsetEncoder charsetEncoder = StandardCharsets.UTF_8.newEncoder();
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        StringBuilder stringBuilder = new StringBuilder(1024);
+        long sequence = consumerSequence;
+
+        try {
+            while (running || sequence < producerSequence.get()) {
+                int index = (int) sequence & mask;
+
+                if (published.get(index) == sequence) {
+                    Event event = events[index];
+
+                    stringBuilder.setLength(0);
+                    TimestampFormatter.format(stringBuilder, event.timestamp)
+                            .append(" | ")
+                            .append(event.threadName)
+                            .append(" | ")
+                            .append(event.level.toString())
+                            .append(" | ")
+                            .append(event.name)
+                            .append(" | ")
+                            .append(event.message)
+                            .append(' ')
+                            .append(LINE_SEPARATOR);
+
+                    event.clear();
+                    consumerSequence = ++sequence;
+
+                    encode(charsetEncoder, stringBuilder, byteBuffer);
+                } else {
+                    write(byteBuffer);
+                    writtenSequence = sequence;
+
+                    if (running) {
+                        sleeping = true;
+                        if (published.get(index) != sequence) {
+                            LockSupport.parkNanos(this, CONSUMER_PARK_NANOSECONDS);
+                        }
+                        sleeping = false;
+                    } else {
+                        // A producer claimed a sequence, but hasn't published it yet
+                        Thread.yield();
+                    }
+                }
+            }
+
+            long dropped = droppedCount.get();
+            if (dropped > 0) {
+                stringBuilder.setLength(0);
+                TimestampFormatter.format(stringBuilder, System.currentTimeMillis())
+                        .append(" | ")
+                        .append(Thread.currentThread().getName())
+                        .append(" | ")
+                        .append(Level.WARN.toString())
+                        .append(" | ")
+                        .append(AsyncLogWriter.class.getName())
+                        .append(" | ")
+                        .append(
+                                String.format(
+                                        Locale.ENGLISH,
+                                        "dropped [%d] messages (overflow [%s])",
+                                        dropped,
+                                        overflow.name().toLowerCase(Locale.ENGLISH)))
+                        .append(' ')
+                        .append(LINE_SEPARATOR);
+                encode(charsetEncoder, stringBuilder, byteBuffer);
+            }
+
+            write(byteBuffer);
+            writtenSequence = sequence;
+
+            if (printStream == null) {
+                writableByteChannel.close();
+            }
+        } catch (Throwable t) {
+            running = false;
+            failed(t);
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Method to report a consumer failure, closing the channel
+     *
+     * <p>Events that were appended but not written (including events dropped on overflow) are
+     * discarded
+     *
+     * @param throwable throwable
+     */
+    private void failed(Throwable throwable) {
+        long discarded = producerSequence.get() - writtenSequence + droppedCount.get();
+
+        if (printStream == null) {
+            try {
+                writableByteChannel.close();
+            } catch (Throwable t) {
+                // DO NOTHING
+            }
+        }
+
+        // The logger can't log its own failure, so report it directly
+        System.err.println(
+                String.format(
+                        Locale.ENGLISH,
+                        "antublue-test-engine: asynchronous log writer failed, discarded [%d]"
+                                + " events [%s]",
+                        discarded,
+                        throwable));
+    }
+
+    /**
+     * Method to encode a StringBuilder into a ByteBuffer, writing the ByteBuffer when full
+     *
+     * @param charsetEncoder charsetEncoder
+     * @param stringBuilder stringBuilder
+     * @param byteBuffer byteBuffer
+     * @throws IOException IOException
+     */
+    private void encode(
+            CharsetEncoder charsetEncoder, StringBuilder stringBuilder, ByteBuffer byteBuffer)
+            throws IOException {
+        CharBuffer charBuffer = CharBuffer.wrap(stringBuilder);
+        charsetEncoder.reset();
+
+        while (charsetEncoder.encode(charBuffer, byteBuffer, true).isOverflow()) {
+            write(byteBuffer);
+        }
+
+        while (charsetEncoder.flush(byteBuffer).isOverflow()) {
+            write(byteBuffer);
+        }
+    }
+
+    /**
+     * Method to write a ByteBuffer to the channel
+     *
+     * @param byteBuffer byteBuffer
+     * @throws IOException IOException
+     */
+    private void write(ByteBuffer byteBuffer) throws IOException {
+        if (byteBuffer.position() == 0) {
+            return;
+        }
+
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            writableByteChannel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+
+        if (printStream != null) {
+            printStream.flush();
+        }
+    }
+
+    /** Method to wake the consumer thread */
+    private void wakeConsumer() {
+        Thread thread = consumerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Method to convert a String to an Overflow, defaulting to BLOCK
+     *
+     * @param value value
+     * @return an Overflow
+     */
+    private static Overflow toOverflow(String value) {
+        String overflow = value.trim().toLowerCase(Locale.ENGLISH);
+        if (Constants.LOGGER_ASYNC_OVERFLOW_DROP.equals(overflow)) {
+            return Overflow.DROP;
+        } else if (Constants.LOGGER_ASYNC_OVERFLOW_SAMPLE.equals(overflow)) {
+            return Overflow.SAMPLE;
+        }
+        return Overflow.BLOCK;
+    }
+
+    /**
+     * Method to convert a String to a positive int
+     *
+     * @param value value
+     * @param defaultValue defaultValue
+     * @return the int value, or the default value if the value isn't a positive int
+     */
+    private static int toPositiveInt(String value, int defaultValue) {
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            return intValue > 0 ? intValue : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Method to get the singleton instance
+     *
+     * @return the singleton instance
+     */
+    public static AsyncLogWriter getInstance() {
+        return SingletonHolder.SINGLETON;
+    }
+
+    /** Class to implement a mutable, reusable log event */
+    private static final class Event {
+
+        private long timestamp;
+        private String threadName;
+        private Level level;
+        private String name;
+        private String message;
+
+        /** Method to clear references */
+        private void clear() {
+            threadName = null;
+            level = null;
+            name = null;
+            message = null;
+        }
+    }
+
+    /** Class to hold the singleton instance */
+    private static final class SingletonHolder {
+
+        /** The singleton instance */
+        private static final AsyncLogWriter SINGLETON = create(Configuration.getInstance());
+    }
+}
@@ -21,11 +21,9 @@ import static java.lang.String.format;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 import java.util.Objects;
-import java.util.regex.Matcher;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.antublue.test.engine.internal.configuration.Configuration;
 import org.antublue.test.engine.internal.configuration.Constants;
@@ -36,8 +34,7 @@ public class Logger {
 
     private static final Configuration CONFIGURATION = Configuration.getInstance();
 
-    private static final SimpleDateFormat SIMPLE_DATE_FORMAT =
-            new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.getDefault());
+    private static final AsyncLogWriter ASYNC_LOG_WRITER = AsyncLogWriter.getInstance();
 
     private final String name;
     private Level level;
@@ -54,12 +51,9 @@ public class Logger {
         String loggerLevel =
                 CONFIGURATION.get(Constants.LOGGER_LEVEL).orElse(Level.INFO.toString());
 
-        String regex = CONFIGURATION.get(Constants.LOGGER_REGEX).orElse(".*");
-
         try {
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(name);
-            if (matcher.find()) {
+            Optional<Pattern> optional = CONFIGURATION.getPattern(Constants.LOGGER_REGEX);
+            if (!optional.isPresent() || optional.get().matcher(name).find()) {
                 level = Level.toLevel(loggerLevel, Level.INFO);
             }
         } catch (Throwable t) {
@@ -140,7 +134,7 @@ public class Logger {
      */
     public void trace(String message) {
         if (isTraceEnabled()) {
-            log(System.out, createMessage(Level.TRACE, message));
+            log(System.out, Level.TRACE, message);
         }
     }
 
@@ -156,6 +150,33 @@ public class Logger {
         }
     }
 
+    /**
+     * Method to log a TRACE message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     */
+    public void trace(String format, Object object1, Object object2) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] {object1, object2});
+        }
+    }
+
+    /**
+     * Method to log a TRACE message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     * @param object3 object3
+     */
+    public void trace(String format, Object object1, Object object2, Object object3) {
+        if (isTraceEnabled()) {
+            trace(format, new Object[] {object1, object2, object3});
+        }
+    }
+
     /**
      * Method to log a TRACE message
      *
@@ -165,7 +186,7 @@ public class Logger {
     public void trace(String format, Object... objects) {
         if (isTraceEnabled()) {
             Objects.requireNonNull(format);
-            log(System.out, createMessage(Level.TRACE, format(format, objects)));
+            log(System.out, Level.TRACE, format(format, objects));
         }
     }
 
@@ -177,7 +198,18 @@ public class Logger {
      */
     public void trace(String message, Throwable throwable) {
         if (isTraceEnabled()) {
-            log(System.out, createMessage(Level.TRACE, createMessage(message, throwable)));
+            log(System.out, Level.TRACE, createMessage(message, throwable));
+        }
+    }
+
+    /**
+     * Method to log a TRACE message, the Supplier is only called if TRACE logging is enabled
+     *
+     * @param supplier supplier
+     */
+    public void trace(Supplier<String> supplier) {
+        if (isTraceEnabled()) {
+            log(System.out, Level.TRACE, supplier.get());
         }
     }
 
@@ -188,7 +220,7 @@ public class Logger {
      */
     public void debug(String message) {
         if (isDebugEnabled()) {
-            log(System.out, createMessage(Level.DEBUG, message));
+            log(System.out, Level.DEBUG, message);
         }
     }
 
@@ -204,6 +236,33 @@ public class Logger {
         }
     }
 
+    /**
+     * Method to log a DEBUG message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     */
+    public void debug(String format, Object object1, Object object2) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] {object1, object2});
+        }
+    }
+
+    /**
+     * Method to log a DEBUG message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     * @param object3 object3
+     */
+    public void debug(String format, Object object1, Object object2, Object object3) {
+        if (isDebugEnabled()) {
+            debug(format, new Object[] {object1, object2, object3});
+        }
+    }
+
     /**
      * Method to log a DEBUG message
      *
@@ -213,7 +272,7 @@ public class Logger {
     public void debug(String format, Object... objects) {
         if (isDebugEnabled()) {
             Objects.requireNonNull(format);
-            log(System.out, createMessage(Level.DEBUG, format(format, objects)));
+            log(System.out, Level.DEBUG, format(format, objects));
         }
     }
 
@@ -225,7 +284,18 @@ public class Logger {
      */
     public void debug(String message, Throwable throwable) {
         if (isDebugEnabled()) {
-            log(System.out, createMessage(Level.DEBUG, createMessage(message, throwable)));
+            log(System.out, Level.DEBUG, createMessage(message, throwable));
+        }
+    }
+
+    /**
+     * Method to log a DEBUG message, the Supplier is only called if DEBUG logging is enabled
+     *
+     * @param supplier supplier
+     */
+    public void debug(Supplier<String> supplier) {
+        if (isDebugEnabled()) {
+            log(System.out, Level.DEBUG, supplier.get());
         }
     }
 
@@ -236,7 +306,7 @@ public class Logger {
      */
     public void info(String message) {
         if (isInfoEnabled()) {
-            log(System.out, createMessage(Level.INFO, message));
+            log(System.out, Level.INFO, message);
         }
     }
 
@@ -252,6 +322,33 @@ public class Logger {
         }
     }
 
+    /**
+     * Method to log an INFO message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     */
+    public void info(String format, Object object1, Object object2) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] {object1, object2});
+        }
+    }
+
+    /**
+     * Method to log an INFO message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     * @param object3 object3
+     */
+    public void info(String format, Object object1, Object object2, Object object3) {
+        if (isInfoEnabled()) {
+            info(format, new Object[] {object1, object2, object3});
+        }
+    }
+
     /**
      * Method to log an INFO message
      *
@@ -261,7 +358,7 @@ public class Logger {
     public void info(String format, Object... objects) {
         if (isInfoEnabled()) {
             Objects.requireNonNull(format);
-            log(System.out, createMessage(Level.INFO, format(format, objects)));
+            log(System.out, Level.INFO, format(format, objects));
         }
     }
 
@@ -273,7 +370,18 @@ public class Logger {
      */
     public void info(String message, Throwable throwable) {
         if (isInfoEnabled()) {
-            log(System.out, createMessage(Level.INFO, createMessage(message, throwable)));
+            log(System.out, Level.INFO, createMessage(message, throwable));
+        }
+    }
+
+    /**
+     * Method to log an INFO message, the Supplier is only called if INFO logging is enabled
+     *
+     * @param supplier supplier
+     */
+    public void info(Supplier<String> supplier) {
+        if (isInfoEnabled()) {
+            log(System.out, Level.INFO, supplier.get());
         }
     }
 
@@ -284,7 +392,7 @@ public class Logger {
      */
     public void warn(String message) {
         if (isWarnEnabled()) {
-            log(System.out, createMessage(Level.WARN, message));
+            log(System.out, Level.WARN, message);
         }
     }
 
@@ -300,6 +408,33 @@ public class Logger {
         }
     }
 
+    /**
+     * Method to log an WARN message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     */
+    public void warn(String format, Object object1, Object object2) {
+        if (isWarnEnabled()) {
+            warn(format, new Object[] {object1, object2});
+        }
+    }
+
+    /**
+     * Method to log an WARN message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     * @param object3 object3
+     */
+    public void warn(String format, Object object1, Object object2, Object object3) {
+        if (isWarnEnabled()) {
+            warn(format, new Object[] {object1, object2, object3});
+        }
+    }
+
     /**
      * Method to log an WARN message
      *
@@ -309,7 +444,7 @@ public class Logger {
     public void warn(String format, Object... objects) {
         if (isWarnEnabled()) {
             Objects.requireNonNull(format);
-            log(System.out, createMessage(Level.WARN, format(format, objects)));
+            log(System.out, Level.WARN, format(format, objects));
         }
     }
 
@@ -321,7 +456,18 @@ public class Logger {
      */
     public void warn(String message, Throwable throwable) {
         if (isWarnEnabled()) {
-            log(System.out, createMessage(Level.WARN, createMessage(message, throwable)));
+            log(System.out, Level.WARN, createMessage(message, throwable));
+        }
+    }
+
+    /**
+     * Method to log an WARN message, the Supplier is only called if WARN logging is enabled
+     *
+     * @param supplier supplier
+     */
+    public void warn(Supplier<String> supplier) {
+        if (isWarnEnabled()) {
+            log(System.out, Level.WARN, supplier.get());
         }
     }
 
@@ -332,7 +478,7 @@ public class Logger {
      */
     public void error(String message) {
         if (isErrorEnabled()) {
-            log(System.err, createMessage(Level.ERROR, message));
+            log(System.err, Level.ERROR, message);
         }
     }
 
@@ -348,6 +494,33 @@ public class Logger {
         }
     }
 
+    /**
+     * Method to log an ERROR message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     */
+    public void error(String format, Object object1, Object object2) {
+        if (isErrorEnabled()) {
+            error(format, new Object[] {object1, object2});
+        }
+    }
+
+    /**
+     * Method to log an ERROR message
+     *
+     * @param format format
+     * @param object1 object1
+     * @param object2 object2
+     * @param object3 object3
+     */
+    public void error(String format, Object object1, Object object2, Object object3) {
+        if (isErrorEnabled()) {
+            error(format, new Object[] {object1, object2, object3});
+        }
+    }
+
     /**
      * Method to log an ERROR message
      *
@@ -357,7 +530,7 @@ public class Logger {
     public void error(String format, Object... objects) {
         if (isErrorEnabled()) {
             Objects.requireNonNull(format);
-            log(System.out, createMessage(Level.ERROR, format(format, objects)));
+            log(System.out, Level.ERROR, format(format, objects));
         }
     }
 
@@ -369,7 +542,18 @@ public class Logger {
      */
     public void error(String message, Throwable throwable) {
         if (isErrorEnabled()) {
-            log(System.out, createMessage(Level.ERROR, createMessage(message, throwable)));
+            log(System.out, Level.ERROR, createMessage(message, throwable));
+        }
+    }
+
+    /**
+     * Method to log an ERROR message, the Supplier is only called if ERROR logging is enabled
+     *
+     * @param supplier supplier
+     */
+    public void error(Supplier<String> supplier) {
+        if (isErrorEnabled()) {
+            log(System.err, Level.ERROR, supplier.get());
         }
     }
 
@@ -381,22 +565,28 @@ public class Logger {
      * @return the return value
      */
     private String createMessage(Level level, String message) {
-        String dateTime;
-
-        synchronized (SIMPLE_DATE_FORMAT) {
-            dateTime = SIMPLE_DATE_FORMAT.format(new Date());
-        }
-
-        return dateTime
-                + " | "
-                + Thread.currentThread().getName()
-                + " | "
-                + level.toString()
-                + " | "
-                + name
-                + " | "
-                + message
-                + " ";
+        String threadName = Thread.currentThread().getName();
+        String levelString = level.toString();
+
+        StringBuilder stringBuilder =
+                new StringBuilder(
+                        40
+                                + threadName.length()
+                                + levelString.length()
+                                + name.length()
+                                + (message != null ? message.length() : 4));
+
+        return TimestampFormatter.format(stringBuilder, System.currentTimeMillis())
+                .append(" | ")
+                .append(threadName)
+                .append(" | ")
+                .append(levelString)
+                .append(" | ")
+                .append(name)
+                .append(" | ")
+                .append(message)
+                .append(' ')
+                .toString();
     }
 
     /**
@@ -418,13 +608,24 @@ public class Logger {
     }
 
     /**
-     * Method to log to a PrintStream
+     * Method to log to a PrintStream, or the asynchronous log writer if enabled
      *
      * @param printStream printStream
+     * @param level level
      * @param message message
      */
-    private void log(PrintStream printStream, String message) {
-        printStream.println(message);
+    private void log(PrintStream printStream, Level level, String message) {
+        if (ASYNC_LOG_WRITER.isEnabled()
+                && ASYNC_LOG_WRITER.append(
+                        System.currentTimeMillis(),
+                        Thread.currentThread().getName(),
+                        level,
+                        name,
+                        message)) {
+            return;
+        }
+
+        printStream.println(createMessage(level, message));
         printStream.flush();
     }
 }
@@ -18,7 +18,6 @@ package org.antublue.test.engine.internal.logger;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import org.antublue.test.engine.internal.configuration.Configuration;
 
 /** Class to implement a LoggerFactory */
 @SuppressWarnings("PMD.EmptyCatchBlock")
@@ -58,9 +57,20 @@ public final class LoggerFactory {
      * @return the return value
      */
     public static Logger getLogger(String name) {
-        synchronized (Configuration.getInstance()) {
-            return SingletonHolder.SINGLETON.createLogger(name);
-        }
+        return SingletonHolder.SINGLETON.createLogger(name);
+    }
+
+    /** Method to wait for all asynchronously logged messages to be written */
+    public static void flush() {
+        AsyncLogWriter.getInstance().flush();
+    }
+
+    /**
+     * Method to close the asynchronous log writer, writing all asynchronously logged messages.
+     * Messages logged later are written synchronously
+     */
+    public static void close() {
+        AsyncLogWriter.getInstance().close();
     }
 
     /** Class to hold the singleton instance */
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.logger;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Class to implement a lock-free "yyyy-MM-dd HH:mm:ss.SSS" timestamp formatter
+ *
+ * <p>The "yyyy-MM-dd HH:mm:ss" prefix is cached per second, so only the milliseconds are formatted
+ * for each log message
+ */
+final class TimestampFormatter {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.getDefault())
+                    .withZone(ZoneId.systemDefault());
+
+    private static volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, "");
+
+    /** Constructor */
+    private TimestampFormatter() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to append a formatted timestamp to a StringBuilder
+     *
+     * @param stringBuilder stringBuilder
+     * @param epochMilliseconds epochMilliseconds
+     * @return the StringBuilder
+     */
+    static StringBuilder format(StringBuilder stringBuilder, long epochMilliseconds) {
+        long epochSecond = Math.floorDiv(epochMilliseconds, 1000L);
+        int milliseconds = (int) Math.floorMod(epochMilliseconds, 1000L);
+
+        CachedSecond localCachedSecond = cachedSecond;
+        if (localCachedSecond.epochSecond != epochSecond) {
+            localCachedSecond =
+                    new CachedSecond(
+                            epochSecond,
+                            DATE_TIME_FORMATTER.format(Instant.ofEpochSecond(epochSecond)));
+            cachedSecond = localCachedSecond;
+        }
+
+        stringBuilder.append(localCachedSecond.prefix).append('.');
+        if (milliseconds < 100) {
+            stringBuilder.append('0');
+        }
+        if (milliseconds < 10) {
+            stringBuilder.append('0');
+        }
+        return stringBuilder.append(milliseconds);
+    }
+
+    /** Class to implement an immutable cached second */
+    private static final class CachedSecond {
+
+        private final long epochSecond;
+        private final String prefix;
+
+        /**
+         * Constructor
+         *
+         * @param epochSecond epochSecond
+         * @param prefix prefix
+         */
+        private CachedSecond(long epochSecond, String prefix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Class to implement JUnitXmlReportWriter
+ *
+ * <p>Writes a JUnit XML file ({@code TEST-<test class name>.xml}) per test class. An argument /
+ * test class that failed (e.g. a failed {@code @TestEngine.BeforeAll} method) is reported as an
+ * additional test case
+ */
+class JUnitXmlReportWriter implements ReportWriter {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Path directory;
+    private final XMLOutputFactory xmlOutputFactory;
+    private final Set<String> fileNames;
+
+    /**
+     * Constructor
+     *
+     * @param directory directory
+     * @param xmlOutputFactory xmlOutputFactory
+     */
+    JUnitXmlReportWriter(Path directory, XMLOutputFactory xmlOutputFactory) {
+        this.directory = directory;
+        this.xmlOutputFactory = xmlOutputFactory;
+        this.fileNames = new HashSet<>();
+    }
+
+    @Override
+    public void write(ClassTestDescriptor classTestDescriptor, Map<UniqueId, Result> results)
+            throws IOException, XMLStreamException {
+        String className = classTestDescriptor.getTestClass().getName();
+
+        List<TestDescriptor> testCases = new ArrayList<>();
+        int failures = 0;
+        int errors = 0;
+        int skipped = 0;
+
+        if (getResult(results, classTestDescriptor).isFailed()) {
+            testCases.add(classTestDescriptor);
+        }
+
+        for (TestDescriptor testDescriptor : classTestDescriptor.getDescendants()) {
+            Result result = getResult(results, testDescriptor);
+            if (testDescriptor instanceof TestMethodTestDescriptor || result.isFailed()) {
+                testCases.add(testDescriptor);
+            }
+        }
+
+        for (TestDescriptor testDescriptor : testCases) {
+            Result result = getResult(results, testDescriptor);
+            if (result.isSkipped()) {
+                skipped++;
+            } else if (result.isFailed()) {
+                if (result.getThrowable() instanceof AssertionError) {
+                    failures++;
+                } else {
+                    errors++;
+                }
+            }
+        }
+
+        Result classResult = getResult(results, classTestDescriptor);
+
+        try (Writer writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                Files.newOutputStream(path(className)), StandardCharsets.UTF_8),
+                        BUFFER_SIZE)) {
+            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(writer);
+
+            xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+            xmlStreamWriter.writeCharacters("\n");
+            xmlStreamWriter.writeStartElement("testsuite");
+            xmlStreamWriter.writeAttribute("name", Result.sanitize(className));
+            xmlStreamWriter.writeAttribute("tests", String.valueOf(testCases.size()));
+            xmlStreamWriter.writeAttribute("failures", String.valueOf(failures));
+            xmlStreamWriter.writeAttribute("errors", String.valueOf(errors));
+            xmlStreamWriter.writeAttribute("skipped", String.valueOf(skipped));
+            xmlStreamWriter.writeAttribute(
+                    "time", Result.toSeconds(classResult.getElapsedTime(classTestDescriptor)));
+            xmlStreamWriter.writeAttribute(
+                    "timestamp",
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                            LocalDateTime.ofInstant(
+                                    Instant.ofEpochMilli(classResult.getStartTime())
+                                            .truncatedTo(ChronoUnit.SECONDS),
+                                    ZoneOffset.UTC)));
+            xmlStreamWriter.writeCharacters("\n");
+
+            for (TestDescriptor testDescriptor : testCases) {
+                writeTestCase(
+                        xmlStreamWriter,
+                        className,
+                        testDescriptor,
+                        getResult(results, testDescriptor));
+            }
+
+            String output = getOutput(classTestDescriptor);
+            if (output != null) {
+                xmlStreamWriter.writeCharacters("  ");
+                xmlStreamWriter.writeStartElement("system-out");
+                xmlStreamWriter.writeCharacters(Result.sanitize(output));
+                xmlStreamWriter.writeEndElement();
+                xmlStreamWriter.writeCharacters("\n");
+            }
+
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeCharacters("\n");
+            xmlStreamWriter.writeEndDocument();
+            xmlStreamWriter.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to write a test case
+     *
+     * @param xmlStreamWriter xmlStreamWriter
+     * @param className className
+     * @param testDescriptor testDescriptor
+     * @param result result
+     * @throws XMLStreamException XMLStreamException
+     */
+    private static void writeTestCase(
+            XMLStreamWriter xmlStreamWriter,
+            String className,
+            TestDescriptor testDescriptor,
+            Result result)
+            throws XMLStreamException {
+        String name = testDescriptor.getDisplayName();
+        if (testDescriptor instanceof TestMethodTestDescriptor) {
+            name =
+                    name
+                            + " ["
+                            + testDescriptor
+                                    .getParent()
+                                    .map(TestDescriptor::getDisplayName)
+                                    .orElse("")
+                            + "]";
+        }
+
+        xmlStreamWriter.writeCharacters("  ");
+        xmlStreamWriter.writeStartElement("testcase");
+        xmlStreamWriter.writeAttribute("name", Result.sanitize(name));
+        xmlStreamWriter.writeAttribute("classname", Result.sanitize(className));
+        xmlStreamWriter.writeAttribute(
+                "time", Result.toSeconds(result.getElapsedTime(testDescriptor)));
+
+        if (result.isSkipped()) {
+            xmlStreamWriter.writeCharacters("\n    ");
+            xmlStreamWriter.writeEmptyElement("skipped");
+            xmlStreamWriter.writeAttribute("message", Result.sanitize(result.getSkipReason()));
+            xmlStreamWriter.writeCharacters("\n  ");
+        } else if (result.isFailed()) {
+            Throwable throwable = result.getThrowable();
+
+            xmlStreamWriter.writeCharacters("\n    ");
+            xmlStreamWriter.writeStartElement(
+                    throwable == null || throwable instanceof AssertionError ? "failure" : "error");
+            if (throwable != null) {
+                if (throwable.getMessage() != null) {
+                    xmlStreamWriter.writeAttribute(
+                            "message", Result.sanitize(throwable.getMessage()));
+                }
+                xmlStreamWriter.writeAttribute("type", throwable.getClass().getName());
+                xmlStreamWriter.writeCharacters(Result.sanitize(Result.getStackTrace(throwable)));
+            }
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeCharacters("\n  ");
+        }
+
+        // Output of a failed argument / test class is reported with the test suite
+        String output =
+                testDescriptor instanceof TestMethodTestDescriptor
+                        ? getOutput(testDescriptor)
+                        : null;
+        if (output != null) {
+            if (!result.isSkipped() && !result.isFailed()) {
+                xmlStreamWriter.writeCharacters("\n  ");
+            }
+            xmlStreamWriter.writeCharacters("  ");
+            xmlStreamWriter.writeStartElement("system-out");
+            xmlStreamWriter.writeCharacters(Result.sanitize(output));
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeCharacters("\n  ");
+        }
+
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.writeCharacters("\n");
+    }
+
+    /**
+     * Method to get the path of the JUnit XML file of a test class
+     *
+     * <p>A test class reported more than once (e.g. split by argument) gets a numbered file
+     *
+     * @param className className
+     * @return the path of the JUnit XML file
+     */
+    private Path path(String className) {
+        String fileName = "TEST-" + className + ".xml";
+        synchronized (fileNames) {
+            for (int i = 2; !fileNames.add(fileName); i++) {
+                fileName = "TEST-" + className + "-" + i + ".xml";
+            }
+        }
+        return directory.resolve(fileName);
+    }
+
+    /**
+     * Method to get the captured output of a test descriptor, and of its arguments if it's a test
+     * class
+     *
+     * @param testDescriptor testDescriptor
+     * @return the captured output, or null
+     */
+    private static String getOutput(TestDescriptor testDescriptor) {
+        if (!(testDescriptor instanceof TestMethodTestDescriptor)) {
+            StringBuilder stringBuilder = new StringBuilder();
+            appendOutput(stringBuilder, testDescriptor);
+            for (TestDescriptor child : testDescriptor.getChildren()) {
+                appendOutput(stringBuilder, child);
+            }
+            return stringBuilder.length() > 0 ? stringBuilder.toString() : null;
+        }
+
+        return Result.getOutput(testDescriptor);
+    }
+
+    /**
+     * Method to append the captured output of a test descriptor
+     *
+     * @param stringBuilder stringBuilder
+     * @param testDescriptor testDescriptor
+     */
+    private static void appendOutput(StringBuilder stringBuilder, TestDescriptor testDescriptor) {
+        String output = Result.getOutput(testDescriptor);
+        if (output != null) {
+            stringBuilder.append(output);
+        }
+    }
+
+    /**
+     * Method to get the Result of a test descriptor
+     *
+     * @param results results
+     * @param testDescriptor testDescriptor
+     * @return the Result
+     */
+    private static Result getResult(Map<UniqueId, Result> results, TestDescriptor testDescriptor) {
+        return results.getOrDefault(testDescriptor.getUniqueId(), Result.NOT_EXECUTED);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Class to implement OpenTestReportingReportWriter
+ *
+ * <p>Writes an Open Test Reporting event file ({@code open-test-report.xml}) for the test run. The
+ * events of a test class are appended (and flushed) when the test class finishes
+ */
+class OpenTestReportingReportWriter implements ReportWriter {
+
+    /** File name */
+    static final String FILE_NAME = "open-test-report.xml";
+
+    private static final String CORE_NAMESPACE =
+            "https://schemas.opentest4j.org/reporting/core/0.2.0";
+
+    private static final String EVENTS_NAMESPACE =
+            "https://schemas.opentest4j.org/reporting/events/0.2.0";
+
+    private static final String JAVA_NAMESPACE =
+            "https://schemas.opentest4j.org/reporting/java/0.2.0";
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final String ROOT_ID = "0";
+
+    private final Writer writer;
+    private final XMLStreamWriter xmlStreamWriter;
+    private long id;
+    private boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param directory directory
+     * @param xmlOutputFactory xmlOutputFactory
+     * @param name name of the test run
+     * @throws IOException IOException
+     * @throws XMLStreamException XMLStreamException
+     */
+    OpenTestReportingReportWriter(Path directory, XMLOutputFactory xmlOutputFactory, String name)
+            throws IOException, XMLStreamException {
+        writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                Files.newOutputStream(directory.resolve(FILE_NAME)),
+                                StandardCharsets.UTF_8),
+                        BUFFER_SIZE);
+        xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(writer);
+
+        xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+        xmlStreamWriter.writeCharacters("\n");
+        xmlStreamWriter.setPrefix("e", EVENTS_NAMESPACE);
+        xmlStreamWriter.setDefaultNamespace(CORE_NAMESPACE);
+        xmlStreamWriter.setPrefix("java", JAVA_NAMESPACE);
+        xmlStreamWriter.writeStartElement(EVENTS_NAMESPACE, "events");
+        xmlStreamWriter.writeDefaultNamespace(CORE_NAMESPACE);
+        xmlStreamWriter.writeNamespace("e", EVENTS_NAMESPACE);
+        xmlStreamWriter.writeNamespace("java", JAVA_NAMESPACE);
+        xmlStreamWriter.writeCharacters("\n");
+
+        writeStarted(ROOT_ID, null, name, System.currentTimeMillis());
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.writeCharacters("\n");
+        xmlStreamWriter.flush();
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void write(
+            ClassTestDescriptor classTestDescriptor, Map<UniqueId, Result> results)
+            throws IOException, XMLStreamException {
+        if (closed) {
+            return;
+        }
+
+        write(classTestDescriptor, ROOT_ID, results);
+
+        xmlStreamWriter.flush();
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException, XMLStreamException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            writeFinished(ROOT_ID, System.currentTimeMillis(), null, null);
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeCharacters("\n");
+            xmlStreamWriter.writeEndDocument();
+            xmlStreamWriter.close();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Method to write the events of a test descriptor and its children
+     *
+     * @param testDescriptor testDescriptor
+     * @param parentId parentId
+     * @param results results
+     * @throws XMLStreamException XMLStreamException
+     */
+    private void write(
+            TestDescriptor testDescriptor, String parentId, Map<UniqueId, Result> results)
+            throws XMLStreamException {
+        Result result = results.getOrDefault(testDescriptor.getUniqueId(), Result.NOT_EXECUTED);
+        String testDescriptorId = String.valueOf(++id);
+
+        writeStarted(
+                testDescriptorId, parentId, testDescriptor.getDisplayName(), result.getStartTime());
+        writeSource(testDescriptor);
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.writeCharacters("\n");
+
+        for (TestDescriptor child : testDescriptor.getChildren()) {
+            write(child, testDescriptorId, results);
+        }
+
+        writeFinished(
+                testDescriptorId, result.getFinishTime(), result, Result.getOutput(testDescriptor));
+    }
+
+    /**
+     * Method to write the start of a started event
+     *
+     * @param id id
+     * @param parentId parentId
+     * @param name name
+     * @param time time in milliseconds since the epoch
+     * @throws XMLStreamException XMLStreamException
+     */
+    private void writeStarted(String id, String parentId, String name, long time)
+            throws XMLStreamException {
+        xmlStreamWriter.writeCharacters("  ");
+        xmlStreamWriter.writeStartElement(EVENTS_NAMESPACE, "started");
+        xmlStreamWriter.writeAttribute("id", id);
+        if (parentId != null) {
+            xmlStreamWriter.writeAttribute("parentId", parentId);
+        }
+        xmlStreamWriter.writeAttribute("name", Result.sanitize(name));
+        xmlStreamWriter.writeAttribute("time", Instant.ofEpochMilli(time).toString());
+    }
+
+    /**
+     * Method to write the source of a test class / test method
+     *
+     * @param testDescriptor testDescriptor
+     * @throws XMLStreamException XMLStreamException
+     */
+    private void writeSource(TestDescriptor testDescriptor) throws XMLStreamException {
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "sources");
+            xmlStreamWriter.writeEmptyElement(JAVA_NAMESPACE, "classSource");
+            xmlStreamWriter.writeAttribute(
+                    "className", ((ClassTestDescriptor) testDescriptor).getTestClass().getName());
+            xmlStreamWriter.writeEndElement();
+        } else if (testDescriptor instanceof TestMethodTestDescriptor) {
+            Method testMethod = ((TestMethodTestDescriptor) testDescriptor).getTestMethod();
+            xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "sources");
+            xmlStreamWriter.writeEmptyElement(JAVA_NAMESPACE, "methodSource");
+            xmlStreamWriter.writeAttribute("className", testMethod.getDeclaringClass().getName());
+            xmlStreamWriter.writeAttribute("methodName", testMethod.getName());
+            xmlStreamWriter.writeEndElement();
+        }
+    }
+
+    /**
+     * Method to write a finished event
+     *
+     * @param id id
+     * @param time time in milliseconds since the epoch
+     * @param result result, null for a successful result
+     * @param output captured output, may be null
+     * @throws XMLStreamException XMLStreamException
+     */
+    private void writeFinished(String id, long time, Result result, String output)
+            throws XMLStreamException {
+        xmlStreamWriter.writeCharacters("  ");
+        xmlStreamWriter.writeStartElement(EVENTS_NAMESPACE, "finished");
+        xmlStreamWriter.writeAttribute("id", id);
+        xmlStreamWriter.writeAttribute("time", Instant.ofEpochMilli(time).toString());
+
+        if (output != null) {
+            xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "attachments");
+            xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "output");
+            xmlStreamWriter.writeAttribute("time", Instant.ofEpochMilli(time).toString());
+            xmlStreamWriter.writeAttribute("source", "stdout");
+            xmlStreamWriter.writeCharacters(Result.sanitize(output));
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeEndElement();
+        }
+
+        xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "result");
+        xmlStreamWriter.writeAttribute(
+                "status", result != null ? result.getStatus() : "SUCCESSFUL");
+
+        if (result != null && result.isSkipped()) {
+            xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "reason");
+            xmlStreamWriter.writeCharacters(Result.sanitize(result.getSkipReason()));
+            xmlStreamWriter.writeEndElement();
+        } else if (result != null && result.getThrowable() != null) {
+            Throwable throwable = result.getThrowable();
+            if (throwable.getMessage() != null) {
+                xmlStreamWriter.writeStartElement(CORE_NAMESPACE, "reason");
+                xmlStreamWriter.writeCharacters(Result.sanitize(throwable.getMessage()));
+                xmlStreamWriter.writeEndElement();
+            }
+            xmlStreamWriter.writeStartElement(JAVA_NAMESPACE, "throwable");
+            xmlStreamWriter.writeAttribute(
+                    "assertionError", String.valueOf(throwable instanceof AssertionError));
+            xmlStreamWriter.writeAttribute("type", throwable.getClass().getName());
+            xmlStreamWriter.writeCharacters(Result.sanitize(Result.getStackTrace(throwable)));
+            xmlStreamWriter.writeEndElement();
+        }
+
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.writeCharacters("\n");
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.report;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Class to implement ReportEngineExecutionListener
+ *
+ * <p>Writes test reports incrementally. Results are only kept for test classes that haven't
+ * finished, and are written (and released) when the test class finishes
+ */
+public class ReportEngineExecutionListener implements EngineExecutionListener {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ReportEngineExecutionListener.class);
+
+    /** Report format */
+    public enum Format {
+        /** JUnit XML, one file per test class */
+        JUNIT,
+        /** Open Test Reporting events, one file per test run */
+        OPEN_TEST_REPORTING;
+
+        /**
+         * Method to parse a comma separated list of report formats
+         *
+         * @param value value (e.g. {@code junit,open-test-reporting})
+         * @return a Set of Formats
+         */
+        public static Set<Format> parse(String value) {
+            Set<Format> formats = EnumSet.noneOf(Format.class);
+
+            if (value != null) {
+                for (String token : value.split(",")) {
+                    String name = token.trim().toUpperCase(Locale.ENGLISH).replace('-', '_');
+                    if (name.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        formats.add(Format.valueOf(name));
+                    } catch (IllegalArgumentException e) {
+                        throw new TestEngineException(
+                                format("Invalid report format [%s]", token.trim()));
+                    }
+                }
+            }
+
+            return formats;
+        }
+    }
+
+    private final Path directory;
+    private final List<ReportWriter> reportWriters;
+    private final Map<UniqueId, Result> results;
+
+    /**
+     * Constructor
+     *
+     * @param directory directory
+     * @param formats formats
+     * @throws IOException IOException
+     */
+    public ReportEngineExecutionListener(Path directory, Collection<Format> formats)
+            throws IOException {
+        Preconditions.notNull(directory, "directory is null");
+        Preconditions.notNull(formats, "formats is null");
+
+        this.directory = directory.toAbsolutePath();
+        this.reportWriters = new ArrayList<>(formats.size());
+        this.results = new ConcurrentHashMap<>();
+
+        Files.createDirectories(this.directory);
+
+        XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+        if (formats.contains(Format.JUNIT)) {
+            reportWriters.add(new JUnitXmlReportWriter(this.directory, xmlOutputFactory));
+        }
+
+        if (formats.contains(Format.OPEN_TEST_REPORTING)) {
+            try {
+                reportWriters.add(
+                        new OpenTestReportingReportWriter(
+                                this.directory, xmlOutputFactory, "AntuBLUE Test Engine"));
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("directory [%s] formats %s", this.directory, formats);
+        }
+    }
+
+    /**
+     * Method to get the report directory
+     *
+     * @return the report directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+        Result result =
+                results.computeIfAbsent(
+                        testDescriptor.getUniqueId(),
+                        uniqueId -> new Result(System.currentTimeMillis()));
+        result.skipped(System.currentTimeMillis(), reason);
+
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            write((ClassTestDescriptor) testDescriptor);
+        }
+    }
+
+    @Override
+    public void executionStarted(TestDescriptor testDescriptor) {
+        if (testDescriptor.getParent().isPresent()) {
+            results.put(testDescriptor.getUniqueId(), new Result(System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    public void executionFinished(
+            TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+        if (!testDescriptor.getParent().isPresent()) {
+            close();
+            return;
+        }
+
+        Result result =
+                results.computeIfAbsent(
+                        testDescriptor.getUniqueId(),
+                        uniqueId -> new Result(System.currentTimeMillis()));
+        result.finished(System.currentTimeMillis(), testExecutionResult);
+
+        if (testDescriptor instanceof ClassTestDescriptor) {
+            write((ClassTestDescriptor) testDescriptor);
+        }
+    }
+
+    /** Method to close the report writers */
+    public void close() {
+        for (ReportWriter reportWriter : reportWriters) {
+            try {
+                reportWriter.close();
+            } catch (IOException | XMLStreamException e) {
+                LOGGER.warn(format("Exception closing report in [%s]", directory), e);
+            }
+        }
+    }
+
+    /**
+     * Method to write the results of a finished test class, and release them
+     *
+     * @param classTestDescriptor classTestDescriptor
+     */
+    private void write(ClassTestDescriptor classTestDescriptor) {
+        try {
+            for (ReportWriter reportWriter : reportWriters) {
+                try {
+                    reportWriter.write(classTestDescriptor, results);
+                } catch (IOException | XMLStreamException e) {
+                    LOGGER.warn(
+                            format(
+                                    "Exception writing report for [%s]",
+                                    classTestDescriptor.getTestClass().getName()),
+                            e);
+                }
+            }
+        } finally {
+            results.remove(classTestDescriptor.getUniqueId());
+            for (TestDescriptor testDescriptor : classTestDescriptor.getDescendants()) {
+                results.remove(testDescriptor.getUniqueId());
+            }
+        }
+    }
+}
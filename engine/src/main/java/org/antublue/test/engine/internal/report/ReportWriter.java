@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.report;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+/** Interface to implement ReportWriter */
+interface ReportWriter {
+
+    /**
+     * Method to write the results of a finished test class
+     *
+     * @param classTestDescriptor classTestDescriptor
+     * @param results results of the test class and its descendants
+     * @throws IOException IOException
+     * @throws XMLStreamException XMLStreamException
+     */
+    void write(ClassTestDescriptor classTestDescriptor, Map<UniqueId, Result> results)
+            throws IOException, XMLStreamException;
+
+    /**
+     * Method to close the ReportWriter
+     *
+     * @throws IOException IOException
+     * @throws XMLStreamException XMLStreamException
+     */
+    void close() throws IOException, XMLStreamException;
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.report;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/** Class to implement Result */
+class Result {
+
+    /** Result of a test descriptor without execution events */
+    static final Result NOT_EXECUTED = new Result(0L);
+
+    static {
+        NOT_EXECUTED.skipped(0L, "Not executed");
+    }
+
+    private final long startTime;
+    private volatile long finishTime;
+    private volatile TestExecutionResult testExecutionResult;
+    private volatile String skipReason;
+
+    /**
+     * Constructor
+     *
+     * @param startTime start time in milliseconds since the epoch
+     */
+    Result(long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Method to set the Result to finished
+     *
+     * @param finishTime finish time in milliseconds since the epoch
+     * @param testExecutionResult testExecutionResult
+     */
+    void finished(long finishTime, TestExecutionResult testExecutionResult) {
+        this.finishTime = finishTime;
+        this.testExecutionResult = testExecutionResult;
+    }
+
+    /**
+     * Method to set the Result to skipped
+     *
+     * @param finishTime finish time in milliseconds since the epoch
+     * @param skipReason skipReason
+     */
+    void skipped(long finishTime, String skipReason) {
+        this.finishTime = finishTime;
+        this.skipReason = skipReason != null ? skipReason : "";
+    }
+
+    /**
+     * Method to get the start time
+     *
+     * @return the start time in milliseconds since the epoch
+     */
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Method to get the finish time
+     *
+     * @return the finish time in milliseconds since the epoch
+     */
+    long getFinishTime() {
+        return Math.max(startTime, finishTime);
+    }
+
+    /**
+     * Method to return if the test descriptor was skipped (or didn't finish)
+     *
+     * @return true if the test descriptor was skipped, else false
+     */
+    boolean isSkipped() {
+        return skipReason != null || testExecutionResult == null;
+    }
+
+    /**
+     * Method to return if the test descriptor failed
+     *
+     * @return true if the test descriptor failed, else false
+     */
+    boolean isFailed() {
+        return testExecutionResult != null
+                && testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL;
+    }
+
+    /**
+     * Method to get the skip reason
+     *
+     * @return the skip reason
+     */
+    String getSkipReason() {
+        return skipReason != null ? skipReason : "Not finished";
+    }
+
+    /**
+     * Method to get the Throwable of a failed test descriptor
+     *
+     * @return the Throwable, or null
+     */
+    Throwable getThrowable() {
+        return testExecutionResult != null ? testExecutionResult.getThrowable().orElse(null) : null;
+    }
+
+    /**
+     * Method to get the status
+     *
+     * @return the status (SUCCESSFUL, FAILED, ABORTED, or SKIPPED)
+     */
+    String getStatus() {
+        return isSkipped() ? "SKIPPED" : testExecutionResult.getStatus().name();
+    }
+
+    /**
+     * Method to get the elapsed time of a test descriptor, from its metadata if available
+     *
+     * @param testDescriptor testDescriptor
+     * @return the elapsed time in nanoseconds
+     */
+    long getElapsedTime(TestDescriptor testDescriptor) {
+        if (testDescriptor instanceof MetadataTestDescriptor) {
+            Duration elapsedTime =
+                    ((MetadataTestDescriptor) testDescriptor)
+                            .getMetadata()
+                            .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME);
+            if (elapsedTime != null) {
+                return elapsedTime.toNanos();
+            }
+        }
+
+        return (getFinishTime() - startTime) * 1_000_000L;
+    }
+
+    /**
+     * Method to get the captured output of a test descriptor
+     *
+     * @param testDescriptor testDescriptor
+     * @return the captured output, or null
+     */
+    static String getOutput(TestDescriptor testDescriptor) {
+        if (testDescriptor instanceof MetadataTestDescriptor) {
+            return ((MetadataTestDescriptor) testDescriptor)
+                    .getMetadata()
+                    .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+        }
+        return null;
+    }
+
+    /**
+     * Method to get the stack trace of a Throwable
+     *
+     * @param throwable throwable
+     * @return the stack trace
+     */
+    static String getStackTrace(Throwable throwable) {
+        StringWriter stringWriter = new StringWriter(1024);
+        try (PrintWriter printWriter = new PrintWriter(stringWriter)) {
+            throwable.printStackTrace(printWriter);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Method to replace characters that aren't valid in XML 1.0
+     *
+     * @param value value
+     * @return the value with invalid characters replaced
+     */
+    static String sanitize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        int length = value.length();
+        int i = 0;
+        while (i < length && isValid(value.charAt(i))) {
+            i++;
+        }
+
+        if (i == length) {
+            return value;
+        }
+
+        char[] chars = value.toCharArray();
+        for (; i < length; i++) {
+            if (!isValid(chars[i])) {
+                chars[i] = '?';
+            }
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Method to convert nanoseconds to seconds with millisecond precision
+     *
+     * @param nanoseconds nanoseconds
+     * @return the seconds
+     */
+    static String toSeconds(long nanoseconds) {
+        long milliseconds = Math.max(0L, nanoseconds) / 1_000_000L;
+        long fraction = milliseconds % 1000L;
+
+        StringBuilder stringBuilder =
+                new StringBuilder(16).append(milliseconds / 1000L).append('.');
+        if (fraction < 100) {
+            stringBuilder.append('0');
+        }
+        if (fraction < 10) {
+            stringBuilder.append('0');
+        }
+        return stringBuilder.append(fraction).toString();
+    }
+
+    /**
+     * Method to return if a character is valid in XML 1.0 (surrogates are allowed)
+     *
+     * @param c c
+     * @return true if the character is valid, else false
+     */
+    private static boolean isValid(char c) {
+        return c >= 0x20 ? c <= 0xFFFD : c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -48,11 +48,13 @@ public class ArgumentAnnotationSupport {
      */
     public static void setArgumentFields(Object testInstance, Argument<?> testArgument)
             throws Throwable {
-        LOGGER.trace(
-                "injectArgumentFields() testClass [%s] testInstance [%s], testArgument [%s]",
-                testInstance.getClass(),
-                testInstance,
-                testArgument != null ? testArgument.getName() : "null");
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "injectArgumentFields() testClass [%s] testInstance [%s], testArgument [%s]",
+                    testInstance.getClass(),
+                    testInstance,
+                    testArgument != null ? testArgument.getName() : "null");
+        }
 
         List<Field> fields =
                 FieldSupport.findFields(
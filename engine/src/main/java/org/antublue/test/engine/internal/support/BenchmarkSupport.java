@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.antublue.test.engine.internal.util.BenchmarkResult;
+import org.junit.platform.commons.util.Preconditions;
+
+/** Class to implement BenchmarkSupport */
+public class BenchmarkSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkSupport.class);
+
+    /** Constructor */
+    private BenchmarkSupport() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to return if a Method is a benchmark method
+     *
+     * @param method method
+     * @return true if the Method is a benchmark method, else false
+     */
+    public static boolean isBenchmark(Method method) {
+        Preconditions.notNull(method, "method is null");
+
+        return method.isAnnotationPresent(TestEngine.Benchmark.class);
+    }
+
+    /**
+     * Method to benchmark a Method
+     *
+     * <p>Each thread invokes the Method for the warmup iterations, waits for all threads to finish
+     * warmup, then invokes (and times) the Method for the measurement iterations
+     *
+     * @param testInstance testInstance
+     * @param method method
+     * @return a BenchmarkResult
+     * @throws Throwable Throwable
+     */
+    public static BenchmarkResult benchmark(Object testInstance, Method method) throws Throwable {
+        Preconditions.notNull(testInstance, "testInstance is null");
+        Preconditions.notNull(method, "method is null");
+
+        TestEngine.Benchmark benchmark = method.getAnnotation(TestEngine.Benchmark.class);
+        Preconditions.notNull(benchmark, "method is not annotated with @TestEngine.Benchmark");
+
+        int warmupIterations = Math.max(0, benchmark.warmupIterations());
+        int measurementIterations = Math.max(1, benchmark.measurementIterations());
+        int threads = Math.max(1, benchmark.threads());
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "benchmark() method [%s] warmupIterations [%d] measurementIterations [%d]"
+                            + " threads [%d]",
+                    method, warmupIterations, measurementIterations, threads);
+        }
+
+        long[] samples = new long[threads * measurementIterations];
+        AtomicLong measurementStart = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CyclicBarrier cyclicBarrier =
+                new CyclicBarrier(threads, () -> measurementStart.set(System.nanoTime()));
+
+        if (threads == 1) {
+            new Worker(
+                            testInstance,
+                            method,
+                            warmupIterations,
+                            measurementIterations,
+                            samples,
+                            0,
+                            cyclicBarrier,
+                            failure)
+                    .run();
+        } else {
+            String threadName = Thread.currentThread().getName();
+            Thread[] workers = new Thread[threads];
+
+            for (int i = 0; i < threads; i++) {
+                workers[i] =
+                        new Thread(
+                                new Worker(
+                                        testInstance,
+                                        method,
+                                        warmupIterations,
+                                        measurementIterations,
+                                        samples,
+                                        i * measurementIterations,
+                                        cyclicBarrier,
+                                        failure),
+                                threadName + "-benchmark-" + i);
+                workers[i].setDaemon(true);
+                workers[i].start();
+            }
+
+            try {
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+            } finally {
+                stop(workers, failure);
+            }
+        }
+
+        long elapsedTime = System.nanoTime() - measurementStart.get();
+
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw throwable;
+        }
+
+        return new BenchmarkResult(threads, warmupIterations, samples, elapsedTime);
+    }
+
+    /**
+     * Method to stop workers that are still running (e.g. if the calling thread was interrupted),
+     * waiting for them to finish
+     *
+     * @param workers workers
+     * @param failure failure
+     */
+    private static void stop(Thread[] workers, AtomicReference<Throwable> failure) {
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                failure.compareAndSet(null, new InterruptedException("benchmark interrupted"));
+                worker.interrupt();
+            }
+        }
+
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Class to implement a benchmark Worker */
+    private static class Worker implements Runnable {
+
+        private final Object testInstance;
+        private final Method method;
+        private final int warmupIterations;
+        private final int measurementIterations;
+        private final long[] samples;
+        private final int offset;
+        private final CyclicBarrier cyclicBarrier;
+        private final AtomicReference<Throwable> failure;
+
+        /** Sink for benchmark method return values, so the JIT can't eliminate the invocation */
+        @SuppressWarnings("unused")
+        private volatile Object blackhole;
+
+        /**
+         * Constructor
+         *
+         * @param testInstance testInstance
+         * @param method method
+         * @param warmupIterations warmupIterations
+         * @param measurementIterations measurementIterations
+         * @param samples samples
+         * @param offset offset into the samples array
+         * @param cyclicBarrier cyclicBarrier
+         * @param failure failure
+         */
+        private Worker(
+                Object testInstance,
+                Method method,
+                int warmupIterations,
+                int measurementIterations,
+                long[] samples,
+                int offset,
+                CyclicBarrier cyclicBarrier,
+                AtomicReference<Throwable> failure) {
+            this.testInstance = testInstance;
+            this.method = method;
+            this.warmupIterations = warmupIterations;
+            this.measurementIterations = measurementIterations;
+            this.samples = samples;
+            this.offset = offset;
+            this.cyclicBarrier = cyclicBarrier;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < warmupIterations && failure.get() == null; i++) {
+                    blackhole = method.invoke(testInstance);
+                }
+            } catch (Throwable t) {
+                fail(t);
+            }
+
+            // Every worker arrives at the barrier exactly once, even on failure
+            try {
+                cyclicBarrier.await();
+            } catch (Throwable t) {
+                fail(t);
+            }
+
+            try {
+                for (int i = 0; i < measurementIterations && failure.get() == null; i++) {
+                    long t0 = System.nanoTime();
+                    Object result = method.invoke(testInstance);
+                    samples[offset + i] = System.nanoTime() - t0;
+                    blackhole = result;
+                }
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (throwable instanceof InvocationTargetException) {
+                throwable = throwable.getCause();
+            }
+            failure.compareAndSet(null, throwable);
+        }
+    }
+}
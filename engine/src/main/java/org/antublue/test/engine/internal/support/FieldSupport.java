@@ -48,6 +48,20 @@ public class FieldSupport {
                 ReflectionSupport.findFields(clazz, predicate, hierarchyTraversalMode));
     }
 
+    /**
+     * Method to get a Field value
+     *
+     * @param object object
+     * @param field field
+     * @return the Field value
+     * @throws Throwable Throwable
+     */
+    public static Object getField(Object object, Field field) throws Throwable {
+        Preconditions.notNull(field, "field is null");
+
+        return field.get(object);
+    }
+
     /**
      * Method to set a Field value
      *
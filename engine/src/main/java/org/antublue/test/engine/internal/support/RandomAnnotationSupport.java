@@ -16,13 +16,19 @@
 
 package org.antublue.test.engine.internal.support;
 
+import static java.lang.String.format;
+
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.UUID;
 import java.util.function.Predicate;
 import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestEngineException;
 import org.antublue.test.engine.internal.discovery.Predicates;
 import org.junit.platform.commons.support.HierarchyTraversalMode;
 import org.junit.platform.commons.util.Preconditions;
@@ -42,7 +48,13 @@ public class RandomAnnotationSupport {
                             || field.isAnnotationPresent(TestEngine.Random.Double.class)
                             || field.isAnnotationPresent(TestEngine.Random.BigInteger.class)
                             || field.isAnnotationPresent(TestEngine.Random.BigDecimal.class)
-                            || field.isAnnotationPresent(TestEngine.Random.UUID.class);
+                            || field.isAnnotationPresent(TestEngine.Random.UUID.class)
+                            || field.isAnnotationPresent(TestEngine.Random.String.class)
+                            || field.isAnnotationPresent(TestEngine.Random.Bytes.class)
+                            || field.isAnnotationPresent(TestEngine.Random.Integers.class)
+                            || field.isAnnotationPresent(TestEngine.Random.Longs.class)
+                            || field.isAnnotationPresent(TestEngine.Random.Doubles.class)
+                            || field.isAnnotationPresent(TestEngine.Random.UUIDs.class);
 
     /** Constructor */
     private RandomAnnotationSupport() {
@@ -56,8 +68,7 @@ public class RandomAnnotationSupport {
      * @throws Throwable Throwable
      */
     public static void setRandomFields(Class<?> testClass) throws Throwable {
-        Preconditions.notNull(testClass, "testClass is null");
-        setRandomFields(testClass, null, Predicates.STATIC_FIELD);
+        setRandomFields(testClass, RandomSupport.getRandom());
     }
 
     /**
@@ -67,8 +78,35 @@ public class RandomAnnotationSupport {
      * @throws Throwable Throwable
      */
     public static void setRandomFields(Object testInstance) throws Throwable {
+        setRandomFields(testInstance, RandomSupport.getRandom());
+    }
+
+    /**
+     * Method to inject random values into static member fields
+     *
+     * @param testClass testClass
+     * @param random random
+     * @throws Throwable Throwable
+     */
+    public static void setRandomFields(Class<?> testClass, SplittableRandom random)
+            throws Throwable {
+        Preconditions.notNull(testClass, "testClass is null");
+        Preconditions.notNull(random, "random is null");
+        setRandomFields(testClass, null, Predicates.STATIC_FIELD, random);
+    }
+
+    /**
+     * Method to inject random values into member fields
+     *
+     * @param testInstance testInstance
+     * @param random random
+     * @throws Throwable Throwable
+     */
+    public static void setRandomFields(Object testInstance, SplittableRandom random)
+            throws Throwable {
         Preconditions.notNull(testInstance, "testInstance is null");
-        setRandomFields(testInstance.getClass(), testInstance, Predicates.FIELD);
+        Preconditions.notNull(random, "random is null");
+        setRandomFields(testInstance.getClass(), testInstance, Predicates.FIELD, random);
     }
 
     /**
@@ -99,10 +137,14 @@ public class RandomAnnotationSupport {
      * @param testClass testClass
      * @param testInstance testInstance
      * @param fieldPredicate fieldPredicate
+     * @param random random
      * @throws Throwable Throwable
      */
     private static void setRandomFields(
-            Class<?> testClass, Object testInstance, Predicate<Field> fieldPredicate)
+            Class<?> testClass,
+            Object testInstance,
+            Predicate<Field> fieldPredicate,
+            SplittableRandom random)
             throws Throwable {
         List<Field> fields =
                 FieldSupport.findFields(
@@ -112,75 +154,375 @@ public class RandomAnnotationSupport {
 
         for (Field field : fields) {
             if (field.isAnnotationPresent(TestEngine.Random.Boolean.class)) {
-                FieldSupport.setField(testInstance, field, RandomSupport.randomBoolean());
+                FieldSupport.setField(testInstance, field, RandomSupport.randomBoolean(random));
             } else if (field.isAnnotationPresent(TestEngine.Random.Byte.class)) {
                 TestEngine.Random.Byte annotation =
                         field.getAnnotation(TestEngine.Random.Byte.class);
                 byte minimum = annotation.minimum();
                 byte maximum = annotation.maximum();
-                byte random = (byte) RandomSupport.randomInt(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                byte value = (byte) RandomSupport.randomInt(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Character.class)) {
                 TestEngine.Random.Character annotation =
                         field.getAnnotation(TestEngine.Random.Character.class);
                 char minimum = annotation.minimum();
                 char maximum = annotation.maximum();
-                char random = (char) RandomSupport.randomInt(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                char value = (char) RandomSupport.randomInt(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Short.class)) {
                 TestEngine.Random.Short annotation =
                         field.getAnnotation(TestEngine.Random.Short.class);
                 short minimum = annotation.minimum();
                 short maximum = annotation.maximum();
-                short random = (short) RandomSupport.randomInt(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                short value = (short) RandomSupport.randomInt(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Integer.class)) {
                 TestEngine.Random.Integer annotation =
                         field.getAnnotation(TestEngine.Random.Integer.class);
                 int minimum = annotation.minimum();
                 int maximum = annotation.maximum();
-                int random = RandomSupport.randomInt(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                int value = RandomSupport.randomInt(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Long.class)) {
                 TestEngine.Random.Long annotation =
                         field.getAnnotation(TestEngine.Random.Long.class);
                 long minimum = annotation.minimum();
                 long maximum = annotation.maximum();
-                long random = RandomSupport.randomLong(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                long value = RandomSupport.randomLong(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Float.class)) {
                 TestEngine.Random.Float annotation =
                         field.getAnnotation(TestEngine.Random.Float.class);
                 float minimum = annotation.minimum();
                 float maximum = annotation.maximum();
-                float random = RandomSupport.randomFloat(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                float value = RandomSupport.randomFloat(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.Double.class)) {
                 TestEngine.Random.Double annotation =
                         field.getAnnotation(TestEngine.Random.Double.class);
                 double minimum = annotation.minimum();
                 double maximum = annotation.maximum();
-                double random = RandomSupport.randomDouble(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                double value = RandomSupport.randomDouble(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.BigInteger.class)) {
                 TestEngine.Random.BigInteger annotation =
                         field.getAnnotation(TestEngine.Random.BigInteger.class);
                 String minimum = annotation.minimum();
                 String maximum = annotation.maximum();
-                BigInteger random = RandomSupport.randomBigInteger(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                BigInteger value = RandomSupport.randomBigInteger(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.BigDecimal.class)) {
                 TestEngine.Random.BigDecimal annotation =
                         field.getAnnotation(TestEngine.Random.BigDecimal.class);
                 String minimum = annotation.minimum();
                 String maximum = annotation.maximum();
-                BigDecimal random = RandomSupport.randomBigDecimal(minimum, maximum);
-                FieldSupport.setField(testInstance, field, random);
+                BigDecimal value = RandomSupport.randomBigDecimal(random, minimum, maximum);
+                FieldSupport.setField(testInstance, field, value);
             } else if (field.isAnnotationPresent(TestEngine.Random.UUID.class)) {
-                UUID random = UUID.randomUUID();
-                FieldSupport.setField(testInstance, field, random);
+                UUID value = RandomSupport.randomUUID(random);
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.String.class)) {
+                TestEngine.Random.String annotation =
+                        field.getAnnotation(TestEngine.Random.String.class);
+                String value =
+                        RandomSupport.randomString(
+                                random,
+                                annotation.minimumLength(),
+                                annotation.maximumLength(),
+                                annotation.alphabet());
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.Bytes.class)) {
+                TestEngine.Random.Bytes annotation =
+                        field.getAnnotation(TestEngine.Random.Bytes.class);
+                Object value =
+                        randomBytes(
+                                field,
+                                FieldSupport.getField(testInstance, field),
+                                annotation,
+                                random);
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.Integers.class)) {
+                TestEngine.Random.Integers annotation =
+                        field.getAnnotation(TestEngine.Random.Integers.class);
+                Object value =
+                        randomIntegers(
+                                field,
+                                FieldSupport.getField(testInstance, field),
+                                annotation,
+                                random);
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.Longs.class)) {
+                TestEngine.Random.Longs annotation =
+                        field.getAnnotation(TestEngine.Random.Longs.class);
+                Object value =
+                        randomLongs(
+                                field,
+                                FieldSupport.getField(testInstance, field),
+                                annotation,
+                                random);
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.Doubles.class)) {
+                TestEngine.Random.Doubles annotation =
+                        field.getAnnotation(TestEngine.Random.Doubles.class);
+                Object value =
+                        randomDoubles(
+                                field,
+                                FieldSupport.getField(testInstance, field),
+                                annotation,
+                                random);
+                FieldSupport.setField(testInstance, field, value);
+            } else if (field.isAnnotationPresent(TestEngine.Random.UUIDs.class)) {
+                TestEngine.Random.UUIDs annotation =
+                        field.getAnnotation(TestEngine.Random.UUIDs.class);
+                Object value =
+                        randomUUIDs(
+                                field,
+                                FieldSupport.getField(testInstance, field),
+                                annotation,
+                                random);
+                FieldSupport.setField(testInstance, field, value);
+            }
+        }
+    }
+
+    /**
+     * Method to get random bytes for a @TestEngine.Random.Bytes field, reusing the current array /
+     * ByteBuffer if it has the same length (and type)
+     *
+     * @param field field
+     * @param currentValue currentValue
+     * @param annotation annotation
+     * @param random random
+     * @return a byte array or ByteBuffer
+     */
+    private static Object randomBytes(
+            Field field,
+            Object currentValue,
+            TestEngine.Random.Bytes annotation,
+            SplittableRandom random) {
+        int length = length(field, annotation.length());
+        Class<?> fieldType = field.getType();
+
+        if (fieldType.equals(byte[].class)) {
+            byte[] bytes =
+                    currentValue instanceof byte[] && ((byte[]) currentValue).length == length
+                            ? (byte[]) currentValue
+                            : new byte[length];
+            return RandomSupport.randomBytes(random, bytes);
+        } else if (fieldType.equals(ByteBuffer.class)) {
+            ByteBuffer byteBuffer;
+            if (currentValue instanceof ByteBuffer
+                    && ((ByteBuffer) currentValue).capacity() == length
+                    && ((ByteBuffer) currentValue).isDirect() == annotation.direct()
+                    && !((ByteBuffer) currentValue).isReadOnly()) {
+                byteBuffer = (ByteBuffer) currentValue;
+            } else if (annotation.direct()) {
+                byteBuffer = ByteBuffer.allocateDirect(length);
+            } else {
+                byteBuffer = ByteBuffer.allocate(length);
+            }
+            return RandomSupport.randomBytes(random, byteBuffer);
+        }
+
+        throw unsupportedFieldType(field, TestEngine.Random.Bytes.class);
+    }
+
+    /**
+     * Method to get random integers for a @TestEngine.Random.Integers field, reusing the current
+     * array / List
+     *
+     * @param field field
+     * @param currentValue currentValue
+     * @param annotation annotation
+     * @param random random
+     * @return an int array or List
+     */
+    private static Object randomIntegers(
+            Field field,
+            Object currentValue,
+            TestEngine.Random.Integers annotation,
+            SplittableRandom random) {
+        int length = length(field, annotation.length());
+        int minimum = annotation.minimum();
+        int maximum = annotation.maximum();
+        Class<?> fieldType = field.getType();
+
+        if (fieldType.equals(int[].class)) {
+            int[] values =
+                    currentValue instanceof int[] && ((int[]) currentValue).length == length
+                            ? (int[]) currentValue
+                            : new int[length];
+            return RandomSupport.randomInts(random, values, minimum, maximum);
+        } else if (fieldType.isAssignableFrom(ArrayList.class)) {
+            List<Object> values = list(currentValue, length);
+            for (int i = 0; i < length; i++) {
+                values.add(RandomSupport.randomInt(random, minimum, maximum));
+            }
+            return values;
+        }
+
+        throw unsupportedFieldType(field, TestEngine.Random.Integers.class);
+    }
+
+    /**
+     * Method to get random longs for a @TestEngine.Random.Longs field, reusing the current array /
+     * List
+     *
+     * @param field field
+     * @param currentValue currentValue
+     * @param annotation annotation
+     * @param random random
+     * @return a long array or List
+     */
+    private static Object randomLongs(
+            Field field,
+            Object currentValue,
+            TestEngine.Random.Longs annotation,
+            SplittableRandom random) {
+        int length = length(field, annotation.length());
+        long minimum = annotation.minimum();
+        long maximum = annotation.maximum();
+        Class<?> fieldType = field.getType();
+
+        if (fieldType.equals(long[].class)) {
+            long[] values =
+                    currentValue instanceof long[] && ((long[]) currentValue).length == length
+                            ? (long[]) currentValue
+                            : new long[length];
+            return RandomSupport.randomLongs(random, values, minimum, maximum);
+        } else if (fieldType.isAssignableFrom(ArrayList.class)) {
+            List<Object> values = list(currentValue, length);
+            for (int i = 0; i < length; i++) {
+                values.add(RandomSupport.randomLong(random, minimum, maximum));
+            }
+            return values;
+        }
+
+        throw unsupportedFieldType(field, TestEngine.Random.Longs.class);
+    }
+
+    /**
+     * Method to get random doubles for a @TestEngine.Random.Doubles field, reusing the current
+     * array / List
+     *
+     * @param field field
+     * @param currentValue currentValue
+     * @param annotation annotation
+     * @param random random
+     * @return a double array or List
+     */
+    private static Object randomDoubles(
+            Field field,
+            Object currentValue,
+            TestEngine.Random.Doubles annotation,
+            SplittableRandom random) {
+        int length = length(field, annotation.length());
+        double minimum = annotation.minimum();
+        double maximum = annotation.maximum();
+        Class<?> fieldType = field.getType();
+
+        if (fieldType.equals(double[].class)) {
+            double[] values =
+                    currentValue instanceof double[] && ((double[]) currentValue).length == length
+                            ? (double[]) currentValue
+                            : new double[length];
+            return RandomSupport.randomDoubles(random, values, minimum, maximum);
+        } else if (fieldType.isAssignableFrom(ArrayList.class)) {
+            List<Object> values = list(currentValue, length);
+            for (int i = 0; i < length; i++) {
+                values.add(RandomSupport.randomDouble(random, minimum, maximum));
             }
+            return values;
         }
+
+        throw unsupportedFieldType(field, TestEngine.Random.Doubles.class);
+    }
+
+    /**
+     * Method to get random UUIDs for a @TestEngine.Random.UUIDs field, reusing the current array /
+     * List
+     *
+     * @param field field
+     * @param currentValue currentValue
+     * @param annotation annotation
+     * @param random random
+     * @return a UUID array or List
+     */
+    private static Object randomUUIDs(
+            Field field,
+            Object currentValue,
+            TestEngine.Random.UUIDs annotation,
+            SplittableRandom random) {
+        int length = length(field, annotation.length());
+        Class<?> fieldType = field.getType();
+
+        if (fieldType.equals(UUID[].class)) {
+            UUID[] values =
+                    currentValue instanceof UUID[] && ((UUID[]) currentValue).length == length
+                            ? (UUID[]) currentValue
+                            : new UUID[length];
+            return RandomSupport.randomUUIDs(random, values);
+        } else if (fieldType.isAssignableFrom(ArrayList.class)) {
+            List<Object> values = list(currentValue, length);
+            for (int i = 0; i < length; i++) {
+                values.add(RandomSupport.randomUUID(random));
+            }
+            return values;
+        }
+
+        throw unsupportedFieldType(field, TestEngine.Random.UUIDs.class);
+    }
+
+    /**
+     * Method to validate a length
+     *
+     * @param field field
+     * @param length length
+     * @return the length
+     */
+    private static int length(Field field, int length) {
+        if (length < 0) {
+            throw new TestEngineException(
+                    format(
+                            "Field [%s.%s] length [%d] is invalid",
+                            field.getDeclaringClass().getName(), field.getName(), length));
+        }
+        return length;
+    }
+
+    /**
+     * Method to get an empty List, reusing the current ArrayList
+     *
+     * @param currentValue currentValue
+     * @param length length
+     * @return an empty List
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> list(Object currentValue, int length) {
+        if (currentValue instanceof ArrayList) {
+            ArrayList<Object> list = (ArrayList<Object>) currentValue;
+            list.clear();
+            list.ensureCapacity(length);
+            return list;
+        }
+        return new ArrayList<>(length);
+    }
+
+    /**
+     * Method to create a TestEngineException for an unsupported field type
+     *
+     * @param field field
+     * @param annotationClass annotationClass
+     * @return a TestEngineException
+     */
+    private static TestEngineException unsupportedFieldType(Field field, Class<?> annotationClass) {
+        return new TestEngineException(
+                format(
+                        "Field [%s.%s] type [%s] isn't supported by @TestEngine.Random.%s",
+                        field.getDeclaringClass().getName(),
+                        field.getName(),
+                        field.getType().getName(),
+                        annotationClass.getSimpleName()));
     }
 
     /**
@@ -223,6 +565,12 @@ public class RandomAnnotationSupport {
                 FieldSupport.setField(testInstance, field, null);
             } else if (field.isAnnotationPresent(TestEngine.Random.UUID.class)) {
                 FieldSupport.setField(testInstance, field, null);
+            } else if (field.isAnnotationPresent(TestEngine.Random.String.class)) {
+                FieldSupport.setField(testInstance, field, null);
+            } else if (testInstance == null) {
+                // Bulk values (arrays, ByteBuffers, Lists) of member fields are kept, so they are
+                // refilled for the next argument instead of being reallocated
+                FieldSupport.setField(testInstance, field, null);
             }
         }
     }
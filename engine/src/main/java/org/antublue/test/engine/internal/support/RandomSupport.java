@@ -21,24 +21,96 @@ import static java.lang.String.format;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
-
-/** Class to implement RandomGenerator */
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Class to implement RandomGenerator
+ *
+ * <p>Random values are generated from a run-level seed ({@code antublue.test.engine.random.seed},
+ * generated if not configured). Each test descriptor derives a deterministic {@link
+ * SplittableRandom} from the seed and its {@link UniqueId}, so random values are reproducible
+ * regardless of scheduling and thread count
+ */
 public class RandomSupport {
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final double UNIT_INTERVAL_SCALE = 1.0D / ((1L << 53) - 1);
+
+    private static final ThreadLocal<SplittableRandom> THREAD_LOCAL_SPLITTABLE_RANDOM =
+            ThreadLocal.withInitial(RandomSupport::split);
+
+    private static SplittableRandom splittableRandom;
+
     /** Constructor */
     private RandomSupport() {
         // DO NOTHING
     }
 
+    /**
+     * Method to get the run-level seed
+     *
+     * @return the run-level seed
+     */
+    public static long getSeed() {
+        return SeedHolder.SEED;
+    }
+
+    /**
+     * Method to get the SplittableRandom for the current thread (derived from the run-level seed,
+     * but dependent on thread scheduling)
+     *
+     * @return a SplittableRandom
+     */
+    public static SplittableRandom getRandom() {
+        return THREAD_LOCAL_SPLITTABLE_RANDOM.get();
+    }
+
+    /**
+     * Method to get a deterministic SplittableRandom for a UniqueId
+     *
+     * @param uniqueId uniqueId
+     * @return a SplittableRandom
+     */
+    public static SplittableRandom getRandom(UniqueId uniqueId) {
+        Preconditions.notNull(uniqueId, "uniqueId is null");
+
+        String string = uniqueId.toString();
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < string.length(); i++) {
+            hash ^= string.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return new SplittableRandom(getSeed() ^ hash);
+    }
+
     /**
      * Method to get a random boolean
      *
      * @return a random boolean
      */
     public static boolean randomBoolean() {
-        return ThreadLocalRandom.current().nextBoolean();
+        return randomBoolean(THREAD_LOCAL_SPLITTABLE_RANDOM.get());
+    }
+
+    /**
+     * Method to get a random boolean
+     *
+     * @param random random
+     * @return a random boolean
+     */
+    public static boolean randomBoolean(SplittableRandom random) {
+        return random.nextBoolean();
     }
 
     /**
@@ -49,19 +121,26 @@ public class RandomSupport {
      * @return a random integer
      */
     public static int randomInt(int minimum, int maximum) {
+        return randomInt(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a random integer in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random integer
+     */
+    public static int randomInt(SplittableRandom random, int minimum, int maximum) {
         if (minimum == maximum) {
             return minimum;
         }
 
-        int realMinimum = Math.min(minimum, maximum);
-        int realMaximum = Math.max(minimum, maximum);
-        int random = ThreadLocalRandom.current().nextInt(realMinimum, realMaximum);
-
-        if (ThreadLocalRandom.current().nextBoolean()) {
-            random += 1;
-        }
+        long realMinimum = Math.min(minimum, maximum);
+        long realMaximum = Math.max(minimum, maximum);
 
-        return random;
+        return (int) random.nextLong(realMinimum, realMaximum + 1);
     }
 
     /**
@@ -72,19 +151,32 @@ public class RandomSupport {
      * @return a random long
      */
     public static long randomLong(long minimum, long maximum) {
+        return randomLong(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a random long in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random long
+     */
+    public static long randomLong(SplittableRandom random, long minimum, long maximum) {
         if (minimum == maximum) {
             return minimum;
         }
 
         long realMinimum = Math.min(minimum, maximum);
         long realMaximum = Math.max(minimum, maximum);
-        long random = ThreadLocalRandom.current().nextLong(realMinimum, realMaximum);
 
-        if (ThreadLocalRandom.current().nextBoolean()) {
-            random += 1;
+        if (realMaximum < Long.MAX_VALUE) {
+            return random.nextLong(realMinimum, realMaximum + 1);
+        } else if (realMinimum > Long.MIN_VALUE) {
+            return random.nextLong(realMinimum - 1, realMaximum) + 1;
         }
 
-        return random;
+        return random.nextLong();
     }
 
     /**
@@ -95,12 +187,29 @@ public class RandomSupport {
      * @return a random float
      */
     public static float randomFloat(float minimum, float maximum) {
-        if (minimum == maximum) {
-            return minimum;
+        return randomFloat(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a random float in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random float
+     */
+    public static float randomFloat(SplittableRandom random, float minimum, float maximum) {
+        if (!Float.isFinite(minimum)) {
+            throw new NumberFormatException(format("Float minimum [%s] is invalid", minimum));
         }
 
-        return randomBigDecimal(BigDecimal.valueOf(minimum), BigDecimal.valueOf(maximum))
-                .floatValue();
+        if (!Float.isFinite(maximum)) {
+            throw new NumberFormatException(format("Float maximum [%s] is invalid", maximum));
+        }
+
+        // Every float is exactly representable as a double, and rounding a double in
+        // [minimum, maximum] to the nearest float can't leave the range
+        return (float) randomDouble(random, (double) minimum, (double) maximum);
     }
 
     /**
@@ -111,12 +220,42 @@ public class RandomSupport {
      * @return a random double
      */
     public static double randomDouble(double minimum, double maximum) {
+        return randomDouble(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a random double in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random double
+     */
+    public static double randomDouble(SplittableRandom random, double minimum, double maximum) {
+        if (!Double.isFinite(minimum)) {
+            throw new NumberFormatException(format("Double minimum [%s] is invalid", minimum));
+        }
+
+        if (!Double.isFinite(maximum)) {
+            throw new NumberFormatException(format("Double maximum [%s] is invalid", maximum));
+        }
+
         if (minimum == maximum) {
             return minimum;
         }
 
-        return randomBigDecimal(BigDecimal.valueOf(minimum), BigDecimal.valueOf(maximum))
-                .doubleValue();
+        double realMinimum = Math.min(minimum, maximum);
+        double realMaximum = Math.max(minimum, maximum);
+
+        // 53 random bits scaled to [0.0, 1.0] (both inclusive)
+        double alpha = (random.nextLong() >>> 11) * UNIT_INTERVAL_SCALE;
+
+        // Interpolate rather than computing (maximum - minimum), which overflows to infinity
+        // for ranges wider than Double.MAX_VALUE (e.g. the default [-MAX_VALUE, MAX_VALUE])
+        double value = realMinimum * (1.0D - alpha) + realMaximum * alpha;
+
+        // Clamp rounding error at the range boundaries
+        return Math.max(realMinimum, Math.min(realMaximum, value));
     }
 
     /**
@@ -127,6 +266,19 @@ public class RandomSupport {
      * @return a random BigInteger
      */
     public static BigInteger randomBigInteger(String minimum, String maximum) {
+        return randomBigInteger(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a random BigInteger in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random BigInteger
+     */
+    public static BigInteger randomBigInteger(
+            SplittableRandom random, String minimum, String maximum) {
         if (minimum.contains(".")) {
             throw new NumberFormatException(format("BigInteger minimum [%s] is invalid ", minimum));
         }
@@ -155,7 +307,7 @@ public class RandomSupport {
         }
 
         if (maximumBigInteger.subtract(minimumBigInteger).abs().equals(BigDecimal.ONE)) {
-            if (ThreadLocalRandom.current().nextBoolean()) {
+            if (random.nextBoolean()) {
                 return new BigInteger(minimum);
             } else {
                 return new BigInteger(maximum);
@@ -168,15 +320,13 @@ public class RandomSupport {
             minimumBigInteger = temp;
         }
 
-        Random random = ThreadLocalRandom.current();
-
         BigInteger range =
                 maximumBigInteger
                         .subtract(minimumBigInteger)
                         .add(BigInteger.ONE); // Add 1 because upper bound is inclusive
-        BigInteger generated = new BigInteger(range.bitLength(), random);
+        BigInteger generated = randomBigInteger(random, range.bitLength());
         while (generated.compareTo(range) >= 0) {
-            generated = new BigInteger(range.bitLength(), random);
+            generated = randomBigInteger(random, range.bitLength());
         }
 
         return generated.add(minimumBigInteger);
@@ -190,6 +340,19 @@ public class RandomSupport {
      * @return a random BigDecimal
      */
     public static BigDecimal randomBigDecimal(String minimum, String maximum) {
+        return randomBigDecimal(THREAD_LOCAL_SPLITTABLE_RANDOM.get(), minimum, maximum);
+    }
+
+    /**
+     * Method to get a BigDecimal in a range (minimum and maximum are both inclusive)
+     *
+     * @param random random
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return a random BigDecimal
+     */
+    public static BigDecimal randomBigDecimal(
+            SplittableRandom random, String minimum, String maximum) {
         BigDecimal minimumBigDecimal;
         BigDecimal maximummBigDecimal;
 
@@ -205,17 +368,19 @@ public class RandomSupport {
             throw new NumberFormatException(format("BigDecimal maximum [%s] is invalid", maximum));
         }
 
-        return randomBigDecimal(minimumBigDecimal, maximummBigDecimal);
+        return randomBigDecimal(random, minimumBigDecimal, maximummBigDecimal);
     }
 
     /**
      * Method to get a random BigDecimal in a range (minimum and maximum are both inclusive)
      *
+     * @param random random
      * @param minimum minimum
      * @param maximum maximum
      * @return a random BigDecimal
      */
-    private static BigDecimal randomBigDecimal(BigDecimal minimum, BigDecimal maximum) {
+    private static BigDecimal randomBigDecimal(
+            SplittableRandom random, BigDecimal minimum, BigDecimal maximum) {
         if (minimum.equals(maximum)) {
             return minimum;
         }
@@ -233,9 +398,230 @@ public class RandomSupport {
         int bitCount = (int) (digitCount / Math.log10(2.0));
 
         BigDecimal alpha =
-                new BigDecimal(new BigInteger(bitCount, ThreadLocalRandom.current()))
-                        .movePointLeft(digitCount);
+                new BigDecimal(randomBigInteger(random, bitCount)).movePointLeft(digitCount);
 
         return minimum.add(maximum.subtract(minimum).multiply(alpha, new MathContext(digitCount)));
     }
+
+    /**
+     * Method to get a random UUID (version 4)
+     *
+     * @param random random
+     * @return a random UUID
+     */
+    public static UUID randomUUID(SplittableRandom random) {
+        long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Method to get a random String (minimum length and maximum length are both inclusive)
+     *
+     * @param random random
+     * @param minimumLength minimumLength
+     * @param maximumLength maximumLength
+     * @param alphabet alphabet
+     * @return a random String
+     */
+    public static String randomString(
+            SplittableRandom random, int minimumLength, int maximumLength, String alphabet) {
+        Preconditions.condition(minimumLength >= 0, "minimumLength is less than 0");
+        Preconditions.condition(maximumLength >= 0, "maximumLength is less than 0");
+        Preconditions.condition(
+                alphabet != null && !alphabet.isEmpty(), "alphabet is null or empty");
+
+        char[] chars = new char[randomInt(random, minimumLength, maximumLength)];
+        int alphabetLength = alphabet.length();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabetLength));
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Method to fill a byte array with random bytes
+     *
+     * @param random random
+     * @param bytes bytes
+     * @return the byte array
+     */
+    public static byte[] randomBytes(SplittableRandom random, byte[] bytes) {
+        int i = 0;
+        int length = bytes.length;
+
+        // 8 bytes per generated long
+        while (i + 8 <= length) {
+            long value = random.nextLong();
+            for (int j = 0; j < 8; j++) {
+                bytes[i++] = (byte) value;
+                value >>>= 8;
+            }
+        }
+
+        if (i < length) {
+            long value = random.nextLong();
+            while (i < length) {
+                bytes[i++] = (byte) value;
+                value >>>= 8;
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Method to fill a ByteBuffer (from 0 to its capacity) with random bytes
+     *
+     * <p>The ByteBuffer is cleared (position 0, limit capacity) after filling
+     *
+     * @param random random
+     * @param byteBuffer byteBuffer
+     * @return the ByteBuffer
+     */
+    public static ByteBuffer randomBytes(SplittableRandom random, ByteBuffer byteBuffer) {
+        byteBuffer.clear();
+
+        while (byteBuffer.remaining() >= 8) {
+            byteBuffer.putLong(random.nextLong());
+        }
+
+        if (byteBuffer.hasRemaining()) {
+            long value = random.nextLong();
+            while (byteBuffer.hasRemaining()) {
+                byteBuffer.put((byte) value);
+                value >>>= 8;
+            }
+        }
+
+        byteBuffer.clear();
+
+        return byteBuffer;
+    }
+
+    /**
+     * Method to fill an int array with random integers in a range (minimum and maximum are both
+     * inclusive)
+     *
+     * @param random random
+     * @param values values
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return the int array
+     */
+    public static int[] randomInts(
+            SplittableRandom random, int[] values, int minimum, int maximum) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomInt(random, minimum, maximum);
+        }
+        return values;
+    }
+
+    /**
+     * Method to fill a long array with random longs in a range (minimum and maximum are both
+     * inclusive)
+     *
+     * @param random random
+     * @param values values
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return the long array
+     */
+    public static long[] randomLongs(
+            SplittableRandom random, long[] values, long minimum, long maximum) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomLong(random, minimum, maximum);
+        }
+        return values;
+    }
+
+    /**
+     * Method to fill a double array with random doubles in a range (minimum and maximum are both
+     * inclusive)
+     *
+     * @param random random
+     * @param values values
+     * @param minimum minimum
+     * @param maximum maximum
+     * @return the double array
+     */
+    public static double[] randomDoubles(
+            SplittableRandom random, double[] values, double minimum, double maximum) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomDouble(random, minimum, maximum);
+        }
+        return values;
+    }
+
+    /**
+     * Method to fill a UUID array with random UUIDs (version 4)
+     *
+     * @param random random
+     * @param values values
+     * @return the UUID array
+     */
+    public static UUID[] randomUUIDs(SplittableRandom random, UUID[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomUUID(random);
+        }
+        return values;
+    }
+
+    /**
+     * Method to get a random non-negative BigInteger of a number of bits
+     *
+     * @param random random
+     * @param bitCount bitCount
+     * @return a random BigInteger
+     */
+    private static BigInteger randomBigInteger(SplittableRandom random, int bitCount) {
+        byte[] bytes = new byte[(bitCount + 7) / 8];
+
+        for (int i = 0; i < bytes.length; i += 8) {
+            long value = random.nextLong();
+            for (int j = i; j < Math.min(i + 8, bytes.length); j++) {
+                bytes[j] = (byte) value;
+                value >>>= 8;
+            }
+        }
+
+        int excessBits = bytes.length * 8 - bitCount;
+        if (bytes.length > 0) {
+            bytes[0] &= (byte) ((1 << (8 - excessBits)) - 1);
+        }
+
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * Method to split the seeded SplittableRandom for a thread
+     *
+     * @return a SplittableRandom
+     */
+    private static synchronized SplittableRandom split() {
+        if (splittableRandom == null) {
+            splittableRandom = new SplittableRandom(getSeed());
+        }
+        return splittableRandom.split();
+    }
+
+    /** Class to hold the run-level seed */
+    private static final class SeedHolder {
+
+        /** The run-level seed */
+        private static final long SEED =
+                Configuration.getInstance()
+                        .get(Constants.RANDOM_SEED)
+                        .map(
+                                value -> {
+                                    try {
+                                        return Long.parseLong(value.trim());
+                                    } catch (NumberFormatException e) {
+                                        throw new TestEngineException(
+                                                format("Invalid random seed [%s]", value), e);
+                                    }
+                                })
+                        .orElseGet(() -> new SplittableRandom().nextLong());
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.support;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.discovery.Predicates;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.util.Preconditions;
+
+/** Class to implement RetrySupport */
+public class RetrySupport {
+
+    private static final int DEFAULT_RETRIES =
+            Math.max(0, Configuration.getInstance().getInteger(Constants.RETRY).orElse(0));
+
+    /** Constructor */
+    private RetrySupport() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to get the number of retries of each argument of a test class (declared on the
+     * argument supplier method)
+     *
+     * @param testClass testClass
+     * @return the number of retries, or 0 if failed arguments aren't retried
+     */
+    public static int getArgumentRetries(Class<?> testClass) {
+        Preconditions.notNull(testClass, "testClass is null");
+
+        List<Method> methods =
+                MethodSupport.findMethods(
+                        testClass,
+                        Predicates.ARGUMENT_SUPPLIER_METHOD,
+                        HierarchyTraversalMode.BOTTOM_UP);
+
+        if (methods.isEmpty()) {
+            return 0;
+        }
+
+        TestEngine.Retry retry = methods.get(0).getAnnotation(TestEngine.Retry.class);
+        return retry != null ? Math.max(0, retry.value()) : 0;
+    }
+
+    /**
+     * Method to get the number of retries of a test method ({@code antublue.test.engine.retry} if
+     * not annotated)
+     *
+     * @param testMethod testMethod
+     * @return the number of retries, or 0 if a failed test method isn't retried
+     */
+    public static int getRetries(Method testMethod) {
+        Preconditions.notNull(testMethod, "testMethod is null");
+
+        TestEngine.Retry retry = testMethod.getAnnotation(TestEngine.Retry.class);
+        return retry != null ? Math.max(0, retry.value()) : DEFAULT_RETRIES;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.TestDescriptor;
+
+/**
+ * Class to implement ShardSupport
+ *
+ * <p>Assigns root level test descriptors (test classes, or split
+ * {@code @TestEngine.ParallelArgumentTest} test classes) to shards. Without durations, a test
+ * descriptor is assigned by a stable hash of its unique id. With durations (from the baseline
+ * file), test descriptors are assigned longest first to the least loaded shard
+ */
+public class ShardSupport {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Constructor */
+    private ShardSupport() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to get the estimated durations of test descriptors from the baseline file
+     *
+     * <p>The estimated duration of a test descriptor is the sum of the baseline times of the test
+     * descriptor and its descendants
+     *
+     * @param testDescriptors testDescriptors
+     * @return a Map of unique id to estimated duration in nanoseconds, only containing test
+     *     descriptors with baseline times
+     */
+    public static Map<String, Long> getDurations(List<? extends TestDescriptor> testDescriptors) {
+        Preconditions.notNull(testDescriptors, "testDescriptors is null");
+
+        Map<String, Long> durations = new HashMap<>();
+
+        Baseline baseline = Baseline.getInstance();
+        if (!baseline.isEnabled()) {
+            return durations;
+        }
+
+        for (TestDescriptor testDescriptor : testDescriptors) {
+            long duration = 0;
+            boolean found = false;
+
+            List<TestDescriptor> candidates = new ArrayList<>(testDescriptor.getDescendants());
+            candidates.add(testDescriptor);
+
+            for (TestDescriptor candidate : candidates) {
+                Optional<Long> optional =
+                        baseline.getBaselineTime(candidate.getUniqueId().toString());
+                if (optional.isPresent()) {
+                    duration += optional.get();
+                    found = true;
+                }
+            }
+
+            if (found) {
+                durations.put(testDescriptor.getUniqueId().toString(), duration);
+            }
+        }
+
+        return durations;
+    }
+
+    /**
+     * Method to select the test descriptors of a shard
+     *
+     * @param testDescriptors testDescriptors
+     * @param shardIndex shardIndex (0 based)
+     * @param shardCount shardCount
+     * @param durations Map of unique id to estimated duration in nanoseconds, may be empty
+     * @return the List of test descriptors of the shard, in the original order
+     * @param <T> the test descriptor type
+     */
+    public static <T extends TestDescriptor> List<T> select(
+            List<T> testDescriptors, int shardIndex, int shardCount, Map<String, Long> durations) {
+        Preconditions.notNull(testDescriptors, "testDescriptors is null");
+        Preconditions.condition(shardCount > 0, "shardCount must be greater than 0");
+        Preconditions.condition(
+                shardIndex >= 0 && shardIndex < shardCount,
+                "shardIndex must be between 0 and shardCount - 1");
+        Preconditions.notNull(durations, "durations is null");
+
+        int[] shards =
+                durations.isEmpty()
+                        ? hash(testDescriptors, shardCount)
+                        : pack(testDescriptors, shardCount, durations);
+
+        List<T> selected = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == shardIndex) {
+                selected.add(testDescriptors.get(i));
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * Method to assign test descriptors to shards by a stable hash (FNV-1a) of their unique id
+     *
+     * @param testDescriptors testDescriptors
+     * @param shardCount shardCount
+     * @return the shard of each test descriptor
+     */
+    private static int[] hash(List<? extends TestDescriptor> testDescriptors, int shardCount) {
+        int[] shards = new int[testDescriptors.size()];
+
+        for (int i = 0; i < shards.length; i++) {
+            String uniqueId = testDescriptors.get(i).getUniqueId().toString();
+
+            long hash = FNV_OFFSET_BASIS;
+            for (int j = 0; j < uniqueId.length(); j++) {
+                hash ^= uniqueId.charAt(j);
+                hash *= FNV_PRIME;
+            }
+
+            shards[i] = (int) Long.remainderUnsigned(hash, shardCount);
+        }
+
+        return shards;
+    }
+
+    /**
+     * Method to assign test descriptors to shards by greedy bin packing (longest processing time
+     * first). Test descriptors without a duration use the mean of the known durations
+     *
+     * @param testDescriptors testDescriptors
+     * @param shardCount shardCount
+     * @param durations durations
+     * @return the shard of each test descriptor
+     */
+    private static int[] pack(
+            List<? extends TestDescriptor> testDescriptors,
+            int shardCount,
+            Map<String, Long> durations) {
+        int count = testDescriptors.size();
+        String[] uniqueIds = new String[count];
+        long[] estimates = new long[count];
+
+        long total = 0;
+        for (long duration : durations.values()) {
+            total += duration;
+        }
+        long mean = total / durations.size();
+
+        List<Integer> order = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            uniqueIds[i] = testDescriptors.get(i).getUniqueId().toString();
+            estimates[i] = durations.getOrDefault(uniqueIds[i], mean);
+            order.add(i);
+        }
+
+        // Longest first, ties by unique id, so every shard computes the same assignment
+        order.sort(
+                Comparator.<Integer>comparingLong(i -> estimates[i])
+                        .reversed()
+                        .thenComparing(i -> uniqueIds[i]));
+
+        long[] loads = new long[shardCount];
+        int[] shards = new int[count];
+
+        for (int i : order) {
+            int shard = 0;
+            for (int j = 1; j < shardCount; j++) {
+                if (loads[j] < loads[shard]) {
+                    shard = j;
+                }
+            }
+
+            shards[i] = shard;
+            loads[shard] += estimates[i];
+        }
+
+        return shards;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.support;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestTimeoutException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.discovery.Predicates;
+import org.antublue.test.engine.internal.util.HashedWheelTimer;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement TimeoutSupport
+ *
+ * <p>Timeouts are enforced by a single shared {@link HashedWheelTimer}. When a timeout expires, the
+ * thread that started the {@link Deadline} is interrupted (cooperative cancellation)
+ */
+public class TimeoutSupport {
+
+    private static final long DEFAULT_TIMEOUT =
+            Configuration.getInstance()
+                    .getDuration(Constants.TIMEOUT)
+                    .map(Duration::toMillis)
+                    .orElse(0L);
+
+    private static HashedWheelTimer timer;
+
+    /** Constructor */
+    private TimeoutSupport() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to get the timeout of a test class
+     *
+     * @param testClass testClass
+     * @return the timeout in milliseconds, or 0 if there is no timeout
+     */
+    public static long getTimeout(Class<?> testClass) {
+        Preconditions.notNull(testClass, "testClass is null");
+
+        TestEngine.Timeout timeout = testClass.getAnnotation(TestEngine.Timeout.class);
+        return timeout != null ? Math.max(0, timeout.milliseconds()) : 0;
+    }
+
+    /**
+     * Method to get the timeout of each argument of a test class (declared on the argument supplier
+     * method)
+     *
+     * @param testClass testClass
+     * @return the timeout in milliseconds, or 0 if there is no timeout
+     */
+    public static long getArgumentTimeout(Class<?> testClass) {
+        Preconditions.notNull(testClass, "testClass is null");
+
+        List<Method> methods =
+                MethodSupport.findMethods(
+                        testClass,
+                        Predicates.ARGUMENT_SUPPLIER_METHOD,
+                        HierarchyTraversalMode.BOTTOM_UP);
+
+        if (methods.isEmpty()) {
+            return 0;
+        }
+
+        TestEngine.Timeout timeout = methods.get(0).getAnnotation(TestEngine.Timeout.class);
+        return timeout != null ? Math.max(0, timeout.milliseconds()) : 0;
+    }
+
+    /**
+     * Method to get the timeout of a test method ({@code antublue.test.engine.timeout} if not
+     * annotated)
+     *
+     * @param testMethod testMethod
+     * @return the timeout in milliseconds, or 0 if there is no timeout
+     */
+    public static long getTimeout(Method testMethod) {
+        Preconditions.notNull(testMethod, "testMethod is null");
+
+        TestEngine.Timeout timeout = testMethod.getAnnotation(TestEngine.Timeout.class);
+        return timeout != null ? Math.max(0, timeout.milliseconds()) : DEFAULT_TIMEOUT;
+    }
+
+    /**
+     * Method to start a Deadline for the current thread
+     *
+     * @param milliseconds milliseconds (0 for no timeout)
+     * @return a Deadline
+     */
+    public static Deadline start(long milliseconds) {
+        return milliseconds > 0 ? new Deadline(milliseconds) : Deadline.NONE;
+    }
+
+    /**
+     * Method to stop a Deadline, adding a TestTimeoutException as the first Throwable if the
+     * Deadline expired
+     *
+     * @param deadline deadline
+     * @param throwables throwables
+     * @param description description of what timed out (e.g. "Test class [example.Test]")
+     */
+    public static void check(
+            Deadline deadline, List<Throwable> throwables, Supplier<String> description) {
+        Preconditions.notNull(deadline, "deadline is null");
+        Preconditions.notNull(throwables, "throwables is null");
+        Preconditions.notNull(description, "description is null");
+
+        if (deadline.stop()) {
+            throwables.add(
+                    0,
+                    new TestTimeoutException(
+                            format(
+                                    "%s timed out after [%s] (timeout [%d] ms)",
+                                    description.get(),
+                                    HumanReadableTimeSupport.toTimingUnit(
+                                            deadline.getElapsedTime(), "adaptive"),
+                                    deadline.getMilliseconds())));
+        }
+    }
+
+    /**
+     * Method to schedule a task on the shared HashedWheelTimer
+     *
+     * @param task task
+     * @param delay delay
+     * @param timeUnit timeUnit
+     * @return a Timeout that can be used to cancel the task
+     */
+    public static HashedWheelTimer.Timeout schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        return getTimer().schedule(task, delay, timeUnit);
+    }
+
+    /**
+     * Method to stop the shared HashedWheelTimer. A Deadline started later creates a new
+     * HashedWheelTimer
+     */
+    public static synchronized void shutdown() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+
+    /**
+     * Method to get the shared HashedWheelTimer (10 ms ticks, 512 buckets), creating it if required
+     *
+     * @return the shared HashedWheelTimer
+     */
+    private static synchronized HashedWheelTimer getTimer() {
+        if (timer == null) {
+            timer =
+                    new HashedWheelTimer(
+                            "antublue-test-engine-timer", 10, TimeUnit.MILLISECONDS, 512);
+        }
+
+        return timer;
+    }
+
+    /** Class to implement a Deadline */
+    public static final class Deadline {
+
+        /** Deadline without a timeout */
+        private static final Deadline NONE = new Deadline();
+
+        private final long milliseconds;
+        private final Thread thread;
+        private final long startTime;
+        private final HashedWheelTimer.Timeout timeout;
+        private long elapsedTime;
+        private boolean stopped;
+        private boolean expired;
+
+        /** Constructor */
+        private Deadline() {
+            this.milliseconds = 0;
+            this.thread = null;
+            this.startTime = 0;
+            this.timeout = null;
+        }
+
+        /**
+         * Constructor
+         *
+         * @param milliseconds milliseconds
+         */
+        private Deadline(long milliseconds) {
+            this.milliseconds = milliseconds;
+            this.thread = Thread.currentThread();
+            this.startTime = System.nanoTime();
+            this.timeout = getTimer().schedule(this::expire, milliseconds, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Method to get the timeout
+         *
+         * @return the timeout in milliseconds
+         */
+        public long getMilliseconds() {
+            return milliseconds;
+        }
+
+        /**
+         * Method to return if the Deadline has expired
+         *
+         * @return true if the Deadline has expired, else false
+         */
+        public synchronized boolean isExpired() {
+            return expired;
+        }
+
+        /**
+         * Method to stop the Deadline (idempotent)
+         *
+         * <p>If the Deadline expired, the interrupt status of the thread is cleared, so the thread
+         * can continue with other work
+         *
+         * @return true if the Deadline expired, else false
+         */
+        public boolean stop() {
+            if (timeout == null) {
+                return false;
+            }
+
+            synchronized (this) {
+                if (!stopped) {
+                    stopped = true;
+                    elapsedTime = System.nanoTime() - startTime;
+                    timeout.cancel();
+                    if (expired) {
+                        Thread.interrupted();
+                    }
+                }
+                return expired;
+            }
+        }
+
+        /**
+         * Method to get the elapsed time when the Deadline was stopped
+         *
+         * @return the elapsed time in nanoseconds
+         */
+        public synchronized long getElapsedTime() {
+            return elapsedTime;
+        }
+
+        /** Method to expire the Deadline */
+        private synchronized void expire() {
+            if (!stopped) {
+                expired = true;
+                thread.interrupt();
+            }
+        }
+    }
+}
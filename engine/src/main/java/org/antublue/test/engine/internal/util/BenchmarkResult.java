@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import org.antublue.test.engine.internal.support.HumanReadableTimeSupport;
+import org.junit.platform.commons.util.Preconditions;
+
+/** Class to implement BenchmarkResult */
+public class BenchmarkResult {
+
+    private final int threads;
+    private final int warmupIterations;
+    private final long[] samples;
+    private final long elapsedTime;
+
+    /**
+     * Constructor
+     *
+     * @param threads threads
+     * @param warmupIterations warmupIterations
+     * @param samples measurement iteration times in nanoseconds
+     * @param elapsedTime measurement elapsed time in nanoseconds
+     */
+    public BenchmarkResult(int threads, int warmupIterations, long[] samples, long elapsedTime) {
+        Preconditions.notNull(samples, "samples is null");
+        Preconditions.condition(samples.length > 0, "samples is empty");
+
+        this.threads = threads;
+        this.warmupIterations = warmupIterations;
+        this.samples = samples.clone();
+        this.elapsedTime = Math.max(1, elapsedTime);
+
+        Arrays.sort(this.samples);
+    }
+
+    /**
+     * Method to get the number of threads
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Method to get the number of warmup iterations per thread
+     *
+     * @return the number of warmup iterations per thread
+     */
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    /**
+     * Method to get the number of measured operations (all threads)
+     *
+     * @return the number of measured operations
+     */
+    public long getOperations() {
+        return samples.length;
+    }
+
+    /**
+     * Method to get the measurement iteration times in nanoseconds (sorted)
+     *
+     * @return the measurement iteration times in nanoseconds
+     */
+    public long[] getSamples() {
+        return samples.clone();
+    }
+
+    /**
+     * Method to get the measurement elapsed time in nanoseconds
+     *
+     * @return the measurement elapsed time in nanoseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Method to get the measured throughput
+     *
+     * @return the measured throughput in operations per second
+     */
+    public double getOperationsPerSecond() {
+        return samples.length / (elapsedTime / 1e+9D);
+    }
+
+    /**
+     * Method to get the minimum operation time in nanoseconds
+     *
+     * @return the minimum operation time in nanoseconds
+     */
+    public long getMinimum() {
+        return samples[0];
+    }
+
+    /**
+     * Method to get the maximum operation time in nanoseconds
+     *
+     * @return the maximum operation time in nanoseconds
+     */
+    public long getMaximum() {
+        return samples[samples.length - 1];
+    }
+
+    /**
+     * Method to get the mean operation time in nanoseconds
+     *
+     * @return the mean operation time in nanoseconds
+     */
+    public double getMean() {
+        double total = 0;
+        for (long sample : samples) {
+            total += sample;
+        }
+        return total / samples.length;
+    }
+
+    /**
+     * Method to get the operation time at a percentile in nanoseconds
+     *
+     * @param percentile percentile in the range [0, 100]
+     * @return the operation time at the percentile in nanoseconds
+     */
+    public long getPercentile(double percentile) {
+        Preconditions.condition(
+                percentile >= 0 && percentile <= 100, "percentile is not in the range [0, 100]");
+
+        int rank = (int) Math.ceil(percentile / 100D * samples.length);
+        return samples[Math.max(0, Math.min(rank, samples.length) - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "%.3f", getOperationsPerSecond())
+                + " ops/s"
+                + " mean ["
+                + HumanReadableTimeSupport.toTimingUnit((long) getMean(), "adaptive")
+                + "] p50 ["
+                + HumanReadableTimeSupport.toTimingUnit(getPercentile(50), "adaptive")
+                + "] p90 ["
+                + HumanReadableTimeSupport.toTimingUnit(getPercentile(90), "adaptive")
+                + "] p99 ["
+                + HumanReadableTimeSupport.toTimingUnit(getPercentile(99), "adaptive")
+                + "] max ["
+                + HumanReadableTimeSupport.toTimingUnit(getMaximum(), "adaptive")
+                + "] operations ["
+                + samples.length
+                + "] threads ["
+                + threads
+                + "]";
+    }
+}
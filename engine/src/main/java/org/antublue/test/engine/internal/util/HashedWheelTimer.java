@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2023 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.antublue.test.engine.internal.logger.Logger;
+import org.antublue.test.engine.internal.logger.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement HashedWheelTimer
+ *
+ * <p>A single daemon thread advances a wheel of buckets once per tick and runs the tasks whose
+ * deadlines have passed. Scheduling and cancelling are lock-free and O(1), and cancelled timeouts
+ * are removed when the wheel reaches their bucket. Stopping the timer cancels pending timeouts and
+ * ends the thread
+ */
+@SuppressWarnings("unchecked")
+public class HashedWheelTimer {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts;
+    private final long startTime;
+    private final Thread thread;
+    private final AtomicBoolean stopped;
+    private long tick;
+
+    /**
+     * Constructor
+     *
+     * @param threadName threadName
+     * @param tickDuration tickDuration
+     * @param timeUnit timeUnit
+     * @param ticksPerWheel ticksPerWheel (rounded up to a power of 2)
+     */
+    public HashedWheelTimer(
+            String threadName, long tickDuration, TimeUnit timeUnit, int ticksPerWheel) {
+        Preconditions.notBlank(threadName, "threadName is null or blank");
+        Preconditions.condition(tickDuration > 0, "tickDuration must be greater than 0");
+        Preconditions.notNull(timeUnit, "timeUnit is null");
+        Preconditions.condition(
+                ticksPerWheel > 0 && ticksPerWheel <= 1 << 30,
+                "ticksPerWheel must be between 1 and 2^30");
+
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+
+        this.tickNanos = timeUnit.toNanos(tickDuration);
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.pendingTimeouts = new ConcurrentLinkedQueue<>();
+        this.startTime = System.nanoTime();
+        this.stopped = new AtomicBoolean();
+
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Method to schedule a task
+     *
+     * @param task task
+     * @param delay delay
+     * @param timeUnit timeUnit
+     * @return a Timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        Preconditions.notNull(task, "task is null");
+        Preconditions.notNull(timeUnit, "timeUnit is null");
+
+        if (stopped.get()) {
+            throw new IllegalStateException("HashedWheelTimer is stopped");
+        }
+
+        Timeout timeout =
+                new Timeout(task, System.nanoTime() - startTime + timeUnit.toNanos(delay));
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Method to stop the timer (idempotent), cancelling pending Timeouts and waiting for the thread
+     * to end
+     *
+     * <p>If called by a task, the thread ends after the task returns
+     */
+    public void stop() {
+        if (!stopped.compareAndSet(false, true)) {
+            return;
+        }
+
+        LockSupport.unpark(thread);
+
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Method to return if the timer is stopped
+     *
+     * @return true if the timer is stopped, else false
+     */
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    /** Method to run the wheel */
+    private void run() {
+        while (waitForNextTick()) {
+            transferPendingTimeouts();
+            expireTimeouts(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+
+        for (List<Timeout> bucket : wheel) {
+            bucket.forEach(Timeout::cancel);
+            bucket.clear();
+        }
+
+        Timeout timeout = pendingTimeouts.poll();
+        while (timeout != null) {
+            timeout.cancel();
+            timeout = pendingTimeouts.poll();
+        }
+    }
+
+    /**
+     * Method to wait for the next tick
+     *
+     * @return true if the next tick was reached, false if the timer was stopped
+     */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        long sleepNanos = deadline - (System.nanoTime() - startTime);
+        while (sleepNanos > 0 && !stopped.get()) {
+            LockSupport.parkNanos(this, sleepNanos);
+            sleepNanos = deadline - (System.nanoTime() - startTime);
+        }
+        return !stopped.get();
+    }
+
+    /** Method to move pending Timeouts into their wheel buckets */
+    private void transferPendingTimeouts() {
+        Timeout timeout = pendingTimeouts.poll();
+        while (timeout != null) {
+            if (timeout.state.get() == PENDING) {
+                long ticks = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (ticks - tick) / wheel.length;
+                // Timeouts already in the past expire on the current tick
+                wheel[(int) (Math.max(ticks, tick) & mask)].add(timeout);
+            }
+            timeout = pendingTimeouts.poll();
+        }
+    }
+
+    /**
+     * Method to expire the Timeouts of a bucket
+     *
+     * @param bucket bucket
+     */
+    private static void expireTimeouts(List<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.state.get() != PENDING) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /** Class to implement a Timeout */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state;
+        private long remainingRounds;
+
+        /**
+         * Constructor
+         *
+         * @param task task
+         * @param deadline deadline in nanoseconds relative to the timer start time
+         */
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        /**
+         * Method to cancel the Timeout
+         *
+         * @return true if the Timeout was cancelled, false if it has already expired (or was
+         *     already cancelled)
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        /**
+         * Method to return if the Timeout has expired
+         *
+         * @return true if the Timeout has expired, else false
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /** Method to expire the Timeout */
+        private void expire() {
+            if (state.compareAndSet(PENDING, EXPIRED)) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOGGER.warn("Exception running timer task", t);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.internal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Class to implement IndexedClassLoader
+ *
+ * <p>A URLClassLoader with a package index of its classpath (jars and directories) built once, so a
+ * class is read directly from the classpath elements that contain its package, instead of searching
+ * every classpath element in order. Classes in packages that aren't in the index fail fast
+ *
+ * <p>Signed and multi-release jars are not indexed. Classes in their packages are found using
+ * URLClassLoader. Resources are always found using URLClassLoader
+ */
+public class IndexedClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String META_INF = "META-INF/";
+
+    private final List<Root> roots;
+    private final Map<String, Root[]> index;
+
+    /**
+     * Constructor
+     *
+     * @param classpath classpath (jars and directories)
+     * @param parent parent
+     * @throws IOException IOException
+     */
+    public IndexedClassLoader(Collection<Path> classpath, ClassLoader parent) throws IOException {
+        super(toUrls(classpath), parent);
+
+        this.roots = new ArrayList<>(classpath.size());
+
+        Map<String, Set<Root>> packages = new HashMap<>();
+
+        try {
+            for (Path path : classpath) {
+                if (Files.isDirectory(path)) {
+                    Root root = new Root(path.toUri().toURL(), path, null, null, false);
+                    roots.add(root);
+                    indexDirectory(root, path, packages);
+                } else if (Files.isRegularFile(path)) {
+                    JarFile jarFile = new JarFile(path.toFile());
+                    Manifest manifest = jarFile.getManifest();
+                    Root root =
+                            new Root(
+                                    path.toUri().toURL(),
+                                    null,
+                                    jarFile,
+                                    manifest,
+                                    isMultiRelease(manifest));
+                    roots.add(root);
+                    indexJar(root, packages);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        this.index = new HashMap<>(packages.size() * 2);
+        for (Map.Entry<String, Set<Root>> entry : packages.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().toArray(new Root[0]));
+        }
+    }
+
+    /**
+     * Method to get the number of indexed packages
+     *
+     * @return the number of indexed packages
+     */
+    public int getPackageCount() {
+        return index.size();
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        int lastDot = name.lastIndexOf('.');
+        String packageName = lastDot > 0 ? name.substring(0, lastDot) : "";
+
+        Root[] packageRoots = index.get(packageName);
+        if (packageRoots == null) {
+            throw new ClassNotFoundException(name);
+        }
+
+        String entryName = name.replace('.', '/').concat(CLASS_FILE_SUFFIX);
+
+        for (Root root : packageRoots) {
+            if (root.delegate) {
+                return super.findClass(name);
+            }
+
+            byte[] bytes;
+            try {
+                bytes = root.read(entryName);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+
+            if (bytes != null) {
+                definePackage(packageName, root);
+                return defineClass(
+                        name,
+                        bytes,
+                        0,
+                        bytes.length,
+                        new CodeSource(root.url, (CodeSigner[]) null));
+            }
+        }
+
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+
+        for (Root root : roots) {
+            if (root.jarFile != null) {
+                try {
+                    root.jarFile.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+        }
+
+        super.close();
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Method to define a package, if not already defined
+     *
+     * @param packageName packageName
+     * @param root root
+     */
+    @SuppressWarnings("deprecation")
+    private void definePackage(String packageName, Root root) {
+        if (packageName.isEmpty() || getPackage(packageName) != null) {
+            return;
+        }
+
+        try {
+            if (root.manifest != null) {
+                definePackage(packageName, root.manifest, root.url);
+            } else {
+                definePackage(packageName, null, null, null, null, null, null, null);
+            }
+        } catch (IllegalArgumentException e) {
+            // Defined concurrently
+            if (getPackage(packageName) == null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Method to index the packages of a directory
+     *
+     * @param root root
+     * @param directory directory
+     * @param packages packages
+     * @throws IOException IOException
+     */
+    private static void indexDirectory(Root root, Path directory, Map<String, Set<Root>> packages)
+            throws IOException {
+        List<Path> paths;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            paths =
+                    stream.filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                            .map(path -> directory.relativize(path).getParent())
+                            .distinct()
+                            .collect(Collectors.toList());
+        }
+
+        String separator = directory.getFileSystem().getSeparator();
+        for (Path path : paths) {
+            String packageName = path == null ? "" : path.toString().replace(separator, ".");
+            packages.computeIfAbsent(packageName, k -> new LinkedHashSet<>()).add(root);
+        }
+    }
+
+    /**
+     * Method to index the packages of a jar
+     *
+     * @param root root
+     * @param packages packages
+     */
+    private static void indexJar(Root root, Map<String, Set<Root>> packages) {
+        Set<String> packageNames = new LinkedHashSet<>();
+        boolean signed = false;
+
+        Enumeration<JarEntry> enumeration = root.jarFile.entries();
+        while (enumeration.hasMoreElements()) {
+            String name = enumeration.nextElement().getName();
+            if (name.startsWith(META_INF)) {
+                signed |= name.endsWith(".SF");
+            } else if (name.endsWith(CLASS_FILE_SUFFIX)) {
+                int index = name.lastIndexOf('/');
+                packageNames.add(index > 0 ? name.substring(0, index).replace('/', '.') : "");
+            }
+        }
+
+        Root indexedRoot = signed ? root.toDelegate() : root;
+        for (String packageName : packageNames) {
+            packages.computeIfAbsent(packageName, k -> new LinkedHashSet<>()).add(indexedRoot);
+        }
+    }
+
+    /**
+     * Method to get whether a jar manifest declares a multi-release jar
+     *
+     * @param manifest manifest
+     * @return true if the jar is a multi-release jar, otherwise false
+     */
+    private static boolean isMultiRelease(Manifest manifest) {
+        return manifest != null
+                && "true"
+                        .equalsIgnoreCase(
+                                manifest.getMainAttributes()
+                                        .getValue(new Attributes.Name("Multi-Release")));
+    }
+
+    /**
+     * Method to convert paths to URLs
+     *
+     * @param classpath classpath
+     * @return an array of URLs
+     * @throws MalformedURLException MalformedURLException
+     */
+    private static URL[] toUrls(Collection<Path> classpath) throws MalformedURLException {
+        Preconditions.notNull(classpath, "classpath is null");
+
+        URL[] urls = new URL[classpath.size()];
+        int i = 0;
+        for (Path path : classpath) {
+            urls[i++] = path.toUri().toURL();
+        }
+        return urls;
+    }
+
+    /** Class to implement an indexed classpath element */
+    private static final class Root {
+
+        private final URL url;
+        private final Path directory;
+        private final JarFile jarFile;
+        private final Manifest manifest;
+        private final boolean delegate;
+
+        /**
+         * Constructor
+         *
+         * @param url url
+         * @param directory directory, null for a jar
+         * @param jarFile jarFile, null for a directory
+         * @param manifest manifest
+         * @param delegate whether classes are found using URLClassLoader
+         */
+        private Root(
+                URL url, Path directory, JarFile jarFile, Manifest manifest, boolean delegate) {
+            this.url = url;
+            this.directory = directory;
+            this.jarFile = jarFile;
+            this.manifest = manifest;
+            this.delegate = delegate;
+        }
+
+        /**
+         * Method to get a Root that delegates to URLClassLoader
+         *
+         * @return a Root
+         */
+        private Root toDelegate() {
+            return delegate ? this : new Root(url, directory, jarFile, manifest, true);
+        }
+
+        /**
+         * Method to read an entry
+         *
+         * @param entryName entryName
+         * @return the entry bytes, or null if the entry doesn't exist
+         * @throws IOException IOException
+         */
+        private byte[] read(String entryName) throws IOException {
+            if (directory != null) {
+                Path path = directory.resolve(entryName);
+                return Files.isRegularFile(path) ? Files.readAllBytes(path) : null;
+            }
+
+            JarEntry jarEntry = jarFile.getJarEntry(entryName);
+            if (jarEntry == null) {
+                return null;
+            }
+
+            try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+                ByteArrayOutputStream byteArrayOutputStream =
+                        new ByteArrayOutputStream(
+                                jarEntry.getSize() > 0 ? (int) jarEntry.getSize() : 4096);
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    byteArrayOutputStream.write(buffer, 0, read);
+                }
+                return byteArrayOutputStream.toByteArray();
+            }
+        }
+    }
+}
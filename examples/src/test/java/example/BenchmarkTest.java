@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+
+/** Example test */
+public class BenchmarkTest {
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    private List<Integer> list;
+
+    private AtomicInteger invocations;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        Collection<Argument<Integer>> collection = new ArrayList<>();
+        collection.add(Argument.ofInt(1_000));
+        collection.add(Argument.ofInt(10_000));
+        return collection.stream();
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() {
+        System.out.println("beforeAll(" + argument + ")");
+
+        list = new ArrayList<>();
+        for (int i = 0; i < argument.getPayload(); i++) {
+            list.add(i);
+        }
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() {
+        System.out.println("beforeEach(" + argument + ")");
+        invocations = new AtomicInteger();
+    }
+
+    @TestEngine.Benchmark
+    public long sum() {
+        invocations.incrementAndGet();
+
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @TestEngine.Benchmark(warmupIterations = 10, measurementIterations = 20, threads = 2)
+    public long parallelSum() {
+        invocations.incrementAndGet();
+        return list.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @TestEngine.Test
+    public void test() {
+        System.out.println("test(" + argument + ")");
+        assertThat(list).hasSize(argument.getPayload());
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() {
+        System.out.println("afterEach(" + argument + ") invocations [" + invocations + "]");
+        assertThat(invocations.get()).isIn(0, 5 + 10, 2 * (10 + 20));
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() {
+        System.out.println("afterAll(" + argument + ")");
+        list = null;
+    }
+}
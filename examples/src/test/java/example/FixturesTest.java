@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.extras.Fixtures;
+import org.antublue.test.engine.extras.Key;
+
+/** Example test */
+public class FixturesTest {
+
+    private static final String KEY = FixturesTest.class.getName() + ".shared";
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    private Fixtures.FixtureReference<Resource> fixtureReference;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        Collection<Argument<Integer>> collection = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            collection.add(Argument.ofInt(i));
+        }
+        return collection.stream();
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() throws Throwable {
+        System.out.println("beforeAll(" + argument + ")");
+
+        // Created by the first argument, and shared by all arguments until destroyed by
+        // ExampleTestEngineExtension
+        fixtureReference =
+                Fixtures.acquire(
+                        KEY,
+                        () -> {
+                            CREATED.incrementAndGet();
+                            return new Resource();
+                        });
+    }
+
+    @TestEngine.Test
+    public void testShared() {
+        System.out.println("testShared(" + argument + ")");
+
+        assertThat(CREATED.get()).isEqualTo(1);
+        assertThat(fixtureReference.get().isClosed()).isFalse();
+        assertThat(Fixtures.getReferenceCount(KEY)).isGreaterThanOrEqualTo(1);
+    }
+
+    @TestEngine.Test
+    public void testConcurrentAcquire() throws Throwable {
+        System.out.println("testConcurrentAcquire(" + argument + ")");
+
+        Object key = Key.of(getClass().getName(), ".concurrent.", argument);
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Fixtures.FixtureReference<Resource>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    countDownLatch.await();
+                                    return acquire(key, created);
+                                }));
+            }
+
+            countDownLatch.countDown();
+
+            List<Fixtures.FixtureReference<Resource>> fixtureReferences = new ArrayList<>();
+            for (Future<Fixtures.FixtureReference<Resource>> future : futures) {
+                fixtureReferences.add(future.get());
+            }
+
+            assertThat(created.get()).isEqualTo(1);
+            assertThat(Fixtures.getReferenceCount(key)).isEqualTo(8);
+
+            Resource resource = fixtureReferences.get(0).get();
+            for (Fixtures.FixtureReference<Resource> reference : fixtureReferences) {
+                assertThat(reference.get()).isSameAs(resource);
+                reference.release();
+            }
+
+            // Without an idle timeout, an unreferenced fixture exists until destroyed
+            assertThat(Fixtures.getReferenceCount(key)).isEqualTo(0);
+            assertThat(resource.isClosed()).isFalse();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @TestEngine.Test
+    public void testIdleEviction() throws Throwable {
+        System.out.println("testIdleEviction(" + argument + ")");
+
+        Object key = Key.of(getClass().getName(), ".idle.", argument);
+
+        Fixtures.FixtureReference<Resource> reference =
+                Fixtures.acquire(key, Resource::new, Resource::close, Duration.ofMillis(10));
+        Resource resource = reference.get();
+        reference.release();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (Fixtures.getReferenceCount(key) != -1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(Fixtures.getReferenceCount(key)).isEqualTo(-1);
+        assertThat(resource.isClosed()).isTrue();
+        assertThatThrownBy(reference::get).isInstanceOf(IllegalStateException.class);
+
+        // An evicted fixture is created again on next use
+        try (Fixtures.FixtureReference<Resource> nextReference =
+                Fixtures.acquire(key, Resource::new, Resource::close, Duration.ofMillis(10))) {
+            assertThat(nextReference.get()).isNotSameAs(resource);
+        }
+    }
+
+    @TestEngine.Test
+    public void testCreateFailure() throws Throwable {
+        System.out.println("testCreateFailure(" + argument + ")");
+
+        Object key = Key.of(getClass().getName(), ".failure.", argument);
+
+        assertThatThrownBy(
+                        () ->
+                                Fixtures.acquire(
+                                        key,
+                                        () -> {
+                                            throw new IllegalStateException("create failed");
+                                        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("create failed");
+
+        // A failed fixture isn't registered, so it's created on next use
+        assertThat(Fixtures.getReferenceCount(key)).isEqualTo(-1);
+
+        Fixtures.FixtureReference<Resource> reference =
+                Fixtures.acquire(key, Resource::new, Resource::close, Duration.ZERO);
+        assertThat(reference.get()).isNotNull();
+        reference.release();
+
+        assertThatThrownBy(reference::release).isInstanceOf(IllegalStateException.class);
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() {
+        System.out.println("afterAll(" + argument + ")");
+
+        if (fixtureReference != null) {
+            fixtureReference.release();
+        }
+    }
+
+    /**
+     * Method to acquire a slowly created Resource
+     *
+     * @param key key
+     * @param created created
+     * @return a FixtureReference
+     * @throws ExecutionException ExecutionException
+     */
+    private static Fixtures.FixtureReference<Resource> acquire(Object key, AtomicInteger created)
+            throws ExecutionException {
+        try {
+            return Fixtures.acquire(
+                    key,
+                    () -> {
+                        created.incrementAndGet();
+                        Thread.sleep(50);
+                        return new Resource();
+                    });
+        } catch (Throwable t) {
+            throw new ExecutionException(t);
+        }
+    }
+
+    /** Class to implement a Resource */
+    public static class Resource implements AutoCloseable {
+
+        private volatile boolean closed;
+
+        /**
+         * Method to return if the Resource is closed
+         *
+         * @return true if the Resource is closed, else false
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
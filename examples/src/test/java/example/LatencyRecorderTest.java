@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.extras.LatencyRecorder;
+
+/** Example test */
+public class LatencyRecorderTest {
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    private LatencyRecorder latencyRecorder;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        Collection<Argument<Integer>> collection = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            collection.add(Argument.ofInt(i));
+        }
+        return collection.stream();
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() {
+        System.out.println("beforeAll(" + argument + ")");
+        latencyRecorder = new LatencyRecorder(1_000_000_000L, argument.getPayload());
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() {
+        System.out.println("beforeEach(" + argument + ")");
+        latencyRecorder.reset();
+    }
+
+    @TestEngine.Test
+    public void testPercentiles() {
+        System.out.println("testPercentiles(" + argument + ")");
+
+        for (long i = 1; i <= 100_000; i++) {
+            latencyRecorder.record(i);
+        }
+
+        LatencyRecorder.Snapshot snapshot = latencyRecorder.snapshot();
+        System.out.println(snapshot);
+
+        double precision = Math.pow(10, -argument.getPayload());
+
+        assertThat(snapshot.getCount()).isEqualTo(100_000);
+        assertThat(snapshot.getMinimum()).isEqualTo(1);
+        assertThat(snapshot.getMaximum()).isEqualTo(100_000);
+        assertThat(snapshot.getMean()).isCloseTo(50_000, within(50_000 * precision * 2));
+        assertThat((double) snapshot.getP50()).isCloseTo(50_000, within(50_000 * precision * 2));
+        assertThat((double) snapshot.getP99()).isCloseTo(99_000, within(99_000 * precision * 2));
+        assertThat((double) snapshot.getP999()).isCloseTo(99_900, within(99_900 * precision * 2));
+    }
+
+    @TestEngine.Test
+    public void testHighestTrackableValue() {
+        System.out.println("testHighestTrackableValue(" + argument + ")");
+
+        latencyRecorder.record(10);
+        latencyRecorder.record(Long.MAX_VALUE);
+
+        LatencyRecorder.Snapshot snapshot = latencyRecorder.snapshot();
+        System.out.println(snapshot);
+
+        assertThat(snapshot.getCount()).isEqualTo(2);
+        assertThat(snapshot.getMaximum()).isEqualTo(Long.MAX_VALUE);
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @TestEngine.Test
+    public void testIntervalSnapshot() {
+        System.out.println("testIntervalSnapshot(" + argument + ")");
+
+        latencyRecorder.record(Duration.ofMillis(1));
+        latencyRecorder.record(Duration.ofMillis(2));
+
+        assertThat(latencyRecorder.intervalSnapshot().getCount()).isEqualTo(2);
+
+        latencyRecorder.record(Duration.ofMillis(3));
+
+        LatencyRecorder.Snapshot intervalSnapshot = latencyRecorder.intervalSnapshot();
+        System.out.println(intervalSnapshot);
+
+        assertThat(intervalSnapshot.getCount()).isEqualTo(1);
+        assertThat((double) intervalSnapshot.getMinimum())
+                .isCloseTo(3_000_000, within(3_000_000 * 0.1));
+        assertThat(latencyRecorder.intervalSnapshot().getCount()).isEqualTo(0);
+        assertThat(latencyRecorder.snapshot().getCount()).isEqualTo(3);
+    }
+
+    @TestEngine.Test
+    public void testConcurrentRecording() throws Throwable {
+        System.out.println("testConcurrentRecording(" + argument + ")");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (long j = 1; j <= 10_000; j++) {
+                                    latencyRecorder.record(j);
+                                }
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyRecorder.Snapshot snapshot = latencyRecorder.snapshot();
+        System.out.println(snapshot);
+
+        assertThat(snapshot.getCount()).isEqualTo(40_000);
+        assertThat(snapshot.getMinimum()).isEqualTo(1);
+        assertThat(snapshot.getMaximum()).isEqualTo(10_000);
+    }
+
+    @TestEngine.Test
+    public void testMerge() throws Throwable {
+        System.out.println("testMerge(" + argument + ")");
+
+        LatencyRecorder other = new LatencyRecorder(1_000_000_000L, argument.getPayload());
+
+        Duration duration = other.record(() -> Thread.sleep(10));
+        assertThat(duration).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+
+        latencyRecorder.record(1);
+
+        LatencyRecorder.Snapshot merged = latencyRecorder.snapshot().merge(other.snapshot());
+        System.out.println(merged);
+
+        assertThat(merged.getCount()).isEqualTo(2);
+        assertThat(merged.getMinimum()).isEqualTo(1);
+        assertThat(merged.getMaximum()).isEqualTo(duration.toNanos());
+
+        latencyRecorder.merge(other);
+
+        assertThat(latencyRecorder.snapshot().getCount()).isEqualTo(2);
+        assertThat(latencyRecorder.snapshot().getMaximum()).isEqualTo(duration.toNanos());
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() {
+        System.out.println("afterAll(" + argument + ")");
+        latencyRecorder = null;
+    }
+}
@@ -16,7 +16,9 @@
 
 package example.extension;
 
+import java.util.List;
 import org.antublue.test.engine.api.TestEngineExtension;
+import org.antublue.test.engine.extras.Fixtures;
 
 /** Example TestEngineExtensions */
 public class ExampleTestEngineExtension implements TestEngineExtension {
@@ -27,7 +29,13 @@ public class ExampleTestEngineExtension implements TestEngineExtension {
     }
 
     @Override
-    public void destroyCallback() {
+    public void destroyCallback() throws Throwable {
         System.out.println(getClass().getName() + " destroyCallback()");
+
+        // Destroy shared fixtures (e.g. containers) once all test classes have executed
+        List<Throwable> throwables = Fixtures.destroyAll();
+        if (!throwables.isEmpty()) {
+            throw throwables.get(0);
+        }
     }
 }
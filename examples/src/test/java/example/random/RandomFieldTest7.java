@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2023 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+
+/** Example test */
+public class RandomFieldTest7 {
+
+    @TestEngine.Random.Bytes(length = 1021)
+    public byte[] bytes;
+
+    @TestEngine.Random.Bytes(length = 4096, direct = true)
+    public ByteBuffer byteBuffer;
+
+    @TestEngine.Random.Integers(length = 1000, minimum = -10, maximum = 10)
+    public int[] ints;
+
+    @TestEngine.Random.Longs(length = 100, minimum = 0)
+    public List<Long> longs;
+
+    @TestEngine.Random.Doubles(length = 100, minimum = 0, maximum = 1)
+    public double[] doubles;
+
+    @TestEngine.Random.UUIDs(length = 10)
+    public UUID[] uuids;
+
+    @TestEngine.Random.String(minimumLength = 8, maximumLength = 12, alphabet = "ACGT")
+    public String string;
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    private byte[] previousBytes;
+
+    private ByteBuffer previousByteBuffer;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        Collection<Argument<String>> collection = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            collection.add(Argument.ofString("StringArgument " + i));
+        }
+        return collection.stream();
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() {
+        System.out.println("beforeAll(" + argument + ")");
+
+        if (previousBytes != null) {
+            assertThat(bytes).isSameAs(previousBytes);
+            assertThat(byteBuffer).isSameAs(previousByteBuffer);
+        }
+
+        previousBytes = bytes;
+        previousByteBuffer = byteBuffer;
+    }
+
+    @TestEngine.Test
+    public void testBytes() {
+        System.out.println("testBytes(" + argument + ")");
+
+        assertThat(bytes).hasSize(1021);
+        assertThat(byteBuffer.isDirect()).isTrue();
+        assertThat(byteBuffer.capacity()).isEqualTo(4096);
+        assertThat(byteBuffer.position()).isEqualTo(0);
+        assertThat(byteBuffer.remaining()).isEqualTo(4096);
+    }
+
+    @TestEngine.Test
+    public void testNumbers() {
+        System.out.println("testNumbers(" + argument + ")");
+
+        assertThat(ints).hasSize(1000).contains(-10, 10);
+        for (int value : ints) {
+            assertThat(value).isBetween(-10, 10);
+        }
+        assertThat(longs).hasSize(100).allMatch(value -> value >= 0);
+        assertThat(doubles).hasSize(100);
+        for (double value : doubles) {
+            assertThat(value).isBetween(0D, 1D);
+        }
+    }
+
+    @TestEngine.Test
+    public void testUUIDs() {
+        System.out.println("testUUIDs(" + argument + ")");
+
+        assertThat(uuids).hasSize(10).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @TestEngine.Test
+    public void testString() {
+        System.out.println("testString(" + argument + ") string [" + string + "]");
+
+        assertThat(string).hasSizeBetween(8, 12).matches("[ACGT]+");
+    }
+}
@@ -29,6 +29,8 @@ import java.util.Random;
 import java.util.stream.Stream;
 import org.antublue.test.engine.api.Argument;
 import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.extras.Fixtures;
+import org.antublue.test.engine.extras.Key;
 import org.bson.Document;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.containers.Network;
@@ -37,13 +39,16 @@ import org.testcontainers.utility.DockerImageName;
 /**
  * Example using testcontainers-java and MongoDB
  *
+ * <p>The network and containers are shared fixtures, so they are started once per JVM (not per test
+ * class / argument) and destroyed by ExampleTestEngineExtension
+ *
  * <p>Disabled by default since users may not have Docker installed
  */
 @TestEngine.Disabled
 @TestEngine.ParallelArgumentTest
 public class MongoDBTest {
 
-    private Network network;
+    private Fixtures.FixtureReference<Network> networkReference;
     private String name;
 
     @TestEngine.Argument public MongoDBTestEnvironment mongoDBTestEnvironment;
@@ -57,18 +62,18 @@ public class MongoDBTest {
     }
 
     @TestEngine.Prepare
-    public void initializeNetwork() {
+    public void initializeNetwork() throws Throwable {
         info("initializing network ...");
 
-        network = Network.newNetwork();
-        String id = network.getId();
+        networkReference = Fixtures.acquire("testcontainers.network", Network::newNetwork);
+        String id = networkReference.get().getId();
 
         info("network [%s] initialized", id);
     }
 
     @TestEngine.BeforeAll
-    public void initializeTestEnvironment() {
-        mongoDBTestEnvironment.initialize(network);
+    public void initializeTestEnvironment() throws Throwable {
+        mongoDBTestEnvironment.initialize(networkReference.get());
     }
 
     @TestEngine.Test
@@ -131,20 +136,20 @@ public class MongoDBTest {
 
     @TestEngine.Conclude
     public void destroyNetwork() {
-        info("destroying network ...");
+        info("releasing network ...");
 
-        if (network != null) {
-            network.close();
+        if (networkReference != null) {
+            networkReference.release();
         }
 
-        info("network destroyed");
+        info("network released");
     }
 
     /** Class to implement a TestContext */
     public static class MongoDBTestEnvironment implements Argument<MongoDBTestEnvironment> {
 
         private final String dockerImageName;
-        private MongoDBContainer mongoDBContainer;
+        private Fixtures.FixtureReference<MongoDBContainer> mongoDBContainerReference;
 
         /**
          * Constructor
@@ -180,27 +185,37 @@ public class MongoDBTest {
          *
          * @param network the network
          */
-        public void initialize(Network network) {
+        public void initialize(Network network) throws Throwable {
             info("initializing test environment [%s] ...", dockerImageName);
 
-            mongoDBContainer = new MongoDBContainer(DockerImageName.parse(dockerImageName));
-            mongoDBContainer.withNetwork(network);
-            mongoDBContainer.start();
+            // The container is started by the first test class / argument using the image
+            mongoDBContainerReference =
+                    Fixtures.acquire(
+                            Key.of("testcontainers.mongodb.", dockerImageName),
+                            () -> {
+                                MongoDBContainer mongoDBContainer =
+                                        new MongoDBContainer(
+                                                DockerImageName.parse(dockerImageName));
+                                mongoDBContainer.withNetwork(network);
+                                mongoDBContainer.start();
+                                return mongoDBContainer;
+                            });
 
             info("test environment [%s] initialized", dockerImageName);
         }
 
         public MongoDBContainer getMongoDBContainer() {
-            return mongoDBContainer;
+            return mongoDBContainerReference.get();
         }
 
         /** Method to destroy the MongoDBTestEnvironment */
         public void destroy() {
             info("destroying test environment [%s] ...", dockerImageName);
 
-            if (mongoDBContainer != null) {
-                mongoDBContainer.stop();
-                mongoDBContainer = null;
+            // The container is stopped when all fixtures are destroyed
+            if (mongoDBContainerReference != null) {
+                mongoDBContainerReference.release();
+                mongoDBContainerReference = null;
             }
 
             info("test environment [%s] destroyed", dockerImageName);
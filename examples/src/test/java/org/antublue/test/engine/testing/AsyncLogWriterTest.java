@@ -0,0 +1,425 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.logger.AsyncLogWriter;
+import org.antublue.test.engine.internal.logger.Level;
+
+/** Example test */
+public class AsyncLogWriterTest {
+
+    private static final int PRODUCERS = 4;
+
+    private static final int MESSAGES = 2000;
+
+    private static final String DROPPED = "dropped [";
+
+    private GateChannel gateChannel;
+    private AsyncLogWriter asyncLogWriter;
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        // Ring buffer size
+        return Stream.of(Argument.ofInt(2), Argument.ofInt(64), Argument.ofInt(8192));
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() {
+        if (gateChannel != null) {
+            gateChannel.open();
+        }
+        if (asyncLogWriter != null) {
+            asyncLogWriter.close();
+        }
+    }
+
+    @TestEngine.Test
+    public void testOrderingPerProducer() throws InterruptedException {
+        gateChannel = new GateChannel(true);
+        asyncLogWriter = AsyncLogWriter.create("block", 1, argument.getPayload(), gateChannel);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            String name = "producer-" + producer;
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < MESSAGES; i++) {
+                                    assertThat(append(name + " " + i)).isTrue();
+                                }
+                            },
+                            name);
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        asyncLogWriter.close();
+
+        List<String> messages = gateChannel.getMessages();
+        assertThat(messages).hasSize(PRODUCERS * MESSAGES);
+
+        Map<String, Integer> next = new HashMap<>();
+        for (String message : messages) {
+            String[] tokens = message.split(" ");
+            int expected = next.getOrDefault(tokens[0], 0);
+            assertThat(Integer.parseInt(tokens[1])).as(tokens[0]).isEqualTo(expected);
+            next.put(tokens[0], expected + 1);
+        }
+
+        assertThat(next).hasSize(PRODUCERS);
+        assertThat(next.values()).containsOnly(MESSAGES);
+    }
+
+    @TestEngine.Test
+    public void testFullBufferDrop() throws InterruptedException {
+        gateChannel = new GateChannel(false);
+        asyncLogWriter = AsyncLogWriter.create("drop", 1, argument.getPayload(), gateChannel);
+
+        // Block the consumer thread in a write
+        assertThat(append("first")).isTrue();
+        assertThat(gateChannel.awaitWrite()).isTrue();
+
+        int count = argument.getPayload() * 2 + 10;
+        for (int i = 0; i < count; i++) {
+            // Dropped events are accepted
+            assertThat(append(String.valueOf(i))).isTrue();
+        }
+
+        gateChannel.open();
+        asyncLogWriter.close();
+
+        List<String> messages = gateChannel.getMessages();
+        assertThat(messages.get(0)).isEqualTo("first");
+
+        // The events that fit in the ring buffer are written in order, the rest are dropped
+        int written = messages.size() - 2;
+        assertThat(written).isGreaterThanOrEqualTo(argument.getPayload()).isLessThan(count);
+        for (int i = 0; i < written; i++) {
+            assertThat(messages.get(i + 1)).isEqualTo(String.valueOf(i));
+        }
+
+        String last = messages.get(messages.size() - 1);
+        assertThat(last).startsWith(DROPPED + (count - written) + "]");
+    }
+
+    @TestEngine.Test
+    public void testFullBufferBlock() throws InterruptedException {
+        gateChannel = new GateChannel(false);
+        asyncLogWriter = AsyncLogWriter.create("block", 1, argument.getPayload(), gateChannel);
+
+        // Block the consumer thread in a write
+        assertThat(append("first")).isTrue();
+        assertThat(gateChannel.awaitWrite()).isTrue();
+
+        int count = argument.getPayload() * 2 + 10;
+        Thread producer =
+                new Thread(
+                        () -> {
+                            for (int i = 0; i < count; i++) {
+                                append(String.valueOf(i));
+                            }
+                        },
+                        "producer");
+        producer.start();
+
+        // The producer blocks while the ring buffer is full
+        producer.join(200);
+        assertThat(producer.isAlive()).isTrue();
+
+        gateChannel.open();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(producer.isAlive()).isFalse();
+
+        asyncLogWriter.close();
+
+        List<String> messages = gateChannel.getMessages();
+        assertThat(messages).hasSize(count + 1);
+        assertThat(messages.get(0)).isEqualTo("first");
+        for (int i = 0; i < count; i++) {
+            assertThat(messages.get(i + 1)).isEqualTo(String.valueOf(i));
+        }
+    }
+
+    @TestEngine.Test
+    public void testDrainOnClose() {
+        gateChannel = new GateChannel(true);
+        asyncLogWriter = AsyncLogWriter.create("block", 1, argument.getPayload(), gateChannel);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            assertThat(append(String.valueOf(i))).isTrue();
+        }
+
+        // Close without flushing
+        asyncLogWriter.close();
+
+        List<String> messages = gateChannel.getMessages();
+        assertThat(messages).hasSize(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            assertThat(messages.get(i)).isEqualTo(String.valueOf(i));
+        }
+
+        assertThat(gateChannel.isOpen()).isFalse();
+
+        // Closed writers reject events, close is idempotent
+        assertThat(append("rejected")).isFalse();
+        asyncLogWriter.close();
+        assertThat(gateChannel.getMessages()).hasSize(MESSAGES);
+    }
+
+    @TestEngine.Test
+    public void testWriteFailure() throws InterruptedException {
+        FailingChannel failingChannel = new FailingChannel();
+        RecordingOutputStream recordingOutputStream = new RecordingOutputStream(System.err);
+        PrintStream originalPrintStream = System.err;
+
+        System.setErr(new PrintStream(recordingOutputStream, true));
+        try {
+            asyncLogWriter =
+                    AsyncLogWriter.create("drop", 1, argument.getPayload(), failingChannel);
+
+            // The consumer thread blocks writing the first message
+            assertThat(append("0")).isTrue();
+            assertThat(failingChannel.awaitWrite()).isTrue();
+
+            // Fill the ring buffer, dropping the overflow
+            int messages = argument.getPayload() * 2 + 1;
+            for (int i = 1; i < messages; i++) {
+                assertThat(append(String.valueOf(i))).isTrue();
+            }
+
+            // Fail the write
+            failingChannel.fail();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!recordingOutputStream.toString().contains("asynchronous log writer failed")
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            // The writer stopped accepting events
+            assertThat(append("rejected")).isFalse();
+
+            String output = recordingOutputStream.toString();
+            assertThat(output)
+                    .contains("asynchronous log writer failed, discarded [" + messages + "] events")
+                    .contains("No space left on device");
+            assertThat(failingChannel.isOpen()).isFalse();
+        } finally {
+            System.setErr(originalPrintStream);
+        }
+    }
+
+    /**
+     * Method to append a message
+     *
+     * @param message message
+     * @return the append result
+     */
+    private boolean append(String message) {
+        return asyncLogWriter.append(
+                System.currentTimeMillis(),
+                Thread.currentThread().getName(),
+                Level.INFO,
+                AsyncLogWriterTest.class.getName(),
+                message);
+    }
+
+    /** Class to implement a channel that blocks writes until opened */
+    private static class GateChannel implements WritableByteChannel {
+
+        private final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        private final CountDownLatch writeLatch = new CountDownLatch(1);
+        private final CountDownLatch gateLatch = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        /**
+         * Constructor
+         *
+         * @param open open
+         */
+        GateChannel(boolean open) {
+            if (open) {
+                gateLatch.countDown();
+            }
+        }
+
+        /** Method to open the gate */
+        void open() {
+            gateLatch.countDown();
+        }
+
+        /**
+         * Method to wait for the first write
+         *
+         * @return true if a write was started, else false
+         * @throws InterruptedException InterruptedException
+         */
+        boolean awaitWrite() throws InterruptedException {
+            return writeLatch.await(10, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Method to get the messages written
+         *
+         * @return the messages written
+         */
+        synchronized List<String> getMessages() {
+            List<String> messages = new ArrayList<>();
+            String output = new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8);
+            for (String line : output.split(System.lineSeparator())) {
+                if (!line.isEmpty()) {
+                    messages.add(line.substring(line.lastIndexOf(" | ") + 3).trim());
+                }
+            }
+            return messages;
+        }
+
+        @Override
+        public int write(ByteBuffer byteBuffer) {
+            writeLatch.countDown();
+            try {
+                gateLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            int length = byteBuffer.remaining();
+            byte[] bytes = new byte[length];
+            byteBuffer.get(bytes);
+            synchronized (this) {
+                byteArrayOutputStream.write(bytes, 0, length);
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /** Class to implement a channel that blocks the first write, then fails it */
+    private static class FailingChannel implements WritableByteChannel {
+
+        private final CountDownLatch writeLatch = new CountDownLatch(1);
+        private final CountDownLatch failLatch = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        /**
+         * Method to wait for the first write
+         *
+         * @return true if a write was started, else false
+         * @throws InterruptedException InterruptedException
+         */
+        boolean awaitWrite() throws InterruptedException {
+            return writeLatch.await(10, TimeUnit.SECONDS);
+        }
+
+        /** Method to fail the blocked write */
+        void fail() {
+            failLatch.countDown();
+        }
+
+        @Override
+        public int write(ByteBuffer byteBuffer) throws IOException {
+            writeLatch.countDown();
+            try {
+                failLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /** Class to implement an OutputStream that records output and forwards it */
+    private static class RecordingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        private final OutputStream outputStream;
+
+        /**
+         * Constructor
+         *
+         * @param outputStream outputStream
+         */
+        RecordingOutputStream(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            byteArrayOutputStream.write(b);
+            outputStream.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+            byteArrayOutputStream.write(bytes, offset, length);
+            outputStream.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
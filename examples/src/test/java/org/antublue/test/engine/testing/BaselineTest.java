@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.exception.TestRegressionException;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.baseline.Regression;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/** Example test */
+public class BaselineTest {
+
+    private static final String UNIQUE_ID = "[engine:antublue-test-engine]/[class:example.Test]";
+
+    @TestEngine.Argument public Argument<Boolean> argument;
+
+    private Path directory;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Boolean>> arguments() {
+        return Stream.of(Argument.of("median", false), Argument.of("minimum", true));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() throws IOException {
+        directory = Files.createTempDirectory("baseline-test");
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @TestEngine.Test
+    public void testReadWrite() throws IOException {
+        Path path = directory.resolve("baseline.txt");
+
+        assertThat(Baseline.read(path)).isEmpty();
+
+        Map<String, long[]> map = new TreeMap<>();
+        map.put(UNIQUE_ID, new long[] {1203441, 1187290, 1210057});
+        map.put(UNIQUE_ID + "/[argument:0]", new long[] {42});
+
+        Baseline.write(path, map);
+
+        Map<String, long[]> result = Baseline.read(path);
+        assertThat(result).containsOnlyKeys(map.keySet());
+        for (Map.Entry<String, long[]> entry : map.entrySet()) {
+            assertThat(result.get(entry.getKey())).containsExactly(entry.getValue());
+        }
+    }
+
+    @TestEngine.Test
+    public void testMalformedLines() throws IOException {
+        Path path = directory.resolve("baseline.txt");
+
+        Files.write(
+                path,
+                Arrays.asList(
+                        "# comment", "", "no separator", "\t100", UNIQUE_ID + "\t 100 , 200 "),
+                StandardCharsets.UTF_8);
+
+        Map<String, long[]> map = Baseline.read(path);
+        assertThat(map).containsOnlyKeys(UNIQUE_ID);
+        assertThat(map.get(UNIQUE_ID)).containsExactly(100, 200);
+
+        Files.write(
+                path, Collections.singletonList(UNIQUE_ID + "\t100,abc"), StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> Baseline.read(path))
+                .isInstanceOf(TestEngineException.class)
+                .hasCauseInstanceOf(NumberFormatException.class);
+    }
+
+    @TestEngine.Test
+    public void testStatistic() throws IOException {
+        boolean useMinimum = argument.getPayload();
+
+        Baseline baseline =
+                createBaseline(
+                        false,
+                        useMinimum,
+                        UNIQUE_ID + "/odd\t300,100,900,200,150",
+                        UNIQUE_ID + "/even\t400,100,300,200");
+
+        assertThat(baseline.getBaselineTime(UNIQUE_ID + "/odd")).contains(useMinimum ? 100L : 200L);
+        assertThat(baseline.getBaselineTime(UNIQUE_ID + "/even"))
+                .contains(useMinimum ? 100L : 250L);
+        assertThat(baseline.getBaselineTime(UNIQUE_ID + "/missing")).isEmpty();
+    }
+
+    @TestEngine.Test
+    public void testCheck() throws IOException {
+        long baselineTime = Duration.ofMillis(100).toNanos();
+
+        Baseline baseline =
+                Baseline.create(
+                        writeBaseline(UNIQUE_ID + "\t" + baselineTime, "fast\t1000"),
+                        false,
+                        false,
+                        1.5D,
+                        Duration.ofMillis(10),
+                        5,
+                        argument.getPayload());
+
+        // Below the ratio
+        assertThat(baseline.check(UNIQUE_ID, Duration.ofMillis(150))).isEmpty();
+
+        // Above the ratio and the threshold
+        Optional<Regression> optionalRegression = baseline.check(UNIQUE_ID, Duration.ofMillis(151));
+        assertThat(optionalRegression).isPresent();
+        Regression regression = optionalRegression.get();
+        assertThat(regression.getUniqueId()).isEqualTo(UNIQUE_ID);
+        assertThat(regression.getBaselineTime()).isEqualTo(baselineTime);
+        assertThat(regression.getElapsedTime()).isEqualTo(Duration.ofMillis(151).toNanos());
+
+        // Above the ratio, but below the threshold
+        assertThat(baseline.check("fast", Duration.ofMillis(5))).isEmpty();
+        assertThat(baseline.check("fast", Duration.ofMillis(11))).isPresent();
+
+        // No baseline samples
+        assertThat(baseline.check("new", Duration.ofSeconds(1))).isEmpty();
+
+        assertThat(baseline.getElapsedTimes())
+                .containsOnlyKeys(UNIQUE_ID, "fast", "new")
+                .containsEntry("new", Duration.ofSeconds(1).toNanos());
+    }
+
+    @TestEngine.Test
+    public void testStore() throws IOException {
+        Path path = writeBaseline(UNIQUE_ID + "\t1,2,3");
+
+        Baseline baseline =
+                Baseline.create(path, true, false, 1.5D, Duration.ZERO, 3, argument.getPayload());
+        baseline.check(UNIQUE_ID, Duration.ofNanos(4));
+        baseline.record("new", 5);
+        baseline.store();
+
+        Map<String, long[]> map = Baseline.read(path);
+        assertThat(map).containsOnlyKeys(UNIQUE_ID, "new");
+        assertThat(map.get(UNIQUE_ID)).containsExactly(2, 3, 4);
+        assertThat(map.get("new")).containsExactly(5);
+    }
+
+    @TestEngine.Test
+    public void testFailMode() throws Exception {
+        // Fail mode, a regression fails the test
+        TestMethodTestDescriptor testMethodTestDescriptor = createTestMethodTestDescriptor();
+        String uniqueId = testMethodTestDescriptor.getUniqueId().toString();
+
+        TestExecutionResult testExecutionResult =
+                execute(testMethodTestDescriptor, createBaseline(true, uniqueId + "\t1"));
+        assertThat(testExecutionResult.getStatus()).isEqualTo(TestExecutionResult.Status.FAILED);
+        assertThat(testExecutionResult.getThrowable())
+                .containsInstanceOf(TestRegressionException.class);
+        assertThat(getRegression(testMethodTestDescriptor)).isNotNull();
+
+        // Warn mode, a regression is only reported
+        testMethodTestDescriptor = createTestMethodTestDescriptor();
+
+        testExecutionResult =
+                execute(testMethodTestDescriptor, createBaseline(false, uniqueId + "\t1"));
+        assertThat(testExecutionResult.getStatus())
+                .isEqualTo(TestExecutionResult.Status.SUCCESSFUL);
+        assertThat(getRegression(testMethodTestDescriptor)).isNotNull();
+
+        // Fail mode, no regression
+        testMethodTestDescriptor = createTestMethodTestDescriptor();
+
+        testExecutionResult =
+                execute(
+                        testMethodTestDescriptor,
+                        createBaseline(true, uniqueId + "\t" + Long.MAX_VALUE));
+        assertThat(testExecutionResult.getStatus())
+                .isEqualTo(TestExecutionResult.Status.SUCCESSFUL);
+        assertThat(getRegression(testMethodTestDescriptor)).isNull();
+    }
+
+    private Baseline createBaseline(boolean failMode, String... lines) throws IOException {
+        return createBaseline(failMode, argument.getPayload(), lines);
+    }
+
+    private Baseline createBaseline(boolean failMode, boolean useMinimum, String... lines)
+            throws IOException {
+        return Baseline.create(
+                writeBaseline(lines), false, failMode, 1D, Duration.ZERO, 5, useMinimum);
+    }
+
+    private Path writeBaseline(String... lines) throws IOException {
+        return Files.write(
+                Files.createTempFile(directory, "baseline", ".txt"),
+                Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private static TestMethodTestDescriptor createTestMethodTestDescriptor()
+            throws NoSuchMethodException {
+        TestMethodTestDescriptor testMethodTestDescriptor =
+                new TestMethodTestDescriptor(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID).append("method", "test"),
+                        "test",
+                        Subject.class,
+                        Collections.emptyList(),
+                        Subject.class.getMethod("test"),
+                        Collections.emptyList(),
+                        Argument.of("argument", 0));
+
+        EngineDescriptor classTestDescriptor =
+                new EngineDescriptor(UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), "class");
+        EngineDescriptor argumentTestDescriptor =
+                new EngineDescriptor(UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), "argument");
+        classTestDescriptor.addChild(argumentTestDescriptor);
+        argumentTestDescriptor.addChild(testMethodTestDescriptor);
+
+        return testMethodTestDescriptor;
+    }
+
+    private static TestExecutionResult execute(
+            TestMethodTestDescriptor testMethodTestDescriptor, Baseline baseline) {
+        List<TestExecutionResult> testExecutionResults = new ArrayList<>();
+
+        EngineExecutionListener engineExecutionListener =
+                new EngineExecutionListener() {
+                    @Override
+                    public void executionFinished(
+                            TestDescriptor testDescriptor,
+                            TestExecutionResult testExecutionResult) {
+                        testExecutionResults.add(testExecutionResult);
+                    }
+                };
+
+        ExecutionContext executionContext =
+                new ExecutionContext(
+                        ExecutionRequest.create(
+                                testMethodTestDescriptor,
+                                engineExecutionListener,
+                                Configuration.getInstance()));
+        executionContext.put(ExecutionContextConstant.TEST_INSTANCE, new Subject());
+        executionContext.put(ExecutionContextConstant.BASELINE, baseline);
+
+        testMethodTestDescriptor.execute(executionContext);
+
+        assertThat(testExecutionResults).hasSize(1);
+
+        return testExecutionResults.get(0);
+    }
+
+    private static Regression getRegression(TestMethodTestDescriptor testMethodTestDescriptor) {
+        return testMethodTestDescriptor
+                .getMetadata()
+                .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION);
+    }
+
+    /** Class to implement a test method subject */
+    public static class Subject {
+
+        public void test() {
+            // DO NOTHING
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.support.BenchmarkSupport;
+import org.antublue.test.engine.internal.util.BenchmarkResult;
+import org.junit.platform.commons.PreconditionViolationException;
+
+/** Example test */
+public class BenchmarkResultTest {
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("benchmark"));
+    }
+
+    @TestEngine.Test
+    public void testStatistics() {
+        // 100 samples of 100 ... 1 ns, measured in 2 seconds
+        long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = samples.length - i;
+        }
+
+        BenchmarkResult benchmarkResult = new BenchmarkResult(4, 5, samples, 2_000_000_000L);
+
+        assertThat(benchmarkResult.getThreads()).isEqualTo(4);
+        assertThat(benchmarkResult.getWarmupIterations()).isEqualTo(5);
+        assertThat(benchmarkResult.getOperations()).isEqualTo(100);
+        assertThat(benchmarkResult.getElapsedTime()).isEqualTo(2_000_000_000L);
+        assertThat(benchmarkResult.getOperationsPerSecond()).isCloseTo(50D, within(1e-9));
+        assertThat(benchmarkResult.getMinimum()).isEqualTo(1);
+        assertThat(benchmarkResult.getMaximum()).isEqualTo(100);
+        assertThat(benchmarkResult.getMean()).isCloseTo(50.5D, within(1e-9));
+        assertThat(benchmarkResult.getPercentile(0)).isEqualTo(1);
+        assertThat(benchmarkResult.getPercentile(50)).isEqualTo(50);
+        assertThat(benchmarkResult.getPercentile(90)).isEqualTo(90);
+        assertThat(benchmarkResult.getPercentile(99)).isEqualTo(99);
+        assertThat(benchmarkResult.getPercentile(99.5)).isEqualTo(100);
+        assertThat(benchmarkResult.getPercentile(100)).isEqualTo(100);
+        assertThat(benchmarkResult.getSamples()).isSorted().hasSize(100);
+        assertThat(benchmarkResult.toString()).startsWith("50.000 ops/s");
+
+        // The samples passed to the constructor aren't sorted in place
+        assertThat(samples[0]).isEqualTo(100);
+
+        assertThatThrownBy(() -> benchmarkResult.getPercentile(-1))
+                .isInstanceOf(PreconditionViolationException.class);
+        assertThatThrownBy(() -> benchmarkResult.getPercentile(100.1))
+                .isInstanceOf(PreconditionViolationException.class);
+    }
+
+    @TestEngine.Test
+    public void testSmallSample() {
+        BenchmarkResult benchmarkResult = new BenchmarkResult(1, 0, new long[] {30, 10, 20}, 0);
+
+        // An elapsed time of 0 is clamped to 1 ns
+        assertThat(benchmarkResult.getElapsedTime()).isEqualTo(1);
+        assertThat(benchmarkResult.getOperationsPerSecond()).isCloseTo(3e+9D, within(1e-3));
+        assertThat(benchmarkResult.getPercentile(0)).isEqualTo(10);
+        assertThat(benchmarkResult.getPercentile(33)).isEqualTo(10);
+        assertThat(benchmarkResult.getPercentile(34)).isEqualTo(20);
+        assertThat(benchmarkResult.getPercentile(50)).isEqualTo(20);
+        assertThat(benchmarkResult.getPercentile(90)).isEqualTo(30);
+        assertThat(benchmarkResult.getMean()).isCloseTo(20D, within(1e-9));
+    }
+
+    @TestEngine.Test
+    public void testBenchmark() throws Throwable {
+        Method method = Subject.class.getMethod("benchmark");
+
+        BenchmarkResult benchmarkResult = BenchmarkSupport.benchmark(new Subject(), method);
+
+        assertThat(benchmarkResult.getThreads()).isEqualTo(2);
+        assertThat(benchmarkResult.getWarmupIterations()).isEqualTo(3);
+        assertThat(benchmarkResult.getOperations()).isEqualTo(2 * 20);
+        assertThat(benchmarkResult.getMinimum()).isGreaterThan(0);
+    }
+
+    @TestEngine.Test
+    public void testInterrupt() throws Throwable {
+        Method method = Subject.class.getMethod("slowBenchmark");
+        String threadName = "benchmark-result-test-interrupt";
+        AtomicReference<Throwable> throwable = new AtomicReference<>();
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        Thread thread =
+                new Thread(
+                        () -> {
+                            try {
+                                BenchmarkSupport.benchmark(new Subject(countDownLatch), method);
+                            } catch (Throwable t) {
+                                throwable.set(t);
+                            }
+                        },
+                        threadName);
+        thread.start();
+
+        countDownLatch.await();
+        thread.interrupt();
+        thread.join();
+
+        assertThat(throwable.get()).isInstanceOf(InterruptedException.class);
+        assertThat(Thread.getAllStackTraces().keySet())
+                .noneMatch(t -> t.getName().startsWith(threadName + "-benchmark-"));
+    }
+
+    /** Class used as the subject of benchmarks */
+    public static class Subject {
+
+        private final CountDownLatch countDownLatch;
+
+        public Subject() {
+            this(new CountDownLatch(0));
+        }
+
+        public Subject(CountDownLatch countDownLatch) {
+            this.countDownLatch = countDownLatch;
+        }
+
+        @TestEngine.Benchmark(warmupIterations = 3, measurementIterations = 20, threads = 2)
+        public long benchmark() {
+            return System.nanoTime();
+        }
+
+        @TestEngine.Benchmark(warmupIterations = 0, measurementIterations = 1000, threads = 2)
+        public void slowBenchmark() throws InterruptedException {
+            countDownLatch.countDown();
+            Thread.sleep(10_000);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestCheckpointException;
+import org.antublue.test.engine.internal.checkpoint.Checkpoint;
+import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.execution.FailFast;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+
+/** Example test */
+public class CheckpointTest {
+
+    private static final FailFast FAIL_FAST_DISABLED = FailFast.create(false, 1, false);
+
+    private Path path;
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("checkpoint"));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() throws IOException {
+        path = Files.createTempFile("antublue-test-engine-checkpoint-", ".bin");
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @TestEngine.Test
+    public void testResume() throws IOException {
+        ClassTestDescriptor classTestDescriptor = createTestDescriptor(Subject.class);
+        TestDescriptor argumentTestDescriptor = classTestDescriptor.getChildren().iterator().next();
+        List<TestDescriptor> testMethodTestDescriptors =
+                new ArrayList<>(argumentTestDescriptor.getChildren());
+
+        Checkpoint checkpoint = Checkpoint.create(path, false, Duration.ZERO);
+        EngineExecutionListener engineExecutionListener =
+                checkpoint.wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED);
+
+        engineExecutionListener.executionStarted(classTestDescriptor);
+        engineExecutionListener.executionStarted(argumentTestDescriptor);
+        engineExecutionListener.executionStarted(testMethodTestDescriptors.get(0));
+        engineExecutionListener.executionFinished(
+                testMethodTestDescriptors.get(0), TestExecutionResult.successful());
+        engineExecutionListener.executionStarted(testMethodTestDescriptors.get(1));
+        engineExecutionListener.executionFinished(
+                testMethodTestDescriptors.get(1),
+                TestExecutionResult.failed(new AssertionError("expected")));
+        engineExecutionListener.executionFinished(
+                argumentTestDescriptor, TestExecutionResult.successful());
+        engineExecutionListener.executionFinished(
+                classTestDescriptor, TestExecutionResult.successful());
+
+        // Simulate a crash while writing the next record
+        checkpoint.close();
+        try (OutputStream outputStream = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            outputStream.write(new byte[] {0, 0, 1, 0, 42});
+        }
+
+        checkpoint = Checkpoint.create(path, true, Duration.ZERO);
+        RecordingEngineExecutionListener recordingEngineExecutionListener =
+                new RecordingEngineExecutionListener();
+        checkpoint.wrap(recordingEngineExecutionListener, FAIL_FAST_DISABLED);
+
+        assertThat(checkpoint.getCount()).isEqualTo(1);
+        assertThat(checkpoint.replay(createTestDescriptor(CheckpointTest.class))).isFalse();
+        assertThat(checkpoint.replay(createTestDescriptor(Subject.class))).isTrue();
+
+        assertThat(recordingEngineExecutionListener.events)
+                .containsExactly(
+                        "started " + classTestDescriptor.getUniqueId(),
+                        "started " + argumentTestDescriptor.getUniqueId(),
+                        "started " + testMethodTestDescriptors.get(0).getUniqueId(),
+                        "SUCCESSFUL " + testMethodTestDescriptors.get(0).getUniqueId(),
+                        "started " + testMethodTestDescriptors.get(1).getUniqueId(),
+                        "FAILED " + testMethodTestDescriptors.get(1).getUniqueId(),
+                        "SUCCESSFUL " + argumentTestDescriptor.getUniqueId(),
+                        "SUCCESSFUL " + classTestDescriptor.getUniqueId());
+        assertThat(recordingEngineExecutionListener.throwables)
+                .singleElement()
+                .isInstanceOf(TestCheckpointException.class)
+                .extracting(Throwable::getMessage)
+                .asString()
+                .contains("expected");
+
+        checkpoint.complete();
+
+        assertThat(path).doesNotExist();
+    }
+
+    @TestEngine.Test
+    public void testTimedSync() throws IOException, InterruptedException {
+        Checkpoint checkpoint = Checkpoint.create(path, false, Duration.ofMillis(200));
+        execute(
+                checkpoint.wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED),
+                createTestDescriptor(Subject.class),
+                null);
+
+        // Simulate a killed writer, leaving the checkpoint open without calling close()
+        long timeout = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (Files.size(path) == 0 && System.nanoTime() < timeout) {
+            Thread.sleep(10);
+        }
+
+        checkpoint = Checkpoint.create(path, true, Duration.ZERO);
+        checkpoint.wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED);
+
+        assertThat(checkpoint.getCount()).isEqualTo(1);
+        assertThat(checkpoint.replay(createTestDescriptor(Subject.class))).isTrue();
+
+        checkpoint.complete();
+    }
+
+    @TestEngine.Test
+    public void testNoResume() throws IOException {
+        Checkpoint checkpoint = Checkpoint.create(path, false, Duration.ZERO);
+        checkpoint
+                .wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED)
+                .executionSkipped(createTestDescriptor(Subject.class), "skipped");
+        checkpoint.close();
+
+        checkpoint = Checkpoint.create(path, false, Duration.ZERO);
+        checkpoint.wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED);
+
+        assertThat(checkpoint.getCount()).isZero();
+        assertThat(checkpoint.replay(createTestDescriptor(Subject.class))).isFalse();
+
+        checkpoint.close();
+    }
+
+    @TestEngine.Test
+    public void testTornTail() throws IOException {
+        Checkpoint checkpoint = Checkpoint.create(path, false, Duration.ZERO);
+        checkpoint
+                .wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED)
+                .executionSkipped(createTestDescriptor(Subject.class), "skipped");
+        checkpoint.close();
+
+        byte[] journal = Files.readAllBytes(path);
+        byte[] record = Arrays.copyOfRange(journal, Integer.BYTES, journal.length);
+        byte[] undecodable = {0, 5, 'a'};
+
+        List<byte[]> tails = new ArrayList<>();
+        // Negative length
+        tails.add(new byte[] {-1, -1, -1, -1, 0, 0, 0, 0, 42});
+        // Zero length
+        tails.add(new byte[] {0, 0, 0, 0, 0, 0, 0, 0});
+        // Length longer than the rest of the journal
+        tails.add(new byte[] {0, 0, 1, 0, 0, 0, 0, 0, 42});
+        // Partial header
+        tails.add(new byte[] {0, 0, 0});
+        // Checksum mismatch
+        tails.add(concat(new byte[] {0, 0, 0, 3, 1, 2, 3, 4}, undecodable));
+        // Checksum match, but the payload can't be decoded
+        tails.add(concat(header(undecodable), undecodable));
+        // Partially written record
+        tails.add(Arrays.copyOf(record, record.length / 2));
+
+        for (byte[] tail : tails) {
+            Files.write(path, concat(journal, tail));
+
+            // The torn tail is truncated, and records are appended after the last valid record
+            checkpoint = Checkpoint.create(path, true, Duration.ZERO);
+            assertThat(checkpoint.getCount()).isEqualTo(1);
+            assertThat(Files.size(path)).isEqualTo(journal.length);
+
+            checkpoint
+                    .wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED)
+                    .executionSkipped(createTestDescriptor(FailedSubject.class), "skipped");
+            checkpoint.close();
+
+            checkpoint = Checkpoint.create(path, true, Duration.ZERO);
+            assertThat(checkpoint.getCount()).isEqualTo(2);
+            checkpoint.close();
+        }
+    }
+
+    @TestEngine.Test
+    public void testResumeAfterFailFast() throws IOException {
+        ClassTestDescriptor passedTestDescriptor = createTestDescriptor(Subject.class);
+        ClassTestDescriptor failedTestDescriptor = createTestDescriptor(FailedSubject.class);
+        ClassTestDescriptor skippedTestDescriptor = createTestDescriptor(SkippedSubject.class);
+        ClassTestDescriptor crashedTestDescriptor = createTestDescriptor(CrashedSubject.class);
+
+        FailFast failFast = FailFast.create(true, 2, false);
+        Checkpoint checkpoint = Checkpoint.create(path, false, Duration.ZERO);
+        EngineExecutionListener engineExecutionListener =
+                failFast.wrap(checkpoint.wrap(new RecordingEngineExecutionListener(), failFast));
+
+        // A test class executed before fail fast is triggered
+        execute(engineExecutionListener, passedTestDescriptor, null);
+
+        // A test class executed by a forked worker that exited (the first failure)
+        checkpoint.discard(crashedTestDescriptor);
+        engineExecutionListener.executionStarted(crashedTestDescriptor);
+        engineExecutionListener.executionFinished(
+                crashedTestDescriptor,
+                TestExecutionResult.failed(new IllegalStateException("worker exited")));
+        assertThat(failFast.isTriggered()).isFalse();
+
+        // A test class with a failed test method (the second failure), which triggers fail fast
+        execute(engineExecutionListener, failedTestDescriptor, new AssertionError("expected"));
+        assertThat(failFast.isTriggered()).isTrue();
+
+        // A test class skipped by fail fast
+        engineExecutionListener.executionSkipped(skippedTestDescriptor, "fail fast");
+
+        checkpoint.close();
+
+        checkpoint = Checkpoint.create(path, true, Duration.ZERO);
+        checkpoint.wrap(new RecordingEngineExecutionListener(), FAIL_FAST_DISABLED);
+
+        // Only the test class executed before fail fast is replayed, the others are executed
+        assertThat(checkpoint.getCount()).isEqualTo(1);
+        assertThat(checkpoint.replay(createTestDescriptor(Subject.class))).isTrue();
+        assertThat(checkpoint.replay(createTestDescriptor(FailedSubject.class))).isFalse();
+        assertThat(checkpoint.replay(createTestDescriptor(SkippedSubject.class))).isFalse();
+        assertThat(checkpoint.replay(createTestDescriptor(CrashedSubject.class))).isFalse();
+
+        checkpoint.complete();
+    }
+
+    private static byte[] header(byte[] bytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, bytes.length);
+        return ByteBuffer.allocate(Integer.BYTES * 2)
+                .putInt(bytes.length)
+                .putInt((int) crc32.getValue())
+                .array();
+    }
+
+    private static byte[] concat(byte[] bytes1, byte[] bytes2) {
+        byte[] bytes = Arrays.copyOf(bytes1, bytes1.length + bytes2.length);
+        System.arraycopy(bytes2, 0, bytes, bytes1.length, bytes2.length);
+        return bytes;
+    }
+
+    private static void execute(
+            EngineExecutionListener engineExecutionListener,
+            ClassTestDescriptor classTestDescriptor,
+            Throwable throwable) {
+        engineExecutionListener.executionStarted(classTestDescriptor);
+        for (TestDescriptor argumentTestDescriptor : classTestDescriptor.getChildren()) {
+            engineExecutionListener.executionStarted(argumentTestDescriptor);
+            for (TestDescriptor testMethodTestDescriptor : argumentTestDescriptor.getChildren()) {
+                engineExecutionListener.executionStarted(testMethodTestDescriptor);
+                engineExecutionListener.executionFinished(
+                        testMethodTestDescriptor,
+                        throwable != null
+                                ? TestExecutionResult.failed(throwable)
+                                : TestExecutionResult.successful());
+            }
+            engineExecutionListener.executionFinished(
+                    argumentTestDescriptor, TestExecutionResult.successful());
+        }
+        engineExecutionListener.executionFinished(
+                classTestDescriptor, TestExecutionResult.successful());
+    }
+
+    private static ClassTestDescriptor createTestDescriptor(Class<?> testClass) {
+        ClassTestDescriptor classTestDescriptor =
+                ClassTestDescriptor.create(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), testClass);
+
+        Argument<String> testArgument = Argument.ofString("argument");
+        ArgumentTestDescriptor argumentTestDescriptor =
+                ArgumentTestDescriptor.create(
+                        classTestDescriptor.getUniqueId(), testClass, testArgument, 0);
+        classTestDescriptor.addChild(argumentTestDescriptor);
+
+        for (Method method : Subject.class.getDeclaredMethods()) {
+            if (method.getName().startsWith("test")) {
+                argumentTestDescriptor.addChild(
+                        TestMethodTestDescriptor.create(
+                                argumentTestDescriptor.getUniqueId(),
+                                testClass,
+                                method,
+                                testArgument));
+            }
+        }
+
+        return classTestDescriptor;
+    }
+
+    /** Class used as the subject of checkpoint journal records */
+    public static class Subject {
+
+        public void test1() {
+            // DO NOTHING
+        }
+
+        public void test2() {
+            // DO NOTHING
+        }
+    }
+
+    /** Class used as the subject of a failed test class */
+    public static class FailedSubject extends Subject {}
+
+    /** Class used as the subject of a test class skipped by fail fast */
+    public static class SkippedSubject extends Subject {}
+
+    /** Class used as the subject of a test class executed by a forked worker that exited */
+    public static class CrashedSubject extends Subject {}
+
+    private static class RecordingEngineExecutionListener implements EngineExecutionListener {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Throwable> throwables = new ArrayList<>();
+
+        @Override
+        public void executionStarted(TestDescriptor testDescriptor) {
+            events.add("started " + testDescriptor.getUniqueId());
+        }
+
+        @Override
+        public void executionFinished(
+                TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+            events.add(testExecutionResult.getStatus() + " " + testDescriptor.getUniqueId());
+            testExecutionResult.getThrowable().ifPresent(throwables::add);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestEngineConfigurationException;
+import org.antublue.test.engine.internal.configuration.Configuration;
+
+/** Example test */
+public class ConfigurationTest {
+
+    private static final String ENVIRONMENT_VARIABLE = "ANTUBLUE_TEST_ENGINE_CONFIGURATION_TEST";
+
+    private static final String SYSTEM_PROPERTY = "antublue.test.engine.configuration.test";
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(
+                Argument.of("system property key", SYSTEM_PROPERTY),
+                Argument.of("environment variable key", ENVIRONMENT_VARIABLE));
+    }
+
+    @TestEngine.Test
+    public void testGetInteger() {
+        String key = argument.getPayload();
+
+        assertThat(createConfiguration(" 42 ").getInteger(key)).contains(42);
+        assertThat(createConfiguration("-1").getInteger(key)).contains(-1);
+        assertThat(createConfiguration(null).getInteger(key)).isEmpty();
+
+        assertInvalid(() -> createConfiguration("forty two").getInteger(key));
+        assertInvalid(() -> createConfiguration("4294967296").getInteger(key));
+    }
+
+    @TestEngine.Test
+    public void testGetDuration() {
+        String key = argument.getPayload();
+
+        assertThat(createConfiguration("1500").getDuration(key)).contains(Duration.ofMillis(1500));
+        assertThat(createConfiguration(" PT30S ").getDuration(key))
+                .contains(Duration.ofSeconds(30));
+        assertThat(createConfiguration(null).getDuration(key)).isEmpty();
+
+        assertInvalid(() -> createConfiguration("30 seconds").getDuration(key));
+        assertInvalid(() -> createConfiguration("-1").getDuration(key));
+    }
+
+    @TestEngine.Test
+    public void testGetPattern() {
+        String key = argument.getPayload();
+
+        Configuration configuration = createConfiguration("^example\\..*Test$");
+        Pattern pattern = configuration.getPattern(key).orElse(null);
+        assertThat(pattern).isNotNull();
+        assertThat(pattern.matcher("example.ConfigurationTest").matches()).isTrue();
+        assertThat(configuration.getPattern(key).orElse(null)).isSameAs(pattern);
+        assertThat(createConfiguration(null).getPattern(key)).isEmpty();
+
+        assertInvalid(() -> createConfiguration("[example").getPattern(key));
+    }
+
+    @TestEngine.Test
+    public void testSet() {
+        String key = argument.getPayload();
+
+        Configuration configuration = createConfiguration("1");
+        assertThat(configuration.getInteger(key)).contains(1);
+
+        configuration.set(SYSTEM_PROPERTY, "2");
+        assertThat(configuration.get(key)).contains("2");
+        assertThat(configuration.getInteger(key)).contains(2);
+
+        configuration.set(ENVIRONMENT_VARIABLE, "invalid");
+        assertInvalid(() -> configuration.getInteger(key));
+    }
+
+    @TestEngine.Test
+    public void testKeyForms() {
+        Configuration configuration = createConfiguration("value");
+
+        assertThat(configuration.get(argument.getPayload())).contains("value");
+        assertThat(configuration.get("Antublue.Test.Engine.Configuration.Test")).contains("value");
+        assertThat(configuration.get("antublue_test_engine_configuration_test")).contains("value");
+        assertThat(configuration.get("antublue.test.engine.configuration.missing")).isEmpty();
+        assertThat(configuration.get("ANTUBLUE_TEST_ENGINE_CONFIGURATION_MISSING")).isEmpty();
+        assertThat(configuration.get("Antublue.Test.Engine.Configuration.Missing")).isEmpty();
+        assertThat(configuration.keySet())
+                .contains(ENVIRONMENT_VARIABLE)
+                .doesNotContain(SYSTEM_PROPERTY);
+    }
+
+    @TestEngine.Test
+    public void testPrecedence() {
+        String key = argument.getPayload();
+
+        Properties properties = new Properties();
+        properties.setProperty(SYSTEM_PROPERTY, "system property");
+
+        Configuration configuration = new Configuration(properties, Collections.emptyMap());
+        assertThat(configuration.get(key)).contains("system property");
+
+        Map<String, String> environment = new HashMap<>();
+        environment.put(ENVIRONMENT_VARIABLE, "environment variable");
+
+        configuration = new Configuration(properties, environment);
+        assertThat(configuration.get(key)).contains("environment variable");
+
+        configuration = new Configuration(new Properties(), environment);
+        assertThat(configuration.get(key)).contains("environment variable");
+    }
+
+    private static Configuration createConfiguration(String value) {
+        Map<String, String> environment = new HashMap<>();
+        if (value != null) {
+            environment.put(ENVIRONMENT_VARIABLE, value);
+        }
+        return new Configuration(new Properties(), environment);
+    }
+
+    private static void assertInvalid(Runnable runnable) {
+        assertThatThrownBy(runnable::run)
+                .isInstanceOf(TestEngineConfigurationException.class)
+                .hasMessageStartingWith("Invalid ");
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/** Example test */
+public class ExecutionContextTest {
+
+    private static final ExecutionContext.Key<String> NAME =
+            ExecutionContext.Key.of("name", String.class);
+
+    private static final ExecutionContext.Key<Integer> INDEX =
+            ExecutionContext.Key.of("index", Integer.class);
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        return Stream.of(Argument.of("1 child", 1), Argument.of("64 children", 64));
+    }
+
+    @TestEngine.Test
+    public void testParentValuesAreInherited() {
+        ExecutionContext parent = createExecutionContext();
+        parent.put(NAME, "parent");
+
+        ExecutionContext child = new ExecutionContext(new ExecutionContext(parent));
+
+        assertThat(child.get(NAME)).isEqualTo("parent");
+        assertThat(child.containsKey(INDEX)).isFalse();
+        assertThat(child.getParent().getParent()).isSameAs(parent);
+        assertThat(child.getExecutionRequest()).isSameAs(parent.getExecutionRequest());
+    }
+
+    @TestEngine.Test
+    public void testChildValuesAreLocal() {
+        ExecutionContext parent = createExecutionContext();
+        parent.put(NAME, "parent");
+
+        ExecutionContext child = new ExecutionContext(parent);
+        assertThat(child.put(NAME, "child")).isNull();
+
+        assertThat(child.get(NAME)).isEqualTo("child");
+        assertThat(parent.get(NAME)).isEqualTo("parent");
+
+        assertThat(child.remove(NAME)).isEqualTo("child");
+        assertThat(child.remove(NAME)).isNull();
+        assertThat(child.get(NAME)).isEqualTo("parent");
+    }
+
+    @TestEngine.Test
+    public void testPutOverwrite() {
+        ExecutionContext parent = createExecutionContext();
+        assertThat(parent.put(NAME, "first")).isNull();
+        assertThat(parent.put(NAME, "second")).isEqualTo("first");
+        assertThat(parent.get(NAME)).isEqualTo("second");
+
+        // The existing value is only the value in this execution context, not the parent's
+        ExecutionContext child = new ExecutionContext(parent);
+        assertThat(child.put(NAME, "child")).isNull();
+        assertThat(child.put(NAME, "child again")).isEqualTo("child");
+        assertThat(parent.get(NAME)).isEqualTo("second");
+    }
+
+    @TestEngine.Test
+    public void testRemoveDoesNotRemoveParentValues() {
+        ExecutionContext parent = createExecutionContext();
+        parent.put(NAME, "parent");
+        parent.put(INDEX, argument.getPayload());
+
+        ExecutionContext child = new ExecutionContext(parent);
+        assertThat(child.remove(NAME)).isNull();
+        assertThat(child.get(NAME)).isEqualTo("parent");
+        assertThat(child.containsKey(NAME)).isTrue();
+        assertThat(parent.get(NAME)).isEqualTo("parent");
+
+        assertThat(parent.remove(INDEX)).isEqualTo(argument.getPayload());
+        assertThat(child.containsKey(INDEX)).isFalse();
+    }
+
+    @TestEngine.Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testKeyTypeRejection() {
+        ExecutionContext executionContext = createExecutionContext();
+        ExecutionContext.Key rawKey = INDEX;
+
+        assertThatThrownBy(() -> executionContext.put(rawKey, "not an integer"))
+                .isInstanceOf(ClassCastException.class);
+        assertThat(executionContext.containsKey(INDEX)).isFalse();
+
+        assertThatThrownBy(() -> executionContext.put(NAME, null))
+                .isInstanceOf(PreconditionViolationException.class);
+        assertThatThrownBy(() -> ExecutionContext.Key.of(" ", String.class))
+                .isInstanceOf(PreconditionViolationException.class);
+
+        assertThat(INDEX.getName()).isEqualTo("index");
+        assertThat(INDEX.getType()).isEqualTo(Integer.class);
+    }
+
+    @TestEngine.Test
+    public void testEngineExecutionListener() {
+        ExecutionContext parent = createExecutionContext();
+        parent.put(NAME, "parent");
+
+        List<TestDescriptor> started = new ArrayList<>();
+        EngineExecutionListener engineExecutionListener =
+                new EngineExecutionListener() {
+                    @Override
+                    public void executionStarted(TestDescriptor testDescriptor) {
+                        started.add(testDescriptor);
+                    }
+                };
+
+        ExecutionContext child = new ExecutionContext(parent, engineExecutionListener);
+        assertThat(child.get(NAME)).isEqualTo("parent");
+        assertThat(child.getExecutionRequest().getEngineExecutionListener())
+                .isSameAs(engineExecutionListener);
+        assertThat(child.getExecutionRequest().getRootTestDescriptor())
+                .isSameAs(parent.getExecutionRequest().getRootTestDescriptor());
+
+        child.getExecutionRequest()
+                .getEngineExecutionListener()
+                .executionStarted(child.getExecutionRequest().getRootTestDescriptor());
+        assertThat(started).hasSize(1);
+    }
+
+    @TestEngine.Test
+    public void testParallelChildren() throws Exception {
+        int children = argument.getPayload();
+
+        ExecutionContext parent = createExecutionContext();
+        parent.put(NAME, "parent");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < children; i++) {
+                int index = i;
+                ExecutionContext child = new ExecutionContext(parent);
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    child.put(INDEX, index);
+                                    return "parent".equals(child.get(NAME))
+                                            && child.get(INDEX) == index
+                                            && parent.get(INDEX) == null;
+                                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutionContext createExecutionContext() {
+        return new ExecutionContext(
+                ExecutionRequest.create(
+                        new EngineDescriptor(
+                                UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID),
+                                AntuBLUETestEngine.ENGINE_ID),
+                        EngineExecutionListener.NOOP,
+                        Configuration.getInstance()));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.execution.FailFast;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/** Example test */
+public class FailFastTest {
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        return Stream.of(Argument.of("threshold 1", 1), Argument.of("threshold 3", 3));
+    }
+
+    @TestEngine.Test
+    public void testDisabled() {
+        FailFast failFast = FailFast.create(false, argument.getPayload(), false);
+        EngineExecutionListener engineExecutionListener = new RecordingEngineExecutionListener();
+
+        assertThat(failFast.wrap(engineExecutionListener)).isSameAs(engineExecutionListener);
+        assertThat(failFast.register()).isTrue();
+        assertThat(failFast.isTriggered()).isFalse();
+    }
+
+    @TestEngine.Test
+    public void testThreshold() {
+        int threshold = argument.getPayload();
+        FailFast failFast = FailFast.create(true, threshold, false);
+        RecordingEngineExecutionListener recordingEngineExecutionListener =
+                new RecordingEngineExecutionListener();
+        EngineExecutionListener engineExecutionListener =
+                failFast.wrap(recordingEngineExecutionListener);
+
+        TestDescriptor testDescriptor = createTestDescriptor();
+
+        engineExecutionListener.executionFinished(testDescriptor, TestExecutionResult.successful());
+        assertThat(failFast.getFailureCount()).isZero();
+
+        for (int i = 1; i < threshold; i++) {
+            engineExecutionListener.executionFinished(
+                    testDescriptor, TestExecutionResult.failed(new AssertionError()));
+            assertThat(failFast.isTriggered()).isFalse();
+            assertThat(failFast.register()).isTrue();
+            failFast.unregister();
+        }
+
+        engineExecutionListener.executionFinished(
+                testDescriptor, TestExecutionResult.failed(new AssertionError()));
+
+        assertThat(failFast.getFailureCount()).isEqualTo(threshold);
+        assertThat(failFast.isTriggered()).isTrue();
+        assertThat(failFast.register()).isFalse();
+        assertThat(recordingEngineExecutionListener.finished).hasSize(threshold + 1);
+    }
+
+    @TestEngine.Test
+    public void testInterrupt() throws InterruptedException {
+        FailFast failFast = FailFast.create(true, argument.getPayload(), true);
+        EngineExecutionListener engineExecutionListener =
+                failFast.wrap(new RecordingEngineExecutionListener());
+
+        Object lock = new Object();
+        List<Boolean> interrupted = new ArrayList<>();
+
+        Thread thread =
+                new Thread(
+                        () -> {
+                            failFast.register();
+                            try {
+                                synchronized (lock) {
+                                    lock.notifyAll();
+                                }
+                                Thread.sleep(10000);
+                                interrupted.add(false);
+                            } catch (InterruptedException e) {
+                                interrupted.add(true);
+                            } finally {
+                                failFast.unregister();
+                            }
+                        });
+
+        synchronized (lock) {
+            thread.start();
+            lock.wait();
+        }
+
+        for (int i = 0; i < argument.getPayload(); i++) {
+            engineExecutionListener.executionFinished(
+                    createTestDescriptor(), TestExecutionResult.failed(new AssertionError()));
+        }
+
+        thread.join();
+
+        assertThat(interrupted).containsExactly(true);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    private static TestDescriptor createTestDescriptor() {
+        return new EngineDescriptor(
+                UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), "fail-fast-test");
+    }
+
+    private static class RecordingEngineExecutionListener implements EngineExecutionListener {
+
+        private final List<TestExecutionResult> finished = new ArrayList<>();
+
+        @Override
+        public void executionFinished(
+                TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+            finished.add(testExecutionResult);
+        }
+    }
+}
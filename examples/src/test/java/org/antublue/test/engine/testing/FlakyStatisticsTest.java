@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.flaky.FlakyStatistics;
+
+/** Example test */
+public class FlakyStatisticsTest {
+
+    private static final String UNIQUE_ID = "[engine:antublue-test-engine]/[class:example.Test]";
+
+    @TestEngine.Argument public Argument<Double> argument;
+
+    private Path path;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Double>> arguments() {
+        return Stream.of(Argument.of("threshold 0.1", 0.1D), Argument.of("threshold 0.5", 0.5D));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() throws IOException {
+        path = Files.createTempFile("antublue-test-engine-flaky-", ".txt");
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @TestEngine.Test
+    public void testFlakeRate() throws IOException {
+        Map<String, String> map = new TreeMap<>();
+        map.put(UNIQUE_ID + "/passed", "PPPPPPPPPP");
+        map.put(UNIQUE_ID + "/failed", "FFFFFFFFFF");
+        map.put(UNIQUE_ID + "/retried", "PPRPPPPPRP");
+        map.put(UNIQUE_ID + "/alternating", "PFPFPFPFPF");
+        map.put(UNIQUE_ID + "/broken", "PPPPPPPPFF");
+        map.put(UNIQUE_ID + "/retried.then.failed", "PPPPPPPPRF");
+        FlakyStatistics.write(path, map);
+
+        FlakyStatistics flakyStatistics =
+                FlakyStatistics.create(path, argument.getPayload(), 5, 50);
+
+        assertFlakeRate(flakyStatistics, "passed", 0D);
+        assertFlakeRate(flakyStatistics, "failed", 0D);
+        assertFlakeRate(flakyStatistics, "retried", 0.2D);
+        assertFlakeRate(flakyStatistics, "alternating", 0.9D);
+        assertFlakeRate(flakyStatistics, "broken", 0.1D);
+        assertFlakeRate(flakyStatistics, "retried.then.failed", 0.2D);
+        assertFlakeRate(flakyStatistics, "missing", 0D);
+    }
+
+    @TestEngine.Test
+    public void testQuarantineWithoutRetries() throws IOException {
+        Map<String, String> map = new TreeMap<>();
+        map.put(UNIQUE_ID + "/flaky", "PFPPFPPFPP");
+        map.put(UNIQUE_ID + "/new", "PFPF");
+        FlakyStatistics.write(path, map);
+
+        FlakyStatistics flakyStatistics =
+                FlakyStatistics.create(path, argument.getPayload(), 5, 50);
+        assertThat(flakyStatistics.getFlakeRate(UNIQUE_ID + "/flaky"))
+                .isCloseTo(0.6D, within(1e-9));
+        assertThat(flakyStatistics.isQuarantined(UNIQUE_ID + "/flaky")).isTrue();
+
+        // Fewer than the minimum runs
+        assertThat(flakyStatistics.isQuarantined(UNIQUE_ID + "/new")).isFalse();
+
+        // Disabled
+        flakyStatistics = FlakyStatistics.create(null, argument.getPayload(), 5, 50);
+        assertThat(flakyStatistics.isQuarantined(UNIQUE_ID + "/flaky")).isFalse();
+    }
+
+    private void assertFlakeRate(FlakyStatistics flakyStatistics, String name, double flakeRate) {
+        String uniqueId = UNIQUE_ID + "/" + name;
+
+        assertThat(flakyStatistics.getFlakeRate(uniqueId))
+                .as(name)
+                .isCloseTo(flakeRate, within(1e-9));
+        assertThat(flakyStatistics.isQuarantined(uniqueId))
+                .as(name)
+                .isEqualTo(flakeRate >= argument.getPayload());
+    }
+}
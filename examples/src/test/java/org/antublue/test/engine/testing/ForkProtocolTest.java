@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.baseline.Regression;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.Metadata;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.fork.ForkProtocol;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+
+/** Example test */
+public class ForkProtocolTest {
+
+    private static final UniqueId ENGINE_UNIQUE_ID =
+            UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID);
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("fork"));
+    }
+
+    @TestEngine.Test
+    public void testMetadata() throws IOException {
+        ClassTestDescriptor source = ClassTestDescriptor.create(ENGINE_UNIQUE_ID, getClass());
+        source.getMetadata()
+                .put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+                        MetadataTestDescriptorConstants.FAIL);
+        source.getMetadata()
+                .put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
+                        Duration.ofNanos(123456789L));
+        source.getMetadata()
+                .put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION,
+                        new Regression("uniqueId", 10L, 20L));
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+            ForkProtocol.writeMetadata(dataOutputStream, source);
+        }
+
+        ClassTestDescriptor target = ClassTestDescriptor.create(ENGINE_UNIQUE_ID, getClass());
+        try (DataInputStream dataInputStream =
+                new DataInputStream(
+                        new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            ForkProtocol.readMetadata(dataInputStream, target);
+        }
+
+        Metadata metadata = target.getMetadata();
+        assertThat((Object) metadata.get(MetadataTestDescriptorConstants.TEST_CLASS))
+                .isEqualTo(getClass());
+        assertThat((Object) metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS))
+                .isEqualTo(MetadataTestDescriptorConstants.FAIL);
+        assertThat(
+                        (Object)
+                                metadata.get(
+                                        MetadataTestDescriptorConstants
+                                                .TEST_DESCRIPTOR_ELAPSED_TIME))
+                .isEqualTo(Duration.ofNanos(123456789L));
+
+        Regression regression =
+                metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_BASELINE_REGRESSION);
+        assertThat(regression.getUniqueId()).isEqualTo("uniqueId");
+        assertThat(regression.getBaselineTime()).isEqualTo(10L);
+        assertThat(regression.getElapsedTime()).isEqualTo(20L);
+    }
+
+    @TestEngine.Test
+    public void testTestExecutionResult() throws IOException {
+        TestExecutionResult testExecutionResult =
+                roundTrip(TestExecutionResult.failed(new AssertionError("expected failure")));
+
+        assertThat(testExecutionResult.getStatus()).isEqualTo(TestExecutionResult.Status.FAILED);
+        assertThat(testExecutionResult.getThrowable())
+                .containsInstanceOf(AssertionError.class)
+                .hasValueSatisfying(t -> assertThat(t).hasMessage("expected failure"));
+
+        assertThat(roundTrip(TestExecutionResult.successful()).getStatus())
+                .isEqualTo(TestExecutionResult.Status.SUCCESSFUL);
+    }
+
+    @TestEngine.Test
+    public void testThrowable() throws IOException {
+        // Longer than the 64 KB limit of writeUTF
+        StringBuilder stringBuilder = new StringBuilder();
+        while (stringBuilder.length() < 70000) {
+            stringBuilder.append("message ");
+        }
+
+        IllegalStateException cause = new IllegalStateException(stringBuilder.toString());
+        IOException ioException = new IOException("failure", cause);
+        ioException.addSuppressed(new AssertionError("suppressed"));
+
+        TestExecutionResult testExecutionResult =
+                roundTrip(TestExecutionResult.aborted(ioException));
+
+        assertThat(testExecutionResult.getStatus()).isEqualTo(TestExecutionResult.Status.ABORTED);
+
+        Throwable throwable = testExecutionResult.getThrowable().orElse(null);
+        assertThat(throwable).isInstanceOf(IOException.class).hasMessage("failure");
+        assertStackTrace(throwable, ioException);
+
+        assertThat(throwable.getCause())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage(cause.getMessage());
+        assertStackTrace(throwable.getCause(), cause);
+
+        assertThat(throwable.getSuppressed()).hasSize(1);
+        assertThat(throwable.getSuppressed()[0])
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("suppressed");
+    }
+
+    @TestEngine.Test
+    public void testUnknownThrowable() throws IOException {
+        // Doesn't have a public constructor, so it can't be created by the reader
+        UnknownException unknownException = new UnknownException();
+
+        TestExecutionResult testExecutionResult =
+                roundTrip(TestExecutionResult.failed(unknownException));
+
+        assertThat(testExecutionResult.getThrowable())
+                .containsInstanceOf(TestEngineException.class)
+                .hasValueSatisfying(
+                        t -> {
+                            assertThat(t)
+                                    .hasMessage(
+                                            UnknownException.class.getName()
+                                                    + ": "
+                                                    + unknownException.getMessage());
+                            assertStackTrace(t, unknownException);
+                        });
+    }
+
+    @TestEngine.Test
+    public void testCyclicThrowable() throws IOException {
+        RuntimeException runtimeException1 = new RuntimeException("1");
+        RuntimeException runtimeException2 = new RuntimeException("2", runtimeException1);
+        runtimeException1.initCause(runtimeException2);
+
+        Throwable throwable =
+                roundTrip(TestExecutionResult.failed(runtimeException1))
+                        .getThrowable()
+                        .orElse(null);
+
+        // Nesting is limited
+        int depth = 0;
+        while (throwable != null) {
+            assertThat(throwable).hasMessage(depth % 2 == 0 ? "1" : "2");
+            throwable = throwable.getCause();
+            depth++;
+        }
+        assertThat(depth).isBetween(2, 64);
+    }
+
+    @TestEngine.Test
+    public void testSplitClassUniqueId() {
+        UniqueId uniqueId =
+                ENGINE_UNIQUE_ID.append(
+                        ClassTestDescriptor.class.getName(),
+                        ParallelArgumentTest.class.getName() + "[1]");
+
+        TestDescriptor testDescriptor =
+                new AntuBLUETestEngine()
+                        .discover(
+                                LauncherDiscoveryRequestBuilder.request()
+                                        .selectors(DiscoverySelectors.selectUniqueId(uniqueId))
+                                        .build(),
+                                ENGINE_UNIQUE_ID);
+
+        assertThat(testDescriptor.getChildren()).hasSize(1);
+
+        TestDescriptor classTestDescriptor = testDescriptor.getChildren().iterator().next();
+        assertThat(classTestDescriptor.getUniqueId()).isEqualTo(uniqueId);
+        assertThat(classTestDescriptor.getChildren()).hasSize(1);
+    }
+
+    /**
+     * Method to assert stack traces are equal (module and ClassLoader names aren't written)
+     *
+     * @param actual actual
+     * @param expected expected
+     */
+    private static void assertStackTrace(Throwable actual, Throwable expected) {
+        StackTraceElement[] actualStackTrace = actual.getStackTrace();
+        StackTraceElement[] expectedStackTrace = expected.getStackTrace();
+
+        assertThat(actualStackTrace).hasSameSizeAs(expectedStackTrace);
+        for (int i = 0; i < expectedStackTrace.length; i++) {
+            assertThat(actualStackTrace[i].getClassName())
+                    .isEqualTo(expectedStackTrace[i].getClassName());
+            assertThat(actualStackTrace[i].getMethodName())
+                    .isEqualTo(expectedStackTrace[i].getMethodName());
+            assertThat(actualStackTrace[i].getFileName())
+                    .isEqualTo(expectedStackTrace[i].getFileName());
+            assertThat(actualStackTrace[i].getLineNumber())
+                    .isEqualTo(expectedStackTrace[i].getLineNumber());
+        }
+    }
+
+    private static TestExecutionResult roundTrip(TestExecutionResult testExecutionResult)
+            throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+            ForkProtocol.writeTestExecutionResult(dataOutputStream, testExecutionResult);
+        }
+
+        try (DataInputStream dataInputStream =
+                new DataInputStream(
+                        new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            return ForkProtocol.readTestExecutionResult(
+                    dataInputStream, Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    /** Exception without a public constructor */
+    private static class UnknownException extends RuntimeException {
+
+        private UnknownException() {
+            super("unknown");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.util.HashedWheelTimer;
+
+/** Example test */
+public class HashedWheelTimerTest {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private String threadName;
+    private HashedWheelTimer hashedWheelTimer;
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        // Ticks per wheel (one rotation of the wheel is ticks per wheel * 1 ms)
+        return Stream.of(Argument.ofInt(1), Argument.ofInt(8));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() {
+        threadName = "hashed-wheel-timer-test-" + COUNTER.incrementAndGet();
+        hashedWheelTimer =
+                new HashedWheelTimer(threadName, 1, TimeUnit.MILLISECONDS, argument.getPayload());
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() {
+        hashedWheelTimer.stop();
+    }
+
+    @TestEngine.Test
+    public void testZeroDelay() throws InterruptedException {
+        CountDownLatch countDownLatch = new CountDownLatch(2);
+
+        HashedWheelTimer.Timeout timeout =
+                hashedWheelTimer.schedule(countDownLatch::countDown, 0, TimeUnit.MILLISECONDS);
+
+        // A negative delay expires on the next tick
+        hashedWheelTimer.schedule(countDownLatch::countDown, -10, TimeUnit.MILLISECONDS);
+
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.isExpired()).isTrue();
+    }
+
+    @TestEngine.Test
+    public void testDelayLongerThanRotation() throws InterruptedException {
+        long delay = argument.getPayload() * 5L + 3;
+        AtomicLong expiredTime = new AtomicLong();
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        long startTime = System.nanoTime();
+        hashedWheelTimer.schedule(
+                () -> {
+                    expiredTime.set(System.nanoTime());
+                    countDownLatch.countDown();
+                },
+                delay,
+                TimeUnit.MILLISECONDS);
+
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The remaining rounds keep the Timeout from expiring on an earlier rotation
+        assertThat(expiredTime.get() - startTime)
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delay));
+    }
+
+    @TestEngine.Test
+    public void testCancelBeforeExpiry() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout cancelled =
+                hashedWheelTimer.schedule(count::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        hashedWheelTimer.schedule(countDownLatch::countDown, 40, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelled.isExpired()).isFalse();
+        assertThat(count.get()).isZero();
+    }
+
+    @TestEngine.Test
+    public void testTaskException() throws InterruptedException {
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        hashedWheelTimer.schedule(
+                () -> {
+                    throw new IllegalStateException("expected");
+                },
+                0,
+                TimeUnit.MILLISECONDS);
+        hashedWheelTimer.schedule(countDownLatch::countDown, 5, TimeUnit.MILLISECONDS);
+
+        // A failed task doesn't stop the timer
+        assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @TestEngine.Test
+    public void testStop() {
+        AtomicInteger count = new AtomicInteger();
+
+        HashedWheelTimer.Timeout timeout =
+                hashedWheelTimer.schedule(count::incrementAndGet, 1, TimeUnit.HOURS);
+
+        hashedWheelTimer.stop();
+        hashedWheelTimer.stop();
+
+        // Pending Timeouts are cancelled, and the thread has ended
+        assertThat(hashedWheelTimer.isStopped()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(timeout.isExpired()).isFalse();
+        assertThat(count.get()).isZero();
+        assertThat(Thread.getAllStackTraces().keySet())
+                .noneMatch(thread -> thread.getName().equals(threadName));
+
+        assertThatThrownBy(
+                        () ->
+                                hashedWheelTimer.schedule(
+                                        count::incrementAndGet, 0, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
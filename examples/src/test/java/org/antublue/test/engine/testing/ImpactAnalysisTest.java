@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.impact.ClassFile;
+import org.antublue.test.engine.internal.impact.DependencyGraph;
+import org.antublue.test.engine.internal.impact.ImpactAnalysis;
+import org.antublue.test.engine.testing.impact.ConstantDependent;
+import org.antublue.test.engine.testing.impact.ConstantHolder;
+import org.antublue.test.engine.testing.impact.FieldDependent;
+
+/** Example test */
+public class ImpactAnalysisTest {
+
+    @TestEngine.Argument public Argument<Boolean> argument;
+
+    private Path directory;
+    private List<Path> classpath;
+    private Path snapshot;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Boolean>> arguments() {
+        return Stream.of(Argument.of("one directory", false), Argument.of("two directories", true));
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() throws IOException {
+        directory = Files.createTempDirectory("antublue-impact-analysis-test-");
+        snapshot = directory.resolve("impact.snapshot");
+
+        classpath = new ArrayList<>();
+        classpath.add(Files.createDirectory(directory.resolve("test-classes")));
+        if (argument.getPayload()) {
+            // Dependent and Base in different directories (e.g. test and main classes)
+            classpath.add(Files.createDirectory(directory.resolve("classes")));
+        }
+
+        copy(Dependent.class, classpath.get(0));
+        copy(Unrelated.class, classpath.get(0));
+        copy(Base.class, classpath.get(classpath.size() - 1));
+    }
+
+    @TestEngine.Test
+    public void testParse() throws IOException {
+        ClassFile classFile = ClassFile.parse(read(Dependent.class));
+
+        assertThat(classFile.getClassName()).isEqualTo(Dependent.class.getName());
+        assertThat(classFile.getReferencedClassNames())
+                .contains(Base.class.getName(), Object.class.getName())
+                .doesNotContain(Dependent.class.getName());
+    }
+
+    @TestEngine.Test
+    public void testAnalyze() throws IOException {
+        ImpactAnalysis impactAnalysis = ImpactAnalysis.analyze(snapshot, classpath);
+
+        // No snapshot
+        assertThat(impactAnalysis.isFull()).isTrue();
+        assertThat(impactAnalysis.isAffected(Unrelated.class.getName())).isTrue();
+
+        impactAnalysis.store();
+        impactAnalysis = ImpactAnalysis.analyze(snapshot, classpath);
+
+        assertThat(impactAnalysis.isFull()).isFalse();
+        assertThat(impactAnalysis.getChangedClassNames()).isEmpty();
+        assertThat(impactAnalysis.isAffected(Base.class.getName())).isFalse();
+        assertThat(impactAnalysis.isAffected(Dependent.class.getName())).isFalse();
+
+        // A class that isn't in a classpath directory is always affected
+        assertThat(impactAnalysis.isAffected(String.class.getName())).isTrue();
+
+        // Change Base (trailing bytes change the content hash, but not the constant pool)
+        Files.write(
+                classpath.get(classpath.size() - 1).resolve(toPath(Base.class)),
+                new byte[] {0},
+                StandardOpenOption.APPEND);
+
+        impactAnalysis = ImpactAnalysis.analyze(snapshot, classpath);
+
+        assertThat(impactAnalysis.isFull()).isFalse();
+        assertThat(impactAnalysis.getChangedClassNames()).containsExactly(Base.class.getName());
+        assertThat(impactAnalysis.getAffectedClassNames())
+                .containsExactlyInAnyOrder(Base.class.getName(), Dependent.class.getName());
+        assertThat(impactAnalysis.isAffected(Unrelated.class.getName())).isFalse();
+    }
+
+    @TestEngine.Test
+    public void testInlinedConstant() throws IOException {
+        Path constantDirectory = Files.createDirectory(directory.resolve("constant-classes"));
+        copy(ConstantHolder.class, constantDirectory);
+        copy(ConstantDependent.class, constantDirectory);
+        copy(FieldDependent.class, constantDirectory);
+
+        DependencyGraph dependencyGraph =
+                DependencyGraph.scan(Collections.singletonList(constantDirectory));
+
+        // Compile-time constants are inlined, javac 9 and later record the class that declares the
+        // constant in the constant pool, javac 8 doesn't (the dependency isn't detected)
+        boolean recorded =
+                ClassFile.parse(read(ConstantDependent.class))
+                        .getReferencedClassNames()
+                        .contains(ConstantHolder.class.getName());
+
+        List<String> expected = new ArrayList<>();
+        expected.add(ConstantHolder.class.getName());
+        expected.add(FieldDependent.class.getName());
+        if (recorded) {
+            expected.add(ConstantDependent.class.getName());
+        }
+
+        assertThat(
+                        dependencyGraph.getDependents(
+                                Collections.singleton(ConstantHolder.class.getName())))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() throws IOException {
+        if (directory != null) {
+            try (Stream<Path> stream = Files.walk(directory)) {
+                for (Path path : stream.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static void copy(Class<?> clazz, Path directory) throws IOException {
+        Path path = directory.resolve(toPath(clazz));
+        Files.createDirectories(path.getParent());
+        Files.write(path, read(clazz));
+    }
+
+    private static byte[] read(Class<?> clazz) throws IOException {
+        try (InputStream inputStream = clazz.getResourceAsStream("/" + toPath(clazz))) {
+            assertThat(inputStream).isNotNull();
+
+            byte[] buffer = new byte[4096];
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                byteArrayOutputStream.write(buffer, 0, read);
+            }
+            return byteArrayOutputStream.toByteArray();
+        }
+    }
+
+    private static String toPath(Class<?> clazz) {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    /** Class used as a dependency */
+    public static class Base {
+
+        public int value() {
+            return 1;
+        }
+    }
+
+    /** Class that depends on Base */
+    public static class Dependent {
+
+        private final Base base = new Base();
+
+        public int value() {
+            return base.value() + 1;
+        }
+    }
+
+    /** Class without dependencies */
+    public static class Unrelated {
+
+        public int value() {
+            return 0;
+        }
+    }
+}
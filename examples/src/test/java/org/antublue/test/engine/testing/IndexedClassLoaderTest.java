@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.util.IndexedClassLoader;
+
+/** Example test */
+public class IndexedClassLoaderTest {
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    private IndexedClassLoader indexedClassLoader;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(
+                Argument.of("jar", "org.assertj.core.api.Assertions"),
+                Argument.of("directory", IndexedClassLoaderTest.class.getName()));
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() throws Exception {
+        List<Path> classpath = new ArrayList<>();
+        for (String element : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Paths.get(element);
+            if (!element.isEmpty() && Files.exists(path)) {
+                classpath.add(path);
+            }
+        }
+
+        // The platform ClassLoader as parent, so classpath classes are loaded by the index
+        indexedClassLoader =
+                new IndexedClassLoader(classpath, ClassLoader.getSystemClassLoader().getParent());
+
+        assertThat(indexedClassLoader.getPackageCount()).isGreaterThan(0);
+    }
+
+    @TestEngine.Test
+    public void testLoadClass() throws Exception {
+        String className = argument.getPayload();
+
+        Class<?> clazz = Class.forName(className, false, indexedClassLoader);
+
+        assertThat(clazz.getName()).isEqualTo(className);
+        assertThat(clazz.getClassLoader()).isSameAs(indexedClassLoader);
+        assertThat(clazz.getPackage()).isNotNull();
+        assertThat(clazz.getProtectionDomain().getCodeSource().getLocation()).isNotNull();
+        assertThat(indexedClassLoader.loadClass(className)).isSameAs(clazz);
+    }
+
+    @TestEngine.Test
+    public void testGetResource() {
+        String resourceName = argument.getPayload().replace('.', '/') + ".class";
+
+        assertThat(indexedClassLoader.getResource(resourceName)).isNotNull();
+    }
+
+    @TestEngine.Test
+    public void testClassNotFound() {
+        String className = argument.getPayload();
+        String packageName = className.substring(0, className.lastIndexOf('.'));
+
+        assertThatExceptionOfType(ClassNotFoundException.class)
+                .isThrownBy(() -> indexedClassLoader.loadClass(packageName + ".DoesNotExist"));
+        assertThatExceptionOfType(ClassNotFoundException.class)
+                .isThrownBy(() -> indexedClassLoader.loadClass("does.not.exist.DoesNotExist"));
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() throws Exception {
+        if (indexedClassLoader != null) {
+            indexedClassLoader.close();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.capture.OutputCapture;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/** Example test */
+public class OutputCaptureTest {
+
+    @TestEngine.Argument public Argument<Boolean> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Boolean>> arguments() {
+        return Stream.of(Argument.of("discard passed", false), Argument.of("keep passed", true));
+    }
+
+    @TestEngine.Test
+    public void testDisabled() {
+        OutputCapture outputCapture = OutputCapture.create(false, argument.getPayload(), 0, 0);
+        EngineExecutionListener engineExecutionListener = new EngineExecutionListener() {};
+
+        assertThat(outputCapture.isEnabled()).isFalse();
+        assertThat(outputCapture.wrap(engineExecutionListener)).isSameAs(engineExecutionListener);
+    }
+
+    @TestEngine.Test
+    public void testCapture() throws InterruptedException {
+        boolean passed = argument.getPayload();
+        OutputCapture outputCapture = OutputCapture.create(true, passed, 8192, 1048576);
+        EngineExecutionListener engineExecutionListener =
+                outputCapture.wrap(new EngineExecutionListener() {});
+
+        PrintStream printStream = System.out;
+        outputCapture.install();
+        try {
+            ClassTestDescriptor failedTestDescriptor = createTestDescriptor(Failed.class);
+            engineExecutionListener.executionStarted(failedTestDescriptor);
+            System.out.println("failed output");
+            System.err.println("failed error output");
+
+            // Threads started by a test inherit its capture
+            Thread thread = new Thread(() -> System.out.println("thread output"));
+            thread.start();
+            thread.join();
+
+            engineExecutionListener.executionFinished(
+                    failedTestDescriptor, TestExecutionResult.failed(new AssertionError()));
+
+            ClassTestDescriptor passedTestDescriptor = createTestDescriptor(Passed.class);
+            engineExecutionListener.executionStarted(passedTestDescriptor);
+            System.out.println("passed output");
+            engineExecutionListener.executionFinished(
+                    passedTestDescriptor, TestExecutionResult.successful());
+
+            assertThat(getOutput(failedTestDescriptor))
+                    .isEqualTo(
+                            String.join(
+                                    System.lineSeparator(),
+                                    "failed output",
+                                    "failed error output",
+                                    "thread output",
+                                    ""));
+
+            if (passed) {
+                assertThat(getOutput(passedTestDescriptor))
+                        .isEqualTo("passed output" + System.lineSeparator());
+            } else {
+                assertThat(getOutput(passedTestDescriptor)).isNull();
+            }
+        } finally {
+            outputCapture.uninstall();
+        }
+
+        assertThat(System.out).isSameAs(printStream);
+    }
+
+    @TestEngine.Test
+    public void testSpillAndTruncate() {
+        // Output beyond the memory threshold (8 KB) is spilled to a temporary file
+        int maximum = argument.getPayload() ? 1048576 : 20000;
+        OutputCapture outputCapture = OutputCapture.create(true, false, 8192, maximum);
+        EngineExecutionListener engineExecutionListener =
+                outputCapture.wrap(new EngineExecutionListener() {});
+
+        char[] chars = new char[99];
+        StringBuilder expected = new StringBuilder();
+
+        outputCapture.install();
+        try {
+            ClassTestDescriptor testDescriptor = createTestDescriptor(Failed.class);
+            engineExecutionListener.executionStarted(testDescriptor);
+
+            for (int i = 0; i < 500; i++) {
+                Arrays.fill(chars, (char) ('a' + (i % 26)));
+                System.out.print(chars);
+                System.out.print('\n');
+                expected.append(chars).append('\n');
+            }
+
+            engineExecutionListener.executionFinished(
+                    testDescriptor, TestExecutionResult.failed(new AssertionError()));
+
+            if (expected.length() <= maximum) {
+                assertThat(getOutput(testDescriptor)).isEqualTo(expected.toString());
+            } else {
+                assertThat(getOutput(testDescriptor))
+                        .startsWith(expected.substring(0, maximum))
+                        .endsWith("[... " + (expected.length() - maximum) + " bytes truncated]");
+            }
+        } finally {
+            outputCapture.uninstall();
+        }
+    }
+
+    private static ClassTestDescriptor createTestDescriptor(Class<?> testClass) {
+        // Output of the root (engine) test descriptor isn't captured, so add a parent
+        UniqueId uniqueId = UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID);
+        EngineDescriptor engineDescriptor = new EngineDescriptor(uniqueId, "engine");
+        ClassTestDescriptor classTestDescriptor = ClassTestDescriptor.create(uniqueId, testClass);
+        engineDescriptor.addChild(classTestDescriptor);
+        return classTestDescriptor;
+    }
+
+    private static String getOutput(TestDescriptor testDescriptor) {
+        return ((ClassTestDescriptor) testDescriptor)
+                .getMetadata()
+                .get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+    }
+
+    /** Class used as the subject of a failed test descriptor */
+    public static class Failed {}
+
+    /** Class used as the subject of a passed test descriptor */
+    public static class Passed {}
+}
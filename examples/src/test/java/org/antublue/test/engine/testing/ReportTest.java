@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.report.ReportEngineExecutionListener;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/** Example test */
+public class ReportTest {
+
+    private Path directory;
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("report"));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() throws IOException {
+        directory = Files.createTempDirectory("antublue-test-engine-report-");
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @TestEngine.Test
+    public void testFormat() {
+        assertThat(ReportEngineExecutionListener.Format.parse(null)).isEmpty();
+        assertThat(ReportEngineExecutionListener.Format.parse(" junit , open-test-reporting "))
+                .containsExactly(
+                        ReportEngineExecutionListener.Format.JUNIT,
+                        ReportEngineExecutionListener.Format.OPEN_TEST_REPORTING);
+    }
+
+    @TestEngine.Test
+    public void testReport() throws Exception {
+        EngineDescriptor engineDescriptor =
+                new EngineDescriptor(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), "report-test");
+        ClassTestDescriptor classTestDescriptor = createTestDescriptor(engineDescriptor);
+        TestDescriptor argumentTestDescriptor = classTestDescriptor.getChildren().iterator().next();
+        List<TestDescriptor> testMethodTestDescriptors =
+                new ArrayList<>(argumentTestDescriptor.getChildren());
+
+        EngineExecutionListener engineExecutionListener =
+                new ReportEngineExecutionListener(
+                        directory,
+                        ReportEngineExecutionListener.Format.parse("junit,open-test-reporting"));
+
+        engineExecutionListener.executionStarted(engineDescriptor);
+        engineExecutionListener.executionStarted(classTestDescriptor);
+        engineExecutionListener.executionStarted(argumentTestDescriptor);
+        engineExecutionListener.executionStarted(testMethodTestDescriptors.get(0));
+        engineExecutionListener.executionFinished(
+                testMethodTestDescriptors.get(0),
+                TestExecutionResult.failed(new AssertionError("expected \u0000 failure")));
+        engineExecutionListener.executionStarted(testMethodTestDescriptors.get(1));
+        engineExecutionListener.executionFinished(
+                testMethodTestDescriptors.get(1),
+                TestExecutionResult.failed(new IllegalStateException("expected error")));
+        engineExecutionListener.executionSkipped(testMethodTestDescriptors.get(2), "disabled");
+        engineExecutionListener.executionFinished(
+                argumentTestDescriptor, TestExecutionResult.successful());
+        engineExecutionListener.executionFinished(
+                classTestDescriptor, TestExecutionResult.successful());
+
+        Path path = directory.resolve("TEST-" + Subject.class.getName() + ".xml");
+        assertThat(path).exists();
+
+        Element testSuite = parse(path).getDocumentElement();
+        assertThat(testSuite.getAttribute("name")).isEqualTo(Subject.class.getName());
+        assertThat(testSuite.getAttribute("tests")).isEqualTo("3");
+        assertThat(testSuite.getAttribute("failures")).isEqualTo("1");
+        assertThat(testSuite.getAttribute("errors")).isEqualTo("1");
+        assertThat(testSuite.getAttribute("skipped")).isEqualTo("1");
+
+        NodeList testCases = testSuite.getElementsByTagName("testcase");
+        assertThat(testCases.getLength()).isEqualTo(3);
+        assertThat(((Element) testCases.item(0)).getAttribute("name"))
+                .isEqualTo(testMethodTestDescriptors.get(0).getDisplayName() + " [argument]");
+
+        Element failure = (Element) testSuite.getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("message")).isEqualTo("expected ? failure");
+        assertThat(failure.getTextContent()).contains(ReportTest.class.getName());
+
+        // The events file is completed when the test run finishes
+        engineExecutionListener.executionFinished(
+                engineDescriptor, TestExecutionResult.successful());
+
+        Document document = parse(directory.resolve("open-test-report.xml"));
+        assertThat(document.getDocumentElement().getLocalName()).isEqualTo("events");
+        assertThat(document.getElementsByTagName("e:started").getLength()).isEqualTo(6);
+        assertThat(document.getElementsByTagName("e:finished").getLength()).isEqualTo(6);
+    }
+
+    private static Document parse(Path path) throws Exception {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setNamespaceAware(true);
+        return documentBuilderFactory.newDocumentBuilder().parse(path.toFile());
+    }
+
+    private static ClassTestDescriptor createTestDescriptor(EngineDescriptor engineDescriptor) {
+        ClassTestDescriptor classTestDescriptor =
+                ClassTestDescriptor.create(engineDescriptor.getUniqueId(), Subject.class);
+        engineDescriptor.addChild(classTestDescriptor);
+
+        Argument<String> testArgument = Argument.ofString("argument");
+        ArgumentTestDescriptor argumentTestDescriptor =
+                ArgumentTestDescriptor.create(
+                        classTestDescriptor.getUniqueId(), Subject.class, testArgument, 0);
+        classTestDescriptor.addChild(argumentTestDescriptor);
+
+        for (Method method : Subject.class.getDeclaredMethods()) {
+            if (method.getName().startsWith("test")) {
+                argumentTestDescriptor.addChild(
+                        TestMethodTestDescriptor.create(
+                                argumentTestDescriptor.getUniqueId(),
+                                Subject.class,
+                                method,
+                                testArgument));
+            }
+        }
+
+        return classTestDescriptor;
+    }
+
+    /** Class used as the subject of test reports */
+    public static class Subject {
+
+        public void test1() {
+            // DO NOTHING
+        }
+
+        public void test2() {
+            // DO NOTHING
+        }
+
+        public void test3() {
+            // DO NOTHING
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.capture.OutputCapture;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.ExecutionContextConstant;
+import org.antublue.test.engine.internal.flaky.FlakyStatistics;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.UniqueId;
+
+/** Example test */
+public class RetryTest {
+
+    private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    @TestEngine.Retry(1)
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.of("first", "first"), Argument.of("second", "second"));
+    }
+
+    @TestEngine.BeforeAll
+    public void beforeAll() {
+        // Fail the first attempt of each argument, the argument is retried
+        if (increment("beforeAll") == 1) {
+            throw new IllegalStateException("Expected beforeAll failure (first attempt)");
+        }
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() {
+        increment("afterEach");
+    }
+
+    @TestEngine.Test
+    @TestEngine.Retry(2)
+    public void testRetry() {
+        // Fail the first two attempts, the test method is retried
+        assertThat(increment("testRetry"))
+                .as("Expected testRetry failure (attempt before the third)")
+                .isGreaterThan(2);
+    }
+
+    @TestEngine.Test
+    public void testNoRetry() {
+        assertThat(increment("testNoRetry")).isEqualTo(1);
+    }
+
+    @TestEngine.AfterAll
+    public void afterAll() {
+        if (count("beforeAll") == 2) {
+            assertThat(count("testRetry")).isEqualTo(3);
+            assertThat(count("testNoRetry")).isEqualTo(1);
+            assertThat(count("afterEach")).isEqualTo(6);
+        }
+    }
+
+    @TestEngine.Test
+    public void testFlakyStatisticsFile() throws IOException {
+        Path path = Files.createTempFile("antublue-test-engine-flaky-", ".txt");
+        try {
+            Map<String, String> map = new TreeMap<>();
+            map.put("[engine:antublue-test-engine]/[class:a.Test]/[method:test]", "PPRPF");
+            map.put("[engine:antublue-test-engine]/[class:b.Test]/[method:test]", "P");
+
+            FlakyStatistics.write(path, map);
+
+            assertThat(FlakyStatistics.read(path)).isEqualTo(map);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @TestEngine.Test
+    public void testRetryOutputCapture() throws NoSuchMethodException {
+        ClassTestDescriptor classTestDescriptor =
+                ClassTestDescriptor.create(
+                        UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID), Subject.class);
+        Argument<String> testArgument = Argument.ofString("argument");
+        ArgumentTestDescriptor argumentTestDescriptor =
+                ArgumentTestDescriptor.create(
+                        classTestDescriptor.getUniqueId(), Subject.class, testArgument, 0);
+        classTestDescriptor.addChild(argumentTestDescriptor);
+        TestMethodTestDescriptor testMethodTestDescriptor =
+                TestMethodTestDescriptor.create(
+                        argumentTestDescriptor.getUniqueId(),
+                        Subject.class,
+                        Subject.class.getMethod("test"),
+                        testArgument);
+        argumentTestDescriptor.addChild(testMethodTestDescriptor);
+
+        OutputCapture outputCapture = OutputCapture.create(true, true, 8192, 1048576);
+        ExecutionContext executionContext =
+                new ExecutionContext(
+                        ExecutionRequest.create(
+                                classTestDescriptor,
+                                outputCapture.wrap(new EngineExecutionListener() {}),
+                                Configuration.getInstance()));
+        executionContext.put(ExecutionContextConstant.TEST_INSTANCE, new Subject());
+        executionContext.put(ExecutionContextConstant.OUTPUT_CAPTURE, outputCapture);
+
+        outputCapture.install();
+        try {
+            argumentTestDescriptor.execute(executionContext);
+        } finally {
+            outputCapture.uninstall();
+        }
+
+        assertThat(
+                        argumentTestDescriptor
+                                .getMetadata()
+                                .<Integer>get(
+                                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS))
+                .isEqualTo(2);
+
+        // Only the output of the last attempt is attached
+        assertThat(
+                        testMethodTestDescriptor
+                                .getMetadata()
+                                .<String>get(
+                                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT))
+                .isEqualTo("attempt 2" + System.lineSeparator());
+    }
+
+    private int increment(String name) {
+        return counts.merge(name + "/" + argument.getPayload(), 1, Integer::sum);
+    }
+
+    private int count(String name) {
+        return counts.getOrDefault(name + "/" + argument.getPayload(), 0);
+    }
+
+    /** Class used as the subject of a retried argument */
+    @TestEngine.Disabled
+    public static class Subject {
+
+        private int attempts;
+
+        @TestEngine.Argument public Argument<String> argument;
+
+        @TestEngine.ArgumentSupplier
+        @TestEngine.Retry(1)
+        public static Stream<Argument<String>> arguments() {
+            return Stream.of(Argument.ofString("argument"));
+        }
+
+        @TestEngine.Test
+        public void test() {
+            System.out.println("attempt " + ++attempts);
+
+            assertThat(attempts).as("Expected failure (first attempt)").isGreaterThan(1);
+        }
+    }
+}
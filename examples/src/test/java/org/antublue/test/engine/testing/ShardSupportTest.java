@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.support.ShardSupport;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/** Example test */
+public class ShardSupportTest {
+
+    @TestEngine.Argument public Argument<Integer> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<Integer>> arguments() {
+        return Stream.of(
+                Argument.of("1 shard", 1), Argument.of("3 shards", 3), Argument.of("8 shards", 8));
+    }
+
+    @TestEngine.Test
+    public void testHash() {
+        List<TestDescriptor> testDescriptors = createTestDescriptors(100);
+
+        List<List<TestDescriptor>> shards =
+                select(testDescriptors, argument.getPayload(), Collections.emptyMap());
+
+        assertPartition(testDescriptors, shards);
+        assertThat(select(testDescriptors, argument.getPayload(), Collections.emptyMap()))
+                .isEqualTo(shards);
+    }
+
+    @TestEngine.Test
+    public void testPack() {
+        int shardCount = argument.getPayload();
+        List<TestDescriptor> testDescriptors = createTestDescriptors(50);
+
+        Map<String, Long> durations = new HashMap<>();
+        long maximum = 0;
+        for (int i = 0; i < testDescriptors.size(); i++) {
+            // Every fifth test descriptor has no duration (estimated as the mean)
+            if (i % 5 != 0) {
+                long duration = (i * 7919L) % 1000 + 1;
+                durations.put(testDescriptors.get(i).getUniqueId().toString(), duration);
+                maximum = Math.max(maximum, duration);
+            }
+        }
+
+        List<List<TestDescriptor>> shards = select(testDescriptors, shardCount, durations);
+
+        assertPartition(testDescriptors, shards);
+
+        long mean = durations.values().stream().mapToLong(Long::longValue).sum() / durations.size();
+        long minimumLoad = Long.MAX_VALUE;
+        long maximumLoad = 0;
+        for (List<TestDescriptor> shard : shards) {
+            long load = 0;
+            for (TestDescriptor testDescriptor : shard) {
+                load += durations.getOrDefault(testDescriptor.getUniqueId().toString(), mean);
+            }
+            minimumLoad = Math.min(minimumLoad, load);
+            maximumLoad = Math.max(maximumLoad, load);
+        }
+
+        // Longest processing time first keeps shard loads within the largest duration
+        assertThat(maximumLoad - minimumLoad).isLessThanOrEqualTo(maximum);
+    }
+
+    private static List<List<TestDescriptor>> select(
+            List<TestDescriptor> testDescriptors, int shardCount, Map<String, Long> durations) {
+        List<List<TestDescriptor>> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(ShardSupport.select(testDescriptors, i, shardCount, durations));
+        }
+        return shards;
+    }
+
+    private static void assertPartition(
+            List<TestDescriptor> testDescriptors, List<List<TestDescriptor>> shards) {
+        List<TestDescriptor> all = new ArrayList<>();
+        shards.forEach(all::addAll);
+
+        assertThat(all).containsExactlyInAnyOrderElementsOf(testDescriptors);
+    }
+
+    private static List<TestDescriptor> createTestDescriptors(int count) {
+        UniqueId uniqueId = UniqueId.forEngine("shard-support-test");
+
+        List<TestDescriptor> testDescriptors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            testDescriptors.add(
+                    new EngineDescriptor(uniqueId.append("class", "Test" + i), "Test" + i));
+        }
+        return testDescriptors;
+    }
+}
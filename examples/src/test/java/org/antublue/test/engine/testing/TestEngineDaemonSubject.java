@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.extras.Fixtures;
+
+/** Example test (also executed in test engine daemon sessions by TestEngineDaemonTest) */
+public class TestEngineDaemonSubject {
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("session"));
+    }
+
+    @TestEngine.Test
+    @TestEngine.Timeout(milliseconds = 60000)
+    public void test() throws Throwable {
+        // The timeout starts the shared timer thread, releasing the fixture starts the eviction
+        // thread
+        try (Fixtures.FixtureReference<Object> fixtureReference =
+                Fixtures.acquire(
+                        TestEngineDaemonSubject.class.getName(),
+                        Object::new,
+                        fixture -> {},
+                        Duration.ofMinutes(1))) {
+            if (fixtureReference.get() == null) {
+                throw new AssertionError("fixture is null");
+            }
+        }
+    }
+}
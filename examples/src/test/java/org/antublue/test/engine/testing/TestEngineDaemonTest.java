@@ -0,0 +1,448 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.fork.ForkProtocol;
+import org.antublue.test.engine.internal.fork.TestEngineDaemon;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+
+/** Example test */
+public class TestEngineDaemonTest {
+
+    private static final String TOKEN = "token";
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(3);
+
+    private static final long WAIT_MILLISECONDS = 30000;
+
+    private static final int SESSIONS = 5;
+
+    /** Classes whose code source is cached by the daemon */
+    private static final String[] LIBRARY_CLASS_NAMES = {
+        "org.junit.platform.engine.TestEngine",
+        "org.junit.platform.commons.util.Preconditions",
+        "org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder",
+        "org.junit.jupiter.api.function.Executable",
+        "org.opentest4j.TestAbortedException",
+        "org.apiguardian.api.API"
+    };
+
+    /** Classes whose code source is loaded by each session */
+    private static final String[] SESSION_CLASS_NAMES = {
+        "org.antublue.test.engine.internal.fork.ForkedWorker",
+        "org.antublue.test.engine.api.TestEngine",
+        "org.antublue.test.engine.extras.Fixtures",
+        TestEngineDaemonSubject.class.getName()
+    };
+
+    private static final String SUBJECT_UNIQUE_ID =
+            ClassTestDescriptor.create(
+                            UniqueId.forEngine(AntuBLUETestEngine.ENGINE_ID),
+                            TestEngineDaemonSubject.class)
+                    .getUniqueId()
+                    .toString();
+
+    private Path directory;
+    private Path portFile;
+    private TestEngineDaemon testEngineDaemon;
+    private Thread thread;
+    private AtomicReference<Throwable> failure;
+
+    @TestEngine.Argument public Argument<String> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<String>> arguments() {
+        return Stream.of(Argument.ofString("daemon"));
+    }
+
+    @TestEngine.BeforeEach
+    public void beforeEach() throws IOException {
+        directory = Files.createTempDirectory("antublue-test-engine-daemon-test");
+        portFile = directory.resolve("daemon.properties");
+        failure = new AtomicReference<>();
+        testEngineDaemon = new TestEngineDaemon(TOKEN, IDLE_TIMEOUT);
+
+        thread =
+                new Thread(
+                        () -> {
+                            try {
+                                testEngineDaemon.run(portFile);
+                            } catch (Throwable t) {
+                                failure.set(t);
+                            }
+                        },
+                        "test-engine-daemon-test");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @TestEngine.AfterEach
+    public void afterEach() throws Throwable {
+        thread.join(IDLE_TIMEOUT.toMillis() + WAIT_MILLISECONDS);
+        assertThat(thread.isAlive()).isFalse();
+        assertThat(failure.get()).isNull();
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path :
+                    stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @TestEngine.Test
+    public void testSessionsAreCollectable() throws Throwable {
+        // Asynchronous logging starts a consumer thread and registers a shutdown hook
+        Map<String, String> systemProperties = new LinkedHashMap<>();
+        systemProperties.put("antublue.test.engine.logger.async", "true");
+        systemProperties.put(
+                "antublue.test.engine.logger.async.file",
+                directory.resolve("daemon.log").toString());
+
+        List<WeakReference<ClassLoader>> sessionClassLoaderReferences = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            Session session = session(TOKEN, systemProperties, SUBJECT_UNIQUE_ID);
+            assertThat(session.isSuccessful()).isTrue();
+            sessionClassLoaderReferences.add(new WeakReference<>(session.sessionClassLoader));
+        }
+
+        // No threads started by a session are left running
+        List<String> threadNames = new ArrayList<>();
+        boolean stopped =
+                await(
+                        () -> {
+                            threadNames.clear();
+                            threadNames.addAll(getThreadNames(sessionClassLoaderReferences));
+                            return threadNames.isEmpty();
+                        });
+        assertThat(stopped).as("session threads %s", threadNames).isTrue();
+
+        // The session ClassLoaders are garbage collected
+        boolean collected =
+                await(
+                        () -> {
+                            System.gc();
+                            return sessionClassLoaderReferences.stream()
+                                    .allMatch(reference -> reference.get() == null);
+                        });
+        assertThat(collected).isTrue();
+    }
+
+    @TestEngine.Test
+    public void testBadToken() throws Throwable {
+        assertThat(session("bad", Collections.emptyMap(), SUBJECT_UNIQUE_ID)).isNull();
+
+        // The daemon still accepts sessions
+        assertThat(session(TOKEN, Collections.emptyMap(), SUBJECT_UNIQUE_ID).isSuccessful())
+                .isTrue();
+    }
+
+    @TestEngine.Test
+    public void testBadProof() throws Throwable {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), getPort())) {
+            socket.setSoTimeout((int) WAIT_MILLISECONDS);
+
+            DataInputStream dataInputStream = new DataInputStream(socket.getInputStream());
+            DataOutputStream dataOutputStream = new DataOutputStream(socket.getOutputStream());
+
+            dataOutputStream.writeUTF("nonce");
+            dataOutputStream.flush();
+
+            // The daemon proves it knows the token without sending it
+            assertThat(dataInputStream.readUTF()).hasSize(64);
+            assertThat(dataInputStream.readUTF()).hasSize(64);
+
+            // A client that doesn't prove it knows the token is rejected
+            dataOutputStream.writeUTF(TOKEN);
+            dataOutputStream.flush();
+
+            assertThat(dataInputStream.read()).isEqualTo(-1);
+        }
+
+        // The daemon still accepts sessions
+        assertThat(session(TOKEN, Collections.emptyMap(), SUBJECT_UNIQUE_ID).isSuccessful())
+                .isTrue();
+    }
+
+    @TestEngine.Test
+    public void testSessionReuse() throws Throwable {
+        Session session1 = session(TOKEN, Collections.emptyMap(), SUBJECT_UNIQUE_ID);
+        Session session2 = session(TOKEN, Collections.emptyMap(), SUBJECT_UNIQUE_ID);
+
+        assertThat(session1.isSuccessful()).isTrue();
+        assertThat(session2.isSuccessful()).isTrue();
+
+        // Each session has a new session ClassLoader, the library ClassLoader is reused
+        assertThat(session2.sessionClassLoader).isNotSameAs(session1.sessionClassLoader);
+        assertThat(session2.sessionClassLoader.getParent())
+                .isSameAs(session1.sessionClassLoader.getParent());
+    }
+
+    @TestEngine.Test
+    public void testHandshakeTimeout() throws Throwable {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), getPort())) {
+            socket.setSoTimeout((int) WAIT_MILLISECONDS);
+
+            // The daemon doesn't wait for a client that doesn't send a session request
+            assertThat(session(TOKEN, Collections.emptyMap(), SUBJECT_UNIQUE_ID).isSuccessful())
+                    .isTrue();
+            assertThat(socket.getInputStream().read()).isEqualTo(-1);
+        }
+    }
+
+    @TestEngine.Test
+    public void testIdleShutdown() throws Throwable {
+        int port = getPort();
+
+        thread.join(IDLE_TIMEOUT.toMillis() + WAIT_MILLISECONDS);
+        assertThat(thread.isAlive()).isFalse();
+        assertThat(portFile).doesNotExist();
+
+        boolean refused;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            refused = false;
+        } catch (ConnectException e) {
+            refused = true;
+        }
+        assertThat(refused).isTrue();
+    }
+
+    /**
+     * Method to request a session and execute test classes
+     *
+     * @param token token
+     * @param systemProperties systemProperties
+     * @param uniqueIds test class unique ids
+     * @return a Session, or null if the session was rejected
+     * @throws Throwable Throwable
+     */
+    private Session session(String token, Map<String, String> systemProperties, String... uniqueIds)
+            throws Throwable {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), getPort())) {
+            socket.setSoTimeout((int) WAIT_MILLISECONDS);
+
+            try {
+                TestEngineDaemon.writeSession(
+                        socket,
+                        token,
+                        getCodeSources(LIBRARY_CLASS_NAMES),
+                        getCodeSources(SESSION_CLASS_NAMES),
+                        systemProperties);
+            } catch (IOException e) {
+                // The daemon didn't prove it knows the token
+                return null;
+            }
+
+            DataInputStream dataInputStream =
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream dataOutputStream =
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            Deque<String> queue = new ArrayDeque<>();
+            Collections.addAll(queue, uniqueIds);
+
+            Session session = null;
+            int message;
+            while ((message = dataInputStream.read()) != -1) {
+                if (message == ForkProtocol.READY) {
+                    if (session == null) {
+                        // The daemon holds the session ClassLoader until the session is finished
+                        session =
+                                new Session(
+                                        testEngineDaemon.getSessionClassLoaderReference().get());
+                    }
+                    if (queue.isEmpty()) {
+                        dataOutputStream.writeByte(ForkProtocol.EXIT);
+                    } else {
+                        dataOutputStream.writeByte(ForkProtocol.CLASS);
+                        dataOutputStream.writeUTF(queue.poll());
+                    }
+                    dataOutputStream.flush();
+                } else if (message == ForkProtocol.STARTED) {
+                    dataInputStream.readUTF();
+                } else if (message == ForkProtocol.SKIPPED) {
+                    dataInputStream.readUTF();
+                    dataInputStream.readUTF();
+                    ForkProtocol.readMetadata(dataInputStream, null);
+                } else if (message == ForkProtocol.FINISHED) {
+                    dataInputStream.readUTF();
+                    ForkProtocol.readMetadata(dataInputStream, null);
+                    session.statuses.add(
+                            ForkProtocol.readTestExecutionResult(
+                                            dataInputStream, getClass().getClassLoader())
+                                    .getStatus());
+                } else if (message == ForkProtocol.ELAPSED_TIME) {
+                    dataInputStream.readUTF();
+                    dataInputStream.readLong();
+                } else {
+                    throw new IOException("Invalid message [" + message + "]");
+                }
+            }
+
+            return session;
+        }
+    }
+
+    /**
+     * Method to wait for the daemon port file and get the port
+     *
+     * @return the port
+     * @throws Throwable Throwable
+     */
+    private int getPort() throws Throwable {
+        assertThat(await(() -> Files.exists(portFile))).isTrue();
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(portFile)) {
+            properties.load(inputStream);
+        }
+
+        assertThat(properties.getProperty(TestEngineDaemon.TOKEN)).isEqualTo(TOKEN);
+        return Integer.parseInt(properties.getProperty(TestEngineDaemon.PORT));
+    }
+
+    /**
+     * Method to wait for a condition
+     *
+     * @param condition condition
+     * @return true if the condition is true, false if the wait timed out
+     * @throws InterruptedException InterruptedException
+     */
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAIT_MILLISECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(100);
+        }
+        return true;
+    }
+
+    /**
+     * Method to get the names of live threads whose context ClassLoader is a session ClassLoader
+     *
+     * @param sessionClassLoaderReferences sessionClassLoaderReferences
+     * @return a List of thread names
+     */
+    private static List<String> getThreadNames(
+            List<WeakReference<ClassLoader>> sessionClassLoaderReferences) {
+        Set<ClassLoader> sessionClassLoaders = new HashSet<>();
+        for (WeakReference<ClassLoader> reference : sessionClassLoaderReferences) {
+            ClassLoader classLoader = reference.get();
+            if (classLoader != null) {
+                sessionClassLoaders.add(classLoader);
+            }
+        }
+
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> sessionClassLoaders.contains(thread.getContextClassLoader()))
+                .map(Thread::getName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Method to get the code sources (jars or directories) of classes
+     *
+     * @param classNames classNames
+     * @return a List of code source paths
+     * @throws Throwable Throwable
+     */
+    private static List<String> getCodeSources(String... classNames) throws Throwable {
+        Set<String> codeSources = new LinkedHashSet<>();
+        for (String className : classNames) {
+            codeSources.add(
+                    Paths.get(
+                                    Class.forName(
+                                                    className,
+                                                    false,
+                                                    TestEngineDaemonTest.class.getClassLoader())
+                                            .getProtectionDomain()
+                                            .getCodeSource()
+                                            .getLocation()
+                                            .toURI())
+                            .toString());
+        }
+        return new ArrayList<>(codeSources);
+    }
+
+    /** Class to implement a Session result */
+    private static class Session {
+
+        private final ClassLoader sessionClassLoader;
+        private final List<TestExecutionResult.Status> statuses;
+
+        /**
+         * Constructor
+         *
+         * @param sessionClassLoader sessionClassLoader
+         */
+        private Session(ClassLoader sessionClassLoader) {
+            this.sessionClassLoader = sessionClassLoader;
+            this.statuses = new ArrayList<>();
+        }
+
+        /**
+         * Method to return if all test descriptors were successful
+         *
+         * @return true if all test descriptors were successful, else false
+         */
+        private boolean isSuccessful() {
+            return !statuses.isEmpty()
+                    && statuses.stream()
+                            .allMatch(status -> status == TestExecutionResult.Status.SUCCESSFUL);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.exception.TestTimeoutException;
+import org.antublue.test.engine.internal.support.TimeoutSupport;
+import org.antublue.test.engine.internal.util.HashedWheelTimer;
+
+/** Example test */
+@TestEngine.Timeout(milliseconds = 60000)
+public class TimeoutTest {
+
+    @TestEngine.Argument public Argument<Long> argument;
+
+    @TestEngine.ArgumentSupplier
+    @TestEngine.Timeout(milliseconds = 30000)
+    public static Stream<Argument<Long>> arguments() {
+        return Stream.of(Argument.of("50 ms", 50L), Argument.of("100 ms", 100L));
+    }
+
+    @TestEngine.Test
+    @TestEngine.Timeout(milliseconds = 10000)
+    public void testDeadlineExpires() {
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(argument.getPayload());
+
+        boolean interrupted = false;
+        try {
+            Thread.sleep(10000);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        assertThat(interrupted).isTrue();
+        assertThat(deadline.stop()).isTrue();
+        assertThat(deadline.getElapsedTime())
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(argument.getPayload()));
+
+        // The interrupt status is cleared, so the thread can continue with other work
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @TestEngine.Test
+    @TestEngine.Timeout(milliseconds = 10000)
+    public void testCheck() {
+        List<Throwable> throwables = new ArrayList<>();
+        throwables.add(new AssertionError());
+
+        TimeoutSupport.check(
+                TimeoutSupport.start(argument.getPayload()), throwables, () -> "Test class [x]");
+        assertThat(throwables).hasSize(1);
+
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(argument.getPayload());
+        try {
+            Thread.sleep(10000);
+        } catch (InterruptedException e) {
+            // DO NOTHING
+        }
+
+        TimeoutSupport.check(deadline, throwables, () -> "Test class [x]");
+
+        assertThat(throwables).hasSize(2);
+        assertThat(throwables.get(0))
+                .isInstanceOf(TestTimeoutException.class)
+                .hasMessageStartingWith("Test class [x] timed out after [")
+                .hasMessageEndingWith("(timeout [" + argument.getPayload() + "] ms)");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @TestEngine.Test
+    public void testDeadlineStopped() throws InterruptedException {
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(argument.getPayload());
+
+        assertThat(deadline.stop()).isFalse();
+
+        Thread.sleep(argument.getPayload() * 2);
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @TestEngine.Test
+    public void testNoTimeout() {
+        TimeoutSupport.Deadline deadline = TimeoutSupport.start(0);
+
+        assertThat(deadline.getMilliseconds()).isZero();
+        assertThat(deadline.stop()).isFalse();
+    }
+
+    @TestEngine.Test
+    public void testHashedWheelTimer() throws InterruptedException {
+        HashedWheelTimer hashedWheelTimer =
+                new HashedWheelTimer("hashed-wheel-timer-test", 1, TimeUnit.MILLISECONDS, 8);
+
+        try {
+            AtomicInteger cancelledCount = new AtomicInteger();
+            HashedWheelTimer.Timeout cancelled =
+                    hashedWheelTimer.schedule(
+                            cancelledCount::incrementAndGet,
+                            argument.getPayload(),
+                            TimeUnit.MILLISECONDS);
+
+            // Longer than one rotation of the wheel (8 ms)
+            CountDownLatch countDownLatch = new CountDownLatch(1);
+            long startTime = System.nanoTime();
+            HashedWheelTimer.Timeout expired =
+                    hashedWheelTimer.schedule(
+                            countDownLatch::countDown,
+                            argument.getPayload(),
+                            TimeUnit.MILLISECONDS);
+
+            assertThat(cancelled.cancel()).isTrue();
+            assertThat(countDownLatch.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(System.nanoTime() - startTime)
+                    .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(argument.getPayload()));
+            assertThat(expired.isExpired()).isTrue();
+            assertThat(expired.cancel()).isFalse();
+            assertThat(cancelledCount.get()).isZero();
+        } finally {
+            hashedWheelTimer.stop();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.support.RandomSupport;
+
+/** Example test */
+public class RandomDistributionTest {
+
+    private static final int BUCKETS = 10;
+
+    private static final int SAMPLES = 100000;
+
+    @TestEngine.Argument public Argument<double[]> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<double[]>> arguments() {
+        return Stream.of(
+                Argument.of("[-MAX, MAX]", new double[] {-Double.MAX_VALUE, Double.MAX_VALUE}),
+                Argument.of("[0, MAX]", new double[] {0, Double.MAX_VALUE}),
+                Argument.of("[-MAX, 0]", new double[] {-Double.MAX_VALUE, 0}),
+                Argument.of("[-123.08, 456.08]", new double[] {-123.08, 456.08}),
+                Argument.of("[1, 2]", new double[] {1, 2}));
+    }
+
+    @TestEngine.Test
+    public void testDoubleDistribution() {
+        double minimum = argument.getPayload()[0];
+        double maximum = argument.getPayload()[1];
+        SplittableRandom random = new SplittableRandom(42L);
+
+        int[] buckets = new int[BUCKETS];
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = RandomSupport.randomDouble(random, minimum, maximum);
+            assertThat(value).isBetween(minimum, maximum);
+            buckets[bucket(value, minimum, maximum)]++;
+        }
+
+        assertUniform(buckets);
+    }
+
+    @TestEngine.Test
+    public void testFloatDistribution() {
+        float minimum = (float) Math.max(-Float.MAX_VALUE, argument.getPayload()[0]);
+        float maximum = (float) Math.min(Float.MAX_VALUE, argument.getPayload()[1]);
+        SplittableRandom random = new SplittableRandom(42L);
+
+        int[] buckets = new int[BUCKETS];
+        for (int i = 0; i < SAMPLES; i++) {
+            float value = RandomSupport.randomFloat(random, minimum, maximum);
+            assertThat(value).isBetween(minimum, maximum);
+            buckets[bucket(value, minimum, maximum)]++;
+        }
+
+        assertUniform(buckets);
+    }
+
+    @TestEngine.Test
+    public void testReversedRange() {
+        double minimum = argument.getPayload()[0];
+        double maximum = argument.getPayload()[1];
+
+        assertThat(RandomSupport.randomDouble(new SplittableRandom(42L), maximum, minimum))
+                .isEqualTo(RandomSupport.randomDouble(new SplittableRandom(42L), minimum, maximum));
+    }
+
+    private static int bucket(double value, double minimum, double maximum) {
+        // Scale before subtracting so the width doesn't overflow
+        double position = (value / 2 - minimum / 2) / (maximum / 2 - minimum / 2);
+        return Math.min(BUCKETS - 1, (int) (position * BUCKETS));
+    }
+
+    private static void assertUniform(int[] buckets) {
+        int expected = SAMPLES / BUCKETS;
+        for (int count : buckets) {
+            assertThat(count).isBetween(expected * 9 / 10, expected * 11 / 10);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.testing.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.api.TestEngine;
+import org.antublue.test.engine.internal.support.RandomSupport;
+import org.junit.platform.engine.UniqueId;
+
+/** Example test */
+public class RandomSeedTest {
+
+    @TestEngine.Argument public Argument<UniqueId> argument;
+
+    @TestEngine.ArgumentSupplier
+    public static Stream<Argument<UniqueId>> arguments() {
+        UniqueId engineUniqueId = UniqueId.forEngine("antublue-test-engine");
+        return Stream.of(
+                Argument.of("class", engineUniqueId.append("class", "example.Test")),
+                Argument.of(
+                        "argument",
+                        engineUniqueId.append("class", "example.Test").append("argument", "0")));
+    }
+
+    @TestEngine.Test
+    public void testSameUniqueIdIsReproducible() throws Exception {
+        List<Long> expected = values(RandomSupport.getRandom(argument.getPayload()));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(
+                        executorService.submit(
+                                () -> values(RandomSupport.getRandom(argument.getPayload()))));
+            }
+            for (Future<List<Long>> future : futures) {
+                assertThat(future.get()).isEqualTo(expected);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @TestEngine.Test
+    public void testDifferentUniqueIdIsDifferent() {
+        UniqueId otherUniqueId = argument.getPayload().append("method", "test");
+
+        assertThat(values(RandomSupport.getRandom(otherUniqueId)))
+                .isNotEqualTo(values(RandomSupport.getRandom(argument.getPayload())));
+    }
+
+    @TestEngine.Test
+    public void testRanges() {
+        SplittableRandom random = RandomSupport.getRandom(argument.getPayload());
+
+        boolean minimum = false;
+        boolean maximum = false;
+        for (int i = 0; i < 10000; i++) {
+            int value = RandomSupport.randomInt(random, -2, 2);
+            assertThat(value).isBetween(-2, 2);
+            minimum |= value == -2;
+            maximum |= value == 2;
+        }
+        assertThat(minimum).isTrue();
+        assertThat(maximum).isTrue();
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(RandomSupport.randomLong(random, Long.MAX_VALUE - 1, Long.MAX_VALUE))
+                    .isGreaterThanOrEqualTo(Long.MAX_VALUE - 1);
+            assertThat(RandomSupport.randomLong(random, Long.MIN_VALUE, Long.MIN_VALUE + 1))
+                    .isLessThanOrEqualTo(Long.MIN_VALUE + 1);
+        }
+    }
+
+    @TestEngine.Test
+    public void testUUID() {
+        UUID uuid = RandomSupport.randomUUID(RandomSupport.getRandom(argument.getPayload()));
+
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid)
+                .isEqualTo(
+                        RandomSupport.randomUUID(RandomSupport.getRandom(argument.getPayload())));
+    }
+
+    private static List<Long> values(SplittableRandom random) {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            values.add(RandomSupport.randomLong(random, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,668 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.extras;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to implement Fixtures
+ *
+ * <p>A registry of shared fixtures (e.g. containers), keyed by a fixture key, so an expensive
+ * fixture is created once per JVM and shared by all test classes that use it. A fixture is created
+ * on first use, and reference counted across concurrently running test classes. A fixture is
+ * destroyed by {@link #destroyAll()} (intended to be called from a {@code
+ * TestEngineExtension.destroyCallback()}), when its idle timeout expires, or when the JVM exits.
+ * {@link #shutdown()} also stops the registry threads and removes the shutdown hook (called by the
+ * test engine daemon when a session is finished)
+ */
+@SuppressWarnings("PMD.EmptyCatchBlock")
+public class Fixtures {
+
+    private static final FixtureManager FIXTURE_MANAGER = new FixtureManager();
+
+    /** Constructor */
+    private Fixtures() {
+        // DO NOTHING
+    }
+
+    /**
+     * Method to acquire a reference to a fixture, creating the fixture if it doesn't exist. The
+     * fixture is destroyed by {@link #destroyAll()} or when the JVM exits. An {@link AutoCloseable}
+     * fixture is closed when destroyed
+     *
+     * @param key key
+     * @param creator creator
+     * @return a FixtureReference
+     * @param <T> the fixture type
+     * @throws Throwable Throwable
+     */
+    public static <T> FixtureReference<T> acquire(Object key, Creator<T> creator) throws Throwable {
+        return acquire(key, creator, Fixtures::close, null);
+    }
+
+    /**
+     * Method to acquire a reference to a fixture, creating the fixture if it doesn't exist. The
+     * fixture is destroyed by {@link #destroyAll()} or when the JVM exits
+     *
+     * @param key key
+     * @param creator creator
+     * @param destroyer destroyer
+     * @return a FixtureReference
+     * @param <T> the fixture type
+     * @throws Throwable Throwable
+     */
+    public static <T> FixtureReference<T> acquire(
+            Object key, Creator<T> creator, Destroyer<T> destroyer) throws Throwable {
+        return acquire(key, creator, destroyer, null);
+    }
+
+    /**
+     * Method to acquire a reference to a fixture, creating the fixture if it doesn't exist. The
+     * fixture is destroyed by {@link #destroyAll()}, when the JVM exits, or when it hasn't been
+     * referenced for the idle timeout
+     *
+     * @param key key
+     * @param creator creator
+     * @param destroyer destroyer
+     * @param idleTimeout idleTimeout, null to never evict the fixture
+     * @return a FixtureReference
+     * @param <T> the fixture type
+     * @throws Throwable Throwable
+     */
+    public static <T> FixtureReference<T> acquire(
+            Object key, Creator<T> creator, Destroyer<T> destroyer, Duration idleTimeout)
+            throws Throwable {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+
+        if (creator == null) {
+            throw new IllegalArgumentException("creator is null");
+        }
+
+        if (destroyer == null) {
+            throw new IllegalArgumentException("destroyer is null");
+        }
+
+        if (idleTimeout != null && idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("idleTimeout is negative");
+        }
+
+        return FIXTURE_MANAGER.acquire(key, creator, destroyer, idleTimeout);
+    }
+
+    /**
+     * Method to get the number of references to a fixture
+     *
+     * @param key key
+     * @return the number of references, or -1 if the fixture doesn't exist
+     */
+    public static int getReferenceCount(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+
+        return FIXTURE_MANAGER.getReferenceCount(key);
+    }
+
+    /**
+     * Method to destroy all fixtures, in reverse order of creation, regardless of references
+     *
+     * @return a List of Throwables thrown destroying fixtures (including idle fixtures)
+     */
+    public static List<Throwable> destroyAll() {
+        return FIXTURE_MANAGER.destroyAll();
+    }
+
+    /**
+     * Method to destroy all fixtures, stop the idle fixture eviction thread, and remove the JVM
+     * shutdown hook, so the ClassLoader of the fixtures can be garbage collected. Fixtures acquired
+     * later are managed as before
+     *
+     * @return a List of Throwables thrown destroying fixtures (including idle fixtures)
+     */
+    public static List<Throwable> shutdown() {
+        return FIXTURE_MANAGER.shutdown();
+    }
+
+    /**
+     * Method to close a fixture if it's AutoCloseable
+     *
+     * @param fixture fixture
+     * @throws Exception Exception
+     */
+    private static void close(Object fixture) throws Exception {
+        if (fixture instanceof AutoCloseable) {
+            ((AutoCloseable) fixture).close();
+        }
+    }
+
+    /**
+     * Interface to implement a Creator
+     *
+     * @param <T> the fixture type
+     */
+    public interface Creator<T> {
+
+        /**
+         * Method to create a fixture
+         *
+         * @return the fixture
+         * @throws Throwable Throwable
+         */
+        T create() throws Throwable;
+    }
+
+    /**
+     * Interface to implement a Destroyer
+     *
+     * @param <T> the fixture type
+     */
+    public interface Destroyer<T> {
+
+        /**
+         * Method to destroy a fixture
+         *
+         * @param fixture fixture
+         * @throws Throwable Throwable
+         */
+        void destroy(T fixture) throws Throwable;
+    }
+
+    /**
+     * Class to implement FixtureReference
+     *
+     * @param <T> the fixture type
+     */
+    public static class FixtureReference<T> implements AutoCloseable {
+
+        private final FixtureHolder<T> fixtureHolder;
+        private final AtomicBoolean released;
+
+        /**
+         * Constructor
+         *
+         * @param fixtureHolder fixtureHolder
+         */
+        private FixtureReference(FixtureHolder<T> fixtureHolder) {
+            this.fixtureHolder = fixtureHolder;
+            this.released = new AtomicBoolean();
+        }
+
+        /**
+         * Method to get the fixture
+         *
+         * @return the fixture
+         */
+        public T get() {
+            if (released.get()) {
+                throw new IllegalStateException(
+                        format("FixtureReference [%s] released", fixtureHolder.getKey()));
+            }
+
+            return fixtureHolder.getFixture();
+        }
+
+        /** Method to release the reference */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                throw new IllegalStateException(
+                        format("FixtureReference [%s] already released", fixtureHolder.getKey()));
+            }
+
+            FIXTURE_MANAGER.release(fixtureHolder);
+        }
+
+        /** Method to release the reference, if not released */
+        @Override
+        public void close() {
+            if (!released.get()) {
+                release();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return fixtureHolder.getKey().toString();
+        }
+    }
+
+    /** Class to implement FixtureManager */
+    private static class FixtureManager {
+
+        private final Map<Object, FixtureHolder<?>> map;
+        private final AtomicLong sequence;
+        private final List<Throwable> evictionThrowables;
+        private ScheduledThreadPoolExecutor scheduledThreadPoolExecutor;
+        private volatile Thread shutdownHook;
+
+        /** Constructor */
+        FixtureManager() {
+            map = new ConcurrentHashMap<>();
+            sequence = new AtomicLong();
+            evictionThrowables = Collections.synchronizedList(new ArrayList<>());
+        }
+
+        /**
+         * Method to acquire a reference to a fixture
+         *
+         * @param key key
+         * @param creator creator
+         * @param destroyer destroyer
+         * @param idleTimeout idleTimeout
+         * @return a FixtureReference
+         * @param <T> the fixture type
+         * @throws Throwable Throwable
+         */
+        @SuppressWarnings("unchecked")
+        <T> FixtureReference<T> acquire(
+                Object key, Creator<T> creator, Destroyer<T> destroyer, Duration idleTimeout)
+                throws Throwable {
+            if (shutdownHook == null) {
+                registerShutdownHook();
+            }
+
+            FixtureHolder<T> fixtureHolder;
+
+            // The fixture may be destroyed after it's looked up, so look it up again
+            do {
+                fixtureHolder =
+                        (FixtureHolder<T>)
+                                map.computeIfAbsent(
+                                        key,
+                                        k ->
+                                                new FixtureHolder<>(
+                                                        k,
+                                                        sequence.incrementAndGet(),
+                                                        destroyer,
+                                                        idleTimeout));
+            } while (!reference(fixtureHolder, creator));
+
+            return new FixtureReference<>(fixtureHolder);
+        }
+
+        /**
+         * Method to reference a fixture, creating the fixture if not created
+         *
+         * @param fixtureHolder fixtureHolder
+         * @param creator creator
+         * @return true if the fixture was referenced, false if the fixture is destroyed
+         * @param <T> the fixture type
+         * @throws Throwable Throwable
+         */
+        private <T> boolean reference(FixtureHolder<T> fixtureHolder, Creator<T> creator)
+                throws Throwable {
+            synchronized (fixtureHolder) {
+                if (fixtureHolder.isDestroyed()) {
+                    return false;
+                }
+
+                fixtureHolder.increaseReferenceCount();
+
+                try {
+                    fixtureHolder.create(creator);
+                } catch (Throwable t) {
+                    release(fixtureHolder);
+                    throw t;
+                }
+
+                return true;
+            }
+        }
+
+        /**
+         * Method to release a reference to a fixture
+         *
+         * @param fixtureHolder fixtureHolder
+         */
+        void release(FixtureHolder<?> fixtureHolder) {
+            synchronized (fixtureHolder) {
+                fixtureHolder.decreaseReferenceCount();
+
+                if (fixtureHolder.getReferenceCount() > 0 || fixtureHolder.isDestroyed()) {
+                    return;
+                }
+
+                Duration idleTimeout = fixtureHolder.getIdleTimeout();
+
+                if (!fixtureHolder.isCreated()) {
+                    // Creation failed, so remove the fixture, so the next acquire creates it
+                    map.remove(fixtureHolder.getKey(), fixtureHolder);
+                    fixtureHolder.setDestroyed();
+                } else if (idleTimeout != null) {
+                    fixtureHolder.setEviction(
+                            getScheduledThreadPoolExecutor()
+                                    .schedule(
+                                            () -> evict(fixtureHolder),
+                                            idleTimeout.toNanos(),
+                                            TimeUnit.NANOSECONDS));
+                }
+            }
+        }
+
+        /**
+         * Method to get the number of references to a fixture
+         *
+         * @param key key
+         * @return the number of references, or -1 if the fixture doesn't exist
+         */
+        int getReferenceCount(Object key) {
+            FixtureHolder<?> fixtureHolder = map.get(key);
+            if (fixtureHolder == null) {
+                return -1;
+            }
+
+            synchronized (fixtureHolder) {
+                return fixtureHolder.isDestroyed() ? -1 : fixtureHolder.getReferenceCount();
+            }
+        }
+
+        /**
+         * Method to destroy all fixtures
+         *
+         * @return a List of Throwables
+         */
+        List<Throwable> destroyAll() {
+            List<FixtureHolder<?>> fixtureHolders = new ArrayList<>(map.values());
+            fixtureHolders.sort(
+                    Comparator.comparingLong((FixtureHolder<?> fh) -> fh.getSequence()).reversed());
+
+            List<Throwable> throwables = new ArrayList<>();
+
+            synchronized (evictionThrowables) {
+                throwables.addAll(evictionThrowables);
+                evictionThrowables.clear();
+            }
+
+            for (FixtureHolder<?> fixtureHolder : fixtureHolders) {
+                synchronized (fixtureHolder) {
+                    map.remove(fixtureHolder.getKey(), fixtureHolder);
+
+                    try {
+                        fixtureHolder.destroy();
+                    } catch (Throwable t) {
+                        throwables.add(t);
+                    }
+                }
+            }
+
+            return throwables;
+        }
+
+        /**
+         * Method to destroy all fixtures, stop the eviction thread, and remove the shutdown hook
+         *
+         * @return a List of Throwables
+         */
+        List<Throwable> shutdown() {
+            List<Throwable> throwables = destroyAll();
+
+            synchronized (this) {
+                if (scheduledThreadPoolExecutor != null) {
+                    scheduledThreadPoolExecutor.shutdownNow();
+                    scheduledThreadPoolExecutor = null;
+                }
+
+                Thread thread = shutdownHook;
+                if (thread != null && thread != Thread.currentThread()) {
+                    try {
+                        Runtime.getRuntime().removeShutdownHook(thread);
+                    } catch (IllegalStateException e) {
+                        // DO NOTHING (the JVM is already shutting down)
+                    }
+                }
+                shutdownHook = null;
+            }
+
+            // Fixtures evicted while stopping the eviction thread
+            synchronized (evictionThrowables) {
+                throwables.addAll(evictionThrowables);
+                evictionThrowables.clear();
+            }
+
+            return throwables;
+        }
+
+        /** Method to register the shutdown hook that destroys all fixtures */
+        private synchronized void registerShutdownHook() {
+            if (shutdownHook == null) {
+                Thread thread = new Thread(this::destroyAll, "antublue-fixtures-shutdown");
+                Runtime.getRuntime().addShutdownHook(thread);
+                shutdownHook = thread;
+            }
+        }
+
+        /**
+         * Method to evict an idle fixture
+         *
+         * @param fixtureHolder fixtureHolder
+         */
+        private void evict(FixtureHolder<?> fixtureHolder) {
+            synchronized (fixtureHolder) {
+                // The fixture was referenced again, or destroyed, after eviction was scheduled
+                if (fixtureHolder.getReferenceCount() > 0 || fixtureHolder.isDestroyed()) {
+                    return;
+                }
+
+                map.remove(fixtureHolder.getKey(), fixtureHolder);
+
+                try {
+                    fixtureHolder.destroy();
+                } catch (Throwable t) {
+                    // Reported by destroyAll()
+                    evictionThrowables.add(t);
+                }
+            }
+        }
+
+        /**
+         * Method to get the ScheduledThreadPoolExecutor used to evict idle fixtures
+         *
+         * @return the ScheduledThreadPoolExecutor
+         */
+        private synchronized ScheduledThreadPoolExecutor getScheduledThreadPoolExecutor() {
+            if (scheduledThreadPoolExecutor == null) {
+                scheduledThreadPoolExecutor =
+                        new ScheduledThreadPoolExecutor(
+                                1,
+                                runnable -> {
+                                    Thread thread = new Thread(runnable, "antublue-fixtures");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                });
+                scheduledThreadPoolExecutor.setRemoveOnCancelPolicy(true);
+            }
+
+            return scheduledThreadPoolExecutor;
+        }
+    }
+
+    /**
+     * Class to implement FixtureHolder
+     *
+     * @param <T> the fixture type
+     */
+    private static class FixtureHolder<T> {
+
+        private final Object key;
+        private final long sequence;
+        private final Destroyer<T> destroyer;
+        private final Duration idleTimeout;
+        private T fixture;
+        private boolean created;
+        private boolean destroyed;
+        private int referenceCount;
+        private ScheduledFuture<?> eviction;
+
+        /**
+         * Constructor
+         *
+         * @param key key
+         * @param sequence sequence
+         * @param destroyer destroyer
+         * @param idleTimeout idleTimeout
+         */
+        FixtureHolder(Object key, long sequence, Destroyer<T> destroyer, Duration idleTimeout) {
+            this.key = key;
+            this.sequence = sequence;
+            this.destroyer = destroyer;
+            this.idleTimeout = idleTimeout;
+        }
+
+        /**
+         * Method to get the key
+         *
+         * @return the key
+         */
+        Object getKey() {
+            return key;
+        }
+
+        /**
+         * Method to get the creation sequence
+         *
+         * @return the creation sequence
+         */
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Method to get the idle timeout
+         *
+         * @return the idle timeout
+         */
+        Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        /**
+         * Method to create the fixture, if not created
+         *
+         * @param creator creator
+         * @throws Throwable Throwable
+         */
+        void create(Creator<T> creator) throws Throwable {
+            if (!created) {
+                fixture = creator.create();
+                created = true;
+            }
+        }
+
+        /**
+         * Method to get the fixture
+         *
+         * @return the fixture
+         */
+        synchronized T getFixture() {
+            if (destroyed) {
+                throw new IllegalStateException(format("Fixture [%s] destroyed", key));
+            }
+
+            return fixture;
+        }
+
+        /**
+         * Method to return if the fixture is created
+         *
+         * @return true if the fixture is created, else false
+         */
+        boolean isCreated() {
+            return created;
+        }
+
+        /**
+         * Method to return if the fixture is destroyed
+         *
+         * @return true if the fixture is destroyed, else false
+         */
+        boolean isDestroyed() {
+            return destroyed;
+        }
+
+        /** Method to mark the fixture destroyed */
+        void setDestroyed() {
+            destroyed = true;
+        }
+
+        /**
+         * Method to destroy the fixture, if created and not destroyed
+         *
+         * @throws Throwable Throwable
+         */
+        void destroy() throws Throwable {
+            if (destroyed) {
+                return;
+            }
+
+            destroyed = true;
+            setEviction(null);
+
+            if (created) {
+                T fixture = this.fixture;
+                this.fixture = null;
+                destroyer.destroy(fixture);
+            }
+        }
+
+        /** Method to increase the reference count, cancelling a scheduled eviction */
+        void increaseReferenceCount() {
+            referenceCount++;
+            setEviction(null);
+        }
+
+        /** Method to decrease the reference count */
+        void decreaseReferenceCount() {
+            referenceCount--;
+        }
+
+        /**
+         * Method to get the reference count
+         *
+         * @return the reference count
+         */
+        int getReferenceCount() {
+            return referenceCount;
+        }
+
+        /**
+         * Method to set the scheduled eviction, cancelling a previously scheduled eviction
+         *
+         * @param eviction eviction
+         */
+        void setEviction(ScheduledFuture<?> eviction) {
+            if (this.eviction != null) {
+                this.eviction.cancel(false);
+            }
+
+            this.eviction = eviction;
+        }
+    }
+}
@@ -0,0 +1,572 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.extras;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class to implement LatencyRecorder
+ *
+ * <p>Values (nanoseconds) are recorded into a fixed size, log bucketed histogram. Recording is
+ * thread-safe and doesn't allocate. Each bucket is split into linear sub-buckets so that recorded
+ * values keep the configured number of significant digits.
+ */
+public class LatencyRecorder {
+
+    /** Default highest trackable value (1 hour) */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+    /** Default number of significant digits */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    private final Layout layout;
+    private final AtomicLongArray counts;
+    private final AtomicLong minimum;
+    private final AtomicLong maximum;
+    private final Object intervalLock;
+    private long[] intervalCounts;
+
+    /** Constructor */
+    public LatencyRecorder() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param highestTrackableValue highestTrackableValue
+     * @param significantDigits significantDigits
+     */
+    public LatencyRecorder(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException(
+                    "highestTrackableValue [" + highestTrackableValue + "] is less than 2");
+        }
+
+        if (significantDigits < 1 || significantDigits > 3) {
+            throw new IllegalArgumentException(
+                    "significantDigits [" + significantDigits + "] is not in the range [1, 3]");
+        }
+
+        this.layout = new Layout(highestTrackableValue, significantDigits);
+        this.counts = new AtomicLongArray(layout.length);
+        this.minimum = new AtomicLong(Long.MAX_VALUE);
+        this.maximum = new AtomicLong(Long.MIN_VALUE);
+        this.intervalLock = new Object();
+        this.intervalCounts = new long[layout.length];
+    }
+
+    /**
+     * Method to record a value
+     *
+     * <p>Values greater than the highest trackable value are counted in the highest bucket, but are
+     * still reported as the maximum value
+     *
+     * @param value value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value [" + value + "] is less than 0");
+        }
+
+        counts.incrementAndGet(layout.index(Math.min(value, layout.highestTrackableValue)));
+
+        long current = minimum.get();
+        while (value < current && !minimum.compareAndSet(current, value)) {
+            current = minimum.get();
+        }
+
+        current = maximum.get();
+        while (value > current && !maximum.compareAndSet(current, value)) {
+            current = maximum.get();
+        }
+    }
+
+    /**
+     * Method to record a Duration
+     *
+     * @param duration duration
+     */
+    public void record(Duration duration) {
+        if (duration == null) {
+            throw new IllegalArgumentException("duration is null");
+        }
+
+        record(duration.toNanos());
+    }
+
+    /**
+     * Method to execute an Executable, recording the execution time
+     *
+     * @param executable executable
+     * @return the Duration
+     * @throws Throwable Throwable
+     */
+    public Duration record(Executable executable) throws Throwable {
+        if (executable == null) {
+            throw new IllegalArgumentException("executable is null");
+        }
+
+        long t0 = System.nanoTime();
+        executable.execute();
+        long elapsedTime = System.nanoTime() - t0;
+        record(elapsedTime);
+        return Duration.of(elapsedTime, ChronoUnit.NANOS);
+    }
+
+    /**
+     * Method to merge the values of another LatencyRecorder into this LatencyRecorder
+     *
+     * @param latencyRecorder latencyRecorder
+     */
+    public void merge(LatencyRecorder latencyRecorder) {
+        if (latencyRecorder == null) {
+            throw new IllegalArgumentException("latencyRecorder is null");
+        }
+
+        merge(latencyRecorder.snapshot());
+    }
+
+    /**
+     * Method to merge the values of a Snapshot into this LatencyRecorder
+     *
+     * @param snapshot snapshot
+     */
+    public void merge(Snapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("snapshot is null");
+        }
+
+        if (!layout.equals(snapshot.layout)) {
+            throw new IllegalArgumentException("snapshot has a different layout");
+        }
+
+        if (snapshot.getCount() == 0) {
+            return;
+        }
+
+        for (int i = 0; i < snapshot.counts.length; i++) {
+            if (snapshot.counts[i] != 0) {
+                counts.addAndGet(i, snapshot.counts[i]);
+            }
+        }
+
+        long current = minimum.get();
+        while (snapshot.minimum < current && !minimum.compareAndSet(current, snapshot.minimum)) {
+            current = minimum.get();
+        }
+
+        current = maximum.get();
+        while (snapshot.maximum > current && !maximum.compareAndSet(current, snapshot.maximum)) {
+            current = maximum.get();
+        }
+    }
+
+    /**
+     * Method to get a Snapshot of all recorded values
+     *
+     * @return a Snapshot
+     */
+    public Snapshot snapshot() {
+        long[] values = new long[layout.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counts.get(i);
+        }
+
+        return new Snapshot(layout, values, minimum.get(), maximum.get());
+    }
+
+    /**
+     * Method to get a Snapshot of the values recorded since the previous interval Snapshot
+     *
+     * @return a Snapshot
+     */
+    public Snapshot intervalSnapshot() {
+        long[] values = new long[layout.length];
+
+        synchronized (intervalLock) {
+            for (int i = 0; i < values.length; i++) {
+                long value = counts.get(i);
+                values[i] = value - intervalCounts[i];
+                intervalCounts[i] = value;
+            }
+        }
+
+        return new Snapshot(layout, values, Long.MAX_VALUE, Long.MIN_VALUE);
+    }
+
+    /**
+     * Method to reset the LatencyRecorder
+     *
+     * <p>Values recorded concurrently with a reset may or may not be retained
+     */
+    public void reset() {
+        synchronized (intervalLock) {
+            for (int i = 0; i < layout.length; i++) {
+                counts.set(i, 0);
+                intervalCounts[i] = 0;
+            }
+
+            minimum.set(Long.MAX_VALUE);
+            maximum.set(Long.MIN_VALUE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /** Class to implement Snapshot */
+    public static class Snapshot {
+
+        private final Layout layout;
+        private final long[] counts;
+        private final long count;
+        private final long minimum;
+        private final long maximum;
+
+        /**
+         * Constructor
+         *
+         * @param layout layout
+         * @param counts counts
+         * @param minimum the exact minimum value, or Long.MAX_VALUE if unknown
+         * @param maximum the exact maximum value, or Long.MIN_VALUE if unknown
+         */
+        private Snapshot(Layout layout, long[] counts, long minimum, long maximum) {
+            this.layout = layout;
+            this.counts = counts;
+
+            long count = 0;
+            int lowestIndex = -1;
+            int highestIndex = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    count += counts[i];
+                    if (lowestIndex == -1) {
+                        lowestIndex = i;
+                    }
+                    highestIndex = i;
+                }
+            }
+
+            this.count = count;
+
+            if (count == 0) {
+                this.minimum = 0;
+                this.maximum = 0;
+            } else {
+                this.minimum =
+                        minimum != Long.MAX_VALUE ? minimum : layout.valueFromIndex(lowestIndex);
+                this.maximum =
+                        maximum != Long.MIN_VALUE
+                                ? maximum
+                                : layout.highestEquivalentValue(
+                                        layout.valueFromIndex(highestIndex));
+            }
+        }
+
+        /**
+         * Method to get the number of recorded values
+         *
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Method to get the minimum recorded value
+         *
+         * @return the minimum recorded value, or 0 if there are no recorded values
+         */
+        public long getMinimum() {
+            return minimum;
+        }
+
+        /**
+         * Method to get the maximum recorded value
+         *
+         * @return the maximum recorded value, or 0 if there are no recorded values
+         */
+        public long getMaximum() {
+            return maximum;
+        }
+
+        /**
+         * Method to get the mean of the recorded values
+         *
+         * @return the mean of the recorded values, or 0 if there are no recorded values
+         */
+        public double getMean() {
+            if (count == 0) {
+                return 0;
+            }
+
+            double total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    total += (double) counts[i] * layout.medianEquivalentValue(i);
+                }
+            }
+
+            return total / count;
+        }
+
+        /**
+         * Method to get the value at a percentile
+         *
+         * @param percentile percentile in the range [0, 100]
+         * @return the value at the percentile, or 0 if there are no recorded values
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException(
+                        "percentile [" + percentile + "] is not in the range [0, 100]");
+            }
+
+            if (count == 0) {
+                return 0;
+            }
+
+            long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100D * count));
+
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (total >= countAtPercentile) {
+                    if (total == count) {
+                        // The highest non-empty bucket contains the maximum value
+                        return maximum;
+                    }
+                    long value = layout.highestEquivalentValue(layout.valueFromIndex(i));
+                    return Math.max(minimum, Math.min(value, maximum));
+                }
+            }
+
+            return maximum;
+        }
+
+        /**
+         * Method to get the 50th percentile value
+         *
+         * @return the 50th percentile value
+         */
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        /**
+         * Method to get the 99th percentile value
+         *
+         * @return the 99th percentile value
+         */
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        /**
+         * Method to get the 99.9th percentile value
+         *
+         * @return the 99.9th percentile value
+         */
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        /**
+         * Method to merge this Snapshot with another Snapshot
+         *
+         * @param snapshot snapshot
+         * @return a new Snapshot containing the values of both Snapshots
+         */
+        public Snapshot merge(Snapshot snapshot) {
+            if (snapshot == null) {
+                throw new IllegalArgumentException("snapshot is null");
+            }
+
+            if (!layout.equals(snapshot.layout)) {
+                throw new IllegalArgumentException("snapshot has a different layout");
+            }
+
+            long[] values = new long[counts.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = counts[i] + snapshot.counts[i];
+            }
+
+            long minimum = Long.MAX_VALUE;
+            long maximum = Long.MIN_VALUE;
+
+            if (count > 0) {
+                minimum = this.minimum;
+                maximum = this.maximum;
+            }
+
+            if (snapshot.count > 0) {
+                minimum = Math.min(minimum, snapshot.minimum);
+                maximum = Math.max(maximum, snapshot.maximum);
+            }
+
+            return new Snapshot(layout, values, minimum, maximum);
+        }
+
+        @Override
+        public String toString() {
+            return "count ["
+                    + count
+                    + "] min ["
+                    + minimum
+                    + "] mean ["
+                    + (long) getMean()
+                    + "] p50 ["
+                    + getP50()
+                    + "] p99 ["
+                    + getP99()
+                    + "] p999 ["
+                    + getP999()
+                    + "] max ["
+                    + maximum
+                    + "] (ns)";
+        }
+    }
+
+    /** Class to implement the histogram bucket layout */
+    private static class Layout {
+
+        private final long highestTrackableValue;
+        private final int significantDigits;
+        private final int subBucketHalfCountMagnitude;
+        private final int subBucketHalfCount;
+        private final int subBucketCount;
+        private final long subBucketMask;
+        private final int leadingZeroCountBase;
+        private final int length;
+
+        /**
+         * Constructor
+         *
+         * @param highestTrackableValue highestTrackableValue
+         * @param significantDigits significantDigits
+         */
+        Layout(long highestTrackableValue, int significantDigits) {
+            this.highestTrackableValue = highestTrackableValue;
+            this.significantDigits = significantDigits;
+
+            long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+            int subBucketCountMagnitude =
+                    (int) Math.ceil(Math.log(largestValueWithSingleUnitResolution) / Math.log(2));
+
+            subBucketHalfCountMagnitude = Math.max(subBucketCountMagnitude, 1) - 1;
+            subBucketCount = 1 << (subBucketHalfCountMagnitude + 1);
+            subBucketHalfCount = subBucketCount / 2;
+            subBucketMask = subBucketCount - 1;
+            leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+
+            int bucketCount = 1;
+            long smallestUntrackableValue = subBucketCount;
+            while (smallestUntrackableValue <= highestTrackableValue) {
+                if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                    bucketCount++;
+                    break;
+                }
+                smallestUntrackableValue <<= 1;
+                bucketCount++;
+            }
+
+            length = (bucketCount + 1) * subBucketHalfCount;
+        }
+
+        /**
+         * Method to get the counts index of a value
+         *
+         * @param value value
+         * @return the counts index
+         */
+        int index(long value) {
+            int bucketIndex = bucketIndex(value);
+            int subBucketIndex = (int) (value >>> bucketIndex);
+            return ((bucketIndex + 1) << subBucketHalfCountMagnitude)
+                    + subBucketIndex
+                    - subBucketHalfCount;
+        }
+
+        /**
+         * Method to get the lowest value of a counts index
+         *
+         * @param index index
+         * @return the lowest value of the counts index
+         */
+        long valueFromIndex(int index) {
+            int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+            int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+            if (bucketIndex < 0) {
+                subBucketIndex -= subBucketHalfCount;
+                bucketIndex = 0;
+            }
+            return ((long) subBucketIndex) << bucketIndex;
+        }
+
+        /**
+         * Method to get the highest value that is equivalent to a value
+         *
+         * @param value value
+         * @return the highest equivalent value
+         */
+        long highestEquivalentValue(long value) {
+            int bucketIndex = bucketIndex(value);
+            int subBucketIndex = (int) (value >>> bucketIndex);
+            long lowestEquivalentValue = ((long) subBucketIndex) << bucketIndex;
+            int magnitude = subBucketIndex >= subBucketCount ? bucketIndex + 1 : bucketIndex;
+            return lowestEquivalentValue + (1L << magnitude) - 1;
+        }
+
+        /**
+         * Method to get the median value of a counts index
+         *
+         * @param index index
+         * @return the median value of the counts index
+         */
+        long medianEquivalentValue(int index) {
+            long value = valueFromIndex(index);
+            return value + ((highestEquivalentValue(value) - value + 1) >> 1);
+        }
+
+        private int bucketIndex(long value) {
+            return leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Layout layout = (Layout) o;
+            return highestTrackableValue == layout.highestTrackableValue
+                    && significantDigits == layout.significantDigits;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(highestTrackableValue, significantDigits);
+        }
+    }
+}
@@ -16,6 +16,11 @@
 
 package org.antublue.test.engine.extras;
 
+/**
+ * Class to implement Timed
+ *
+ * @deprecated use {@link LatencyRecorder#record(Executable)}
+ */
 @Deprecated
 public class Timed {
 
@@ -51,7 +56,7 @@ public class Timed {
         switch (units) {
             case SECONDS:
                 {
-                    t0 = System.currentTimeMillis() * 1000;
+                    t0 = System.currentTimeMillis() / 1000D;
                     break;
                 }
             case MILLISECONDS:
@@ -77,7 +82,7 @@ public class Timed {
         switch (units) {
             case SECONDS:
                 {
-                    t1 = System.currentTimeMillis() * 1000;
+                    t1 = System.currentTimeMillis() / 1000D;
                     break;
                 }
             case MILLISECONDS:
@@ -19,7 +19,11 @@ package org.antublue.test.engine.extras;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
-/** Class to implement TimedExecution */
+/**
+ * Class to implement TimedExecution
+ *
+ * @deprecated use {@link LatencyRecorder#record(Executable)}
+ */
 @Deprecated
 public class TimedExecution {
 
@@ -19,9 +19,9 @@ package org.antublue.test.engine.maven.plugin;
 import static org.junit.platform.engine.discovery.ClassNameFilter.includeClassNamePatterns;
 
 import java.io.File;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -30,15 +30,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.regex.Pattern;
 import org.antublue.test.engine.AntuBLUETestEngine;
 import org.antublue.test.engine.internal.configuration.Configuration;
 import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
+import org.antublue.test.engine.internal.impact.ImpactAnalysis;
+import org.antublue.test.engine.internal.report.ReportEngineExecutionListener;
+import org.antublue.test.engine.internal.support.RandomSupport;
 import org.antublue.test.engine.internal.util.AnsiColor;
+import org.antublue.test.engine.internal.util.IndexedClassLoader;
+import org.antublue.test.engine.maven.plugin.fork.ForkedWorkerPool;
+import org.antublue.test.engine.maven.plugin.fork.TestEngineDaemonClient;
 import org.antublue.test.engine.maven.plugin.listener.DelegatingEngineExecutionListener;
 import org.antublue.test.engine.maven.plugin.listener.StatusEngineExecutionListener;
 import org.antublue.test.engine.maven.plugin.listener.SummaryEngineExecutionListener;
 import org.antublue.test.engine.maven.plugin.logger.Logger;
-import org.apache.maven.artifact.Artifact;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -77,6 +84,40 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
     @Parameter(property = "properties")
     private Map<String, String> properties;
 
+    @Parameter(property = "antublue.test.engine.fork.count", defaultValue = "0")
+    private int forkCount;
+
+    @Parameter(property = "antublue.test.engine.fork.argLine")
+    private String forkArgLine;
+
+    @Parameter(property = "antublue.test.engine.scan.dependencies", defaultValue = "false")
+    private boolean scanDependencies;
+
+    @Parameter(property = "antublue.test.engine.daemon", defaultValue = "false")
+    private boolean daemon;
+
+    @Parameter(property = "antublue.test.engine.daemon.idle.timeout", defaultValue = "PT1H")
+    private String daemonIdleTimeout;
+
+    @Parameter(property = "antublue.test.engine.impact", defaultValue = "false")
+    private boolean impact;
+
+    @Parameter(
+            property = "antublue.test.engine.impact.snapshot",
+            defaultValue = "${project.build.directory}/antublue-test-engine-impact.snapshot")
+    private File impactSnapshot;
+
+    @Parameter(property = "antublue.test.engine.impact.always")
+    private String impactAlways;
+
+    @Parameter(property = "antublue.test.engine.report.format")
+    private String reportFormat;
+
+    @Parameter(
+            property = "antublue.test.engine.report.directory",
+            defaultValue = "${project.build.directory}/antublue-test-engine-reports")
+    private File reportDirectory;
+
     /** Constructor */
     public AntuBLUETestEngineMavenPlugin() {
         super();
@@ -89,6 +130,9 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
      */
     public void execute() throws MojoFailureException, MojoExecutionException {
         Logger logger = Logger.from(getLog());
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        IndexedClassLoader classLoader = null;
+        ReportEngineExecutionListener reportEngineExecutionListener = null;
 
         try {
             Configuration configuration = Configuration.getInstance();
@@ -108,90 +152,54 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
                         Constants.MAVEN_PLUGIN_MODE, Constants.MAVEN_PLUGIN_MODE);
             }
 
+            Map<String, String> systemProperties = new LinkedHashMap<>();
+            systemProperties.put(Constants.MAVEN_PLUGIN, Constants.TRUE);
+            systemProperties.put(
+                    Constants.MAVEN_PLUGIN_MODE,
+                    configuration.get(Constants.MAVEN_PLUGIN_MODE).orElse(""));
+
             if (properties != null) {
                 for (Map.Entry<String, String> entry : properties.entrySet()) {
                     if (entry.getKey() != null && entry.getValue() != null) {
                         System.setProperty(entry.getKey(), entry.getValue());
+                        systemProperties.put(entry.getKey(), entry.getValue());
                         logger.debug("property [%s] = [%s]", entry.getKey(), entry.getValue());
                     }
                 }
             }
 
+            // The test classpath contains the test and main output directories and all
+            // dependencies, in classpath order
             Set<Path> artifactPaths = new LinkedHashSet<>();
 
-            List<String> classpathElements = mavenProject.getCompileClasspathElements();
-            if (classpathElements != null) {
-                for (String classpathElement : classpathElements) {
-                    Path path = new File(classpathElement).toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
-                }
-            }
-
-            classpathElements = mavenProject.getCompileClasspathElements();
-            if (classpathElements != null) {
-                for (String classpathElement : classpathElements) {
-                    Path path = new File(classpathElement).toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
-                }
-            }
-
-            classpathElements = mavenProject.getRuntimeClasspathElements();
-            if (classpathElements != null) {
-                for (String classpathElement : classpathElements) {
-                    Path path = new File(classpathElement).toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
-                }
-            }
-
-            classpathElements = mavenProject.getTestClasspathElements();
+            List<String> classpathElements = mavenProject.getTestClasspathElements();
             if (classpathElements != null) {
                 for (String classpathElement : classpathElements) {
                     Path path = new File(classpathElement).toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
+                    if (artifactPaths.add(path)) {
+                        logger.debug("classpathElement [%s]", path);
+                    }
                 }
             }
 
-            Artifact artifact = mavenProject.getArtifact();
-            if (artifact != null) {
-                Path path = artifact.getFile().toPath();
-                artifactPaths.add(path);
-                logger.debug("classpathElement [%s]", path);
-            }
-
-            Set<Artifact> artifactSet = mavenProject.getDependencyArtifacts();
-            if (artifactSet != null) {
-                for (Artifact a : artifactSet) {
-                    Path path = a.getFile().toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
+            Set<Path> discoveryPaths = new LinkedHashSet<>();
+            if (scanDependencies) {
+                discoveryPaths.addAll(artifactPaths);
+            } else {
+                Path testOutputDirectory =
+                        new File(mavenProject.getBuild().getTestOutputDirectory()).toPath();
+                if (testOutputDirectory.toFile().isDirectory()) {
+                    discoveryPaths.add(testOutputDirectory);
                 }
             }
 
-            List<Artifact> artifactList = mavenProject.getAttachedArtifacts();
-            if (artifactList != null) {
-                for (Artifact a : artifactList) {
-                    Path path = a.getFile().toPath();
-                    artifactPaths.add(path);
-                    logger.debug("classpathElement [%s]", path);
-                }
-            }
+            logger.debug("discovery paths %s", discoveryPaths);
 
-            Map<String, URL> urls = new LinkedHashMap<>();
-            for (Path path : artifactPaths) {
-                URL url = path.toUri().toURL();
-                urls.putIfAbsent(url.getPath(), url);
-            }
+            System.setProperty("java.class.path", buildClasspath(artifactPaths));
 
-            System.setProperty("java.class.path", buildClasspath(urls.values()));
+            classLoader = new IndexedClassLoader(artifactPaths, contextClassLoader);
 
-            ClassLoader classLoader =
-                    new URLClassLoader(
-                            urls.values().toArray(new URL[0]),
-                            Thread.currentThread().getContextClassLoader());
+            logger.debug("indexed packages [%d]", classLoader.getPackageCount());
 
             Thread.currentThread().setContextClassLoader(classLoader);
 
@@ -200,15 +208,34 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
 
             String summaryMessage = null;
 
-            DelegatingEngineExecutionListener delegatingEngineExecutionListener =
-                    new DelegatingEngineExecutionListener(
-                            summaryEngineExecutionListener, new StatusEngineExecutionListener());
+            Set<ReportEngineExecutionListener.Format> reportFormats =
+                    ReportEngineExecutionListener.Format.parse(reportFormat);
+
+            DelegatingEngineExecutionListener delegatingEngineExecutionListener;
+
+            if (reportFormats.isEmpty()) {
+                delegatingEngineExecutionListener =
+                        new DelegatingEngineExecutionListener(
+                                summaryEngineExecutionListener,
+                                new StatusEngineExecutionListener());
+            } else {
+                logger.debug("report formats %s directory [%s]", reportFormats, reportDirectory);
+
+                reportEngineExecutionListener =
+                        new ReportEngineExecutionListener(reportDirectory.toPath(), reportFormats);
+
+                delegatingEngineExecutionListener =
+                        new DelegatingEngineExecutionListener(
+                                summaryEngineExecutionListener,
+                                new StatusEngineExecutionListener(),
+                                reportEngineExecutionListener);
+            }
 
             LauncherConfig launcherConfig = LauncherConfig.builder().build();
 
             LauncherDiscoveryRequest launcherDiscoveryRequest =
                     LauncherDiscoveryRequestBuilder.request()
-                            .selectors(DiscoverySelectors.selectClasspathRoots(artifactPaths))
+                            .selectors(DiscoverySelectors.selectClasspathRoots(discoveryPaths))
                             .filters(includeClassNamePatterns(".*"))
                             .configurationParameters(Collections.emptyMap())
                             .build();
@@ -230,7 +257,18 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
                 System.err.flush();
             }
 
-            if (testDescriptor != null) {
+            ImpactAnalysis impactAnalysis = null;
+            boolean noAffectedTests = false;
+
+            if (testDescriptor != null && impact) {
+                impactAnalysis = ImpactAnalysis.analyze(impactSnapshot.toPath(), artifactPaths);
+                noAffectedTests = !selectAffected(logger, testDescriptor, impactAnalysis);
+            }
+
+            if (noAffectedTests) {
+                summaryMessage = AnsiColor.TEXT_GREEN_BOLD.wrap("PASS / NO AFFECTED TESTS");
+                impactAnalysis.store();
+            } else if (testDescriptor != null) {
                 try {
                     ExecutionRequest executionRequest =
                             new ExecutionRequest(
@@ -238,13 +276,52 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
                                     delegatingEngineExecutionListener,
                                     Configuration.getInstance());
 
-                    engine.execute(executionRequest);
+                    if (daemon || forkCount > 0) {
+                        logger.debug("daemon [%b] forkCount [%d]", daemon, forkCount);
+
+                        // Workers share the run-level seed, so random values are reproducible
+                        systemProperties.put(
+                                Constants.RANDOM_SEED, String.valueOf(RandomSupport.getSeed()));
+
+                        if (daemon) {
+                            // A daemon session uses the test classpath of the build
+                            systemProperties.put(
+                                    "java.class.path", System.getProperty("java.class.path"));
+                        }
+
+                        ForkedWorkerPool forkedWorkerPool =
+                                new ForkedWorkerPool(
+                                        logger,
+                                        forkCount,
+                                        forkArgLine,
+                                        artifactPaths,
+                                        systemProperties,
+                                        classLoader);
+
+                        if (daemon) {
+                            forkedWorkerPool.execute(
+                                    testDescriptor,
+                                    delegatingEngineExecutionListener,
+                                    new TestEngineDaemonClient(
+                                            logger, forkArgLine, daemonIdleTimeout));
+                        } else {
+                            forkedWorkerPool.execute(
+                                    testDescriptor, delegatingEngineExecutionListener);
+                        }
+                    } else {
+                        engine.execute(executionRequest);
+                    }
 
                     if (summaryEngineExecutionListener.hasTests()) {
                         if (summaryEngineExecutionListener.hasFailures()) {
                             summaryMessage = AnsiColor.TEXT_RED_BOLD.wrap("FAIL");
                         } else {
                             summaryMessage = AnsiColor.TEXT_GREEN_BOLD.wrap("PASS");
+
+                            // Only a passing run moves the snapshot forward
+                            if (impactAnalysis != null) {
+                                impactAnalysis.store();
+                            }
                         }
                     } else {
                         summaryMessage = AnsiColor.TEXT_RED_BOLD.wrap("FAIL / NO TESTS EXECUTED");
@@ -257,9 +334,14 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
                 }
             }
 
+            if (reportEngineExecutionListener != null) {
+                reportEngineExecutionListener.close();
+                reportEngineExecutionListener = null;
+            }
+
             summaryEngineExecutionListener.end(summaryMessage);
 
-            if (!summaryEngineExecutionListener.hasTests()
+            if ((!summaryEngineExecutionListener.hasTests() && !noAffectedTests)
                     || summaryEngineExecutionListener.hasFailures()) {
                 throw new MojoFailureException("");
             }
@@ -267,13 +349,75 @@ public class AntuBLUETestEngineMavenPlugin extends AbstractMojo {
             throw e;
         } catch (Throwable t) {
             throw new MojoExecutionException(t);
+        } finally {
+            if (reportEngineExecutionListener != null) {
+                reportEngineExecutionListener.close();
+            }
+
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+
+            if (classLoader != null) {
+                try {
+                    classLoader.close();
+                } catch (IOException e) {
+                    logger.warn("Exception closing class loader [%s]", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to remove the test classes that aren't affected by changes (and don't match the always
+     * run pattern)
+     *
+     * @param logger logger
+     * @param testDescriptor testDescriptor
+     * @param impactAnalysis impactAnalysis
+     * @return true if any test classes remain, otherwise false
+     */
+    private boolean selectAffected(
+            Logger logger, TestDescriptor testDescriptor, ImpactAnalysis impactAnalysis) {
+        Pattern alwaysPattern =
+                impactAlways != null && !impactAlways.trim().isEmpty()
+                        ? Pattern.compile(impactAlways.trim())
+                        : null;
+
+        int total = 0;
+        int selected = 0;
+
+        for (TestDescriptor childTestDescriptor : new ArrayList<>(testDescriptor.getChildren())) {
+            if (childTestDescriptor instanceof ClassTestDescriptor) {
+                total++;
+
+                String className =
+                        ((ClassTestDescriptor) childTestDescriptor).getTestClass().getName();
+
+                if (impactAnalysis.isAffected(className)
+                        || (alwaysPattern != null && alwaysPattern.matcher(className).matches())) {
+                    selected++;
+                } else {
+                    childTestDescriptor.removeFromHierarchy();
+                }
+            }
+        }
+
+        if (impactAnalysis.isFull()) {
+            logger.info(
+                    "Impact analysis: no snapshot or dependencies changed, running all test"
+                            + " classes");
+        } else {
+            logger.info(
+                    "Impact analysis: [%d] changed classes, running [%d] of [%d] test classes",
+                    impactAnalysis.getChangedClassNames().size(), selected, total);
         }
+
+        return !testDescriptor.getChildren().isEmpty();
     }
 
-    private static String buildClasspath(Collection<URL> urls) {
+    private static String buildClasspath(Collection<Path> paths) {
         StringJoiner stringJoiner = new StringJoiner(File.pathSeparator);
-        for (URL url : urls) {
-            stringJoiner.add(url.getPath());
+        for (Path path : paths) {
+            stringJoiner.add(path.toAbsolutePath().toString());
         }
         return stringJoiner.toString();
     }
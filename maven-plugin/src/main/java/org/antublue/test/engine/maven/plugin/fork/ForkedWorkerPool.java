@@ -0,0 +1,571 @@
+/*
+ * Copyright (C) 2023 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.maven.plugin.fork;
+
+import static java.lang.String.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.antublue.test.engine.exception.TestEngineException;
+import org.antublue.test.engine.internal.baseline.Baseline;
+import org.antublue.test.engine.internal.checkpoint.Checkpoint;
+import org.antublue.test.engine.internal.configuration.Configuration;
+import org.antublue.test.engine.internal.descriptor.ExecutableTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.Metadata;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
+import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
+import org.antublue.test.engine.internal.execution.ExecutionContext;
+import org.antublue.test.engine.internal.execution.FailFast;
+import org.antublue.test.engine.internal.flaky.FlakyStatistics;
+import org.antublue.test.engine.internal.fork.ForkProtocol;
+import org.antublue.test.engine.internal.fork.ForkedWorker;
+import org.antublue.test.engine.maven.plugin.logger.Logger;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Class to implement ForkedWorkerPool
+ *
+ * <p>Forks worker JVMs, then hands out test class unique ids (discovered once in the Maven JVM) to
+ * idle workers one at a time, so uneven test class durations are balanced. Worker execution events
+ * are forwarded to the EngineExecutionListener using the discovered test descriptors
+ *
+ * <p>Alternatively, test classes are handed out to a single session of a {@link
+ * TestEngineDaemonClient test engine daemon}
+ *
+ * <p>Forked workers authenticate with a random token (passed in the environment), so other local
+ * processes can't connect to the plugin as a worker
+ */
+@SuppressWarnings("PMD.EmptyCatchBlock")
+public class ForkedWorkerPool {
+
+    private static final int CONNECT_TIMEOUT_MILLISECONDS = 60000;
+
+    private static final long EXIT_TIMEOUT_SECONDS = 30;
+
+    /** Classes whose code source (jar or directory) is required by a forked worker */
+    private static final String[] WORKER_CLASS_NAMES = {
+        "org.antublue.test.engine.internal.fork.ForkedWorker",
+        "org.antublue.test.engine.api.TestEngine",
+        "org.junit.platform.engine.TestEngine",
+        "org.junit.platform.commons.util.Preconditions",
+        "org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder",
+        "org.opentest4j.TestAbortedException",
+        "org.apiguardian.api.API"
+    };
+
+    private final Logger logger;
+    private final int forkCount;
+    private final String argLine;
+    private final Collection<Path> classpath;
+    private final Map<String, String> systemProperties;
+    private final ClassLoader classLoader;
+
+    /**
+     * Constructor
+     *
+     * @param logger logger
+     * @param forkCount number of worker JVMs
+     * @param argLine JVM arguments of the worker JVMs, may be null
+     * @param classpath test classpath
+     * @param systemProperties system properties of the worker JVMs
+     * @param classLoader ClassLoader of the test classes
+     */
+    public ForkedWorkerPool(
+            Logger logger,
+            int forkCount,
+            String argLine,
+            Collection<Path> classpath,
+            Map<String, String> systemProperties,
+            ClassLoader classLoader) {
+        this.logger = logger;
+        this.forkCount = forkCount;
+        this.argLine = argLine;
+        this.classpath = classpath;
+        this.systemProperties = new LinkedHashMap<>(systemProperties);
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Method to execute the test classes of a root test descriptor using forked workers
+     *
+     * @param rootTestDescriptor rootTestDescriptor
+     * @param engineExecutionListener engineExecutionListener
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public void execute(
+            TestDescriptor rootTestDescriptor, EngineExecutionListener engineExecutionListener)
+            throws IOException, InterruptedException {
+        execute(rootTestDescriptor, engineExecutionListener, null);
+    }
+
+    /**
+     * Method to execute the test classes of a root test descriptor using forked workers, or a test
+     * engine daemon session
+     *
+     * @param rootTestDescriptor rootTestDescriptor
+     * @param engineExecutionListener engineExecutionListener
+     * @param testEngineDaemonClient testEngineDaemonClient, null to fork workers
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public void execute(
+            TestDescriptor rootTestDescriptor,
+            EngineExecutionListener engineExecutionListener,
+            TestEngineDaemonClient testEngineDaemonClient)
+            throws IOException, InterruptedException {
+        Map<String, TestDescriptor> testDescriptors = new HashMap<>();
+        for (TestDescriptor testDescriptor : rootTestDescriptor.getDescendants()) {
+            testDescriptors.put(testDescriptor.getUniqueId().toString(), testDescriptor);
+        }
+
+        Queue<TestDescriptor> queue = new ConcurrentLinkedQueue<>(rootTestDescriptor.getChildren());
+
+        FailFast failFast = FailFast.create(Configuration.getInstance());
+        Checkpoint checkpoint = Checkpoint.create(Configuration.getInstance());
+        EngineExecutionListener listener =
+                FlakyStatistics.getInstance()
+                        .wrap(failFast.wrap(checkpoint.wrap(engineExecutionListener, failFast)));
+
+        listener.executionStarted(rootTestDescriptor);
+
+        queue.removeIf(checkpoint::replay);
+
+        int workerCount = Math.min(testEngineDaemonClient != null ? 1 : forkCount, queue.size());
+        List<Process> processes = new ArrayList<>(workerCount);
+        List<Socket> sockets = new ArrayList<>(workerCount);
+        List<Thread> threads = new ArrayList<>(workerCount);
+
+        if (workerCount > 0) {
+            if (testEngineDaemonClient != null) {
+                sockets.add(testEngineDaemonClient.connect(classpath, systemProperties));
+            } else {
+                try (ServerSocket serverSocket =
+                        new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+                    serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLISECONDS);
+
+                    List<String> command = command(serverSocket.getLocalPort());
+                    logger.debug("fork command %s", command);
+
+                    // Passed in the environment, since the command line is visible to other users
+                    String token = UUID.randomUUID().toString();
+
+                    for (int i = 0; i < workerCount; i++) {
+                        ProcessBuilder processBuilder = new ProcessBuilder(command).inheritIO();
+                        processBuilder.environment().put(ForkProtocol.TOKEN, token);
+                        processes.add(processBuilder.start());
+                    }
+
+                    while (sockets.size() < workerCount) {
+                        Socket socket = serverSocket.accept();
+                        if (authenticate(socket, token)) {
+                            sockets.add(socket);
+                        } else {
+                            logger.warn(
+                                    "Rejected unauthenticated connection from [%s]",
+                                    socket.getRemoteSocketAddress());
+                            socket.close();
+                        }
+                    }
+                } catch (IOException e) {
+                    processes.forEach(Process::destroyForcibly);
+                    sockets.forEach(ForkedWorkerPool::close);
+                    throw e;
+                }
+            }
+
+            for (int i = 0; i < sockets.size(); i++) {
+                Connection connection =
+                        new Connection(
+                                sockets.get(i),
+                                queue,
+                                testDescriptors,
+                                listener,
+                                failFast,
+                                checkpoint);
+
+                Thread thread = new Thread(connection, format("test-engine-fork-%02d", i));
+                thread.setDaemon(true);
+                thread.setContextClassLoader(classLoader);
+                thread.start();
+                threads.add(thread);
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            for (Process process : processes) {
+                if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                } else if (process.exitValue() != 0) {
+                    logger.warn("Forked worker exited with code [%d]", process.exitValue());
+                }
+            }
+        }
+
+        ExecutionContext executionContext =
+                new ExecutionContext(
+                        ExecutionRequest.create(
+                                rootTestDescriptor, listener, Configuration.getInstance()));
+
+        boolean completed = queue.isEmpty() && !failFast.isTriggered();
+
+        TestDescriptor testDescriptor;
+        while ((testDescriptor = queue.poll()) != null) {
+            if (failFast.isTriggered() && testDescriptor instanceof ExecutableTestDescriptor) {
+                ((ExecutableTestDescriptor) testDescriptor).skip(executionContext);
+            } else {
+                checkpoint.discard(testDescriptor);
+                listener.executionStarted(testDescriptor);
+                fail(
+                        listener,
+                        testDescriptor,
+                        new TestEngineException("No forked worker available to execute test"));
+            }
+        }
+
+        Baseline.getInstance().store();
+        FlakyStatistics.getInstance().store();
+
+        if (completed) {
+            checkpoint.complete();
+        } else {
+            checkpoint.close();
+        }
+
+        listener.executionFinished(rootTestDescriptor, TestExecutionResult.successful());
+    }
+
+    /**
+     * Method to authenticate a worker connection, reading the token the worker sends first
+     *
+     * @param socket socket
+     * @param token token
+     * @return true if the worker sent the token, else false
+     */
+    private static boolean authenticate(Socket socket, String token) {
+        try {
+            socket.setSoTimeout(CONNECT_TIMEOUT_MILLISECONDS);
+
+            // Unbuffered, so nothing after the token is consumed
+            String workerToken = new DataInputStream(socket.getInputStream()).readUTF();
+
+            socket.setSoTimeout(0);
+
+            return MessageDigest.isEqual(
+                    token.getBytes(StandardCharsets.UTF_8),
+                    workerToken.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Method to close a Socket, ignoring exceptions
+     *
+     * @param socket socket
+     */
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // DO NOTHING
+        }
+    }
+
+    /**
+     * Method to build the worker JVM command
+     *
+     * @param port port
+     * @return the worker JVM command
+     */
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+
+        if (argLine != null) {
+            for (String token : argLine.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    command.add(token);
+                }
+            }
+        }
+
+        Set<String> classpathElements = codeSources(logger);
+        for (Path path : classpath) {
+            classpathElements.add(path.toAbsolutePath().toString());
+        }
+
+        StringJoiner stringJoiner = new StringJoiner(File.pathSeparator);
+        classpathElements.forEach(stringJoiner::add);
+
+        command.add("-cp");
+        command.add(stringJoiner.toString());
+
+        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
+            command.add("-D" + entry.getKey() + "=" + entry.getValue());
+        }
+
+        command.add(ForkedWorker.class.getName());
+        command.add(String.valueOf(port));
+
+        return command;
+    }
+
+    /**
+     * Method to get the code sources (jars or directories) required by a forked worker
+     *
+     * @param logger logger
+     * @return the code source paths
+     */
+    static Set<String> codeSources(Logger logger) {
+        Set<String> codeSources = new LinkedHashSet<>();
+        for (String className : WORKER_CLASS_NAMES) {
+            codeSource(logger, className).ifPresent(codeSources::add);
+        }
+        return codeSources;
+    }
+
+    /**
+     * Method to get the code source (jar or directory) of a class
+     *
+     * @param logger logger
+     * @param className className
+     * @return an Optional containing the code source path
+     */
+    private static Optional<String> codeSource(Logger logger, String className) {
+        return codeSource(logger, className, ForkedWorkerPool.class.getClassLoader());
+    }
+
+    /**
+     * Method to get the code source (jar or directory) of a class loaded by a ClassLoader
+     *
+     * @param logger logger
+     * @param className className
+     * @param classLoader classLoader
+     * @return an Optional containing the code source path
+     */
+    static Optional<String> codeSource(Logger logger, String className, ClassLoader classLoader) {
+        try {
+            CodeSource codeSource =
+                    Class.forName(className, false, classLoader)
+                            .getProtectionDomain()
+                            .getCodeSource();
+            if (codeSource != null && codeSource.getLocation() != null) {
+                return Optional.of(Paths.get(codeSource.getLocation().toURI()).toString());
+            }
+        } catch (ClassNotFoundException | URISyntaxException e) {
+            logger.debug("code source for [%s] not found", className);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Method to report a test descriptor as failed
+     *
+     * @param listener listener
+     * @param testDescriptor testDescriptor
+     * @param throwable throwable
+     */
+    private static void fail(
+            EngineExecutionListener listener, TestDescriptor testDescriptor, Throwable throwable) {
+        if (testDescriptor instanceof MetadataTestDescriptor) {
+            Metadata metadata = ((MetadataTestDescriptor) testDescriptor).getMetadata();
+            ForkProtocol.putTestDescriptorMetadata(testDescriptor, metadata);
+            metadata.put(
+                    MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS,
+                    MetadataTestDescriptorConstants.FAIL);
+            if (!metadata.containsKey(
+                    MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME)) {
+                metadata.put(
+                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ELAPSED_TIME,
+                        Duration.ZERO);
+            }
+        }
+
+        listener.executionFinished(testDescriptor, TestExecutionResult.failed(throwable));
+    }
+
+    /** Class to implement a Connection to a forked worker */
+    private class Connection implements Runnable {
+
+        private final Socket socket;
+        private final Queue<TestDescriptor> queue;
+        private final Map<String, TestDescriptor> testDescriptors;
+        private final EngineExecutionListener listener;
+        private final FailFast failFast;
+        private final Checkpoint checkpoint;
+        private final Set<TestDescriptor> running;
+        private TestDescriptor current;
+
+        /**
+         * Constructor
+         *
+         * @param socket socket
+         * @param queue queue
+         * @param testDescriptors testDescriptors
+         * @param listener listener
+         * @param failFast failFast
+         * @param checkpoint checkpoint
+         */
+        private Connection(
+                Socket socket,
+                Queue<TestDescriptor> queue,
+                Map<String, TestDescriptor> testDescriptors,
+                EngineExecutionListener listener,
+                FailFast failFast,
+                Checkpoint checkpoint) {
+            this.socket = socket;
+            this.queue = queue;
+            this.testDescriptors = testDescriptors;
+            this.listener = listener;
+            this.failFast = failFast;
+            this.checkpoint = checkpoint;
+            this.running = new LinkedHashSet<>();
+        }
+
+        @Override
+        public void run() {
+            try (Socket localSocket = socket) {
+                localSocket.setTcpNoDelay(true);
+
+                DataInputStream dataInputStream =
+                        new DataInputStream(new BufferedInputStream(localSocket.getInputStream()));
+                DataOutputStream dataOutputStream =
+                        new DataOutputStream(
+                                new BufferedOutputStream(localSocket.getOutputStream()));
+
+                int message;
+                while ((message = dataInputStream.read()) != -1) {
+                    handle((byte) message, dataInputStream, dataOutputStream);
+                }
+            } catch (IOException e) {
+                logger.debug("forked worker connection closed [%s]", e.getMessage());
+            }
+
+            if (current != null) {
+                // The worker exited while executing a test class
+                TestEngineException testEngineException =
+                        new TestEngineException("Forked worker exited unexpectedly");
+
+                checkpoint.discard(current);
+
+                if (!running.contains(current)) {
+                    listener.executionStarted(current);
+                    running.add(current);
+                }
+
+                List<TestDescriptor> testDescriptors = new ArrayList<>(running);
+                Collections.reverse(testDescriptors);
+                for (TestDescriptor testDescriptor : testDescriptors) {
+                    fail(listener, testDescriptor, testEngineException);
+                }
+            }
+        }
+
+        /**
+         * Method to handle a worker message
+         *
+         * @param message message
+         * @param dataInputStream dataInputStream
+         * @param dataOutputStream dataOutputStream
+         * @throws IOException IOException
+         */
+        private void handle(
+                byte message, DataInputStream dataInputStream, DataOutputStream dataOutputStream)
+                throws IOException {
+            if (message == ForkProtocol.READY) {
+                current = failFast.isTriggered() ? null : queue.poll();
+                if (current == null) {
+                    dataOutputStream.writeByte(ForkProtocol.EXIT);
+                } else {
+                    dataOutputStream.writeByte(ForkProtocol.CLASS);
+                    dataOutputStream.writeUTF(current.getUniqueId().toString());
+                }
+                dataOutputStream.flush();
+            } else if (message == ForkProtocol.STARTED) {
+                TestDescriptor testDescriptor = testDescriptors.get(dataInputStream.readUTF());
+                if (testDescriptor != null) {
+                    running.add(testDescriptor);
+                    listener.executionStarted(testDescriptor);
+                }
+            } else if (message == ForkProtocol.SKIPPED) {
+                TestDescriptor testDescriptor = testDescriptors.get(dataInputStream.readUTF());
+                String reason = dataInputStream.readUTF();
+                ForkProtocol.readMetadata(dataInputStream, testDescriptor);
+                if (testDescriptor != null) {
+                    listener.executionSkipped(testDescriptor, reason);
+                    if (testDescriptor == current) {
+                        current = null;
+                    }
+                }
+            } else if (message == ForkProtocol.FINISHED) {
+                TestDescriptor testDescriptor = testDescriptors.get(dataInputStream.readUTF());
+                ForkProtocol.readMetadata(dataInputStream, testDescriptor);
+                TestExecutionResult testExecutionResult =
+                        ForkProtocol.readTestExecutionResult(dataInputStream, classLoader);
+                if (testDescriptor != null) {
+                    running.remove(testDescriptor);
+                    listener.executionFinished(testDescriptor, testExecutionResult);
+                    if (testDescriptor == current) {
+                        current = null;
+                    }
+                }
+            } else if (message == ForkProtocol.ELAPSED_TIME) {
+                Baseline.getInstance()
+                        .record(dataInputStream.readUTF(), dataInputStream.readLong());
+            } else {
+                throw new IOException(format("Invalid forked worker message [%d]", message));
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2024 The AntuBLUE test-engine project authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.antublue.test.engine.maven.plugin.fork;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import org.antublue.test.engine.internal.configuration.Constants;
+import org.antublue.test.engine.internal.fork.TestEngineDaemon;
+import org.antublue.test.engine.maven.plugin.logger.Logger;
+
+/**
+ * Class to implement TestEngineDaemonClient
+ *
+ * <p>Connects to a running test engine daemon (started on first use), and requests a session. The
+ * daemon is identified by a port file, keyed by the Java home, JVM arguments, and the daemon
+ * classpath
+ *
+ * <p>Port files are kept in a directory of the user, only accessible to the user. A port file that
+ * isn't owned by (and only accessible to) the user is ignored
+ */
+public class TestEngineDaemonClient {
+
+    private static final long START_TIMEOUT_MILLISECONDS = 60000;
+
+    private static final long POLL_MILLISECONDS = 100;
+
+    /** Classes whose code sources are loaded by every session, rather than cached by the daemon */
+    private static final String[] ENGINE_CLASS_NAMES = {
+        "org.antublue.test.engine.internal.fork.ForkedWorker",
+        "org.antublue.test.engine.api.TestEngine",
+        "org.antublue.test.engine.extras.Fixtures"
+    };
+
+    private final Logger logger;
+    private final String argLine;
+    private final String idleTimeout;
+
+    /**
+     * Constructor
+     *
+     * @param logger logger
+     * @param argLine JVM arguments of the daemon JVM, may be null
+     * @param idleTimeout idle timeout of the daemon JVM, may be null
+     */
+    public TestEngineDaemonClient(Logger logger, String argLine, String idleTimeout) {
+        this.logger = logger;
+        this.argLine = argLine;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Method to connect to the daemon (starting it if required) and request a session
+     *
+     * <p>Test engine archives are identified by the code sources of test engine classes, loaded by
+     * the plugin ClassLoader and the thread context ClassLoader (the test classpath)
+     *
+     * @param classpath test classpath
+     * @param systemProperties system properties of the session
+     * @return a Socket connected to the session
+     * @throws IOException IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public Socket connect(Collection<Path> classpath, Map<String, String> systemProperties)
+            throws IOException, InterruptedException {
+        Set<String> daemonClasspath = ForkedWorkerPool.codeSources(logger);
+        Set<String> engineCodeSources = engineCodeSources();
+
+        Set<String> paths = new LinkedHashSet<>(daemonClasspath);
+        for (Path path : classpath) {
+            paths.add(path.toAbsolutePath().toString());
+        }
+
+        List<String> libraryPaths = new ArrayList<>();
+        List<String> sessionPaths = new ArrayList<>();
+        for (String path : paths) {
+            Path p = Paths.get(path);
+            if (Files.isDirectory(p) || engineCodeSources.contains(path)) {
+                sessionPaths.add(path);
+            } else if (Files.isRegularFile(p)) {
+                libraryPaths.add(path);
+            }
+        }
+
+        logger.debug("daemon library paths %s", libraryPaths);
+        logger.debug("daemon session paths %s", sessionPaths);
+
+        Path portFile = portFile(daemonClasspath);
+
+        Socket socket = connect(portFile, libraryPaths, sessionPaths, systemProperties);
+        if (socket != null) {
+            logger.debug("connected to test engine daemon [%s]", portFile);
+            return socket;
+        }
+
+        Path logFile = Paths.get(portFile.toString().replaceAll("\\.properties$", ".log"));
+        List<String> command = command(daemonClasspath, portFile);
+        logger.info("Starting test engine daemon, log [%s]", logFile);
+        logger.debug("daemon command %s", command);
+
+        Process process =
+                new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile()))
+                        .start();
+
+        long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLISECONDS;
+        while ((socket = connect(portFile, libraryPaths, sessionPaths, systemProperties)) == null) {
+            if (!process.isAlive()) {
+                throw new IOException(
+                        format(
+                                "Test engine daemon exited with code [%d], see [%s]",
+                                process.exitValue(), logFile));
+            }
+            if (System.currentTimeMillis() > deadline) {
+                process.destroyForcibly();
+                throw new IOException(
+                        format("Timeout waiting for test engine daemon, see [%s]", logFile));
+            }
+            Thread.sleep(POLL_MILLISECONDS);
+        }
+
+        return socket;
+    }
+
+    /**
+     * Method to connect to the daemon of a port file and request a session
+     *
+     * @param portFile portFile
+     * @param libraryPaths libraryPaths
+     * @param sessionPaths sessionPaths
+     * @param systemProperties systemProperties
+     * @return a connected Socket, or null if the daemon isn't running
+     */
+    private Socket connect(
+            Path portFile,
+            List<String> libraryPaths,
+            List<String> sessionPaths,
+            Map<String, String> systemProperties) {
+        if (!Files.isRegularFile(portFile, LinkOption.NOFOLLOW_LINKS)) {
+            return null;
+        }
+
+        try {
+            if (!isOwnerOnly(portFile)) {
+                logger.warn(
+                        "Ignoring test engine daemon port file [%s], not owned by and only"
+                                + " accessible to the user",
+                        portFile);
+                return null;
+            }
+        } catch (IOException e) {
+            logger.debug("exception checking port file [%s]", e.getMessage());
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(portFile)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            logger.debug("exception reading port file [%s]", e.getMessage());
+            return null;
+        }
+
+        String port = properties.getProperty(TestEngineDaemon.PORT);
+        String token = properties.getProperty(TestEngineDaemon.TOKEN);
+        if (port == null || token == null) {
+            return null;
+        }
+
+        Socket socket = null;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port));
+            TestEngineDaemon.writeSession(
+                    socket, token, libraryPaths, sessionPaths, systemProperties);
+            return socket;
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("exception connecting to test engine daemon [%s]", e.getMessage());
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException e2) {
+                    logger.debug("exception closing socket [%s]", e2.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Method to build the daemon JVM command
+     *
+     * @param daemonClasspath daemonClasspath
+     * @param portFile portFile
+     * @return the daemon JVM command
+     */
+    private List<String> command(Set<String> daemonClasspath, Path portFile) {
+        List<String> command = new ArrayList<>();
+
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+
+        if (argLine != null) {
+            for (String token : argLine.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    command.add(token);
+                }
+            }
+        }
+
+        StringJoiner stringJoiner = new StringJoiner(File.pathSeparator);
+        daemonClasspath.forEach(stringJoiner::add);
+
+        command.add("-cp");
+        command.add(stringJoiner.toString());
+
+        if (idleTimeout != null && !idleTimeout.trim().isEmpty()) {
+            command.add("-D" + Constants.DAEMON_IDLE_TIMEOUT + "=" + idleTimeout.trim());
+        }
+
+        command.add(TestEngineDaemon.class.getName());
+        command.add(portFile.toString());
+
+        return command;
+    }
+
+    /**
+     * Method to get the port file of the daemon
+     *
+     * @param daemonClasspath daemonClasspath
+     * @return the port file
+     * @throws IOException IOException
+     */
+    private Path portFile(Set<String> daemonClasspath) throws IOException {
+        String key =
+                System.getProperty("java.home")
+                        + "|"
+                        + (argLine != null ? argLine.trim() : "")
+                        + "|"
+                        + daemonClasspath;
+
+        return directory().resolve(format("daemon-%08x.properties", key.hashCode()));
+    }
+
+    /**
+     * Method to get the port file directory of the user, creating it (only accessible to the user)
+     * if required
+     *
+     * @return the port file directory
+     * @throws IOException IOException if the directory isn't owned by and only accessible to the
+     *     user
+     */
+    private Path directory() throws IOException {
+        Path directory =
+                Paths.get(
+                        System.getProperty("java.io.tmpdir"),
+                        "antublue-test-engine-daemon-"
+                                + System.getProperty("user.name").replaceAll("[^\\w.-]", "_"));
+
+        if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            try {
+                if (isPosix(directory)) {
+                    Files.createDirectory(
+                            directory,
+                            PosixFilePermissions.asFileAttribute(
+                                    PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectory(directory);
+                }
+            } catch (FileAlreadyExistsException e) {
+                logger.debug("daemon directory [%s] created concurrently", directory);
+            }
+        }
+
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS) || !isOwnerOnly(directory)) {
+            throw new IOException(
+                    format(
+                            "Test engine daemon directory [%s] isn't owned by and only accessible"
+                                    + " to the user",
+                            directory));
+        }
+
+        return directory;
+    }
+
+    /**
+     * Method to get the code sources (jars or directories) of the test engine
+     *
+     * @return the code source paths
+     */
+    private Set<String> engineCodeSources() {
+        Set<String> codeSources = new LinkedHashSet<>();
+        for (ClassLoader classLoader :
+                new ClassLoader[] {
+                    TestEngineDaemonClient.class.getClassLoader(),
+                    Thread.currentThread().getContextClassLoader()
+                }) {
+            if (classLoader != null) {
+                for (String className : ENGINE_CLASS_NAMES) {
+                    ForkedWorkerPool.codeSource(logger, className, classLoader)
+                            .ifPresent(codeSources::add);
+                }
+            }
+        }
+        return codeSources;
+    }
+
+    /**
+     * Method to return if a path is owned by the user, and (on POSIX file systems) only accessible
+     * to the user
+     *
+     * @param path path
+     * @return true if the path is owned by and only accessible to the user, else false
+     * @throws IOException IOException
+     */
+    private static boolean isOwnerOnly(Path path) throws IOException {
+        UserPrincipal userPrincipal =
+                path.getFileSystem()
+                        .getUserPrincipalLookupService()
+                        .lookupPrincipalByName(System.getProperty("user.name"));
+
+        if (!userPrincipal.equals(Files.getOwner(path, LinkOption.NOFOLLOW_LINKS))) {
+            return false;
+        }
+
+        if (isPosix(path)) {
+            for (PosixFilePermission posixFilePermission :
+                    Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (!posixFilePermission.name().startsWith("OWNER_")) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Method to return if a path is on a POSIX file system
+     *
+     * @param path path
+     * @return true if the path is on a POSIX file system, else false
+     */
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+}
@@ -342,6 +342,12 @@ public class StatusEngineExecutionListener implements EngineExecutionListener {
 
         ansiColorStringBuilder.color(AnsiColor.TEXT_RESET);
 
+        String output = metadata.get(MetadataTestDescriptorConstants.TEST_DESCRIPTOR_OUTPUT);
+        if (output != null) {
+            // Print the captured output with the status, so it isn't interleaved
+            ansiColorStringBuilder.append(System.lineSeparator()).append(output.trim());
+        }
+
         System.out.println(ansiColorStringBuilder);
         System.out.flush();
     }
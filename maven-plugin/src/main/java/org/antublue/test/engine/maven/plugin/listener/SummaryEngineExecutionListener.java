@@ -19,8 +19,11 @@ package org.antublue.test.engine.maven.plugin.listener;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import org.antublue.test.engine.AntuBLUETestEngine;
+import org.antublue.test.engine.api.Argument;
+import org.antublue.test.engine.internal.baseline.Regression;
 import org.antublue.test.engine.internal.descriptor.ArgumentTestDescriptor;
 import org.antublue.test.engine.internal.descriptor.ClassTestDescriptor;
 import org.antublue.test.engine.internal.descriptor.Metadata;
@@ -28,8 +31,10 @@ import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptor;
 import org.antublue.test.engine.internal.descriptor.MetadataTestDescriptorConstants;
 import org.antublue.test.engine.internal.descriptor.TestMethodTestDescriptor;
 import org.antublue.test.engine.internal.support.HumanReadableTimeSupport;
+import org.antublue.test.engine.internal.support.RandomSupport;
 import org.antublue.test.engine.internal.util.AnsiColor;
 import org.antublue.test.engine.internal.util.AnsiColorStringBuilder;
+import org.antublue.test.engine.internal.util.BenchmarkResult;
 import org.antublue.test.engine.internal.util.StopWatch;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestExecutionResult;
@@ -69,6 +74,10 @@ public class SummaryEngineExecutionListener
                     .append(" ")
                     .toString();
 
+    private static final int MAXIMUM_REGRESSIONS = 10;
+
+    private static final int MAXIMUM_RETRIED = 10;
+
     private boolean hasTests;
 
     private boolean hasFailures;
@@ -139,6 +148,12 @@ public class SummaryEngineExecutionListener
             long methodTestDescriptorFailure = 0;
             long methodTestDescriptorSkipped = 0;
 
+            List<Metadata> benchmarkMetadata = new ArrayList<>();
+
+            List<Metadata> regressionMetadata = new ArrayList<>();
+
+            List<Metadata> retriedMetadata = new ArrayList<>();
+
             for (TestDescriptor testDescriptor : testDescriptors) {
                 if (testDescriptor instanceof MetadataTestDescriptor) {
                     Metadata metadata = ((MetadataTestDescriptor) testDescriptor).getMetadata();
@@ -148,6 +163,21 @@ public class SummaryEngineExecutionListener
 
                     if (testDescriptor instanceof TestMethodTestDescriptor) {
                         methodTestDescriptorFound++;
+                        if (metadata.containsKey(
+                                MetadataTestDescriptorConstants.TEST_METHOD_BENCHMARK_RESULT)) {
+                            benchmarkMetadata.add(metadata);
+                        }
+                        if (metadata.containsKey(
+                                MetadataTestDescriptorConstants
+                                        .TEST_DESCRIPTOR_BASELINE_REGRESSION)) {
+                            regressionMetadata.add(metadata);
+                        }
+                        Integer attempts =
+                                metadata.get(
+                                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_ATTEMPTS);
+                        if (attempts != null && attempts > 1) {
+                            retriedMetadata.add(metadata);
+                        }
                         switch (testDescriptorStatus) {
                             case "PASS":
                                 {
@@ -330,6 +360,141 @@ public class SummaryEngineExecutionListener
                                 .append(" : ")
                                 .append(pad(methodTestDescriptorSkipped, columnWidthSkipped))
                                 .append(AnsiColor.TEXT_RESET));
+
+                if (!benchmarkMetadata.isEmpty()) {
+                    println(INFO + SEPARATOR);
+                    println(INFO + AnsiColor.TEXT_WHITE_BRIGHT.wrap("Benchmarks"));
+                    println(INFO + SEPARATOR);
+
+                    for (Metadata metadata : benchmarkMetadata) {
+                        Argument<?> testArgument =
+                                metadata.get(MetadataTestDescriptorConstants.TEST_ARGUMENT);
+
+                        println(
+                                new AnsiColorStringBuilder()
+                                        .append(INFO)
+                                        .color(AnsiColor.TEXT_WHITE_BRIGHT)
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_CLASS_DISPLAY_NAME))
+                                        .append(" | ")
+                                        .append(testArgument.getName())
+                                        .append(" | ")
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_METHOD_DISPLAY_NAME))
+                                        .append("() | ")
+                                        .append(
+                                                metadata.<BenchmarkResult>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_METHOD_BENCHMARK_RESULT))
+                                        .color(AnsiColor.TEXT_RESET));
+                    }
+                }
+
+                if (!regressionMetadata.isEmpty()) {
+                    regressionMetadata.sort(
+                            Comparator.comparingDouble(
+                                            (Metadata metadata) ->
+                                                    metadata.<Regression>get(
+                                                                    MetadataTestDescriptorConstants
+                                                                            .TEST_DESCRIPTOR_BASELINE_REGRESSION)
+                                                            .getRatio())
+                                    .reversed());
+
+                    println(INFO + SEPARATOR);
+                    println(
+                            INFO
+                                    + AnsiColor.TEXT_YELLOW_BRIGHT.wrap(
+                                            "Baseline regressions ("
+                                                    + regressionMetadata.size()
+                                                    + ")"));
+                    println(INFO + SEPARATOR);
+
+                    for (int i = 0;
+                            i < Math.min(MAXIMUM_REGRESSIONS, regressionMetadata.size());
+                            i++) {
+                        Metadata metadata = regressionMetadata.get(i);
+
+                        Argument<?> testArgument =
+                                metadata.get(MetadataTestDescriptorConstants.TEST_ARGUMENT);
+
+                        println(
+                                new AnsiColorStringBuilder()
+                                        .append(INFO)
+                                        .color(AnsiColor.TEXT_WHITE_BRIGHT)
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_CLASS_DISPLAY_NAME))
+                                        .append(" | ")
+                                        .append(testArgument.getName())
+                                        .append(" | ")
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_METHOD_DISPLAY_NAME))
+                                        .append("() | ")
+                                        .color(AnsiColor.TEXT_YELLOW_BRIGHT)
+                                        .append(
+                                                metadata.<Regression>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_DESCRIPTOR_BASELINE_REGRESSION))
+                                        .color(AnsiColor.TEXT_RESET));
+                    }
+                }
+
+                if (!retriedMetadata.isEmpty()) {
+                    println(INFO + SEPARATOR);
+                    println(
+                            INFO
+                                    + AnsiColor.TEXT_YELLOW_BRIGHT.wrap(
+                                            "Retried tests (" + retriedMetadata.size() + ")"));
+                    println(INFO + SEPARATOR);
+
+                    for (int i = 0; i < Math.min(MAXIMUM_RETRIED, retriedMetadata.size()); i++) {
+                        Metadata metadata = retriedMetadata.get(i);
+
+                        Argument<?> testArgument =
+                                metadata.get(MetadataTestDescriptorConstants.TEST_ARGUMENT);
+
+                        String status =
+                                metadata.get(
+                                        MetadataTestDescriptorConstants.TEST_DESCRIPTOR_STATUS);
+
+                        println(
+                                new AnsiColorStringBuilder()
+                                        .append(INFO)
+                                        .color(AnsiColor.TEXT_WHITE_BRIGHT)
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_CLASS_DISPLAY_NAME))
+                                        .append(" | ")
+                                        .append(testArgument.getName())
+                                        .append(" | ")
+                                        .append(
+                                                metadata.<String>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_METHOD_DISPLAY_NAME))
+                                        .append("() | ")
+                                        .color(
+                                                MetadataTestDescriptorConstants.PASS.equals(status)
+                                                        ? AnsiColor.TEXT_YELLOW_BRIGHT
+                                                        : AnsiColor.TEXT_RED_BRIGHT)
+                                        .append(status)
+                                        .append(" after [")
+                                        .append(
+                                                metadata.<Integer>get(
+                                                        MetadataTestDescriptorConstants
+                                                                .TEST_DESCRIPTOR_ATTEMPTS))
+                                        .append("] attempts")
+                                        .color(AnsiColor.TEXT_RESET));
+                    }
+                }
+
                 println(INFO + SEPARATOR);
             }
 
@@ -359,6 +524,14 @@ public class SummaryEngineExecutionListener
                             .append(HumanReadableTimeSupport.now())
                             .color(AnsiColor.TEXT_RESET));
 
+            println(
+                    new AnsiColorStringBuilder()
+                            .append(INFO)
+                            .color(AnsiColor.TEXT_WHITE_BRIGHT)
+                            .append("Random seed : ")
+                            .append(RandomSupport.getSeed())
+                            .color(AnsiColor.TEXT_RESET));
+
             if (!hasFailures) {
                 println(INFO + SEPARATOR);
             }